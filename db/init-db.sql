@@ -9,3 +9,59 @@ GRANT ALL PRIVILEGES ON SmartHome.* TO 'smarthome'@'%';
 
 -- Aplica as permissões
 FLUSH PRIVILEGES;
+
+-- Tabela de leituras dos sensores, com os índices usados pelas consultas por dispositivo, tipo de sensor e tempo
+USE SmartHome;
+
+CREATE TABLE IF NOT EXISTS log (
+    id             VARCHAR(255) NOT NULL PRIMARY KEY,
+    time           BIGINT       NOT NULL,
+    reading_num    DOUBLE,
+    reading_text   VARCHAR(255),
+    sensor_id      VARCHAR(255),
+    device_id      VARCHAR(255),
+    sensor_type_id VARCHAR(255),
+    INDEX idx_log_device_type_time (device_id, sensor_type_id, time),
+    INDEX idx_log_sensor_type_time (sensor_type_id, time),
+    INDEX idx_log_sensor_type_reading_num (sensor_type_id, reading_num),
+    INDEX idx_log_device_time_id (device_id, time, id),
+    INDEX idx_log_time (time)
+);
+
+-- Agregados por minuto e por hora das leituras numéricas já compactadas
+CREATE TABLE IF NOT EXISTS log_minute (
+    id             VARCHAR(255) NOT NULL PRIMARY KEY,
+    bucket         BIGINT       NOT NULL,
+    sensor_id      VARCHAR(255),
+    device_id      VARCHAR(255),
+    sensor_type_id VARCHAR(255),
+    min_value      DOUBLE       NOT NULL,
+    max_value      DOUBLE       NOT NULL,
+    sum_value      DOUBLE       NOT NULL,
+    count_value    BIGINT       NOT NULL,
+    first_time     BIGINT       NOT NULL,
+    first_value    DOUBLE       NOT NULL,
+    last_time      BIGINT       NOT NULL,
+    last_value     DOUBLE       NOT NULL,
+    INDEX idx_log_minute_device_type_bucket (device_id, sensor_type_id, bucket),
+    INDEX idx_log_minute_sensor_type_bucket (sensor_type_id, bucket),
+    INDEX idx_log_minute_bucket (bucket)
+);
+
+CREATE TABLE IF NOT EXISTS log_hour (
+    id             VARCHAR(255) NOT NULL PRIMARY KEY,
+    bucket         BIGINT       NOT NULL,
+    sensor_id      VARCHAR(255),
+    device_id      VARCHAR(255),
+    sensor_type_id VARCHAR(255),
+    min_value      DOUBLE       NOT NULL,
+    max_value      DOUBLE       NOT NULL,
+    sum_value      DOUBLE       NOT NULL,
+    count_value    BIGINT       NOT NULL,
+    first_time     BIGINT       NOT NULL,
+    first_value    DOUBLE       NOT NULL,
+    last_time      BIGINT       NOT NULL,
+    last_value     DOUBLE       NOT NULL,
+    INDEX idx_log_hour_device_type_bucket (device_id, sensor_type_id, bucket),
+    INDEX idx_log_hour_sensor_type_bucket (sensor_type_id, bucket)
+);
@@ -0,0 +1,26 @@
+-- 001-typed-log-reading.sql
+
+-- Converts the LOG table to the typed schema: epoch-second timestamps, numeric readings in reading_num and
+-- non-numeric readings (wind, switch, sun times) in reading_text.
+-- Run once against an existing database before starting the new version; new databases get the schema from Hibernate.
+
+ALTER TABLE log
+    ADD COLUMN IF NOT EXISTS epoch_time BIGINT,
+    ADD COLUMN IF NOT EXISTS reading_num DOUBLE,
+    ADD COLUMN IF NOT EXISTS reading_text VARCHAR(255);
+
+-- Timestamps are read as UTC wall-clock, matching LogDataModel.toEpochSeconds
+UPDATE log SET epoch_time = TIMESTAMPDIFF(SECOND, '1970-01-01 00:00:00', time);
+
+UPDATE log SET reading_num = CAST(reading AS DOUBLE)
+WHERE reading REGEXP '^-?[0-9]+(\\.[0-9]+)?([eE]-?[0-9]+)?$';
+
+UPDATE log SET reading_text = reading WHERE reading_num IS NULL;
+
+ALTER TABLE log
+    DROP COLUMN reading,
+    DROP COLUMN time;
+
+ALTER TABLE log CHANGE COLUMN epoch_time time BIGINT NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_log_sensor_type_reading_num ON log (sensor_type_id, reading_num);
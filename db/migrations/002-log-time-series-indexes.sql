@@ -0,0 +1,8 @@
+-- 002-log-time-series-indexes.sql
+
+-- Adds the composite indexes used by the LOG queries, which all filter on device, sensor type and time.
+-- Run once against an existing database after 001-typed-log-reading.sql.
+
+CREATE INDEX IF NOT EXISTS idx_log_device_type_time ON log (device_id, sensor_type_id, time);
+
+CREATE INDEX IF NOT EXISTS idx_log_sensor_type_time ON log (sensor_type_id, time);
@@ -0,0 +1,6 @@
+-- 003-log-keyset-index.sql
+
+-- Adds the index used by the paginated device readings query, which seeks on (time, id) within a device.
+-- Run once against an existing database after 002-log-time-series-indexes.sql.
+
+CREATE INDEX IF NOT EXISTS idx_log_device_time_id ON log (device_id, time, id);
@@ -0,0 +1,44 @@
+-- 004-log-aggregates.sql
+
+-- Adds the per-minute and per-hour aggregate tables filled by the log compaction, and the time index it uses to
+-- find the raw logs to compact.
+-- Run once against an existing database after 003-log-keyset-index.sql.
+
+CREATE INDEX IF NOT EXISTS idx_log_time ON log (time);
+
+CREATE TABLE IF NOT EXISTS log_minute (
+    id             VARCHAR(255) NOT NULL PRIMARY KEY,
+    bucket         BIGINT       NOT NULL,
+    sensor_id      VARCHAR(255),
+    device_id      VARCHAR(255),
+    sensor_type_id VARCHAR(255),
+    min_value      DOUBLE       NOT NULL,
+    max_value      DOUBLE       NOT NULL,
+    sum_value      DOUBLE       NOT NULL,
+    count_value    BIGINT       NOT NULL,
+    first_time     BIGINT       NOT NULL,
+    first_value    DOUBLE       NOT NULL,
+    last_time      BIGINT       NOT NULL,
+    last_value     DOUBLE       NOT NULL,
+    INDEX idx_log_minute_device_type_bucket (device_id, sensor_type_id, bucket),
+    INDEX idx_log_minute_sensor_type_bucket (sensor_type_id, bucket),
+    INDEX idx_log_minute_bucket (bucket)
+);
+
+CREATE TABLE IF NOT EXISTS log_hour (
+    id             VARCHAR(255) NOT NULL PRIMARY KEY,
+    bucket         BIGINT       NOT NULL,
+    sensor_id      VARCHAR(255),
+    device_id      VARCHAR(255),
+    sensor_type_id VARCHAR(255),
+    min_value      DOUBLE       NOT NULL,
+    max_value      DOUBLE       NOT NULL,
+    sum_value      DOUBLE       NOT NULL,
+    count_value    BIGINT       NOT NULL,
+    first_time     BIGINT       NOT NULL,
+    first_value    DOUBLE       NOT NULL,
+    last_time      BIGINT       NOT NULL,
+    last_value     DOUBLE       NOT NULL,
+    INDEX idx_log_hour_device_type_bucket (device_id, sensor_type_id, bucket),
+    INDEX idx_log_hour_sensor_type_bucket (sensor_type_id, bucket)
+);
@@ -0,0 +1,20 @@
+-- 005-log-time-nanos.sql
+
+-- Stores the times of the logs and the buckets of the aggregates as epoch nanoseconds instead of epoch seconds, so
+-- sub-second times are kept. Aggregate IDs end with the bucket start, so they are rebuilt too.
+-- Run once against an existing database after 004-log-aggregates.sql, before starting the new version.
+
+UPDATE log SET time = time * 1000000000;
+
+-- The ID is assigned first, as MariaDB evaluates the assignments in order
+UPDATE log_minute
+SET id         = CONCAT(sensor_id, ':60:', bucket * 1000000000),
+    bucket     = bucket * 1000000000,
+    first_time = first_time * 1000000000,
+    last_time  = last_time * 1000000000;
+
+UPDATE log_hour
+SET id         = CONCAT(sensor_id, ':3600:', bucket * 1000000000),
+    bucket     = bucket * 1000000000,
+    first_time = first_time * 1000000000,
+    last_time  = last_time * 1000000000;
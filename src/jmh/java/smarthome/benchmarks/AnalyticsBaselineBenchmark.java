@@ -0,0 +1,59 @@
+package smarthome.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import smarthome.domain.log.Log;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The LogServiceImpl analytics against the pairwise comparisons they replaced, on the same readings. The baseline
+ * grows with the product of the series sizes, so it is only run on sizes it finishes in reasonable time;
+ * LogAnalyticsBenchmark covers the current implementations on long periods.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class AnalyticsBaselineBenchmark {
+
+    @Param({"1000", "10000"})
+    private int readings;
+
+    private AnalyticsFixture fixture;
+    private List<Log> outdoorLogs;
+    private List<Log> indoorLogs;
+    private List<Log> gridLogs;
+    private List<Log> sourceLogs;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.fixture = new AnalyticsFixture(this.readings);
+        this.outdoorLogs = QuadraticAnalytics.temperatureLogs(this.fixture.outdoorSeries);
+        this.indoorLogs = QuadraticAnalytics.temperatureLogs(this.fixture.indoorSeries);
+        this.gridLogs = QuadraticAnalytics.energyLogs(this.fixture.gridSeries);
+        this.sourceLogs = QuadraticAnalytics.energyLogs(this.fixture.sourceSeries);
+    }
+
+    @Benchmark
+    public String maxInstantaneousTempDifferenceMerge() {
+        return this.fixture.maxInstantaneousTempDifference();
+    }
+
+    @Benchmark
+    public String maxInstantaneousTempDifferencePairwise() {
+        return QuadraticAnalytics.maxInstantaneousTempDifference(this.outdoorLogs, this.indoorLogs, this.fixture.delta);
+    }
+
+    @Benchmark
+    public String peakPowerConsumptionSweep() {
+        return this.fixture.peakPowerConsumption();
+    }
+
+    @Benchmark
+    public String peakPowerConsumptionPairwise() {
+        return QuadraticAnalytics.peakPowerConsumption(this.gridLogs, this.sourceLogs, this.fixture.delta);
+    }
+}
@@ -0,0 +1,131 @@
+package smarthome.benchmarks;
+
+import smarthome.domain.device.Device;
+import smarthome.domain.log.Log;
+import smarthome.domain.log.LogFactoryImpl;
+import smarthome.domain.log.ReadingSeries;
+import smarthome.domain.sensor.Sensor;
+import smarthome.domain.sensor.sensorvalues.NumericReading;
+import smarthome.domain.vo.DeltaVO;
+import smarthome.domain.vo.devicevo.DeviceIDVO;
+import smarthome.domain.vo.logvo.TimeStampVO;
+import smarthome.persistence.mem.DeviceRepositoryMem;
+import smarthome.persistence.mem.RoomRepositoryMem;
+import smarthome.service.LogServiceImpl;
+import smarthome.utils.dataset.DatasetGenerator;
+import smarthome.utils.dataset.SyntheticHouse;
+import smarthome.utils.dataset.SyntheticHouse.DeviceRole;
+
+import java.util.Map;
+
+/**
+ * A LogServiceImpl wired to in-memory device and room repositories holding the benchmark house, and to the reading
+ * series of its telemetry: the outdoor temperature of the weather station, the indoor temperature of the device in
+ * the room, the grid power meter and the production of the power source, over a period with the given number of
+ * readings per sensor.
+ */
+final class AnalyticsFixture {
+
+    static final String GRID_DEVICE_PROPERTY = "Grid Power Meter device";
+    static final String GRID_SENSOR_TYPE_PROPERTY = "Grid Power Meter sensor type";
+    private static final String TEMPERATURE_TYPE = "TemperatureSensor";
+
+    final LogServiceImpl logService;
+    final Device outdoorDevice;
+    final Device indoorDevice;
+    final TimeStampVO start;
+    final TimeStampVO end;
+    final DeltaVO delta = new DeltaVO("5");
+    final ReadingSeries outdoorSeries;
+    final ReadingSeries indoorSeries;
+    final ReadingSeries gridSeries;
+    final ReadingSeries sourceSeries;
+
+    /**
+     * @param size The number of readings of each sensor.
+     */
+    AnalyticsFixture(int size) {
+        DatasetGenerator generator = BenchmarkData.generator(size);
+        SyntheticHouse house = generator.generateHouse();
+        RoomRepositoryMem roomRepository = new RoomRepositoryMem();
+        house.getRooms().forEach(roomRepository::save);
+        DeviceRepositoryMem deviceRepository = new DeviceRepositoryMem();
+        house.getDevices().forEach(deviceRepository::save);
+        System.setProperty(GRID_DEVICE_PROPERTY, house.getGridMeterDevice().getID());
+        System.setProperty(GRID_SENSOR_TYPE_PROPERTY, "EnergyConsumptionSensor");
+
+        Sensor outdoorSensor = temperatureSensor(house, DeviceRole.WEATHER_STATION);
+        Sensor indoorSensor = temperatureSensor(house, DeviceRole.APPLIANCE);
+        this.outdoorDevice = deviceRepository.findById(outdoorSensor.getDeviceID());
+        this.indoorDevice = deviceRepository.findById(indoorSensor.getDeviceID());
+
+        ReadingSeries.Builder outdoor = new ReadingSeries.Builder(size);
+        ReadingSeries.Builder indoor = new ReadingSeries.Builder(size);
+        ReadingSeries.Builder grid = new ReadingSeries.Builder(size);
+        ReadingSeries.Builder source = new ReadingSeries.Builder(size);
+        BenchmarkData.readings(generator, house, size).forEach(log -> {
+            if (log.getSensorID().equals(outdoorSensor.getId())) {
+                add(outdoor, log);
+            } else if (log.getSensorID().equals(indoorSensor.getId())) {
+                add(indoor, log);
+            } else if (log.getSensorID().equals(house.getGridMeterSensor())) {
+                add(grid, log);
+            } else if (isProduction(house, log)) {
+                add(source, log);
+            }
+        });
+        this.outdoorSeries = outdoor.build();
+        this.indoorSeries = indoor.build();
+        this.gridSeries = grid.build();
+        this.sourceSeries = source.build();
+        SeriesLogRepository logRepository = new SeriesLogRepository(
+                Map.of(this.outdoorDevice.getId().getID(), this.outdoorSeries,
+                        this.indoorDevice.getId().getID(), this.indoorSeries),
+                this.gridSeries, this.sourceSeries);
+
+        this.logService = new LogServiceImpl(logRepository, deviceRepository, roomRepository, new LogFactoryImpl());
+        this.start = new TimeStampVO(BenchmarkData.START);
+        this.end = new TimeStampVO(BenchmarkData.end(size));
+    }
+
+    /**
+     * Finds the temperature sensor of a device with the given role.
+     *
+     * @throws IllegalStateException if the house has no such sensor
+     */
+    private static Sensor temperatureSensor(SyntheticHouse house, DeviceRole role) {
+        return house.getSensors().stream()
+                .filter(sensor -> sensor.getSensorTypeID().getID().equals(TEMPERATURE_TYPE))
+                .filter(sensor -> house.getRole(sensor.getDeviceID()) == role)
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("The benchmark house has no " + role + " temperature sensor"));
+    }
+
+    /**
+     * @return true if the log is a reading of a power source producing energy, as the negative reading query finds
+     */
+    private static boolean isProduction(SyntheticHouse house, Log log) {
+        DeviceIDVO deviceID = log.getDeviceID();
+        return house.getRole(deviceID) == DeviceRole.POWER_SOURCE
+                && log.getReading() instanceof NumericReading reading && reading.asDouble() < 0;
+    }
+
+    private static void add(ReadingSeries.Builder builder, Log log) {
+        builder.add(ReadingSeries.toEpochNanos(log.getTime().getValue()), ((NumericReading) log.getReading()).asDouble());
+    }
+
+    /**
+     * Runs the maximum instantaneous temperature difference over the whole period.
+     */
+    String maxInstantaneousTempDifference() {
+        return this.logService.getMaxInstantaneousTempDifference(this.outdoorDevice.getId(), this.indoorDevice.getId(),
+                this.start, this.end, this.delta);
+    }
+
+    /**
+     * Runs the peak power consumption over the whole period.
+     */
+    String peakPowerConsumption() {
+        return this.logService.getPeakPowerConsumption(this.start, this.end, this.delta);
+    }
+}
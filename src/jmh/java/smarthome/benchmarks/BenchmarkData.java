@@ -0,0 +1,112 @@
+package smarthome.benchmarks;
+
+import smarthome.domain.log.Log;
+import smarthome.domain.sensor.externalservices.SunTimeCalculator;
+import smarthome.domain.vo.devicevo.DeviceIDVO;
+import smarthome.persistence.jpa.datamodel.LogDataModel;
+import smarthome.utils.dataset.DatasetGenerator;
+import smarthome.utils.dataset.DatasetSpec;
+import smarthome.utils.dataset.SyntheticHouse;
+import smarthome.utils.dataset.SyntheticHouse.DeviceRole;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Input data shared by the benchmarks, generated by the DatasetGenerator of the tests from a spec with a fixed seed, so
+ * two runs of the same benchmark measure the same data and the benchmarks read the same telemetry as the load tests.
+ * <p>
+ * The house is kept small, one room with a single device next to the weather station, the grid power meter and one
+ * power source, so generating a long period stays cheap.
+ * </p>
+ */
+final class BenchmarkData {
+
+    /**
+     * Seed of every dataset the benchmarks use.
+     */
+    static final long SEED = 20_240_101L;
+
+    /**
+     * Start of the generated readings.
+     */
+    static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    /**
+     * Seconds between two consecutive readings of the same sensor.
+     */
+    static final int READING_INTERVAL_SECONDS = 10;
+
+    private static final String CONFIG_PATH = "config.properties";
+    private static final String VALUE_PATH = "value.properties";
+    private static final int SECONDS_PER_DAY = 86_400;
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * A generator of the benchmark house whose period holds at least the given number of readings of every sensor
+     * that logs on each interval.
+     *
+     * @param readings The number of readings per sensor.
+     * @return The generator.
+     */
+    static DatasetGenerator generator(int readings) {
+        long seconds = (long) readings * READING_INTERVAL_SECONDS;
+        DatasetSpec spec = DatasetSpec.builder()
+                .seed(SEED)
+                .rooms(1)
+                .devicesPerRoom(1)
+                .sensorsPerDevice(2)
+                .actuatorsPerDevice(0)
+                .powerSources(1)
+                .start(START)
+                .days((int) Math.max(1, (seconds + SECONDS_PER_DAY - 1) / SECONDS_PER_DAY))
+                .intervalSeconds(READING_INTERVAL_SECONDS)
+                .build();
+        return new DatasetGenerator(spec, CONFIG_PATH, VALUE_PATH, new SunTimeCalculator());
+    }
+
+    /**
+     * The end of a period holding the given number of readings per sensor, exclusive.
+     *
+     * @param readings The number of readings per sensor.
+     * @return The end of the period.
+     */
+    static LocalDateTime end(int readings) {
+        return START.plusSeconds((long) readings * READING_INTERVAL_SECONDS);
+    }
+
+    /**
+     * The readings of a house taken before the end of a period holding the given number of readings per sensor, in
+     * time order.
+     *
+     * @param generator The generator of the house.
+     * @param house     The house.
+     * @param readings  The number of readings per sensor.
+     * @return The readings.
+     */
+    static Stream<Log> readings(DatasetGenerator generator, SyntheticHouse house, int readings) {
+        LocalDateTime end = end(readings);
+        return generator.readings(house).takeWhile(log -> log.getTime().getValue().isBefore(end));
+    }
+
+    /**
+     * LOG rows of the weather station, as a device range query returns them: the few sensor, device and sensor type
+     * IDs of the station repeated on every row.
+     *
+     * @param size The number of rows.
+     * @return The rows.
+     */
+    static List<LogDataModel> weatherStationRows(int size) {
+        DatasetGenerator generator = generator(size);
+        SyntheticHouse house = generator.generateHouse();
+        DeviceIDVO weatherStation = house.getDevicesWithRole(DeviceRole.WEATHER_STATION).iterator().next();
+        return readings(generator, house, size)
+                .filter(log -> log.getDeviceID().equals(weatherStation))
+                .limit(size)
+                .map(LogDataModel::new)
+                .toList();
+    }
+}
@@ -0,0 +1,45 @@
+package smarthome.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import smarthome.domain.actuator.DecimalValueActuator;
+import smarthome.domain.actuator.externalservices.SimHardwareAct;
+import smarthome.domain.vo.actuatortype.ActuatorTypeIDVO;
+import smarthome.domain.vo.actuatorvo.ActuatorNameVO;
+import smarthome.domain.vo.actuatorvo.DecimalSettingsVO;
+import smarthome.domain.vo.devicevo.DeviceIDVO;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DecimalValueActuator.executeCommand with a value already at the precision of the actuator, and with one that has
+ * to be rounded first.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DecimalValueActuatorBenchmark {
+
+    private DecimalValueActuator actuator;
+    private SimHardwareAct hardware;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.actuator = new DecimalValueActuator(new ActuatorNameVO("Dimmer"), new ActuatorTypeIDVO("DecimalValueActuator"),
+                new DeviceIDVO(UUID.randomUUID()), new DecimalSettingsVO("0", "100", "0.01"));
+        this.hardware = new SimHardwareAct();
+    }
+
+    @Benchmark
+    public String executeCommand() {
+        return this.actuator.executeCommand(this.hardware, "42.5");
+    }
+
+    @Benchmark
+    public String executeCommandRounded() {
+        return this.actuator.executeCommand(this.hardware, "42.5678");
+    }
+}
@@ -0,0 +1,87 @@
+package smarthome.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import smarthome.domain.actuator.SwitchActuator;
+import smarthome.domain.device.Device;
+import smarthome.domain.device.DeviceFactoryImpl;
+import smarthome.domain.room.Room;
+import smarthome.domain.sensor.HumiditySensor;
+import smarthome.domain.sensor.PowerConsumptionSensor;
+import smarthome.domain.sensor.TemperatureSensor;
+import smarthome.domain.vo.actuatortype.ActuatorTypeIDVO;
+import smarthome.domain.vo.actuatorvo.ActuatorNameVO;
+import smarthome.domain.vo.devicevo.DeviceIDVO;
+import smarthome.domain.vo.devicevo.DeviceModelVO;
+import smarthome.domain.vo.devicevo.DeviceNameVO;
+import smarthome.domain.vo.housevo.HouseIDVO;
+import smarthome.domain.vo.roomvo.*;
+import smarthome.domain.vo.sensortype.SensorTypeIDVO;
+import smarthome.domain.vo.sensorvo.SensorNameVO;
+import smarthome.persistence.mem.ActuatorRepositoryMem;
+import smarthome.persistence.mem.DeviceRepositoryMem;
+import smarthome.persistence.mem.RoomRepositoryMem;
+import smarthome.persistence.mem.SensorRepositoryMem;
+import smarthome.service.DeviceServiceImpl;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DeviceServiceImpl.getListOfDeviceByFunctionality on the in-memory repositories, for houses with a growing number
+ * of devices. Each device has two sensors and, every other device, a switch actuator.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeviceFunctionalityBenchmark {
+
+    @Param({"100", "1000"})
+    private int devices;
+
+    private DeviceServiceImpl deviceService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        HouseIDVO houseID = new HouseIDVO(UUID.randomUUID());
+        RoomRepositoryMem roomRepository = new RoomRepositoryMem();
+        DeviceRepositoryMem deviceRepository = new DeviceRepositoryMem();
+        SensorRepositoryMem sensorRepository = new SensorRepositoryMem();
+        ActuatorRepositoryMem actuatorRepository = new ActuatorRepositoryMem();
+        SensorTypeIDVO temperature = new SensorTypeIDVO("TemperatureSensor");
+        SensorTypeIDVO humidity = new SensorTypeIDVO("HumiditySensor");
+        SensorTypeIDVO power = new SensorTypeIDVO("PowerConsumptionSensor");
+        ActuatorTypeIDVO switchType = new ActuatorTypeIDVO("SwitchActuator");
+
+        Room room = null;
+        for (int i = 0; i < this.devices; i++) {
+            if (i % 10 == 0) {
+                room = new Room(new RoomNameVO("Room " + i / 10), new RoomFloorVO(i / 100),
+                        new RoomDimensionsVO(new RoomLengthVO(5), new RoomWidthVO(4), new RoomHeightVO(2.5)), houseID);
+                roomRepository.save(room);
+            }
+            Device device = new Device(new DeviceNameVO("Device " + i), new DeviceModelVO("Model " + i % 7), room.getId());
+            deviceRepository.save(device);
+            DeviceIDVO deviceID = device.getId();
+            if (i % 2 == 0) {
+                sensorRepository.save(new TemperatureSensor(new SensorNameVO("Temperature " + i), deviceID, temperature));
+                sensorRepository.save(new HumiditySensor(new SensorNameVO("Humidity " + i), deviceID, humidity));
+                actuatorRepository.save(new SwitchActuator(new ActuatorNameVO("Switch " + i), switchType, deviceID));
+            } else {
+                sensorRepository.save(new PowerConsumptionSensor(new SensorNameVO("Power " + i), deviceID, power));
+                sensorRepository.save(new TemperatureSensor(new SensorNameVO("Temperature " + i), deviceID, temperature));
+            }
+        }
+        this.deviceService = new DeviceServiceImpl(roomRepository, new DeviceFactoryImpl(), deviceRepository,
+                sensorRepository, actuatorRepository);
+    }
+
+    @Benchmark
+    public Map<String, List<Device>> getListOfDeviceByFunctionality() {
+        return this.deviceService.getListOfDeviceByFunctionality();
+    }
+}
@@ -0,0 +1,39 @@
+package smarthome.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The LogServiceImpl analytics on long periods: the maximum instantaneous temperature difference (a merge of two
+ * time-ordered series) and the peak power consumption (a sweep over the grid readings with a sliding window of power
+ * source readings). A million readings per series is a sensor logging every 10 seconds for almost four months.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LogAnalyticsBenchmark {
+
+    @Param({"10000", "1000000"})
+    private int readings;
+
+    private AnalyticsFixture fixture;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.fixture = new AnalyticsFixture(this.readings);
+    }
+
+    @Benchmark
+    public String maxInstantaneousTempDifference() {
+        return this.fixture.maxInstantaneousTempDifference();
+    }
+
+    @Benchmark
+    public String peakPowerConsumption() {
+        return this.fixture.peakPowerConsumption();
+    }
+}
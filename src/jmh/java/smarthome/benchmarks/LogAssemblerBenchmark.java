@@ -0,0 +1,71 @@
+package smarthome.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import smarthome.domain.log.LogFactoryImpl;
+import smarthome.domain.sensor.sensorvalues.SensorValueFactoryImpl;
+import smarthome.domain.vo.devicevo.DeviceIDVO;
+import smarthome.domain.vo.sensortype.SensorTypeIDVO;
+import smarthome.domain.vo.sensorvo.SensorIDVO;
+import smarthome.mapper.IDInterner;
+import smarthome.mapper.assembler.LogAssembler;
+import smarthome.persistence.jpa.datamodel.LogDataModel;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LogAssembler.toDomain per row of a device range query, where every row repeats the same few IDs. The ID benchmarks
+ * isolate the ID value objects of a row: created from the strings on every row, or resolved through IDInterner. Run
+ * them with the gc profiler to compare the bytes allocated per row (gc.alloc.rate.norm).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LogAssemblerBenchmark {
+
+    private static final int ROWS = 10_000;
+
+    private LogFactoryImpl logFactory;
+    private SensorValueFactoryImpl valueFactory;
+    private List<LogDataModel> rows;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.logFactory = new LogFactoryImpl();
+        this.valueFactory = new SensorValueFactoryImpl("value.properties");
+        this.rows = BenchmarkData.weatherStationRows(ROWS);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void toDomain(Blackhole blackhole) {
+        for (LogDataModel row : this.rows) {
+            blackhole.consume(LogAssembler.toDomain(this.logFactory, this.valueFactory, row));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void rowIDsCreated(Blackhole blackhole) {
+        for (LogDataModel row : this.rows) {
+            blackhole.consume(new SensorIDVO(UUID.fromString(row.getSensorID())));
+            blackhole.consume(new DeviceIDVO(UUID.fromString(row.getDeviceID())));
+            blackhole.consume(new SensorTypeIDVO(row.getSensorTypeID()));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void rowIDsInterned(Blackhole blackhole) {
+        for (LogDataModel row : this.rows) {
+            blackhole.consume(IDInterner.sensorID(row.getSensorID()));
+            blackhole.consume(IDInterner.deviceID(row.getDeviceID()));
+            blackhole.consume(IDInterner.sensorTypeID(row.getSensorTypeID()));
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package smarthome.benchmarks;
+
+import smarthome.domain.log.Log;
+import smarthome.domain.log.ReadingSeries;
+import smarthome.domain.sensor.sensorvalues.EnergyConsumptionValue;
+import smarthome.domain.sensor.sensorvalues.SensorValueObject;
+import smarthome.domain.sensor.sensorvalues.TemperatureValue;
+import smarthome.domain.vo.DeltaVO;
+import smarthome.domain.vo.devicevo.DeviceIDVO;
+import smarthome.domain.vo.logvo.LogIDVO;
+import smarthome.domain.vo.logvo.TimeStampVO;
+import smarthome.domain.vo.sensortype.SensorTypeIDVO;
+import smarthome.domain.vo.sensorvo.SensorIDVO;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.DoubleFunction;
+
+/**
+ * Reference copies of the analytics as LogServiceImpl computed them before the merge and sweep implementations:
+ * every indoor (or grid) log is compared with every outdoor (or power source) log, on full logs and LocalDateTime
+ * arithmetic. They are kept only as the baseline the current implementations are measured against.
+ */
+final class QuadraticAnalytics {
+
+    private QuadraticAnalytics() {
+    }
+
+    /**
+     * The maximum instantaneous temperature difference, comparing every pair of logs.
+     */
+    static String maxInstantaneousTempDifference(Iterable<Log> outdoorDeviceLog, Iterable<Log> indoorDeviceLog, DeltaVO delta) {
+        double maxTempDiff = 0;
+        String instantTime = null;
+        if (!outdoorDeviceLog.iterator().hasNext() || !indoorDeviceLog.iterator().hasNext()) {
+            return "There are no records available for the given period";
+        }
+        for (Log interiorLog : indoorDeviceLog) {
+            TimeStampVO intTime = interiorLog.getTime();
+            for (Log exteriorLog : outdoorDeviceLog) {
+                TimeStampVO extTime = exteriorLog.getTime();
+                if (isWithinTimeWindow(intTime, extTime, delta)) {
+                    double temp = Math.abs((double) interiorLog.getReading().getValue()
+                            - (double) exteriorLog.getReading().getValue());
+                    if (temp > maxTempDiff) {
+                        maxTempDiff = temp;
+                        instantTime = interiorLog.getTime().getValue().toString();
+                    }
+                }
+            }
+        }
+        if (instantTime == null) {
+            return "Readings were found within the provided time span, but with no matches within the delta provided";
+        }
+        return "The Maximum Temperature Difference within the selected Period was of " + maxTempDiff
+                + " Cº which happened at " + instantTime;
+    }
+
+    /**
+     * The peak power consumption, adding every power source log within the delta of each grid log.
+     */
+    static String peakPowerConsumption(Iterable<Log> powerGridLogs, Iterable<Log> powerSourceLogs, DeltaVO delta) {
+        int peakConsumption = 0;
+        String instantTime = null;
+        boolean foundInstantLogMatch = false;
+        for (Log powerGridLog : powerGridLogs) {
+            TimeStampVO gridTime = powerGridLog.getTime();
+            int totalValue = (int) powerGridLog.getReading().getValue();
+            for (Log powerSourceLog : powerSourceLogs) {
+                TimeStampVO sourceTime = powerSourceLog.getTime();
+                if (isWithinTimeWindow(gridTime, sourceTime, delta)) {
+                    int sourceValue = (int) powerSourceLog.getReading().getValue();
+                    totalValue += Math.abs(sourceValue);
+                    foundInstantLogMatch = true;
+                }
+            }
+            if (totalValue > peakConsumption) {
+                peakConsumption = totalValue;
+                instantTime = powerGridLog.getTime().getValue().toString();
+            }
+        }
+        if (!foundInstantLogMatch) {
+            return "Readings were found within the provided time span, but with no instant matches within the delta provided";
+        }
+        return "The Peak Power Consumption of the House within the selected Period was of " + peakConsumption
+                + " Wh which happened at " + instantTime;
+    }
+
+    private static boolean isWithinTimeWindow(TimeStampVO intTime, TimeStampVO extTime, DeltaVO deltaMin) {
+        LocalDateTime intT = intTime.getValue();
+        LocalDateTime extT = extTime.getValue();
+        int delta = deltaMin.getValue();
+        return intT.plusMinutes(delta).isAfter(extT) && intT.minusMinutes(delta).isBefore(extT);
+    }
+
+    /**
+     * Turns a series of temperature readings into logs of one sensor.
+     */
+    static List<Log> temperatureLogs(ReadingSeries series) {
+        return toLogs(series, "TemperatureSensor", value -> new TemperatureValue(String.valueOf(value)));
+    }
+
+    /**
+     * Turns a series of energy readings into logs of one sensor.
+     */
+    static List<Log> energyLogs(ReadingSeries series) {
+        return toLogs(series, "EnergyConsumptionSensor", value -> new EnergyConsumptionValue(String.valueOf((int) value)));
+    }
+
+    private static List<Log> toLogs(ReadingSeries series, String sensorType, DoubleFunction<SensorValueObject<?>> reading) {
+        SensorIDVO sensorID = new SensorIDVO(UUID.randomUUID());
+        DeviceIDVO deviceID = new DeviceIDVO(UUID.randomUUID());
+        SensorTypeIDVO sensorTypeID = new SensorTypeIDVO(sensorType);
+        List<Log> logs = new ArrayList<>(series.size());
+        for (int i = 0; i < series.size(); i++) {
+            logs.add(new Log(new LogIDVO(UUID.randomUUID()), new TimeStampVO(series.getDateTime(i)),
+                    reading.apply(series.getValue(i)), sensorID, deviceID, sensorTypeID));
+        }
+        return logs;
+    }
+}
@@ -0,0 +1,101 @@
+package smarthome.benchmarks;
+
+import org.apache.commons.configuration2.Configuration;
+import org.apache.commons.configuration2.builder.fluent.Configurations;
+import org.apache.commons.configuration2.ex.ConfigurationException;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import smarthome.domain.sensor.sensorvalues.SensorValueFactoryImpl;
+import smarthome.domain.sensor.sensorvalues.SensorValueObject;
+import smarthome.domain.vo.sensortype.SensorTypeIDVO;
+
+import java.io.File;
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SensorValueFactoryImpl.createSensorValue, the per-row cost of reading logs back from storage, against the reflective
+ * lookup it replaced: a configuration read, Class.forName, getConstructor and newInstance on every call. Invalid
+ * readings are measured apart, as the reflective path paid for them with a wrapped exception.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SensorValueFactoryBenchmark {
+
+    private static final int READINGS = 1_000;
+    private static final String PROPERTIES = "value.properties";
+
+    private SensorValueFactoryImpl factory;
+    private Configuration configuration;
+    private SensorTypeIDVO[] types;
+    private String[] readings;
+    private String[] invalidReadings;
+
+    @Setup(Level.Trial)
+    public void setUp() throws ConfigurationException {
+        this.factory = new SensorValueFactoryImpl(PROPERTIES);
+        this.configuration = new Configurations().properties(new File(PROPERTIES));
+        SensorTypeIDVO[] sensorTypes = {new SensorTypeIDVO("TemperatureSensor"), new SensorTypeIDVO("HumiditySensor"),
+                new SensorTypeIDVO("PowerConsumptionSensor"), new SensorTypeIDVO("EnergyConsumptionSensor")};
+        String[][] valid = {{"21.5", "-3.2"}, {"45", "80"}, {"1500", "20"}, {"-20", "350"}};
+        String[][] invalid = {{"warm", "21,5"}, {"150", "-1"}, {"-5", "power"}, {"1.5", "energy"}};
+        this.types = new SensorTypeIDVO[READINGS];
+        this.readings = new String[READINGS];
+        this.invalidReadings = new String[READINGS];
+        for (int i = 0; i < READINGS; i++) {
+            int type = i % sensorTypes.length;
+            this.types[i] = sensorTypes[type];
+            this.readings[i] = valid[type][(i / sensorTypes.length) % 2];
+            this.invalidReadings[i] = invalid[type][(i / sensorTypes.length) % 2];
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(READINGS)
+    public void createSensorValue(Blackhole blackhole) {
+        for (int i = 0; i < READINGS; i++) {
+            blackhole.consume(this.factory.createSensorValue(this.readings[i], this.types[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(READINGS)
+    public void createSensorValueReflective(Blackhole blackhole) {
+        for (int i = 0; i < READINGS; i++) {
+            blackhole.consume(createReflectively(this.readings[i], this.types[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(READINGS)
+    public void createInvalidSensorValue(Blackhole blackhole) {
+        for (int i = 0; i < READINGS; i++) {
+            blackhole.consume(this.factory.createSensorValue(this.invalidReadings[i], this.types[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(READINGS)
+    public void createInvalidSensorValueReflective(Blackhole blackhole) {
+        for (int i = 0; i < READINGS; i++) {
+            blackhole.consume(createReflectively(this.invalidReadings[i], this.types[i]));
+        }
+    }
+
+    /**
+     * The value creation as SensorValueFactoryImpl did it before its constructors were resolved once.
+     */
+    private SensorValueObject<?> createReflectively(String reading, SensorTypeIDVO sensorTypeID) {
+        String valuePath = this.configuration.getString(sensorTypeID.getID());
+        try {
+            return (SensorValueObject<?>) Class.forName(valuePath).getConstructor(String.class).newInstance(reading);
+        } catch (ClassNotFoundException | NoSuchMethodException | InstantiationException | IllegalAccessException
+                 | InvocationTargetException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package smarthome.benchmarks;
+
+import smarthome.domain.log.Log;
+import smarthome.domain.log.ReadingSeries;
+import smarthome.domain.vo.devicevo.DeviceIDVO;
+import smarthome.domain.vo.logvo.LogCursorVO;
+import smarthome.domain.vo.logvo.LogIDVO;
+import smarthome.domain.vo.logvo.TimeStampVO;
+import smarthome.persistence.LogRepository;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * LogRepository that answers the analytics series queries from series prepared in advance, so a benchmark measures
+ * the computation in LogServiceImpl and not the storage. Every other operation works on the logs saved in memory.
+ */
+final class SeriesLogRepository implements LogRepository {
+
+    private final Map<String, ReadingSeries> temperatureSeries;
+    private final ReadingSeries gridSeries;
+    private final ReadingSeries sourceSeries;
+    private final Map<LogIDVO, Log> logs = new LinkedHashMap<>();
+
+    private static final Comparator<Log> BY_POSITION = Comparator
+            .comparing((Log log) -> log.getTime().getValue())
+            .thenComparing(log -> log.getId().getID());
+
+    /**
+     * @param temperatureSeries The temperature series of each device, keyed by device ID.
+     * @param gridSeries        The series returned for the grid power meter.
+     * @param sourceSeries      The series returned for the power sources.
+     */
+    SeriesLogRepository(Map<String, ReadingSeries> temperatureSeries, ReadingSeries gridSeries, ReadingSeries sourceSeries) {
+        this.temperatureSeries = Map.copyOf(temperatureSeries);
+        this.gridSeries = gridSeries;
+        this.sourceSeries = sourceSeries;
+    }
+
+    @Override
+    public ReadingSeries getDeviceTemperatureSeries(DeviceIDVO deviceID, String sensorType, TimeStampVO start, TimeStampVO end) {
+        return this.temperatureSeries.getOrDefault(deviceID.getID(), ReadingSeries.empty());
+    }
+
+    @Override
+    public ReadingSeries findSeriesByDeviceIDAndSensorTypeAndTimeBetween(String deviceID, String sensorType, TimeStampVO start, TimeStampVO end) {
+        return this.gridSeries;
+    }
+
+    @Override
+    public ReadingSeries findSeriesByNegativeReadingAndNotDeviceIDAndSensorTypeAndTimeBetween(String excludeDeviceID, String sensorType, TimeStampVO start, TimeStampVO end) {
+        return this.sourceSeries;
+    }
+
+    @Override
+    public boolean save(Log entity) {
+        if (entity == null || isPresent((LogIDVO) entity.getId())) {
+            return false;
+        }
+        this.logs.put((LogIDVO) entity.getId(), entity);
+        return true;
+    }
+
+    @Override
+    public Iterable<Log> findAll() {
+        return List.copyOf(this.logs.values());
+    }
+
+    @Override
+    public Log findById(LogIDVO id) {
+        return this.logs.get(id);
+    }
+
+    @Override
+    public boolean isPresent(LogIDVO id) {
+        return this.logs.containsKey(id);
+    }
+
+    @Override
+    public boolean saveAll(Iterable<Log> logs) {
+        boolean saved = true;
+        for (Log log : logs) {
+            saved &= save(log);
+        }
+        return saved;
+    }
+
+    @Override
+    public Iterable<Log> findReadingsByDeviceID(DeviceIDVO deviceID, TimeStampVO from, TimeStampVO to) {
+        return find(log -> log.getDeviceID().equals(deviceID) && isBetween(log, from, to)).toList();
+    }
+
+    @Override
+    public Stream<Log> streamReadingsByDeviceID(DeviceIDVO deviceID, TimeStampVO from, TimeStampVO to) {
+        return find(log -> log.getDeviceID().equals(deviceID) && isBetween(log, from, to));
+    }
+
+    @Override
+    public Iterable<Log> findReadingsPageByDeviceID(DeviceIDVO deviceID, TimeStampVO from, TimeStampVO to, LogCursorVO cursor, int limit) {
+        List<Log> readings = find(log -> log.getDeviceID().equals(deviceID) && isBetween(log, from, to)).toList();
+        if (cursor == null) {
+            return readings.stream().limit(limit).toList();
+        }
+        if (cursor.isForward()) {
+            return readings.stream().filter(log -> compare(log, cursor) > 0).limit(limit).toList();
+        }
+        List<Log> before = readings.stream().filter(log -> compare(log, cursor) < 0).toList();
+        return before.subList(Math.max(0, before.size() - limit), before.size());
+    }
+
+    @Override
+    public Iterable<Log> getDeviceTemperatureLogs(DeviceIDVO deviceID, String sensorType, TimeStampVO start, TimeStampVO end) {
+        return findByDeviceIDAndSensorTypeAndTimeBetween(deviceID.getID(), sensorType, start, end);
+    }
+
+    @Override
+    public Iterable<Log> findByDeviceIDAndSensorTypeAndTimeBetween(String deviceID, String sensorType, TimeStampVO start, TimeStampVO end) {
+        return find(log -> log.getDeviceID().getID().equals(deviceID)
+                && log.getSensorTypeID().getID().equals(sensorType) && isBetween(log, start, end)).toList();
+    }
+
+    @Override
+    public Iterable<Log> findByNegativeReadingAndNotDeviceIDAndSensorTypeAndTimeBetween(String excludeDeviceID, String sensorType, TimeStampVO start, TimeStampVO end) {
+        return find(log -> !log.getDeviceID().getID().equals(excludeDeviceID)
+                && log.getSensorTypeID().getID().equals(sensorType) && isBetween(log, start, end)
+                && log.getReading().getValue() instanceof Number reading && reading.doubleValue() < 0).toList();
+    }
+
+    private Stream<Log> find(Predicate<Log> filter) {
+        return this.logs.values().stream().filter(filter).sorted(BY_POSITION);
+    }
+
+    private static int compare(Log log, LogCursorVO cursor) {
+        int byTime = log.getTime().getValue().compareTo(cursor.getTime().getValue());
+        return byTime != 0 ? byTime : log.getId().getID().compareTo(cursor.getLogID().getID());
+    }
+
+    private static boolean isBetween(Log log, TimeStampVO from, TimeStampVO to) {
+        return (from == null || !log.getTime().getValue().isBefore(from.getValue()))
+                && (to == null || !log.getTime().getValue().isAfter(to.getValue()));
+    }
+}
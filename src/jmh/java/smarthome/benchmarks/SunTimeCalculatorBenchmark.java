@@ -0,0 +1,43 @@
+package smarthome.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import smarthome.domain.sensor.externalservices.SunTimeCalculator;
+
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SunTimeCalculator.computeSunrise over the days of a year, at a fixed location.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SunTimeCalculatorBenchmark {
+
+    private static final String COORDINATES = "41.1579 : -8.6291";
+
+    private SunTimeCalculator calculator;
+    private String[] dates;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.calculator = new SunTimeCalculator();
+        LocalDate day = LocalDate.of(2024, 1, 1);
+        this.dates = new String[366];
+        for (int i = 0; i < this.dates.length; i++) {
+            this.dates[i] = day.plusDays(i).toString();
+        }
+    }
+
+    @Benchmark
+    public ZonedDateTime computeSunrise() {
+        String date = this.dates[this.next];
+        this.next = (this.next + 1) % this.dates.length;
+        return this.calculator.computeSunrise(date, COORDINATES);
+    }
+}
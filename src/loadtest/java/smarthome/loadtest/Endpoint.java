@@ -0,0 +1,133 @@
+package smarthome.loadtest;
+
+import java.net.http.HttpRequest;
+import java.util.Random;
+
+/**
+ * The requests a load test client sends, one per endpoint of the REST API under test. Each endpoint builds a request
+ * against the seeded house, with IDs and time windows drawn from the random generator of the client.
+ */
+enum Endpoint {
+
+    LOGS_PAGE("logs.page", 20) {
+        @Override
+        HttpRequest request(LoadTestFixture fixture, Random random) {
+            return fixture.get("/logs?deviceId=" + fixture.anyDevice(random) + "&limit=100", fixture.window(random, 24));
+        }
+    },
+    LOGS_STREAM("logs.stream", 5) {
+        @Override
+        HttpRequest request(LoadTestFixture fixture, Random random) {
+            return fixture.builder("/logs?deviceId=" + fixture.anyDevice(random))
+                    .header("Accept", LoadTestFixture.NDJSON)
+                    .header("Content-Type", LoadTestFixture.JSON)
+                    .method("GET", HttpRequest.BodyPublishers.ofString(fixture.window(random, 24)))
+                    .build();
+        }
+    },
+    LOGS_BATCH("logs.batch", 5) {
+        @Override
+        HttpRequest request(LoadTestFixture fixture, Random random) {
+            return fixture.builder("/logs/batch")
+                    .header("Content-Type", LoadTestFixture.NDJSON)
+                    .POST(HttpRequest.BodyPublishers.ofString(fixture.batch(random, 100)))
+                    .build();
+        }
+    },
+    LOGS_MAX_TEMPERATURE_DIFFERENCE("logs.max-temperature-difference", 5) {
+        @Override
+        HttpRequest request(LoadTestFixture fixture, Random random) {
+            return fixture.get("/logs?outdoorId=" + fixture.outdoorDevice() + "&indoorId="
+                    + fixture.indoorTemperatureDevice(random), fixture.window(random, 24));
+        }
+    },
+    LOGS_PEAK_POWER_CONSUMPTION("logs.peak-power-consumption", 5) {
+        @Override
+        HttpRequest request(LoadTestFixture fixture, Random random) {
+            return fixture.get("/logs/peak-power-consumption", fixture.window(random, 24));
+        }
+    },
+    DEVICES_GET("devices.get", 15) {
+        @Override
+        HttpRequest request(LoadTestFixture fixture, Random random) {
+            return fixture.get("/devices/" + fixture.anyDevice(random), null);
+        }
+    },
+    DEVICES_BY_ROOM("devices.by-room", 10) {
+        @Override
+        HttpRequest request(LoadTestFixture fixture, Random random) {
+            return fixture.get("/devices?roomID=" + fixture.anyRoom(random), null);
+        }
+    },
+    DEVICES_BY_FUNCTIONALITY("devices.by-functionality", 5) {
+        @Override
+        HttpRequest request(LoadTestFixture fixture, Random random) {
+            return fixture.get("/devices/byfunctionality", null);
+        }
+    },
+    ACTUATORS_GET("actuators.get", 10) {
+        @Override
+        HttpRequest request(LoadTestFixture fixture, Random random) {
+            return fixture.get("/actuators/" + fixture.anyActuator(random), null);
+        }
+    },
+    ACTUATORS_BY_DEVICE("actuators.by-device", 10) {
+        @Override
+        HttpRequest request(LoadTestFixture fixture, Random random) {
+            return fixture.get("/actuators?deviceId=" + fixture.anyDevice(random), null);
+        }
+    },
+    ACTUATORS_ACT("actuators.act", 5) {
+        @Override
+        HttpRequest request(LoadTestFixture fixture, Random random) {
+            return fixture.builder("/actuators/" + fixture.valueActuator(random) + "/act?command=" + random.nextInt(101))
+                    .method("PATCH", HttpRequest.BodyPublishers.noBody())
+                    .build();
+        }
+    },
+    HOUSE_GET("house.get", 5) {
+        @Override
+        HttpRequest request(LoadTestFixture fixture, Random random) {
+            return fixture.get("/house", null);
+        }
+    };
+
+    private final String name;
+    private final int defaultWeight;
+
+    Endpoint(String name, int defaultWeight) {
+        this.name = name;
+        this.defaultWeight = defaultWeight;
+    }
+
+    /**
+     * Builds a request to the endpoint.
+     *
+     * @param fixture The seeded house.
+     * @param random  The random generator of the client.
+     * @return The request.
+     */
+    abstract HttpRequest request(LoadTestFixture fixture, Random random);
+
+    String getName() {
+        return name;
+    }
+
+    int getDefaultWeight() {
+        return defaultWeight;
+    }
+
+    /**
+     * @param name The name of an endpoint, as used in the mix.
+     * @return The endpoint.
+     * @throws IllegalArgumentException if there is no endpoint with that name.
+     */
+    static Endpoint fromName(String name) {
+        for (Endpoint endpoint : values()) {
+            if (endpoint.name.equals(name)) {
+                return endpoint;
+            }
+        }
+        throw new IllegalArgumentException("Unknown endpoint: " + name);
+    }
+}
@@ -0,0 +1,72 @@
+package smarthome.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * The latencies and the errors of the requests to one endpoint. A recorder belongs to a single client while the test
+ * runs, so recording needs no synchronization; the recorders of the clients are merged once the test is over.
+ */
+final class LatencyRecorder {
+
+    private long[] latencies = new long[1024];
+    private int count;
+    private int errors;
+
+    /**
+     * Records a request.
+     *
+     * @param latencyNanos The time from sending the request to reading the whole response.
+     * @param failed       Whether the request failed: an error status or no response at all.
+     */
+    void record(long latencyNanos, boolean failed) {
+        if (this.count == this.latencies.length) {
+            this.latencies = Arrays.copyOf(this.latencies, this.count * 2);
+        }
+        this.latencies[this.count++] = latencyNanos;
+        if (failed) {
+            this.errors++;
+        }
+    }
+
+    /**
+     * Adds the requests of another recorder to this one.
+     *
+     * @param other The other recorder.
+     */
+    void merge(LatencyRecorder other) {
+        if (this.count + other.count > this.latencies.length) {
+            this.latencies = Arrays.copyOf(this.latencies, this.count + other.count);
+        }
+        System.arraycopy(other.latencies, 0, this.latencies, this.count, other.count);
+        this.count += other.count;
+        this.errors += other.errors;
+    }
+
+    int getCount() {
+        return count;
+    }
+
+    int getErrors() {
+        return errors;
+    }
+
+    /**
+     * Computes latency percentiles by the nearest-rank method.
+     *
+     * @param percentiles The percentiles, between 0 and 100.
+     * @return The latency at each percentile, in milliseconds, or zeros if nothing was recorded.
+     */
+    double[] percentilesMillis(double... percentiles) {
+        double[] result = new double[percentiles.length];
+        if (this.count == 0) {
+            return result;
+        }
+        long[] sorted = Arrays.copyOf(this.latencies, this.count);
+        Arrays.sort(sorted);
+        for (int i = 0; i < percentiles.length; i++) {
+            int rank = (int) Math.ceil(percentiles[i] / 100 * this.count);
+            result[i] = sorted[Math.max(0, Math.min(this.count, rank) - 1)] / 1_000_000.0;
+        }
+        return result;
+    }
+}
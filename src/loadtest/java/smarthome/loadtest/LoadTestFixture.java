@@ -0,0 +1,149 @@
+package smarthome.loadtest;
+
+import smarthome.domain.actuator.Actuator;
+import smarthome.domain.device.Device;
+import smarthome.domain.room.Room;
+import smarthome.domain.sensor.Sensor;
+import smarthome.utils.dataset.DatasetSpec;
+import smarthome.utils.dataset.SyntheticHouse;
+import smarthome.utils.dataset.SyntheticHouse.DeviceRole;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * The IDs of the seeded house and the period of its readings, from which the endpoints build their requests. A
+ * fixture is immutable and shared by every client.
+ */
+final class LoadTestFixture {
+
+    static final String JSON = "application/json";
+    static final String NDJSON = "application/x-ndjson";
+
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+    private static final Duration TIMEOUT = Duration.ofSeconds(60);
+    private static final Set<String> VALUE_ACTUATORS = Set.of("RollerBlindActuator", "IntegerValueActuator",
+            "DecimalValueActuator");
+
+    private final String baseUri;
+    private final LocalDateTime start;
+    private final int hours;
+    private final List<String> rooms;
+    private final List<String> devices;
+    private final List<String> actuators;
+    private final List<String> valueActuators;
+    private final List<Sensor> indoorTemperatureSensors;
+    private final String outdoorDevice;
+
+    LoadTestFixture(String baseUri, SyntheticHouse house, DatasetSpec spec) {
+        this.baseUri = baseUri;
+        this.start = spec.getStart();
+        this.hours = spec.getDays() * 24;
+        this.rooms = house.getRooms().stream().map(Room::getId).map(id -> id.getID()).toList();
+        this.devices = house.getDevices().stream().map(Device::getId).map(id -> id.getID()).toList();
+        this.actuators = house.getActuators().stream().map(Actuator::getId).map(id -> id.getID()).toList();
+        this.valueActuators = house.getActuators().stream()
+                .filter(actuator -> VALUE_ACTUATORS.contains(actuator.getActuatorTypeID().getID()))
+                .map(actuator -> actuator.getId().getID())
+                .toList();
+        this.indoorTemperatureSensors = house.getSensors().stream()
+                .filter(sensor -> sensor.getSensorTypeID().getID().equals("TemperatureSensor"))
+                .filter(sensor -> house.getRole(sensor.getDeviceID()) == DeviceRole.APPLIANCE)
+                .toList();
+        this.outdoorDevice = house.getDevicesWithRole(DeviceRole.WEATHER_STATION).iterator().next().getID();
+        if (this.valueActuators.isEmpty() || this.indoorTemperatureSensors.isEmpty()) {
+            throw new IllegalArgumentException("The house needs value actuators and indoor temperature sensors");
+        }
+    }
+
+    HttpRequest.Builder builder(String path) {
+        return HttpRequest.newBuilder(URI.create(this.baseUri + path)).timeout(TIMEOUT);
+    }
+
+    /**
+     * Builds a GET request that accepts JSON, with an optional JSON body (the time windows of the log endpoints are
+     * sent as the body of a GET).
+     */
+    HttpRequest get(String path, String body) {
+        HttpRequest.Builder builder = builder(path).header("Accept", JSON);
+        if (body == null) {
+            return builder.GET().build();
+        }
+        return builder.header("Content-Type", JSON).method("GET", HttpRequest.BodyPublishers.ofString(body)).build();
+    }
+
+    String anyRoom(Random random) {
+        return pick(this.rooms, random);
+    }
+
+    String anyDevice(Random random) {
+        return pick(this.devices, random);
+    }
+
+    String anyActuator(Random random) {
+        return pick(this.actuators, random);
+    }
+
+    String valueActuator(Random random) {
+        return pick(this.valueActuators, random);
+    }
+
+    String outdoorDevice() {
+        return this.outdoorDevice;
+    }
+
+    String indoorTemperatureDevice(Random random) {
+        return pick(this.indoorTemperatureSensors, random).getDeviceID().getID();
+    }
+
+    /**
+     * Builds the time configuration of a window inside the period of the readings.
+     *
+     * @param random The random generator of the client.
+     * @param length The length of the window, in hours.
+     * @return The time configuration, as JSON.
+     */
+    String window(Random random, int length) {
+        int window = Math.min(length, this.hours);
+        LocalDateTime from = this.start.plusHours(random.nextInt(this.hours - window + 1));
+        LocalDateTime to = from.plusHours(window).minusMinutes(1);
+        return "{\"initialDate\":\"" + from.toLocalDate() + "\",\"initialTime\":\"" + from.toLocalTime()
+                + "\",\"endDate\":\"" + to.toLocalDate() + "\",\"endTime\":\"" + to.toLocalTime()
+                + "\",\"deltaMin\":\"5\"}";
+    }
+
+    /**
+     * Builds a bulk upload of temperature readings of one indoor sensor, as NDJSON.
+     *
+     * @param random The random generator of the client.
+     * @param size   The number of readings.
+     * @return The readings, one per line.
+     */
+    String batch(Random random, int size) {
+        Sensor sensor = pick(this.indoorTemperatureSensors, random);
+        StringBuilder body = new StringBuilder(size * 220);
+        for (int i = 0; i < size; i++) {
+            LocalDateTime time = this.start.plusSeconds(random.nextInt(this.hours * 3600));
+            double reading = Math.round((18 + 6 * random.nextDouble()) * 10) / 10.0;
+            body.append("{\"logID\":\"").append(UUID.randomUUID())
+                    .append("\",\"time\":\"").append(time.format(TIME))
+                    .append("\",\"reading\":\"").append(reading)
+                    .append("\",\"sensorID\":\"").append(sensor.getId().getID())
+                    .append("\",\"deviceID\":\"").append(sensor.getDeviceID().getID())
+                    .append("\",\"sensorTypeID\":\"").append(sensor.getSensorTypeID().getID())
+                    .append("\"}\n");
+        }
+        return body.toString();
+    }
+
+    private static <T> T pick(List<T> values, Random random) {
+        return values.get(random.nextInt(values.size()));
+    }
+}
@@ -0,0 +1,115 @@
+package smarthome.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The results of a load test run: per endpoint and overall, the number of requests, the error rate, the throughput and
+ * the p50, p95 and p99 latencies.
+ */
+final class LoadTestReport {
+
+    private final LoadTestSettings settings;
+    private final long rows;
+    private final double seconds;
+    private final Map<Endpoint, LatencyRecorder> endpoints;
+    private final LatencyRecorder total = new LatencyRecorder();
+
+    /**
+     * @param settings  The settings of the run.
+     * @param rows      The number of readings seeded.
+     * @param seconds   How long the measurement lasted.
+     * @param endpoints The merged recorder of each endpoint.
+     */
+    LoadTestReport(LoadTestSettings settings, long rows, double seconds, Map<Endpoint, LatencyRecorder> endpoints) {
+        this.settings = settings;
+        this.rows = rows;
+        this.seconds = seconds;
+        this.endpoints = endpoints;
+        for (LatencyRecorder recorder : endpoints.values()) {
+            this.total.merge(recorder);
+        }
+    }
+
+    double getErrorRate() {
+        return errorRate(this.total);
+    }
+
+    long getRequests() {
+        return this.total.getCount();
+    }
+
+    /**
+     * Prints the results as a table.
+     *
+     * @param out Where to print.
+     */
+    void print(PrintStream out) {
+        out.printf("Load test: %d clients for %.0f s against %d readings (%s)%n", this.settings.getClients(),
+                this.seconds, this.rows, this.settings.getDataset());
+        out.printf("%-34s %9s %8s %10s %10s %10s %10s%n", "endpoint", "requests", "errors", "req/s", "p50 ms",
+                "p95 ms", "p99 ms");
+        for (Map.Entry<Endpoint, LatencyRecorder> entry : this.endpoints.entrySet()) {
+            printRow(out, entry.getKey().getName(), entry.getValue());
+        }
+        printRow(out, "total", this.total);
+    }
+
+    /**
+     * Writes the results as JSON.
+     *
+     * @param file The file to write.
+     * @throws IOException if the file cannot be written.
+     */
+    void write(Path file) throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("clients", this.settings.getClients());
+        report.put("durationSeconds", this.seconds);
+        report.put("readings", this.rows);
+        report.put("dataset", this.settings.getDataset().toString());
+        List<Map<String, Object>> results = new ArrayList<>();
+        for (Map.Entry<Endpoint, LatencyRecorder> entry : this.endpoints.entrySet()) {
+            results.add(result(entry.getKey().getName(), entry.getValue()));
+        }
+        report.put("endpoints", results);
+        report.put("total", result("total", this.total));
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), report);
+    }
+
+    private void printRow(PrintStream out, String name, LatencyRecorder recorder) {
+        double[] percentiles = recorder.percentilesMillis(50, 95, 99);
+        out.printf("%-34s %9d %7.2f%% %10.1f %10.2f %10.2f %10.2f%n", name, recorder.getCount(),
+                errorRate(recorder) * 100, recorder.getCount() / this.seconds, percentiles[0], percentiles[1],
+                percentiles[2]);
+    }
+
+    private Map<String, Object> result(String name, LatencyRecorder recorder) {
+        double[] percentiles = recorder.percentilesMillis(50, 95, 99);
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("endpoint", name);
+        result.put("requests", recorder.getCount());
+        result.put("errors", recorder.getErrors());
+        result.put("errorRate", errorRate(recorder));
+        result.put("throughputPerSecond", recorder.getCount() / this.seconds);
+        result.put("p50Millis", percentiles[0]);
+        result.put("p95Millis", percentiles[1]);
+        result.put("p99Millis", percentiles[2]);
+        return result;
+    }
+
+    private static double errorRate(LatencyRecorder recorder) {
+        return recorder.getCount() == 0 ? 0 : (double) recorder.getErrors() / recorder.getCount();
+    }
+}
@@ -0,0 +1,139 @@
+package smarthome.loadtest;
+
+import smarthome.utils.dataset.DatasetSpec;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * The settings of a load test run, read from system properties so they can be given on the Maven command line
+ * (-Dloadtest.clients=200). Every setting has a default that seeds a house with about half a million readings and
+ * runs a one minute test with 50 clients.
+ * <ul>
+ *     <li>loadtest.seed, loadtest.rooms, loadtest.devices-per-room, loadtest.sensors-per-device, loadtest.days,
+ *     loadtest.interval-seconds: the dataset to seed, see DatasetSpec;</li>
+ *     <li>loadtest.clients: the number of concurrent clients;</li>
+ *     <li>loadtest.warmup-seconds and loadtest.duration-seconds: how long to warm up and how long to measure;</li>
+ *     <li>loadtest.mix: the weight of each endpoint, as a comma-separated list of name=weight
+ *     (logs.page=10,devices.get=5). Endpoints that are not listed keep their default weight, and a weight of 0
+ *     leaves the endpoint out;</li>
+ *     <li>loadtest.max-error-rate: the fraction of failed requests above which the run fails;</li>
+ *     <li>loadtest.report: the file the JSON report is written to.</li>
+ * </ul>
+ */
+final class LoadTestSettings {
+
+    private final DatasetSpec dataset;
+    private final int clients;
+    private final int warmupSeconds;
+    private final int durationSeconds;
+    private final Map<Endpoint, Integer> mix;
+    private final double maxErrorRate;
+    private final String report;
+
+    private LoadTestSettings(DatasetSpec dataset, int clients, int warmupSeconds, int durationSeconds,
+                             Map<Endpoint, Integer> mix, double maxErrorRate, String report) {
+        this.dataset = dataset;
+        this.clients = clients;
+        this.warmupSeconds = warmupSeconds;
+        this.durationSeconds = durationSeconds;
+        this.mix = mix;
+        this.maxErrorRate = maxErrorRate;
+        this.report = report;
+    }
+
+    /**
+     * @return The settings given as system properties, with the defaults for the missing ones.
+     * @throws IllegalArgumentException if a setting is not valid.
+     */
+    static LoadTestSettings fromSystemProperties() {
+        DatasetSpec dataset = DatasetSpec.builder()
+                .seed(Long.parseLong(property("loadtest.seed", "1")))
+                .rooms(intProperty("loadtest.rooms", 10))
+                .devicesPerRoom(intProperty("loadtest.devices-per-room", 5))
+                .sensorsPerDevice(intProperty("loadtest.sensors-per-device", 3))
+                .start(LocalDateTime.of(2024, 1, 1, 0, 0))
+                .days(intProperty("loadtest.days", 7))
+                .intervalSeconds(intProperty("loadtest.interval-seconds", 300))
+                .build();
+        int clients = intProperty("loadtest.clients", 50);
+        int warmupSeconds = intProperty("loadtest.warmup-seconds", 10);
+        int durationSeconds = intProperty("loadtest.duration-seconds", 60);
+        if (clients <= 0 || warmupSeconds < 0 || durationSeconds <= 0) {
+            throw new IllegalArgumentException("Invalid load test settings");
+        }
+        double maxErrorRate = Double.parseDouble(property("loadtest.max-error-rate", "0.01"));
+        String report = property("loadtest.report", "target/load-test-report.json");
+        return new LoadTestSettings(dataset, clients, warmupSeconds, durationSeconds,
+                parseMix(property("loadtest.mix", "")), maxErrorRate, report);
+    }
+
+    /**
+     * Parses a mix over the default weights of the endpoints.
+     *
+     * @param mix The mix, as a comma-separated list of name=weight.
+     * @return The weight of every endpoint.
+     * @throws IllegalArgumentException if an endpoint is unknown or a weight is not valid.
+     */
+    static Map<Endpoint, Integer> parseMix(String mix) {
+        Map<Endpoint, Integer> weights = new EnumMap<>(Endpoint.class);
+        for (Endpoint endpoint : Endpoint.values()) {
+            weights.put(endpoint, endpoint.getDefaultWeight());
+        }
+        for (String entry : mix.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            String[] parts = entry.split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid load test mix: " + entry);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Invalid load test mix: " + entry);
+            }
+            weights.put(Endpoint.fromName(parts[0].trim()), weight);
+        }
+        if (weights.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("Invalid load test mix: no endpoint has a weight");
+        }
+        return weights;
+    }
+
+    DatasetSpec getDataset() {
+        return dataset;
+    }
+
+    int getClients() {
+        return clients;
+    }
+
+    int getWarmupSeconds() {
+        return warmupSeconds;
+    }
+
+    int getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    Map<Endpoint, Integer> getMix() {
+        return mix;
+    }
+
+    double getMaxErrorRate() {
+        return maxErrorRate;
+    }
+
+    String getReport() {
+        return report;
+    }
+
+    private static String property(String name, String defaultValue) {
+        return System.getProperty(name, defaultValue);
+    }
+
+    private static int intProperty(String name, int defaultValue) {
+        return Integer.parseInt(property(name, Integer.toString(defaultValue)));
+    }
+}
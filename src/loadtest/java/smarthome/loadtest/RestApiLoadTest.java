@@ -0,0 +1,192 @@
+package smarthome.loadtest;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import smarthome.domain.sensor.externalservices.SunTimeCalculator;
+import smarthome.persistence.*;
+import smarthome.service.FunctionalityIndex;
+import smarthome.utils.dataset.DatasetGenerator;
+import smarthome.utils.dataset.DatasetSpec;
+import smarthome.utils.dataset.SyntheticHouse;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Boots the application on a local database, seeds it with a synthetic house and its readings, and drives concurrent
+ * clients against the log, device, actuator and house endpoints. Each client sends requests back to back, choosing
+ * the endpoint of every request at random by the weights of the mix.
+ * <p>
+ * Run it with: mvn -P load-tests test. The settings are read from system properties (see LoadTestSettings), and
+ * the database can be changed with -Dloadtest.datasource.url, which is an in-memory H2 database by default. The
+ * results are printed and written as JSON; the run fails if the error rate is above the maximum.
+ * </p>
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=${loadtest.datasource.url:jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1}",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=1000",
+        "spring.jpa.properties.hibernate.order_inserts=true",
+        "smarthome.log.retention.enabled=false",
+        "smarthome.functionality-index.enabled=true"
+})
+class RestApiLoadTest {
+
+    private static final int SEED_BATCH_SIZE = 1000;
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${server.servlet.context-path}")
+    private String contextPath;
+
+    @Value("${filepath}")
+    private String configPath;
+
+    @Value("${filePathValue}")
+    private String valuePath;
+
+    @Autowired
+    private HouseRepository houseRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private DeviceRepository deviceRepository;
+
+    @Autowired
+    private SensorRepository sensorRepository;
+
+    @Autowired
+    private ActuatorRepository actuatorRepository;
+
+    @Autowired
+    private LogRepository logRepository;
+
+    @Autowired
+    private FunctionalityIndex functionalityIndex;
+
+    @Test
+    void restApiUnderLoad() throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        DatasetSpec spec = settings.getDataset();
+        DatasetGenerator generator = new DatasetGenerator(spec, configPath, valuePath, new SunTimeCalculator());
+        SyntheticHouse house = generator.generateHouse();
+        assertTrue(generator.saveHouse(house, houseRepository, roomRepository, deviceRepository, sensorRepository,
+                actuatorRepository), "The house could not be seeded");
+        assertTrue(functionalityIndex.rebuild(), "The functionality index could not be built");
+        long rows = generator.saveReadings(house, logRepository, SEED_BATCH_SIZE);
+        assertTrue(rows > 0, "The readings could not be seeded");
+
+        LoadTestFixture fixture = new LoadTestFixture("http://localhost:" + port + contextPath, house, spec);
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+
+        run(settings, fixture, client, settings.getWarmupSeconds(), spec.getSeed() - 1);
+        long started = System.nanoTime();
+        Map<Endpoint, LatencyRecorder> results = run(settings, fixture, client, settings.getDurationSeconds(),
+                spec.getSeed());
+        double seconds = (System.nanoTime() - started) / 1e9;
+
+        LoadTestReport report = new LoadTestReport(settings, rows, seconds, results);
+        report.print(System.out);
+        report.write(Path.of(settings.getReport()));
+        assertTrue(report.getRequests() > 0, "No request was sent");
+        assertTrue(report.getErrorRate() <= settings.getMaxErrorRate(),
+                "Error rate " + report.getErrorRate() + " is above " + settings.getMaxErrorRate());
+    }
+
+    /**
+     * Runs the clients for a while and merges what they recorded.
+     *
+     * @param seed The seed of the random generators of the clients, so a run can be repeated.
+     * @return The merged recorder of each endpoint with a weight.
+     */
+    private static Map<Endpoint, LatencyRecorder> run(LoadTestSettings settings, LoadTestFixture fixture,
+                                                      HttpClient client, int seconds, long seed) throws Exception {
+        Map<Endpoint, LatencyRecorder> merged = new EnumMap<>(Endpoint.class);
+        for (Map.Entry<Endpoint, Integer> entry : settings.getMix().entrySet()) {
+            if (entry.getValue() > 0) {
+                merged.put(entry.getKey(), new LatencyRecorder());
+            }
+        }
+        if (seconds == 0) {
+            return merged;
+        }
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        ExecutorService executor = Executors.newFixedThreadPool(settings.getClients());
+        try {
+            List<Future<Map<Endpoint, LatencyRecorder>>> clients = new ArrayList<>();
+            for (int i = 0; i < settings.getClients(); i++) {
+                Random random = new Random(seed * 31 + i);
+                clients.add(executor.submit(() -> runClient(settings.getMix(), fixture, client, deadline, random)));
+            }
+            for (Future<Map<Endpoint, LatencyRecorder>> future : clients) {
+                for (Map.Entry<Endpoint, LatencyRecorder> entry : future.get().entrySet()) {
+                    merged.get(entry.getKey()).merge(entry.getValue());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return merged;
+    }
+
+    /**
+     * Sends requests back to back until the deadline. A request fails if the response has an error status or if no
+     * response arrives.
+     */
+    private static Map<Endpoint, LatencyRecorder> runClient(Map<Endpoint, Integer> mix, LoadTestFixture fixture,
+                                                            HttpClient client, long deadline, Random random) {
+        Endpoint[] endpoints = Endpoint.values();
+        int[] cumulativeWeights = new int[endpoints.length];
+        int totalWeight = 0;
+        for (int i = 0; i < endpoints.length; i++) {
+            totalWeight += mix.get(endpoints[i]);
+            cumulativeWeights[i] = totalWeight;
+        }
+        Map<Endpoint, LatencyRecorder> recorders = new EnumMap<>(Endpoint.class);
+        while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+            int draw = random.nextInt(totalWeight);
+            int index = 0;
+            while (cumulativeWeights[index] <= draw) {
+                index++;
+            }
+            Endpoint endpoint = endpoints[index];
+            HttpRequest request = endpoint.request(fixture, random);
+            long sent = System.nanoTime();
+            boolean failed;
+            try {
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                failed = response.statusCode() >= 400;
+            } catch (IOException e) {
+                failed = true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            recorders.computeIfAbsent(endpoint, key -> new LatencyRecorder()).record(System.nanoTime() - sent, failed);
+        }
+        return recorders;
+    }
+}
@@ -1,26 +1,51 @@
 package smarthome.controller;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DatabindException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.LinkRelation;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import smarthome.domain.log.Log;
 import smarthome.domain.vo.DeltaVO;
 import smarthome.domain.vo.devicevo.DeviceIDVO;
+import smarthome.domain.vo.logvo.LogCursorVO;
 import smarthome.domain.vo.logvo.TimeStampVO;
 import smarthome.domain.vo.sensortype.SensorTypeIDVO;
 import smarthome.domain.vo.sensorvo.SensorIDVO;
 import smarthome.mapper.DeviceMapper;
 import smarthome.mapper.LogMapper;
 import smarthome.mapper.SensorMapper;
+import smarthome.mapper.dto.LogBatchResultDTO;
 import smarthome.mapper.dto.LogDTO;
 import smarthome.service.LogService;
 import smarthome.utils.timeconfig.TimeConfigDTO;
 import smarthome.utils.timeconfig.TimeConfigMapper;
 
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.DateTimeException;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 
 /**
  * REST controller for managing logs in the Smart Home system.
@@ -38,16 +63,28 @@ import java.util.List;
 public class LogCTRLWeb {
 
     private final LogService logService;
+    private final ObjectReader logDTOReader;
+    private final JsonFactory jsonFactory;
+
+    private static final String NDJSON_VALUE = "application/x-ndjson";
+    private static final int INGESTION_BATCH_SIZE = 5000;
+    private static final String MALFORMED_MESSAGE = "Malformed payload";
+    private static final int STREAM_FLUSH_INTERVAL = 500;
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 1000;
 
 
     /**
      * Constructs a new {@code WebLogController} with the specified {@code LogService}.
      *
      * @param logService the service for managing logs
+     * @param objectMapper the mapper used to parse bulk reading uploads and write streamed readings
      */
     @Autowired
-    public LogCTRLWeb(LogService logService) {
+    public LogCTRLWeb(LogService logService, ObjectMapper objectMapper) {
         this.logService = logService;
+        this.logDTOReader = objectMapper.readerFor(LogDTO.class);
+        this.jsonFactory = objectMapper.getFactory();
     }
 
     /**
@@ -58,7 +95,17 @@ public class LogCTRLWeb {
      * uses the {@code LogService} to find the logs, and returns the logs as a collection of {@link LogDTO}.
      * If a time period is not specified only the device ID is converted to value object and passed to log service
      * </p>
+     * <p>
+     * When a cursor or a limit is given, the readings are returned one page at a time, ordered by time, using keyset
+     * pagination: the page starts from the position encoded in the opaque cursor instead of an offset, so deep pages
+     * cost the same as the first one. The collection then carries {@code next} and {@code prev} links with the cursors
+     * of the neighbouring pages; the time period, if any, must be sent again with each page. A limit below 1 or above
+     * {@value #MAX_PAGE_SIZE} is rejected with a BAD_REQUEST status.
+     * </p>
      * @param id the device ID
+     * @param cursor the opaque cursor of the page, taken from a {@code next} or {@code prev} link (Optional)
+     * @param limit the maximum number of readings in the page, from 1 to {@value #MAX_PAGE_SIZE},
+     *              {@value #DEFAULT_PAGE_SIZE} by default (Optional)
      * @param timeConfigDTO the time configuration data transfer object (Optional)
      * @return a {@code ResponseEntity} containing the list of log DTOs and HTTP status
      */
@@ -66,8 +113,13 @@ public class LogCTRLWeb {
     @GetMapping("")
     public ResponseEntity<CollectionModel<LogDTO>> findReadings(
             @RequestParam(value = "deviceId") String id,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", required = false) Integer limit,
             @RequestBody(required = false) TimeConfigDTO timeConfigDTO) {
 
+        if (limit != null && (limit < 1 || limit > MAX_PAGE_SIZE)) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
         try {
             DeviceIDVO deviceIDVO = DeviceMapper.createDeviceID(id);
 
@@ -80,6 +132,15 @@ public class LogCTRLWeb {
                 finalTimeStamp = TimeConfigMapper.createFinalTimeStamp(timeConfigDTO);
             }
 
+            if (cursor != null || limit != null) {
+                LogCursorVO cursorVO = cursor != null ? LogMapper.createLogCursorVO(cursor) : null;
+                int pageSize = limit != null ? limit : DEFAULT_PAGE_SIZE;
+                List<Log> page = logService.findReadingsPageFromDevice(deviceIDVO, initialTimeStamp, finalTimeStamp, cursorVO, pageSize);
+                CollectionModel<LogDTO> model = CollectionModel.of(LogMapper.domainToDTO(page));
+                addPageLinks(model, id, page, cursorVO, pageSize);
+                return new ResponseEntity<>(model, HttpStatus.OK);
+            }
+
             List<Log> logs = logService.findReadingsFromDevice(deviceIDVO, initialTimeStamp, finalTimeStamp);
             List<LogDTO> logsDTO = LogMapper.domainToDTO(logs);
             // Returns the logs with a status code
@@ -91,6 +152,82 @@ public class LogCTRLWeb {
         }
     }
 
+    /**
+     * Adds the {@code next} and {@code prev} links of a page of readings.
+     * <p>
+     * A page read forwards has a next page only if it is full, and a previous page unless it is the first page;
+     * a page read backwards always has a next page and has a previous page only if it is full. An empty page links
+     * back to the position it was requested from.
+     * </p>
+     * @param model the collection the links are added to
+     * @param id the device ID
+     * @param page the readings of the page, in ascending order
+     * @param cursor the cursor the page was requested with, or null for the first page
+     * @param limit the page size
+     */
+    private void addPageLinks(CollectionModel<LogDTO> model, String id, List<Log> page, LogCursorVO cursor, int limit) {
+        boolean forward = cursor == null || cursor.isForward();
+        if (page.isEmpty()) {
+            if (cursor != null) {
+                LogCursorVO back = new LogCursorVO(cursor.getTime(), cursor.getLogID(), !forward);
+                model.add(pageLink(id, back, limit, forward ? IanaLinkRelations.PREV : IanaLinkRelations.NEXT));
+            }
+            return;
+        }
+        boolean full = page.size() == limit;
+        if (!forward || full) {
+            model.add(pageLink(id, LogMapper.createNextCursor(page.get(page.size() - 1)), limit, IanaLinkRelations.NEXT));
+        }
+        if (cursor != null && (forward || full)) {
+            model.add(pageLink(id, LogMapper.createPreviousCursor(page.get(0)), limit, IanaLinkRelations.PREV));
+        }
+    }
+
+    /**
+     * Builds a link to the page of readings selected by the given cursor.
+     */
+    private Link pageLink(String id, LogCursorVO cursor, int limit, LinkRelation relation) {
+        return linkTo(methodOn(LogCTRLWeb.class).findReadings(id, LogMapper.cursorToString(cursor), limit, null)).withRel(relation);
+    }
+
+
+    /**
+     * Streams readings for a specific device as newline-delimited JSON. A time period (timeConfigDTO) may be
+     * specified, which is optional.
+     * <p>
+     * Selected instead of {@link #findReadings} when the client accepts {@value #NDJSON_VALUE}. Readings are read from
+     * the repository and written to the response one by one while the query is still running, with the output
+     * flushed every {@value #STREAM_FLUSH_INTERVAL} readings, so memory use stays flat however long the period is.
+     * Each line holds one reading with the fields of a {@link LogDTO}.
+     * </p>
+     * @param id the device ID
+     * @param timeConfigDTO the time configuration data transfer object (Optional)
+     * @return a {@code ResponseEntity} with the streamed readings, or a BAD_REQUEST status if the parameters are invalid
+     */
+    @GetMapping(value = "", produces = NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamReadings(
+            @RequestParam(value = "deviceId") String id,
+            @RequestBody(required = false) TimeConfigDTO timeConfigDTO) {
+
+        try {
+            DeviceIDVO deviceIDVO = DeviceMapper.createDeviceID(id);
+
+            TimeStampVO initialTimeStamp = null;
+            TimeStampVO finalTimeStamp = null;
+
+            if (timeConfigDTO != null) {
+                initialTimeStamp = TimeConfigMapper.createInitialTimeStamp(timeConfigDTO);
+                finalTimeStamp = TimeConfigMapper.createFinalTimeStamp(timeConfigDTO);
+            }
+
+            Stream<Log> logs = logService.streamReadingsFromDevice(deviceIDVO, initialTimeStamp, finalTimeStamp);
+            StreamingResponseBody body = outputStream -> writeReadings(logs, outputStream);
+            return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON_VALUE)).body(body);
+
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
 
     /**
      * Gets the maximum temperature difference between indoor and outdoor sensors within a time period.
@@ -173,4 +310,162 @@ public class LogCTRLWeb {
             return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
         }
     }
+
+    /**
+     * Handles a POST request to ingest readings in bulk.
+     * <p>
+     * The body may be either a stream of newline-delimited JSON readings (NDJSON) or a JSON array of readings, each
+     * with the shape of a {@link LogDTO} (the log ID is ignored and the time is optional). The body is parsed
+     * incrementally, so only the readings of the batch currently being built are kept in memory. Each reading is
+     * validated through the {@code LogService}, and valid readings are persisted in batches of
+     * {@value #INGESTION_BATCH_SIZE}.
+     * </p>
+     * <p>
+     * The response lists, for every item in the payload, whether it was accepted (with the generated log ID) or
+     * rejected (with the reason). If the payload stops being valid JSON, the offending item is rejected and the
+     * remaining content is ignored; readings accepted before that point are still persisted.
+     * </p>
+     *
+     * @param body the raw request body
+     * @return a ResponseEntity containing one result per submitted item, or a BAD_REQUEST status if the body cannot be read
+     */
+    @PostMapping(value = "/batch", consumes = {NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<List<LogBatchResultDTO>> addLogsInBatch(InputStream body) {
+        List<LogBatchResultDTO> results = new ArrayList<>();
+        List<Log> pendingLogs = new ArrayList<>(INGESTION_BATCH_SIZE);
+        List<Integer> pendingIndexes = new ArrayList<>(INGESTION_BATCH_SIZE);
+
+        try (MappingIterator<LogDTO> items = this.logDTOReader.readValues(body)) {
+            int index = 0;
+            while (hasNextItem(items, index, results)) {
+                try {
+                    LogDTO logDTO = items.nextValue();
+                    Optional<Log> log = createLog(logDTO);
+                    if (log.isPresent()) {
+                        pendingLogs.add(log.get());
+                        pendingIndexes.add(index);
+                        results.add(null);
+                    } else {
+                        results.add(rejected(index, "Invalid reading"));
+                    }
+                } catch (DatabindException e) {
+                    results.add(rejected(index, "Invalid item"));
+                } catch (JsonProcessingException e) {
+                    results.add(rejected(index, MALFORMED_MESSAGE));
+                    break;
+                } catch (IllegalArgumentException | DateTimeException e) {
+                    results.add(rejected(index, "Invalid parameters"));
+                }
+                index++;
+                if (pendingLogs.size() == INGESTION_BATCH_SIZE) {
+                    flushBatch(pendingLogs, pendingIndexes, results);
+                }
+            }
+        } catch (IOException e) {
+            if (results.isEmpty()) {
+                return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            }
+        }
+        flushBatch(pendingLogs, pendingIndexes, results);
+        return new ResponseEntity<>(results, HttpStatus.OK);
+    }
+
+    /**
+     * Writes each log as one line of JSON, closing the stream of logs once done.
+     *
+     * @param logs the logs to write
+     * @param outputStream the response body
+     * @throws IOException if the response cannot be written
+     */
+    private void writeReadings(Stream<Log> logs, OutputStream outputStream) throws IOException {
+        try (logs; JsonGenerator generator = this.jsonFactory.createGenerator(outputStream)) {
+            generator.setRootValueSeparator(null);
+            Iterator<Log> iterator = logs.iterator();
+            int written = 0;
+            while (iterator.hasNext()) {
+                LogDTO logDTO = LogMapper.domainToDTO(iterator.next());
+                generator.writeStartObject();
+                generator.writeStringField("logID", logDTO.getLogID());
+                generator.writeStringField("time", logDTO.getTime());
+                generator.writeStringField("reading", logDTO.getReading());
+                generator.writeStringField("sensorID", logDTO.getSensorID());
+                generator.writeStringField("deviceID", logDTO.getDeviceID());
+                generator.writeStringField("sensorTypeID", logDTO.getSensorTypeID());
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+                if (++written % STREAM_FLUSH_INTERVAL == 0) {
+                    generator.flush();
+                }
+            }
+        }
+    }
+
+    /**
+     * Advances the bulk upload parser to the next item. A syntax error rejects the current position and ends
+     * the upload, since the rest of the payload cannot be reliably delimited.
+     *
+     * @param items the iterator over the uploaded items
+     * @param index position of the next item in the payload
+     * @param results the per-item results collected so far
+     * @return true if there is another item to read, false otherwise
+     * @throws IOException if the underlying stream cannot be read
+     */
+    private boolean hasNextItem(MappingIterator<LogDTO> items, int index, List<LogBatchResultDTO> results) throws IOException {
+        try {
+            return items.hasNextValue();
+        } catch (JsonProcessingException e) {
+            results.add(rejected(index, MALFORMED_MESSAGE));
+            return false;
+        }
+    }
+
+    /**
+     * Converts an uploaded item into a log through the {@code LogService}, which validates the reading.
+     *
+     * @param logDTO the uploaded item
+     * @return the log built from the item, or an empty Optional if the reading is not valid
+     */
+    private Optional<Log> createLog(LogDTO logDTO) {
+        SensorTypeIDVO sensorTypeIDVO = LogMapper.createSensorTypeIDVO(logDTO);
+        SensorIDVO sensorIDVO = LogMapper.createSensorIDVO(logDTO);
+        DeviceIDVO deviceIDVO = LogMapper.createDeviceIDVO(logDTO);
+        TimeStampVO time = logDTO.getTime() == null ? null : LogMapper.createTimeStampVO(logDTO);
+        return this.logService.createLog(logDTO.getReading(), sensorIDVO, deviceIDVO, sensorTypeIDVO, time);
+    }
+
+    /**
+     * Persists the pending logs as one batch and records their results, then clears the pending lists.
+     *
+     * @param pendingLogs the logs waiting to be persisted
+     * @param pendingIndexes the payload positions of the pending logs
+     * @param results the per-item results, where the pending positions are still empty
+     */
+    private void flushBatch(List<Log> pendingLogs, List<Integer> pendingIndexes, List<LogBatchResultDTO> results) {
+        if (pendingLogs.isEmpty()) {
+            return;
+        }
+        boolean saved = this.logService.addLogs(pendingLogs);
+        for (int i = 0; i < pendingLogs.size(); i++) {
+            int index = pendingIndexes.get(i);
+            if (saved) {
+                String logID = pendingLogs.get(i).getId().getID();
+                results.set(index, LogBatchResultDTO.builder().index(index).accepted(true).logID(logID).build());
+            } else {
+                results.set(index, rejected(index, "Unable to save reading"));
+            }
+        }
+        pendingLogs.clear();
+        pendingIndexes.clear();
+    }
+
+    /**
+     * Builds the result of a rejected item.
+     *
+     * @param index position of the item in the payload
+     * @param message reason for the rejection
+     * @return the rejected result
+     */
+    private LogBatchResultDTO rejected(int index, String message) {
+        return LogBatchResultDTO.builder().index(index).accepted(false).message(message).build();
+    }
 }
@@ -12,32 +12,63 @@ import org.apache.commons.configuration2.Configuration;
 import org.apache.commons.configuration2.builder.fluent.Configurations;
 import org.apache.commons.configuration2.ex.ConfigurationException;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
 import java.util.Optional;
 
 @Component
 public class ActuatorFactoryImpl implements ActuatorFactory {
 
+    private static final MethodType NEW_ACTUATOR = MethodType.methodType(Actuator.class,
+            ActuatorNameVO.class, ActuatorTypeIDVO.class, DeviceIDVO.class);
+    private static final MethodType NEW_ACTUATOR_WITH_SETTINGS = MethodType.methodType(Actuator.class,
+            ActuatorNameVO.class, ActuatorTypeIDVO.class, DeviceIDVO.class, Settings.class);
+    private static final MethodType STORED_ACTUATOR = MethodType.methodType(Actuator.class,
+            ActuatorIDVO.class, ActuatorNameVO.class, ActuatorTypeIDVO.class, DeviceIDVO.class, ActuatorStatusVO.class);
+    private static final MethodType STORED_ACTUATOR_WITH_SETTINGS = MethodType.methodType(Actuator.class,
+            ActuatorIDVO.class, ActuatorNameVO.class, ActuatorTypeIDVO.class, DeviceIDVO.class, Settings.class,
+            ActuatorStatusVO.class);
+
     private Configuration configuration;
+    private Map<String, ActuatorCreator> creators;
+
+    /**
+     * Constructors of one actuator type. A handle is null if the class does not declare a matching constructor.
+     *
+     * @param newActuator                constructor of a new actuator without settings
+     * @param newActuatorWithSettings    constructor of a new actuator with settings
+     * @param storedActuator             constructor of a persisted actuator without settings
+     * @param storedActuatorWithSettings constructor of a persisted actuator with settings
+     */
+    private record ActuatorCreator(MethodHandle newActuator, MethodHandle newActuatorWithSettings,
+                                   MethodHandle storedActuator, MethodHandle storedActuatorWithSettings) {
+    }
 
     /**
      * Constructor for FactoryActuator Class.
      * File path is injected in the Class.
      * So this factory is able to read from any file properties passed on.
+     * The constructors of the configured actuator classes are resolved here, once, into an immutable registry keyed
+     * by actuator type ID, so creating an actuator costs a map lookup and a direct constructor call.
      *
      * @throws ConfigurationException If a file path is invalid.
      */
     public ActuatorFactoryImpl(@Value("${filepath}") String filePath) throws ConfigurationException {
         initializeConfiguration(filePath);
+        initializeCreators();
     }
 
     /**
      * Creates an Actuator:
      * 1: Checks input parameters. If any of the parameters are null, an IllegalArgumentException is thrown;
-     * 2: Verifies whether the actuator type chosen exists in the file and has a correct path to its Class. The value
-     * obtained from the configuration file is a path that dynamically identifies the intended Class at runtime;
-     * 3: Once the class is identified, its constructor is obtained, and a new instance is created using the entry parameters.;
+     * 2: Verifies whether the actuator type chosen exists in the file and has a correct path to its Class. The
+     * constructors of that Class were resolved when the factory was created;
+     * 3: The constructor with settings is chosen if settings are given, the one without settings otherwise;
      * 4: Attempts to instantiate the actuator and returns it.
      *
      * @param actuatorName   Actuator name
@@ -51,28 +82,33 @@ public class ActuatorFactoryImpl implements ActuatorFactory {
 
         if (!validParameters(actuatorName, actuatorTypeID, deviceID))
             throw new IllegalArgumentException("Invalid actuator parameters");
-        Optional<String> actuatorType = getPath(actuatorTypeID);
-        if (actuatorType.isPresent()) {
-            try {
-                Class<?> classObject = Class.forName(actuatorType.get());
-                Object[] parameters = toObjectArray(actuatorName, actuatorTypeID, deviceID, settings);
-                Constructor<?> constructor = findMatchingConstructor(classObject, parameters);
-                return (Actuator) constructor.newInstance(parameters);
-
-            } catch (ClassNotFoundException | InvocationTargetException | NoSuchMethodException |
-                     InstantiationException | IllegalAccessException e) {
-                return null;
+        Optional<ActuatorCreator> creator = getCreator(actuatorTypeID);
+        if (creator.isEmpty()) {
+            return null;
+        }
+        try {
+            if (settings != null) {
+                MethodHandle constructor = creator.get().newActuatorWithSettings();
+                return constructor == null ? null
+                        : (Actuator) constructor.invokeExact(actuatorName, actuatorTypeID, deviceID, settings);
             }
-        } else {
+            MethodHandle constructor = creator.get().newActuator();
+            return constructor == null ? null
+                    : (Actuator) constructor.invokeExact(actuatorName, actuatorTypeID, deviceID);
+        } catch (RuntimeException e) {
+            return null;
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
             return null;
         }
     }
 
     /**
      * Creates an Actuator from the Data Model:
-     * 1: Verifies whether the actuator type chosen exists in the file and has a correct path to its Class. The value
-     * obtained from the configuration file is a path that dynamically identifies the intended Class at runtime;
-     * 2: Once the class is identified, its constructor is obtained, and a new instance is created using the entry parameters.;
+     * 1: Verifies whether the actuator type chosen exists in the file and has a correct path to its Class. The
+     * constructors of that Class were resolved when the factory was created;
+     * 2: The constructor with settings is chosen if settings are given, the one without settings otherwise;
      * 3: Attempts to instantiate the actuator and returns it.
      * Note: Input parameters are not being validated since they are generated from already persisted data.
      *
@@ -88,122 +124,104 @@ public class ActuatorFactoryImpl implements ActuatorFactory {
                                    ActuatorTypeIDVO actuatorTypeID, DeviceIDVO deviceID,
                                    Settings settings, ActuatorStatusVO statusVO) {
 
-        Optional<String> actuatorType = getPath(actuatorTypeID);
-        if (actuatorType.isPresent()) {
-            try {
-                Class<?> classObject = Class.forName(actuatorType.get());
-
-                Object[] parameters = toObjectArrayFromDataModel(actuatorID, actuatorName, actuatorTypeID, deviceID,
-                        settings, statusVO);
-
-                Constructor<?> constructor = findMatchingConstructor(classObject, parameters);
-
-                return (Actuator) constructor.newInstance(parameters);
-
-            } catch (ClassNotFoundException | InvocationTargetException | NoSuchMethodException |
-                     InstantiationException | IllegalAccessException e) {
-                return null;
+        Optional<ActuatorCreator> creator = getCreator(actuatorTypeID);
+        if (creator.isEmpty()) {
+            return null;
+        }
+        try {
+            if (settings != null) {
+                MethodHandle constructor = creator.get().storedActuatorWithSettings();
+                return constructor == null ? null : (Actuator) constructor.invokeExact(actuatorID, actuatorName,
+                        actuatorTypeID, deviceID, settings, statusVO);
             }
-        } else {
+            MethodHandle constructor = creator.get().storedActuator();
+            return constructor == null ? null
+                    : (Actuator) constructor.invokeExact(actuatorID, actuatorName, actuatorTypeID, deviceID, statusVO);
+        } catch (RuntimeException e) {
+            return null;
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
             return null;
         }
     }
 
     /**
-     * Converts the provided parameters into an array of Objects, considering the ActuatorNameVO, DeviceIDVO,
-     * ActuatorTypeVO and Settings. If the Settings parameter is null, only ActuatorNameVO, ActuatorTypeVO, and
-     * DeviceIDVO are included in the array. If settings are not null, the array includes ActuatorNameVO,
-     * ActuatorTypeVO, DeviceIDVO, and the Settings objects.
-     *
-     * @param actuatorName   The ActuatorNameVO parameter
-     * @param actuatorTypeID The DeviceIDVO parameter
-     * @param deviceID       The ActuatorTypeVO parameter
-     * @param settings       The Settings parameter, which can be null.
-     * @return An array of Objects containing parameters: ActuatorNameVO, DeviceIDVO, ActuatorTypeVO, and Settings
-     * (if provided).
+     * Resolves the constructors of every actuator class in the configuration. Types whose class cannot be loaded are
+     * left out of the registry.
      */
-    private Object[] toObjectArray(ActuatorNameVO actuatorName, ActuatorTypeIDVO actuatorTypeID, DeviceIDVO deviceID,
-                                   Settings settings) {
-
-        Object[] parameters;
-        if (settings != null) {
-            parameters = new Object[]{actuatorName, actuatorTypeID, deviceID, settings};
-        } else {
-            parameters = new Object[]{actuatorName, actuatorTypeID, deviceID};
+    private void initializeCreators() {
+        Map<String, ActuatorCreator> registry = new HashMap<>();
+        Iterator<String> keys = this.configuration.getKeys();
+        while (keys.hasNext()) {
+            String type = keys.next();
+            Class<?> actuatorClass = loadActuatorClass(this.configuration.getString(type));
+            if (actuatorClass != null) {
+                registry.put(type, new ActuatorCreator(
+                        findMatchingConstructor(actuatorClass, NEW_ACTUATOR),
+                        findMatchingConstructor(actuatorClass, NEW_ACTUATOR_WITH_SETTINGS),
+                        findMatchingConstructor(actuatorClass, STORED_ACTUATOR),
+                        findMatchingConstructor(actuatorClass, STORED_ACTUATOR_WITH_SETTINGS)));
+            }
         }
-        return parameters;
+        this.creators = Map.copyOf(registry);
     }
 
     /**
-     * Converts the provided parameters into an array of Objects, considering the ActuatorIDVO, ActuatorNameVO,
-     * DeviceIDVO, ActuatorTypeVO and Settings.
-     * If the Settings parameter is null, only ActuatorIDVO, ActuatorNameVO, ActuatorTypeVO, and DeviceIDVO are
-     * included in the array.
-     * If settings are not null, the array includes ActuatorIDVO, ActuatorNameVO, ActuatorTypeVO, DeviceIDVO, and
-     * the Settings objects.
+     * Loads the actuator class configured for an actuator type.
      *
-     * @param actuatorID     The ActuatorIDVO parameter
-     * @param actuatorName   The ActuatorNameVO parameter
-     * @param actuatorTypeID The DeviceIDVO parameter
-     * @param deviceID       The ActuatorTypeVO parameter
-     * @param settings       The Settings parameter, which can be null.
-     * @param statusVO       The ActuatorStatusVO parameter
-     * @return An array of Objects containing parameters: ActuatorIDVO, ActuatorNameVO, DeviceIDVO, ActuatorTypeVO,
-     * and Settings (if provided).
+     * @param actuatorTypePath The class path of the Actuator implementation.
+     * @return The class, or null if it cannot be loaded or is not an Actuator.
      */
-    private Object[] toObjectArrayFromDataModel(ActuatorIDVO actuatorID, ActuatorNameVO actuatorName,
-                                                ActuatorTypeIDVO actuatorTypeID, DeviceIDVO deviceID,
-                                                Settings settings, ActuatorStatusVO statusVO) {
-
-        Object[] parameters;
-        if (settings != null) {
-            parameters = new Object[]{actuatorID, actuatorName, actuatorTypeID, deviceID, settings, statusVO};
-        } else {
-            parameters = new Object[]{actuatorID, actuatorName, actuatorTypeID, deviceID, statusVO};
+    private static Class<?> loadActuatorClass(String actuatorTypePath) {
+        try {
+            Class<?> actuatorClass = Class.forName(actuatorTypePath);
+            return Actuator.class.isAssignableFrom(actuatorClass) ? actuatorClass : null;
+        } catch (ClassNotFoundException | LinkageError | NullPointerException e) {
+            return null;
         }
-        return parameters;
     }
 
     /**
-     * Finds a constructor of the given class that matches the provided parameter types.
-     * The function starts by iterating through all constructors of the given class and for each of the class
-     * constructors gets the parameter types and saves them into an array.
-     * After that, it compares the number of parameters and their types against the provided parameters.
-     * If a constructor with matching parameter types is found, it returns that constructor.
+     * Finds a public constructor of the given class for the given parameter types.
+     * The function iterates through all constructors of the given class and, for each one with the same number of
+     * parameters, checks that every declared parameter type is related to the expected one (equal, a supertype or a
+     * subtype, such as a specific Settings implementation). The first match is adapted to the expected type; if it
+     * declares a subtype, an argument of another type fails with a ClassCastException when the actuator is created.
      *
-     * @param classObject        The class for which to find the constructor
-     * @param receivedParameters The parameters to match against the constructor's parameter types
-     * @return The matching constructor, if found
-     * @throws NoSuchMethodException If no matching constructor is found.
+     * @param classObject The class for which to find the constructor
+     * @param type        The expected type of the constructor, as a method returning Actuator
+     * @return A method handle of the matching constructor, or null if there is none
      */
-    private Constructor<?> findMatchingConstructor(Class<?> classObject, Object[] receivedParameters)
-            throws NoSuchMethodException {
-
+    private static MethodHandle findMatchingConstructor(Class<?> classObject, MethodType type) {
         for (Constructor<?> constructor : classObject.getConstructors()) {
             Class<?>[] constructorParametersTypes = constructor.getParameterTypes();
 
-            if (constructorParametersTypes.length == receivedParameters.length
-                    && matchingParameters(constructorParametersTypes, receivedParameters)) {
-
-                return constructor;
+            if (constructorParametersTypes.length == type.parameterCount()
+                    && matchingParameters(constructorParametersTypes, type)) {
+                try {
+                    return MethodHandles.publicLookup().unreflectConstructor(constructor).asType(type);
+                } catch (IllegalAccessException e) {
+                    return null;
+                }
             }
         }
-
-        throw new NoSuchMethodException("No matching constructor found");
+        return null;
     }
 
     /**
-     * Verify if the parameter types of the found actuator constructor match with the received parameter types.
+     * Verify if the parameter types of an actuator constructor are related to the expected parameter types.
      *
      * @param constructorParameterTypes Array of Class objects that represent the formal parameter types, in
      *                                  declaration order
-     * @param receivedParameters        Array of Objects corresponding to the parameters received in the
-     *                                  createActuator() method
-     * @return True if all received parameters match with the found constructor parameter types, false otherwise.
+     * @param type                      The expected type of the constructor
+     * @return True if every declared parameter type is a supertype or a subtype of the expected one, false otherwise.
      */
-    private boolean matchingParameters(Class<?>[] constructorParameterTypes, Object[] receivedParameters) {
+    private static boolean matchingParameters(Class<?>[] constructorParameterTypes, MethodType type) {
         for (int i = 0; i < constructorParameterTypes.length; i++) {
-            if (!constructorParameterTypes[i].isAssignableFrom(receivedParameters[i].getClass())) {
+            Class<?> expected = type.parameterType(i);
+            if (!constructorParameterTypes[i].isAssignableFrom(expected)
+                    && !expected.isAssignableFrom(constructorParameterTypes[i])) {
                 return false;
             }
         }
@@ -237,15 +255,16 @@ public class ActuatorFactoryImpl implements ActuatorFactory {
     }
 
     /**
-     * Extracts from the file the path to the Class of the pretended actuator type.
+     * Gets the constructors resolved for the pretended actuator type.
      *
-     * @param actuatorTypeID ActuatorTypeID to get the correct path from the file
-     * @return Optional container, which might be empty in case actuator type does not exist in the file.
+     * @param actuatorTypeID ActuatorTypeID to get the constructors for
+     * @return Optional container, which might be empty in case actuator type does not exist in the file or its Class
+     * cannot be loaded.
      */
-    private Optional<String> getPath(ActuatorTypeIDVO actuatorTypeID) {
+    private Optional<ActuatorCreator> getCreator(ActuatorTypeIDVO actuatorTypeID) {
         String strActuatorType = actuatorTypeID.getID();
-        if (this.configuration.getString(strActuatorType) == null) return Optional.empty();
-        return Optional.of(this.configuration.getString(strActuatorType));
+        if (strActuatorType == null) return Optional.empty();
+        return Optional.ofNullable(this.creators.get(strActuatorType));
     }
 
 }
@@ -0,0 +1,267 @@
+package smarthome.domain.log;
+
+import smarthome.domain.sensor.sensorvalues.NumericReading;
+import smarthome.domain.sensor.sensorvalues.SensorValueObject;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * A compact series of numeric readings: one timestamp and one value per reading, held in primitive arrays.
+ * <p>
+ * Analytics that only need the time and the numeric value of each reading use a series instead of full logs, so
+ * reading a long window does not create a log and its value objects per reading. Timestamps are kept as nanoseconds
+ * since the epoch (UTC wall-clock), so they compare exactly as the LocalDateTime of the logs would. The readings are
+ * kept in the order they were added, which is not necessarily the order of time.
+ * </p>
+ */
+public final class ReadingSeries {
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final ReadingSeries EMPTY = new ReadingSeries(new long[0], new double[0]);
+
+    private final long[] times;
+    private final double[] values;
+
+    private ReadingSeries(long[] times, double[] values) {
+        this.times = times;
+        this.values = values;
+    }
+
+    /**
+     * @return A series with no readings.
+     */
+    public static ReadingSeries empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Builds a series from logs, in the order of the logs. Logs whose reading is not numeric are skipped.
+     *
+     * @param logs The logs.
+     * @return The series of the numeric readings of the logs.
+     * @throws IllegalArgumentException If the logs are null.
+     */
+    public static ReadingSeries fromLogs(Iterable<Log> logs) {
+        if (logs == null) {
+            throw new IllegalArgumentException("Invalid parameters.");
+        }
+        Builder builder = new Builder();
+        for (Log log : logs) {
+            SensorValueObject<?> reading = log.getReading();
+            LocalDateTime time = log.getTime().getValue();
+            if (reading instanceof NumericReading numericReading) {
+                builder.add(toEpochNanos(time), numericReading.asDouble());
+            } else if (reading.getValue() instanceof Number number) {
+                builder.add(toEpochNanos(time), number.doubleValue());
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Converts a timestamp to nanoseconds since the epoch (UTC wall-clock).
+     *
+     * @param time The timestamp.
+     * @return The nanoseconds since the epoch.
+     */
+    public static long toEpochNanos(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) * NANOS_PER_SECOND + time.getNano();
+    }
+
+    /**
+     * Converts a timestamp in seconds since the epoch (UTC wall-clock), to nanoseconds since the epoch.
+     *
+     * @param epochSeconds The seconds since the epoch.
+     * @return The nanoseconds since the epoch.
+     */
+    public static long fromEpochSeconds(long epochSeconds) {
+        return epochSeconds * NANOS_PER_SECOND;
+    }
+
+    /**
+     * @return The number of readings.
+     */
+    public int size() {
+        return this.times.length;
+    }
+
+    /**
+     * @return True if the series has no readings, false otherwise.
+     */
+    public boolean isEmpty() {
+        return this.times.length == 0;
+    }
+
+    /**
+     * @param index The position of the reading.
+     * @return The timestamp of the reading, in nanoseconds since the epoch.
+     */
+    public long getTime(int index) {
+        return this.times[index];
+    }
+
+    /**
+     * @param index The position of the reading.
+     * @return The timestamp of the reading.
+     */
+    public LocalDateTime getDateTime(int index) {
+        long time = this.times[index];
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(time, NANOS_PER_SECOND),
+                (int) Math.floorMod(time, NANOS_PER_SECOND), ZoneOffset.UTC);
+    }
+
+    /**
+     * @param index The position of the reading.
+     * @return The value of the reading.
+     */
+    public double getValue(int index) {
+        return this.values[index];
+    }
+
+    /**
+     * Returns the series ordered by time. Readings with equal times keep their relative order, and a series that is
+     * already ordered is returned as it is.
+     *
+     * @return The series ordered by time.
+     */
+    public ReadingSeries sortedByTime() {
+        if (isSortedByTime()) {
+            return this;
+        }
+        int[] order = timeOrder();
+        long[] sortedTimes = new long[order.length];
+        double[] sortedValues = new double[order.length];
+        for (int i = 0; i < order.length; i++) {
+            sortedTimes[i] = this.times[order[i]];
+            sortedValues[i] = this.values[order[i]];
+        }
+        return new ReadingSeries(sortedTimes, sortedValues);
+    }
+
+    /**
+     * Returns the positions of the readings in ascending order of time. Readings with equal times keep their relative
+     * order, and the positions of a series that is already ordered are returned without sorting.
+     *
+     * @return The positions of the readings, ordered by time.
+     */
+    public int[] timeOrder() {
+        int[] order = new int[this.times.length];
+        Arrays.setAll(order, i -> i);
+        if (isSortedByTime()) {
+            return order;
+        }
+        // Bottom-up merge sort of the positions, which is stable and needs no boxing
+        int[] source = order;
+        int[] target = new int[order.length];
+        for (int width = 1; width < order.length; width <<= 1) {
+            for (int low = 0; low < order.length; low += width << 1) {
+                merge(source, target, low, Math.min(low + width, order.length),
+                        Math.min(low + (width << 1), order.length));
+            }
+            int[] merged = target;
+            target = source;
+            source = merged;
+        }
+        return source;
+    }
+
+    /**
+     * @return True if every reading is at or after the one before it.
+     */
+    private boolean isSortedByTime() {
+        for (int i = 1; i < this.times.length; i++) {
+            if (this.times[i - 1] > this.times[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Merges two adjacent runs of positions ordered by time, taking from the left run first on equal times.
+     *
+     * @param source The positions holding both runs.
+     * @param target The positions to write the merged run to.
+     * @param low    The start of the left run.
+     * @param middle The start of the right run.
+     * @param high   The end of the right run, exclusive.
+     */
+    private void merge(int[] source, int[] target, int low, int middle, int high) {
+        int left = low;
+        int right = middle;
+        for (int i = low; i < high; i++) {
+            if (right >= high || (left < middle && this.times[source[left]] <= this.times[source[right]])) {
+                target[i] = source[left++];
+            } else {
+                target[i] = source[right++];
+            }
+        }
+    }
+
+    /**
+     * Collects readings into a series, growing its arrays as needed.
+     */
+    public static final class Builder {
+        private long[] times;
+        private double[] values;
+        private int size;
+
+        /**
+         * Creates a builder with room for a few readings.
+         */
+        public Builder() {
+            this(16);
+        }
+
+        /**
+         * Creates a builder with room for the expected number of readings.
+         *
+         * @param expectedSize The expected number of readings.
+         */
+        public Builder(int expectedSize) {
+            int capacity = Math.max(expectedSize, 1);
+            this.times = new long[capacity];
+            this.values = new double[capacity];
+        }
+
+        /**
+         * Adds a reading to the end of the series.
+         *
+         * @param epochNanos The timestamp of the reading, in nanoseconds since the epoch.
+         * @param value      The value of the reading.
+         * @return This builder.
+         */
+        public Builder add(long epochNanos, double value) {
+            if (this.size == this.times.length) {
+                int capacity = this.size + (this.size >> 1) + 1;
+                this.times = Arrays.copyOf(this.times, capacity);
+                this.values = Arrays.copyOf(this.values, capacity);
+            }
+            this.times[this.size] = epochNanos;
+            this.values[this.size] = value;
+            this.size++;
+            return this;
+        }
+
+        /**
+         * @return The number of readings added so far.
+         */
+        public int size() {
+            return this.size;
+        }
+
+        /**
+         * Builds the series of the readings added so far.
+         *
+         * @return The series.
+         */
+        public ReadingSeries build() {
+            if (this.size == 0) {
+                return EMPTY;
+            }
+            return new ReadingSeries(Arrays.copyOf(this.times, this.size), Arrays.copyOf(this.values, this.size));
+        }
+    }
+}
@@ -11,19 +11,44 @@ import org.apache.commons.configuration2.Configuration;
 import org.apache.commons.configuration2.builder.fluent.Configurations;
 import org.apache.commons.configuration2.ex.ConfigurationException;
 
+
 import java.io.File;
-import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
 
 @Component
 public class SensorFactoryImpl implements SensorFactory{
+
+    private static final MethodType NEW_SENSOR =
+            MethodType.methodType(Sensor.class, SensorNameVO.class, DeviceIDVO.class, SensorTypeIDVO.class);
+    private static final MethodType STORED_SENSOR =
+            MethodType.methodType(Sensor.class, SensorIDVO.class, SensorNameVO.class, DeviceIDVO.class, SensorTypeIDVO.class);
+
     private final Configuration configuration;
+    private final Map<String, SensorCreator> creators;
+
+    /**
+     * Constructors of one sensor type. Either handle is null if the class does not declare that constructor.
+     *
+     * @param newSensor    constructor of a new sensor, of type (SensorNameVO, DeviceIDVO, SensorTypeIDVO)Sensor
+     * @param storedSensor constructor of a persisted sensor, of type (SensorIDVO, SensorNameVO, DeviceIDVO,
+     *                     SensorTypeIDVO)Sensor
+     */
+    private record SensorCreator(MethodHandle newSensor, MethodHandle storedSensor) {
+    }
 
 
     /**
      * Constructs an instance of V1SensorFactory with the provided configuration file path.
      * This constructor initializes a V1SensorFactory by loading configurations from the specified file path.
      * It uses the Apache Commons Configuration library to load the properties from the file.
+     * The constructors of the configured sensor classes are resolved here, once, into an immutable registry keyed by
+     * sensor type ID, so creating a sensor costs a map lookup and a direct constructor call. Sensor types whose class
+     * cannot be loaded are left out of the registry.
      * @param path The path to the configuration file.
      * @throws IllegalArgumentException if there is an error reading the configuration file. This exception is thrown to
      * indicate an error while loading properties from the file.
@@ -35,14 +60,25 @@ public class SensorFactoryImpl implements SensorFactory{
         } catch (NullPointerException | ConfigurationException e){
             throw new IllegalArgumentException("Error reading file");
         }
+        Map<String, SensorCreator> registry = new HashMap<>();
+        Iterator<String> keys = this.configuration.getKeys();
+        while (keys.hasNext()) {
+            String type = keys.next();
+            Class<?> sensorClass = loadSensorClass(this.configuration.getString(type));
+            if (sensorClass != null) {
+                registry.put(type, new SensorCreator(findConstructor(sensorClass, NEW_SENSOR),
+                        findConstructor(sensorClass, STORED_SENSOR)));
+            }
+        }
+        this.creators = Map.copyOf(registry);
     }
 
     /**
      * Creates a Sensor object based on the provided sensor information.
-     * This method constructs a Sensor object using reflection based on the provided SensorName, DeviceID, and SensorTypeID.
+     * This method constructs a Sensor object based on the provided SensorName, DeviceID, and SensorTypeID.
      * It first checks if the provided parameters are not null and if the sensor type is permitted.
-     * It then retrieves the sensor type's class path from the loaded configuration file, dynamically creates an instance
-     * of the specified class using reflection, and returns the created Sensor object.
+     * It then invokes the constructor resolved for the sensor type from the loaded configuration file, and returns
+     * the created Sensor object.
      * @param sensorName   The name of the sensor.
      * @param deviceID     The ID of the device to which the sensor is attached.
      * @param sensorTypeID The type ID of the sensor.
@@ -51,12 +87,17 @@ public class SensorFactoryImpl implements SensorFactory{
      */
     public Sensor createSensor (SensorNameVO sensorName, DeviceIDVO deviceID, SensorTypeIDVO sensorTypeID){
         if (!areParamsNull(sensorName,deviceID,sensorTypeID) && isTypePermitted(sensorTypeID.getID())){
-            try{
-                String sensorTypePath = this.configuration.getString(sensorTypeID.getID());
-                Class<?> classObj = Class.forName(sensorTypePath);
-                Constructor<?> constructor = classObj.getConstructor(SensorNameVO.class, DeviceIDVO.class, SensorTypeIDVO.class);
-                return (Sensor) constructor.newInstance(sensorName, deviceID, sensorTypeID);
-            } catch (ClassNotFoundException | NoSuchMethodException | InvocationTargetException | InstantiationException | IllegalAccessException e) {
+            SensorCreator creator = this.creators.get(sensorTypeID.getID());
+            if (creator == null || creator.newSensor() == null) {
+                return null;
+            }
+            try {
+                return (Sensor) creator.newSensor().invokeExact(sensorName, deviceID, sensorTypeID);
+            } catch (RuntimeException e) {
+                return null;
+            } catch (Error e) {
+                throw e;
+            } catch (Throwable e) {
                 return null;
             }
         }
@@ -67,25 +108,60 @@ public class SensorFactoryImpl implements SensorFactory{
     /**
      * Creates a Sensor object based on the provided sensor information, including the SensorID.
      * Context: This method is used when we want to create a sensor object from a sensorDataModel.
-     * This method constructs a Sensor object using reflection based on the provided SensorID, SensorName, DeviceID, and SensorTypeID.
-     * It retrieves the sensor type's class path from the loaded configuration file, dynamically creates an instance
-     * of the specified class using reflection, and returns the created Sensor object.
+     * This method constructs a Sensor object based on the provided SensorID, SensorName, DeviceID, and SensorTypeID.
+     * It invokes the constructor resolved for the sensor type from the loaded configuration file, and returns the
+     * created Sensor object.
      *
      * @param sensorID     The ID of the sensor.
      * @param sensorName   The name of the sensor.
      * @param deviceID     The ID of the device to which the sensor is attached.
      * @param sensorTypeID The type ID of the sensor.
-     * @return A Sensor object created based on the provided information.
+     * @return A Sensor object created based on the provided information, or null if the sensor type is not
+     * configured or the sensor cannot be created.
      */
     @Override
     public Sensor createSensor(SensorIDVO sensorID, SensorNameVO sensorName, DeviceIDVO deviceID, SensorTypeIDVO sensorTypeID) {
+        SensorCreator creator = this.creators.get(sensorTypeID.getID());
+        if (creator == null || creator.storedSensor() == null) {
+            return null;
+        }
+        try {
+            return (Sensor) creator.storedSensor().invokeExact(sensorID, sensorName, deviceID, sensorTypeID);
+        } catch (RuntimeException e) {
+            return null;
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
+            return null;
+        }
+    }
+
+    /**
+     * Loads the sensor class configured for a sensor type.
+     * @param sensorTypePath The class path of the Sensor implementation.
+     * @return The class, or null if it cannot be loaded or is not a Sensor.
+     */
+    private static Class<?> loadSensorClass(String sensorTypePath) {
+        try {
+            Class<?> sensorClass = Class.forName(sensorTypePath);
+            return Sensor.class.isAssignableFrom(sensorClass) ? sensorClass : null;
+        } catch (ClassNotFoundException | LinkageError | NullPointerException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Finds a public constructor of a sensor class.
+     * @param sensorClass The class of the Sensor implementation.
+     * @param type        The type of the constructor, as a method returning Sensor.
+     * @return A method handle of the constructor adapted to the given type, or null if there is none.
+     */
+    private static MethodHandle findConstructor(Class<?> sensorClass, MethodType type) {
         try {
-            String sensorTypePath = this.configuration.getString(sensorTypeID.getID());
-            Class<?> classObj = Class.forName(sensorTypePath);
-            Constructor<?> constructor = classObj.getConstructor(SensorIDVO.class, SensorNameVO.class, DeviceIDVO.class, SensorTypeIDVO.class);
-            return (Sensor) constructor.newInstance(sensorID, sensorName, deviceID, sensorTypeID);
-        } catch (ClassNotFoundException | NoSuchMethodException | InvocationTargetException | InstantiationException |
-                 IllegalAccessException e) {
+            return MethodHandles.publicLookup()
+                    .findConstructor(sensorClass, type.changeReturnType(void.class))
+                    .asType(type);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
             return null;
         }
     }
@@ -6,7 +6,7 @@ import static java.lang.Integer.parseInt;
  * Value object for the average power consumption value
  */
 
-public class AveragePowerConsumptionValue implements SensorValueObject<Integer> {
+public class AveragePowerConsumptionValue implements SensorValueObject<Integer>, NumericReading {
 
     private final int averagePowerConsumption;
 
@@ -51,4 +51,24 @@ public class AveragePowerConsumptionValue implements SensorValueObject<Integer>
     public Integer getValue() {
         return this.averagePowerConsumption;
     }
+
+    /**
+     * Returns the encapsulated primitive value as a double, without boxing it.
+     *
+     * @return Encapsulated primitive value.
+     */
+    @Override
+    public double asDouble() {
+        return this.averagePowerConsumption;
+    }
+
+    /**
+     * Returns the encapsulated primitive value as a long, without boxing it.
+     *
+     * @return Encapsulated primitive value.
+     */
+    @Override
+    public long asLong() {
+        return this.averagePowerConsumption;
+    }
 }
@@ -2,7 +2,7 @@ package smarthome.domain.sensor.sensorvalues;
 
 import static java.lang.Double.parseDouble;
 
-public class DewPointValue implements SensorValueObject<Double> {
+public class DewPointValue implements SensorValueObject<Double>, NumericReading {
     private final double dewPoint;
     /**
      * Constructor for Dew point value. It receives a dewPointValue in string form and validates it.
@@ -39,4 +39,24 @@ public class DewPointValue implements SensorValueObject<Double> {
         }
         return true;
     }
+
+    /**
+     * Returns the encapsulated primitive value as a double, without boxing it.
+     *
+     * @return Encapsulated primitive value.
+     */
+    @Override
+    public double asDouble() {
+        return this.dewPoint;
+    }
+
+    /**
+     * Returns the encapsulated primitive value as a long, without boxing it.
+     *
+     * @return Encapsulated primitive value, truncated towards zero.
+     */
+    @Override
+    public long asLong() {
+        return (long) this.dewPoint;
+    }
 }
\ No newline at end of file
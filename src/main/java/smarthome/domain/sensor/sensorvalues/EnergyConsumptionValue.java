@@ -2,7 +2,7 @@ package smarthome.domain.sensor.sensorvalues;
 
 import static java.lang.Integer.parseInt;
 
-public class EnergyConsumptionValue implements SensorValueObject<Integer> {
+public class EnergyConsumptionValue implements SensorValueObject<Integer>, NumericReading {
     private final int primitiveValue;
 
     /**
@@ -38,4 +38,24 @@ public class EnergyConsumptionValue implements SensorValueObject<Integer> {
     public String getValueAsString() {
         return primitiveValue + "";
     }
+
+    /**
+     * Returns the encapsulated primitive value as a double, without boxing it.
+     *
+     * @return Encapsulated primitive value.
+     */
+    @Override
+    public double asDouble() {
+        return this.primitiveValue;
+    }
+
+    /**
+     * Returns the encapsulated primitive value as a long, without boxing it.
+     *
+     * @return Encapsulated primitive value.
+     */
+    @Override
+    public long asLong() {
+        return this.primitiveValue;
+    }
 }
\ No newline at end of file
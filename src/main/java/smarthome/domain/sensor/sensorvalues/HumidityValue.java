@@ -2,7 +2,7 @@ package smarthome.domain.sensor.sensorvalues;
 
 import static java.lang.Integer.parseInt;
 
-public class HumidityValue implements SensorValueObject<Integer> {
+public class HumidityValue implements SensorValueObject<Integer>, NumericReading {
     private final int primitiveValue;
 
     /**
@@ -42,5 +42,23 @@ public class HumidityValue implements SensorValueObject<Integer> {
         return valueOfReading >= 0 && valueOfReading <= 100;
     }
 
+    /**
+     * Returns the encapsulated primitive value as a double, without boxing it.
+     *
+     * @return Encapsulated primitive value.
+     */
+    @Override
+    public double asDouble() {
+        return this.primitiveValue;
+    }
 
+    /**
+     * Returns the encapsulated primitive value as a long, without boxing it.
+     *
+     * @return Encapsulated primitive value.
+     */
+    @Override
+    public long asLong() {
+        return this.primitiveValue;
+    }
 }
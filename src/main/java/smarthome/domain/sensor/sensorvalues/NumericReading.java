@@ -0,0 +1,22 @@
+package smarthome.domain.sensor.sensorvalues;
+
+/**
+ * Primitive access to the reading of a numeric sensor value.
+ * <p>
+ * Numeric value objects keep their reading as a primitive, but {@link SensorValueObject#getValue()} returns it boxed.
+ * Analytics that go through many readings should use this interface instead, so no wrapper object is created or
+ * unboxed per reading.
+ * </p>
+ */
+public interface NumericReading {
+
+    /**
+     * @return The reading as a double.
+     */
+    double asDouble();
+
+    /**
+     * @return The reading as a long. Decimal readings are truncated towards zero, as with a cast.
+     */
+    long asLong();
+}
@@ -7,7 +7,7 @@ import static java.lang.Integer.parseInt;
  * This class stores an integer value representing a position that has to be between
  * 0 and 100.
  */
-public class PositionValue implements SensorValueObject<Integer> {
+public class PositionValue implements SensorValueObject<Integer>, NumericReading {
 
     private final int position;
 
@@ -40,4 +40,24 @@ public class PositionValue implements SensorValueObject<Integer> {
     public Integer getValue() {
         return this.position;
     }
+
+    /**
+     * Returns the encapsulated primitive value as a double, without boxing it.
+     *
+     * @return Encapsulated primitive value.
+     */
+    @Override
+    public double asDouble() {
+        return this.position;
+    }
+
+    /**
+     * Returns the encapsulated primitive value as a long, without boxing it.
+     *
+     * @return Encapsulated primitive value.
+     */
+    @Override
+    public long asLong() {
+        return this.position;
+    }
 }
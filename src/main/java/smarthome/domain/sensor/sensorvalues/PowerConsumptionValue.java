@@ -2,7 +2,7 @@ package smarthome.domain.sensor.sensorvalues;
 
 import static java.lang.Integer.parseInt;
 
-public class PowerConsumptionValue implements SensorValueObject<Integer> {
+public class PowerConsumptionValue implements SensorValueObject<Integer>, NumericReading {
 
     /**
      * The integer value representing the power consumption.
@@ -38,4 +38,24 @@ public class PowerConsumptionValue implements SensorValueObject<Integer> {
     public Integer getValue() {
         return this.powerConsumption;
     }
+
+    /**
+     * Returns the encapsulated primitive value as a double, without boxing it.
+     *
+     * @return Encapsulated primitive value.
+     */
+    @Override
+    public double asDouble() {
+        return this.powerConsumption;
+    }
+
+    /**
+     * Returns the encapsulated primitive value as a long, without boxing it.
+     *
+     * @return Encapsulated primitive value.
+     */
+    @Override
+    public long asLong() {
+        return this.powerConsumption;
+    }
 }
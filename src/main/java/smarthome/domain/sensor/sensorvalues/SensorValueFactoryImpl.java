@@ -8,19 +8,34 @@ import org.springframework.stereotype.Component;
 import smarthome.domain.vo.sensortype.SensorTypeIDVO;
 
 import java.io.File;
-import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.time.ZonedDateTime;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.function.Function;
 
 @Component
 public class SensorValueFactoryImpl implements SensorValueFactory{
 
+    private static final MethodType STRING_CONSTRUCTOR = MethodType.methodType(SensorValueObject.class, String.class);
+    private static final MethodType DATE_CONSTRUCTOR = MethodType.methodType(SensorValueObject.class, ZonedDateTime.class);
+
     private final Configuration configuration;
+    private final Map<String, Function<String, SensorValueObject<?>>> stringCreators;
+    private final Map<String, Function<ZonedDateTime, SensorValueObject<?>>> dateCreators;
 
     /**
      * Constructs a new instance of SensorValueFactoryImpl, which is responsible for
      * creating SensorValueObjects based on configurations loaded from a properties file
      * located at the specified path.
+     * <p>
+     * The constructors of the configured value objects are resolved here, once, into immutable registries keyed by
+     * sensor type ID, so creating a value only costs a map lookup and a direct constructor call. Sensor types whose
+     * class cannot be loaded, or has no suitable public constructor, are left out of the registries.
+     * </p>
      *
      * @param path The property path is referred in the application.properties file.
      *             The path to the properties file containing configurations for the factory.
@@ -39,54 +54,57 @@ public class SensorValueFactoryImpl implements SensorValueFactory{
         } catch (NullPointerException | ConfigurationException e){
             throw new IllegalArgumentException("Error reading file");
         }
+        Map<String, Function<String, SensorValueObject<?>>> strings = new HashMap<>();
+        Map<String, Function<ZonedDateTime, SensorValueObject<?>>> dates = new HashMap<>();
+        Iterator<String> keys = this.configuration.getKeys();
+        while (keys.hasNext()) {
+            String type = keys.next();
+            Class<?> valueClass = loadValueClass(this.configuration.getString(type));
+            MethodHandle stringConstructor = findConstructor(valueClass, STRING_CONSTRUCTOR);
+            if (stringConstructor != null) {
+                strings.put(type, reading -> createFromString(stringConstructor, reading));
+            }
+            MethodHandle dateConstructor = findConstructor(valueClass, DATE_CONSTRUCTOR);
+            if (dateConstructor != null) {
+                dates.put(type, reading -> createFromDate(dateConstructor, reading));
+            }
+        }
+        this.stringCreators = Map.copyOf(strings);
+        this.dateCreators = Map.copyOf(dates);
     }
 
     /**
      * Creates a new SensorValueObject based on the provided reading string and sensor type ID.
-     * The sensor type ID is used to retrieve the path to the specific valueObject constructor
-     * from the configuration. Reflection is employed to dynamically load the class and invoke
-     * its constructor with the reading string.
+     * The sensor type ID is used to look up the constructor of the specific valueObject, resolved
+     * from the configuration when the factory was created, and the constructor is invoked with the
+     * reading string.
      * The SensorValueObject utilizes generics, and its implementation's constructors are designed
      * to receive a string reading, parse it into the related primitive value, and instantiate a
      * SensorValueObject with the specific wrapper for that primitive type.
+     * Sunset and sunrise readings are parsed into a ZonedDateTime first.
      *
      * @param reading      The reading string to be parsed into the value of the SensorValueObject.
      * @param sensorTypeID The sensor type ID identifying the type of sensor value to create.
      * @return A new SensorValueObject with the parsed value from the reading string, or null if:
      *         - The sensor type ID is null or invalid,
      *         - The sensor type ID is not permitted based on the configuration,
-     *         - An error occurs during value creation or parsing.
-     * @throws NullPointerException      If the sensorTypeID parameter is null.
-     * @throws IllegalArgumentException  If the sensorTypeID is not permitted or if the configuration
-     *                                   does not contain the required information.
-     * @throws NumberFormatException     If the reading string cannot be parsed into a numeric value.
-     * @throws ClassNotFoundException    If the class specified by the value path cannot be found.
-     * @throws NoSuchMethodException     If the constructor with a String parameter cannot be found
-     *                                   in the specified class.
-     * @throws InvocationTargetException If an error occurs while invoking the constructor.
-     * @throws InstantiationException    If the class represents an abstract class, an interface,
-     *                                   or if the instantiation fails for some other reason.
-     * @throws IllegalAccessException    If the constructor is not accessible due to Java language
-     *                                   access control.
+     *         - The configured value object cannot be created from a reading string,
+     *         - The reading is rejected by the value object.
+     * @throws java.time.format.DateTimeParseException If the reading of a sunset or sunrise sensor is not a valid
+     *                                                 date-time.
      */
     @Override
     public SensorValueObject<?> createSensorValue(String reading, SensorTypeIDVO sensorTypeID) {
         if (areParamsValid(sensorTypeID) && isTypePermitted(sensorTypeID.getID())){
-            try{
-                String valuePath = this.configuration.getString(sensorTypeID.getID());
-
-                if (sensorTypeID.getID().equals("SunsetSensor") || sensorTypeID.getID().equals("SunriseSensor")){
-                    ZonedDateTime dateTime = ZonedDateTime.parse(reading);
-                    return createSunValues(dateTime,valuePath);
+            String type = sensorTypeID.getID();
+            if (type.equals("SunsetSensor") || type.equals("SunriseSensor")){
+                if (reading == null) {
+                    return null;
                 }
-
-                Class<?> classObj = Class.forName(valuePath);
-                Constructor<?> constructor = classObj.getConstructor(String.class);
-                return (SensorValueObject<?>) constructor.newInstance(reading);
-            } catch (NumberFormatException | NullPointerException | ClassNotFoundException | NoSuchMethodException
-                     | InvocationTargetException | InstantiationException | IllegalAccessException e) {
-                return null;
+                return createSensorValue(ZonedDateTime.parse(reading), sensorTypeID);
             }
+            Function<String, SensorValueObject<?>> creator = this.stringCreators.get(type);
+            return creator == null ? null : creator.apply(reading);
         }
         return null;
     }
@@ -96,49 +114,89 @@ public class SensorValueFactoryImpl implements SensorValueFactory{
      *
      * <p>This method creates a sensor value object using the reading obtained at a specific date and time
      * and the sensor type ID. It verifies that the parameters are not null and that the sensor type ID
-     * is permitted. If successful, it attempts to create the sensor value object using the configuration
-     * path associated with the sensor type ID.</p>
+     * is permitted. If successful, it invokes the constructor resolved from the configuration for the
+     * sensor type ID.</p>
      * @param reading      The date and time at which the reading was taken.
      * @param sensorTypeID The ID of the sensor type for which the value object is created.
      * @return A sensor value object corresponding to the reading, or {@code null} if creation fails.
      */
-
     public SensorValueObject<?> createSensorValue(ZonedDateTime reading, SensorTypeIDVO sensorTypeID){
         if (areParamsValid(sensorTypeID) && isTypePermitted(sensorTypeID.getID())){
-
-            String valuePath = this.configuration.getString(sensorTypeID.getID());
-            return createSunValues(reading,valuePath);
+            Function<ZonedDateTime, SensorValueObject<?>> creator = this.dateCreators.get(sensorTypeID.getID());
+            return creator == null ? null : creator.apply(reading);
         }
         return null;
     }
 
     /**
-     * Creates a SensorValueObject for sun-related values using the provided reading and valuePath.
+     * Loads the value object class configured for a sensor type.
      *
-     * <p>
-     * This method dynamically instantiates a SensorValueObject using reflection,
-     * based on the provided reading and valuePath parameters.
-     * The reading parameter represents the timestamp of the sun-related event,
-     * and the valuePath parameter specifies the class path for the desired SensorValueObject implementation.
-     * </p>
+     * @param valuePath The class path of the SensorValueObject implementation.
+     * @return The class, or null if it cannot be loaded or is not a SensorValueObject.
+     */
+    private static Class<?> loadValueClass(String valuePath) {
+        try {
+            Class<?> valueClass = Class.forName(valuePath);
+            return SensorValueObject.class.isAssignableFrom(valueClass) ? valueClass : null;
+        } catch (ClassNotFoundException | LinkageError | NullPointerException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Finds the public constructor of a value object class that receives a single parameter of the reading type.
      *
-     * <p>
-     * If successful, the method returns the instantiated SensorValueObject.
-     * If any exception occurs during the process, such as parsing errors or class instantiation failures,
-     * the method returns null.
-     * </p>
+     * @param valueClass The class of the SensorValueObject implementation, or null.
+     * @param type       The type of the constructor, as a method returning SensorValueObject.
+     * @return A method handle of the constructor adapted to the given type, or null if there is none.
+     */
+    private static MethodHandle findConstructor(Class<?> valueClass, MethodType type) {
+        if (valueClass == null) {
+            return null;
+        }
+        try {
+            return MethodHandles.publicLookup()
+                    .findConstructor(valueClass, type.changeReturnType(void.class))
+                    .asType(type);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Invokes the constructor of a value object with a reading string.
+     *
+     * @param constructor The constructor, of type (String)SensorValueObject.
+     * @param reading     The reading string.
+     * @return The SensorValueObject, or null if the constructor rejects the reading.
+     */
+    private static SensorValueObject<?> createFromString(MethodHandle constructor, String reading) {
+        try {
+            return (SensorValueObject<?>) constructor.invokeExact(reading);
+        } catch (RuntimeException e) {
+            return null;
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
+            return null;
+        }
+    }
+
+    /**
+     * Invokes the constructor of a value object with a date-time reading.
      *
-     * @param reading    The timestamp of the sun-related event.
-     * @param valuePath  The class path for the desired SensorValueObject implementation.
-     * @return A SensorValueObject instantiated with the provided reading, or null if an error occurs.
+     * @param constructor The constructor, of type (ZonedDateTime)SensorValueObject.
+     * @param reading     The date-time reading.
+     * @return The SensorValueObject, or null if the constructor rejects the reading.
      */
-    private SensorValueObject<?> createSunValues(ZonedDateTime reading, String valuePath){
-        try{
-            Class<?> classObj = Class.forName(valuePath);
-            Constructor<?> constructor = classObj.getConstructor(ZonedDateTime.class);
-            return (SensorValueObject<?>) constructor.newInstance(reading);
-        } catch (NumberFormatException | NullPointerException | ClassNotFoundException | NoSuchMethodException
-                 | InvocationTargetException | InstantiationException | IllegalAccessException e) {
+    private static SensorValueObject<?> createFromDate(MethodHandle constructor, ZonedDateTime reading) {
+        try {
+            return (SensorValueObject<?>) constructor.invokeExact(reading);
+        } catch (RuntimeException e) {
+            return null;
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
             return null;
         }
     }
@@ -2,7 +2,7 @@ package smarthome.domain.sensor.sensorvalues;
 
 import static java.lang.Integer.parseInt;
 
-public class SolarIrradianceValue implements SensorValueObject<Integer> {
+public class SolarIrradianceValue implements SensorValueObject<Integer>, NumericReading {
 
     private final int primitiveValue;
 
@@ -43,4 +43,24 @@ public class SolarIrradianceValue implements SensorValueObject<Integer> {
     public Integer getValue() {
         return this.primitiveValue;
     }
+
+    /**
+     * Returns the encapsulated primitive value as a double, without boxing it.
+     *
+     * @return Encapsulated primitive value.
+     */
+    @Override
+    public double asDouble() {
+        return this.primitiveValue;
+    }
+
+    /**
+     * Returns the encapsulated primitive value as a long, without boxing it.
+     *
+     * @return Encapsulated primitive value.
+     */
+    @Override
+    public long asLong() {
+        return this.primitiveValue;
+    }
 }
@@ -2,7 +2,7 @@ package smarthome.domain.sensor.sensorvalues;
 import static java.lang.Double.parseDouble;
 
 
-    public class TemperatureValue implements SensorValueObject<Double> {
+    public class TemperatureValue implements SensorValueObject<Double>, NumericReading {
         private final double primitiveValue;
 
         /**
@@ -44,4 +44,24 @@ import static java.lang.Double.parseDouble;
             }
             return true;
         }
+
+        /**
+         * Returns the encapsulated primitive value as a double, without boxing it.
+         *
+         * @return Encapsulated primitive value.
+         */
+        @Override
+        public double asDouble() {
+            return this.primitiveValue;
+        }
+
+        /**
+         * Returns the encapsulated primitive value as a long, without boxing it.
+         *
+         * @return Encapsulated primitive value, truncated towards zero.
+         */
+        @Override
+        public long asLong() {
+            return (long) this.primitiveValue;
+        }
     }
@@ -0,0 +1,79 @@
+package smarthome.domain.vo.logvo;
+
+import java.util.Objects;
+
+/**
+ * Value object class representing a position in the readings of a device, used for keyset pagination.
+ * <p>
+ * Readings are ordered by time and then by log ID, so the pair (time, log ID) identifies exactly one position.
+ * A forward cursor selects the readings strictly after that position, a backward cursor the readings strictly
+ * before it.
+ * </p>
+ */
+public class LogCursorVO {
+
+    private final TimeStampVO time;
+    private final LogIDVO logID;
+    private final boolean forward;
+
+    /**
+     * Constructs a new LogCursorVO object.
+     * @param time the time of the reading the cursor points at
+     * @param logID the ID of the reading the cursor points at
+     * @param forward true to select the readings after the position, false to select the readings before it
+     * @throws IllegalArgumentException if the time or the log ID is null
+     */
+    public LogCursorVO(TimeStampVO time, LogIDVO logID, boolean forward) {
+        if (time == null || logID == null) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        this.time = time;
+        this.logID = logID;
+        this.forward = forward;
+    }
+
+    /**
+     * Getter method that returns the time of the reading the cursor points at.
+     * @return the time of the reading
+     */
+    public TimeStampVO getTime() {
+        return time;
+    }
+
+    /**
+     * Getter method that returns the ID of the reading the cursor points at.
+     * @return the ID of the reading
+     */
+    public LogIDVO getLogID() {
+        return logID;
+    }
+
+    /**
+     * Indicates the direction of the cursor.
+     * @return true if the readings after the position are selected, false if the readings before it are selected
+     */
+    public boolean isForward() {
+        return forward;
+    }
+
+    /**
+     * Compares this LogCursorVO object with another object for equality.
+     * @param obj The object to compare with.
+     * @return True if the objects are equal, false otherwise.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (!(obj instanceof LogCursorVO that)) return false;
+        return forward == that.forward && time.equals(that.time) && logID.equals(that.logID);
+    }
+
+    /**
+     * Generates a hash code for the LogCursorVO object.
+     * @return The hash code generated for the LogCursorVO object.
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(time, logID, forward);
+    }
+}
@@ -0,0 +1,218 @@
+package smarthome.mapper;
+
+import smarthome.domain.vo.actuatortype.ActuatorTypeIDVO;
+import smarthome.domain.vo.actuatorvo.ActuatorIDVO;
+import smarthome.domain.vo.devicevo.DeviceIDVO;
+import smarthome.domain.vo.housevo.HouseIDVO;
+import smarthome.domain.vo.roomvo.RoomIDVO;
+import smarthome.domain.vo.sensortype.SensorTypeIDVO;
+import smarthome.domain.vo.sensorvo.SensorIDVO;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Canonical cache of ID value objects, shared by the assemblers and mappers.
+ * <p>
+ * Rows read from the database repeat the same few device, sensor and type IDs over and over. Interning resolves each
+ * ID string to one shared value object, so a repeated ID is neither parsed as a UUID nor allocated again. ID value
+ * objects are immutable, so sharing them is safe.
+ * </p>
+ * <p>
+ * Entries are held through weak references: an ID no longer used anywhere else is dropped on the next collection and
+ * its entry is removed on a later lookup. The number of entries of each interner is bounded; once full, new IDs are
+ * still created but not cached until entries are freed. Invalid IDs are never cached, and they fail exactly as
+ * creating the value object directly would.
+ * </p>
+ *
+ * @param <T> the type of the ID value object
+ */
+public final class IDInterner<T> {
+
+    private static final int MAX_ENTRIES = 10_000;
+
+    private static final IDInterner<DeviceIDVO> DEVICE_IDS =
+            new IDInterner<>(id -> new DeviceIDVO(UUID.fromString(id)), MAX_ENTRIES);
+    private static final IDInterner<SensorIDVO> SENSOR_IDS =
+            new IDInterner<>(id -> new SensorIDVO(UUID.fromString(id)), MAX_ENTRIES);
+    private static final IDInterner<SensorTypeIDVO> SENSOR_TYPE_IDS =
+            new IDInterner<>(SensorTypeIDVO::new, MAX_ENTRIES);
+    private static final IDInterner<RoomIDVO> ROOM_IDS =
+            new IDInterner<>(id -> new RoomIDVO(UUID.fromString(id)), MAX_ENTRIES);
+    private static final IDInterner<HouseIDVO> HOUSE_IDS =
+            new IDInterner<>(id -> new HouseIDVO(UUID.fromString(id)), MAX_ENTRIES);
+    private static final IDInterner<ActuatorIDVO> ACTUATOR_IDS =
+            new IDInterner<>(id -> new ActuatorIDVO(UUID.fromString(id)), MAX_ENTRIES);
+    private static final IDInterner<ActuatorTypeIDVO> ACTUATOR_TYPE_IDS =
+            new IDInterner<>(ActuatorTypeIDVO::new, MAX_ENTRIES);
+
+    private static final Map<String, IDInterner<?>> SHARED = Map.of("deviceID", DEVICE_IDS, "sensorID", SENSOR_IDS,
+            "sensorTypeID", SENSOR_TYPE_IDS, "roomID", ROOM_IDS, "houseID", HOUSE_IDS, "actuatorID", ACTUATOR_IDS,
+            "actuatorTypeID", ACTUATOR_TYPE_IDS);
+
+    private final Function<String, T> factory;
+    private final int maxEntries;
+    private final ConcurrentHashMap<String, Entry<T>> entries = new ConcurrentHashMap<>();
+    private final ReferenceQueue<T> cleared = new ReferenceQueue<>();
+
+    /**
+     * Weak reference to an interned value that remembers its key, so it can be removed once cleared.
+     */
+    private static final class Entry<T> extends WeakReference<T> {
+        private final String key;
+
+        private Entry(String key, T value, ReferenceQueue<T> queue) {
+            super(value, queue);
+            this.key = key;
+        }
+    }
+
+    /**
+     * Creates an interner.
+     *
+     * @param factory    creates the value object of an ID string that is not cached
+     * @param maxEntries the maximum number of cached entries
+     * @throws IllegalArgumentException if the factory is null or the maximum is not positive
+     */
+    public IDInterner(Function<String, T> factory, int maxEntries) {
+        if (factory == null || maxEntries <= 0) {
+            throw new IllegalArgumentException("Invalid interner parameters");
+        }
+        this.factory = factory;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Returns the shared value object of an ID string, creating and caching it if there is none.
+     *
+     * @param id the ID string
+     * @return the value object of the ID
+     * @throws RuntimeException whatever the factory throws for an invalid ID
+     */
+    public T intern(String id) {
+        if (id == null) {
+            return this.factory.apply(null);
+        }
+        Entry<T> entry = this.entries.get(id);
+        T value = entry == null ? null : entry.get();
+        if (value != null) {
+            return value;
+        }
+        value = this.factory.apply(id);
+        removeCleared();
+        if (this.entries.size() < this.maxEntries) {
+            Entry<T> previous = this.entries.putIfAbsent(id, new Entry<>(id, value, this.cleared));
+            if (previous != null) {
+                T shared = previous.get();
+                if (shared != null) {
+                    return shared;
+                }
+                this.entries.replace(id, previous, new Entry<>(id, value, this.cleared));
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Number of entries currently cached, including entries whose value was collected but not yet removed.
+     */
+    public int size() {
+        return this.entries.size();
+    }
+
+    /**
+     * Removes the entries whose value has been collected.
+     */
+    @SuppressWarnings("unchecked")
+    private void removeCleared() {
+        Reference<? extends T> reference;
+        while ((reference = this.cleared.poll()) != null) {
+            Entry<T> entry = (Entry<T>) reference;
+            this.entries.remove(entry.key, entry);
+        }
+    }
+
+    /**
+     * Returns the shared interners, by the kind of ID they hold, so their sizes can be monitored.
+     *
+     * @return the shared interners, keyed by kind of ID
+     */
+    public static Map<String, IDInterner<?>> sharedInterners() {
+        return SHARED;
+    }
+
+    /**
+     * Returns the shared DeviceIDVO of a device ID.
+     *
+     * @param id the device ID, as a UUID string
+     * @return the DeviceIDVO of the ID
+     */
+    public static DeviceIDVO deviceID(String id) {
+        return DEVICE_IDS.intern(id);
+    }
+
+    /**
+     * Returns the shared SensorIDVO of a sensor ID.
+     *
+     * @param id the sensor ID, as a UUID string
+     * @return the SensorIDVO of the ID
+     */
+    public static SensorIDVO sensorID(String id) {
+        return SENSOR_IDS.intern(id);
+    }
+
+    /**
+     * Returns the shared SensorTypeIDVO of a sensor type ID.
+     *
+     * @param id the sensor type ID
+     * @return the SensorTypeIDVO of the ID
+     */
+    public static SensorTypeIDVO sensorTypeID(String id) {
+        return SENSOR_TYPE_IDS.intern(id);
+    }
+
+    /**
+     * Returns the shared RoomIDVO of a room ID.
+     *
+     * @param id the room ID, as a UUID string
+     * @return the RoomIDVO of the ID
+     */
+    public static RoomIDVO roomID(String id) {
+        return ROOM_IDS.intern(id);
+    }
+
+    /**
+     * Returns the shared HouseIDVO of a house ID.
+     *
+     * @param id the house ID, as a UUID string
+     * @return the HouseIDVO of the ID
+     */
+    public static HouseIDVO houseID(String id) {
+        return HOUSE_IDS.intern(id);
+    }
+
+    /**
+     * Returns the shared ActuatorIDVO of an actuator ID.
+     *
+     * @param id the actuator ID, as a UUID string
+     * @return the ActuatorIDVO of the ID
+     */
+    public static ActuatorIDVO actuatorID(String id) {
+        return ACTUATOR_IDS.intern(id);
+    }
+
+    /**
+     * Returns the shared ActuatorTypeIDVO of an actuator type ID.
+     *
+     * @param id the actuator type ID
+     * @return the ActuatorTypeIDVO of the ID
+     */
+    public static ActuatorTypeIDVO actuatorTypeID(String id) {
+        return ACTUATOR_TYPE_IDS.intern(id);
+    }
+}
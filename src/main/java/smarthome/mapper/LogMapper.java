@@ -8,15 +8,20 @@ import smarthome.domain.sensor.sensorvalues.SensorValueFactory;
 import smarthome.domain.sensor.sensorvalues.SensorValueFactoryImpl;
 import smarthome.domain.sensor.sensorvalues.SensorValueObject;
 import smarthome.domain.vo.devicevo.DeviceIDVO;
+import smarthome.domain.vo.logvo.LogCursorVO;
 import smarthome.domain.vo.logvo.LogIDVO;
 import smarthome.domain.vo.logvo.TimeStampVO;
 import smarthome.domain.vo.sensortype.SensorTypeIDVO;
 import smarthome.domain.vo.sensorvo.SensorIDVO;
 import smarthome.mapper.dto.LogDTO;
 
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
 import java.util.UUID;
 
@@ -46,6 +51,10 @@ public class LogMapper {
     @Setter
     private static SensorValueFactory sensorValueFactory;
     private static final String ERRORMESSAGE = "LogDTO cannot be null.";
+    private static final String MISSING_FIELD = "LogDTO is missing a required field.";
+    private static final String CURSOR_ERROR = "Invalid cursor";
+    private static final String FORWARD = "a";
+    private static final String BACKWARD = "b";
 
 
 
@@ -65,12 +74,15 @@ public class LogMapper {
      *
      * @param logDTO the log data transfer object, must not be null
      * @return a {@code LogIDVO} created from the log ID in the {@code logDTO}
-     * @throws IllegalArgumentException if {@code logDTO} is null
+     * @throws IllegalArgumentException if {@code logDTO} is null or has no log ID
      */
     public static LogIDVO createLogIDVO (LogDTO logDTO){
         if (logDTO == null){
             throw new IllegalArgumentException(ERRORMESSAGE);
         }
+        if (logDTO.getLogID() == null){
+            throw new IllegalArgumentException(MISSING_FIELD);
+        }
         return new LogIDVO(UUID.fromString(logDTO.getLogID()));
     }
 
@@ -79,13 +91,16 @@ public class LogMapper {
      *
      * @param logDTO the log data transfer object, must not be null
      * @return a {@code DeviceIDVO} created from the device ID in the {@code logDTO}
-     * @throws IllegalArgumentException if {@code logDTO} is null
+     * @throws IllegalArgumentException if {@code logDTO} is null or has no device ID
      */
     public static DeviceIDVO createDeviceIDVO (LogDTO logDTO){
         if (logDTO == null){
             throw new IllegalArgumentException(ERRORMESSAGE);
         }
-        return new DeviceIDVO(UUID.fromString(logDTO.getDeviceID()));
+        if (logDTO.getDeviceID() == null){
+            throw new IllegalArgumentException(MISSING_FIELD);
+        }
+        return IDInterner.deviceID(logDTO.getDeviceID());
     }
 
     /**
@@ -93,13 +108,16 @@ public class LogMapper {
      *
      * @param logDTO the log data transfer object, must not be null
      * @return a {@code SensorIDVO} created from the sensor ID in the {@code logDTO}
-     * @throws IllegalArgumentException if {@code logDTO} is null
+     * @throws IllegalArgumentException if {@code logDTO} is null or has no sensor ID
      */
     public static SensorIDVO createSensorIDVO (LogDTO logDTO){
         if (logDTO == null){
             throw new IllegalArgumentException(ERRORMESSAGE);
         }
-        return new SensorIDVO(UUID.fromString(logDTO.getSensorID()));
+        if (logDTO.getSensorID() == null){
+            throw new IllegalArgumentException(MISSING_FIELD);
+        }
+        return IDInterner.sensorID(logDTO.getSensorID());
     }
 
     /**
@@ -136,12 +154,15 @@ public class LogMapper {
      *
      * @param logDTO the log data transfer object, must not be null
      * @return a {@code TimeStampVO} created from the time in the {@code logDTO}
-     * @throws IllegalArgumentException if {@code logDTO} is null
+     * @throws IllegalArgumentException if {@code logDTO} is null or has no time
      */
     public static TimeStampVO createTimeStampVO (LogDTO logDTO){
         if (logDTO == null){
             throw new IllegalArgumentException(ERRORMESSAGE);
         }
+        if (logDTO.getTime() == null){
+            throw new IllegalArgumentException(MISSING_FIELD);
+        }
         return new TimeStampVO(LocalDateTime.parse(logDTO.getTime()));
     }
 
@@ -200,4 +221,77 @@ public class LogMapper {
         }
         return listOfLogDTO;
     }
+
+    /**
+     * Creates a cursor that selects the readings after the given log.
+     *
+     * @param log the last log of the current page
+     * @return a forward {@code LogCursorVO} positioned at the log
+     * @throws IllegalArgumentException if {@code log} is null
+     */
+    public static LogCursorVO createNextCursor (Log log) {
+        return createCursor(log, true);
+    }
+
+    /**
+     * Creates a cursor that selects the readings before the given log.
+     *
+     * @param log the first log of the current page
+     * @return a backward {@code LogCursorVO} positioned at the log
+     * @throws IllegalArgumentException if {@code log} is null
+     */
+    public static LogCursorVO createPreviousCursor (Log log) {
+        return createCursor(log, false);
+    }
+
+    private static LogCursorVO createCursor (Log log, boolean forward) {
+        if (log == null){
+            throw new IllegalArgumentException("Invalid parameter");
+        }
+        return new LogCursorVO(log.getTime(), new LogIDVO(UUID.fromString(log.getId().getID())), forward);
+    }
+
+    /**
+     * Encodes a cursor as an opaque, URL-safe token.
+     * <p>
+     * The token is the Base64url encoding of the direction, the epoch second and the log ID of the position.
+     * Clients are expected to pass it back unchanged and not to rely on its content.
+     * </p>
+     *
+     * @param cursor the cursor to encode
+     * @return the token representing the cursor
+     * @throws IllegalArgumentException if {@code cursor} is null
+     */
+    public static String cursorToString (LogCursorVO cursor) {
+        if (cursor == null){
+            throw new IllegalArgumentException(CURSOR_ERROR);
+        }
+        String raw = (cursor.isForward() ? FORWARD : BACKWARD) + ":" +
+                cursor.getTime().getValue().toEpochSecond(ZoneOffset.UTC) + ":" + cursor.getLogID().getID();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Creates a {@code LogCursorVO} from a token produced by {@link #cursorToString(LogCursorVO)}.
+     *
+     * @param cursor the token received from the client
+     * @return the decoded {@code LogCursorVO}
+     * @throws IllegalArgumentException if the token is null or malformed
+     */
+    public static LogCursorVO createLogCursorVO (String cursor) {
+        if (cursor == null){
+            throw new IllegalArgumentException(CURSOR_ERROR);
+        }
+        String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":");
+        if (parts.length != 3 || !(FORWARD.equals(parts[0]) || BACKWARD.equals(parts[0]))) {
+            throw new IllegalArgumentException(CURSOR_ERROR);
+        }
+        LocalDateTime time;
+        try {
+            time = LocalDateTime.ofEpochSecond(Long.parseLong(parts[1]), 0, ZoneOffset.UTC);
+        } catch (DateTimeException e) {
+            throw new IllegalArgumentException(CURSOR_ERROR);
+        }
+        return new LogCursorVO(new TimeStampVO(time), new LogIDVO(UUID.fromString(parts[2])), FORWARD.equals(parts[0]));
+    }
 }
\ No newline at end of file
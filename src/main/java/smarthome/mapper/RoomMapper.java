@@ -7,7 +7,6 @@ import smarthome.domain.vo.housevo.HouseIDVO;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
 
 
 /**
@@ -91,9 +90,7 @@ public class RoomMapper {
             throw new IllegalArgumentException(ERRORMESSAGE);
         }
         else {
-            // Converts String from the DTO into a UUID
-            UUID roomID = UUID.fromString(roomDTO.getId());
-            return new RoomIDVO(roomID);
+            return IDInterner.roomID(roomDTO.getId());
         }
     }
 
@@ -110,9 +107,7 @@ public class RoomMapper {
             throw new IllegalArgumentException(ERRORMESSAGE);
         }
         else {
-            // Converts String from the DTO into a UUID
-            UUID houseID = UUID.fromString(roomDTO.getHouseID());
-            return new HouseIDVO(houseID);
+            return IDInterner.houseID(roomDTO.getHouseID());
         }
     }
 
@@ -77,8 +77,7 @@ public class SensorMapper {
         if (!isDeviceIDValid(deviceID)) {
             throw new IllegalArgumentException("Invalid device ID");
         }
-        UUID id = UUID.fromString(deviceID);
-        return new DeviceIDVO(id);
+        return IDInterner.deviceID(deviceID);
     }
 
     /**
@@ -109,8 +108,7 @@ public class SensorMapper {
         if (sensorID == null) {
             throw new IllegalArgumentException("Invalid sensor ID");
         }
-        UUID id = UUID.fromString(sensorID);
-        return new SensorIDVO(id);
+        return IDInterner.sensorID(sensorID);
     }
 
 
@@ -156,8 +154,7 @@ public class SensorMapper {
         if (deviceId == null) {
             throw new IllegalArgumentException("DeviceID cannot be null");
         } else {
-            UUID id = UUID.fromString(deviceId);
-            return new DeviceIDVO(id);
+            return IDInterner.deviceID(deviceId);
         }
     }
 
@@ -5,11 +5,11 @@ import smarthome.domain.actuator.ActuatorFactory;
 import smarthome.domain.vo.actuatortype.ActuatorTypeIDVO;
 import smarthome.domain.vo.actuatorvo.*;
 import smarthome.domain.vo.devicevo.DeviceIDVO;
+import smarthome.mapper.IDInterner;
 import smarthome.persistence.jpa.datamodel.ActuatorDataModel;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
 
 public class ActuatorAssembler {
 
@@ -21,12 +21,10 @@ public class ActuatorAssembler {
      * @return Actuator object
      */
     public static Actuator toDomain(ActuatorFactory actuatorFactory, ActuatorDataModel actuatorDataModel) {
-        UUID actuatorUUID = UUID.fromString(actuatorDataModel.getActuatorID());
-        ActuatorIDVO actuatorID = new ActuatorIDVO(actuatorUUID);
+        ActuatorIDVO actuatorID = IDInterner.actuatorID(actuatorDataModel.getActuatorID());
         ActuatorNameVO actuatorName = new ActuatorNameVO(actuatorDataModel.getActuatorName());
-        ActuatorTypeIDVO actuatorType = new ActuatorTypeIDVO(actuatorDataModel.getActuatorTypeID());
-        UUID deviceUUID = UUID.fromString(actuatorDataModel.getDeviceID());
-        DeviceIDVO deviceID = new DeviceIDVO(deviceUUID);
+        ActuatorTypeIDVO actuatorType = IDInterner.actuatorTypeID(actuatorDataModel.getActuatorTypeID());
+        DeviceIDVO deviceID = IDInterner.deviceID(actuatorDataModel.getDeviceID());
         String lowerLimit = actuatorDataModel.getLowerLimit();
         String upperLimit = actuatorDataModel.getUpperLimit();
         String precision = actuatorDataModel.getPrecision_value();
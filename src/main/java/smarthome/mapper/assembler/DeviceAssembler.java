@@ -7,11 +7,11 @@ import smarthome.domain.vo.devicevo.DeviceModelVO;
 import smarthome.domain.vo.devicevo.DeviceNameVO;
 import smarthome.domain.vo.devicevo.DeviceStatusVO;
 import smarthome.domain.vo.roomvo.RoomIDVO;
+import smarthome.mapper.IDInterner;
 import smarthome.persistence.jpa.datamodel.DeviceDataModel;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
 
 public class DeviceAssembler {
 
@@ -33,12 +33,12 @@ public class DeviceAssembler {
      */
     public static Device toDomain(DeviceFactory deviceFactory, DeviceDataModel deviceDataModel)
     {
-        DeviceIDVO deviceIDVO = new DeviceIDVO(UUID.fromString(deviceDataModel.getDeviceID()));
+        DeviceIDVO deviceIDVO = IDInterner.deviceID(deviceDataModel.getDeviceID());
         DeviceNameVO deviceNameVO = new DeviceNameVO(deviceDataModel.getDeviceName());
         DeviceModelVO deviceModelVO = new DeviceModelVO(deviceDataModel.getDeviceModel());
         DeviceStatusVO deviceStatusVO = new DeviceStatusVO(deviceDataModel.getDeviceStatus());
 
-        RoomIDVO roomIDVO = new RoomIDVO(UUID.fromString(deviceDataModel.getRoomID()));
+        RoomIDVO roomIDVO = IDInterner.roomID(deviceDataModel.getRoomID());
 
         return deviceFactory.createDevice(deviceIDVO,deviceNameVO,deviceModelVO,deviceStatusVO,roomIDVO);
     }
@@ -2,6 +2,7 @@ package smarthome.mapper.assembler;
 
 import smarthome.domain.log.Log;
 import smarthome.domain.log.LogFactory;
+import smarthome.domain.log.ReadingSeries;
 
 import smarthome.domain.sensor.sensorvalues.SensorValueFactory;
 import smarthome.domain.sensor.sensorvalues.SensorValueObject;
@@ -9,12 +10,15 @@ import smarthome.domain.vo.devicevo.DeviceIDVO;
 import smarthome.domain.vo.logvo.LogIDVO;
 import smarthome.domain.vo.sensortype.SensorTypeIDVO;
 import smarthome.domain.vo.sensorvo.SensorIDVO;
+import smarthome.mapper.IDInterner;
 import smarthome.persistence.jpa.datamodel.LogDataModel;
+import smarthome.persistence.jpa.datamodel.LogReadingProjection;
 import smarthome.domain.vo.logvo.TimeStampVO;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 public class LogAssembler {
 
@@ -46,9 +50,9 @@ public class LogAssembler {
     public static Log toDomain(LogFactory logFactory, SensorValueFactory valueFactory, LogDataModel logDataModel){
         LogIDVO logIDVO = new LogIDVO(UUID.fromString(logDataModel.getLogID()));
         TimeStampVO timeStamp = new TimeStampVO(logDataModel.getTime());
-        SensorIDVO sensorIDVO = new SensorIDVO(UUID.fromString(logDataModel.getSensorID()));
-        DeviceIDVO deviceIDVO = new DeviceIDVO(UUID.fromString(logDataModel.getDeviceID()));
-        SensorTypeIDVO sensorTypeIDVO = new SensorTypeIDVO(logDataModel.getSensorTypeID());
+        SensorIDVO sensorIDVO = IDInterner.sensorID(logDataModel.getSensorID());
+        DeviceIDVO deviceIDVO = IDInterner.deviceID(logDataModel.getDeviceID());
+        SensorTypeIDVO sensorTypeIDVO = IDInterner.sensorTypeID(logDataModel.getSensorTypeID());
         SensorValueObject<?> reading = valueFactory.createSensorValue(logDataModel.getReading(),sensorTypeIDVO);
         return logFactory.createLog(logIDVO,timeStamp,reading,sensorIDVO,deviceIDVO,sensorTypeIDVO);
     }
@@ -75,4 +79,41 @@ public class LogAssembler {
         }
         return logList;
     }
+
+    /**
+     * Lazily converts a stream of LogDataModel objects to a stream of Log domain objects.
+     * <p>
+     * Each LogDataModel is converted only when the resulting stream reaches it, so no intermediate collection is
+     * built and memory use does not grow with the number of rows. Closing the returned stream closes the source.
+     * </p>
+     *
+     * @param logFactory   The factory for creating Log objects.
+     * @param valueFactory The factory for creating SensorValue objects.
+     * @param dataModels   The stream of LogDataModel objects to convert.
+     * @return A stream of Log domain objects converted from the input LogDataModel objects.
+     */
+    public static Stream<Log> toDomainStream(LogFactory logFactory, SensorValueFactory valueFactory, Stream<LogDataModel> dataModels) {
+        return dataModels.map(dataModel -> toDomain(logFactory, valueFactory, dataModel));
+    }
+
+    /**
+     * Converts the projected rows of a range query to a series of readings, in the order of the rows.
+     * <p>
+     * Only the time and the numeric reading of each row are kept, so no Log or value object is created. Rows without
+     * a numeric reading are skipped.
+     * </p>
+     *
+     * @param rows The projected rows to convert.
+     * @return The series of the numeric readings of the rows.
+     */
+    public static ReadingSeries toSeries(List<LogReadingProjection> rows) {
+        ReadingSeries.Builder builder = new ReadingSeries.Builder(rows.size());
+        for (LogReadingProjection row : rows) {
+            Double reading = row.readingNum();
+            if (reading != null) {
+                builder.add(row.time(), reading);
+            }
+        }
+        return builder.build();
+    }
 }
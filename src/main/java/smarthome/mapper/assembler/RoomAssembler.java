@@ -4,11 +4,11 @@ import smarthome.domain.room.Room;
 import smarthome.domain.room.RoomFactory;
 import smarthome.domain.vo.housevo.HouseIDVO;
 import smarthome.domain.vo.roomvo.*;
+import smarthome.mapper.IDInterner;
 import smarthome.persistence.jpa.datamodel.RoomDataModel;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
 
 /**
  * RoomAssembler is a class that is used to convert RoomDataModel objects to Room objects.
@@ -36,14 +36,14 @@ public class RoomAssembler {
      */
 
     public static Room toDomain(RoomFactory roomFactory, RoomDataModel roomDataModel) {
-        RoomIDVO roomIDVO = new RoomIDVO(UUID.fromString(roomDataModel.getRoomID()));
+        RoomIDVO roomIDVO = IDInterner.roomID(roomDataModel.getRoomID());
         RoomNameVO roomNameVO = new RoomNameVO(roomDataModel.getRoomName());
         RoomFloorVO roomFloorVO = new RoomFloorVO(roomDataModel.getRoomFloor());
         RoomLengthVO roomLengthVO = new RoomLengthVO(roomDataModel.getRoomLength());
         RoomWidthVO roomWidthVO = new RoomWidthVO(roomDataModel.getRoomWidth());
         RoomHeightVO roomHeightVO = new RoomHeightVO(roomDataModel.getRoomHeight());
         RoomDimensionsVO roomDimensionsVO = new RoomDimensionsVO(roomLengthVO, roomWidthVO, roomHeightVO);
-        HouseIDVO houseIDVO = new HouseIDVO(UUID.fromString(roomDataModel.getHouseID()));
+        HouseIDVO houseIDVO = IDInterner.houseID(roomDataModel.getHouseID());
         return roomFactory.createRoom(roomIDVO, roomNameVO, roomFloorVO, roomDimensionsVO, houseIDVO);
     }
 
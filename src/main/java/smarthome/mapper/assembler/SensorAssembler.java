@@ -6,11 +6,11 @@ import smarthome.domain.vo.devicevo.DeviceIDVO;
 import smarthome.domain.vo.sensortype.SensorTypeIDVO;
 import smarthome.domain.vo.sensorvo.SensorIDVO;
 import smarthome.domain.vo.sensorvo.SensorNameVO;
+import smarthome.mapper.IDInterner;
 import smarthome.persistence.jpa.datamodel.SensorDataModel;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
 
 public class SensorAssembler {
 
@@ -32,10 +32,10 @@ public class SensorAssembler {
      * @return The Sensor object.
      */
     public static Sensor toDomain(SensorFactory sensorFactory, SensorDataModel sensorDataModel) {
-        SensorIDVO sensorIDVO = new SensorIDVO(UUID.fromString(sensorDataModel.getSensorId()));
+        SensorIDVO sensorIDVO = IDInterner.sensorID(sensorDataModel.getSensorId());
         SensorNameVO sensorNameVO = new SensorNameVO(sensorDataModel.getSensorName());
-        SensorTypeIDVO sensorTypeIDVO = new SensorTypeIDVO((sensorDataModel.getSensorTypeID()));
-        DeviceIDVO deviceIDVO = new DeviceIDVO(UUID.fromString(sensorDataModel.getDeviceID()));
+        SensorTypeIDVO sensorTypeIDVO = IDInterner.sensorTypeID(sensorDataModel.getSensorTypeID());
+        DeviceIDVO deviceIDVO = IDInterner.deviceID(sensorDataModel.getDeviceID());
         return sensorFactory.createSensor(sensorIDVO, sensorNameVO, deviceIDVO, sensorTypeIDVO);
     }
 
@@ -0,0 +1,18 @@
+package smarthome.mapper.dto;
+
+import lombok.*;
+
+/**
+ * Data Transfer Object (DTO) describing the outcome of a single reading submitted through the bulk log ingestion
+ * endpoint. Items are identified by their zero-based position in the uploaded payload.
+ */
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+public class LogBatchResultDTO {
+        private int index;
+        private boolean accepted;
+        private String logID;
+        private String message;
+}
@@ -1,16 +1,28 @@
 package smarthome.persistence;
 
 import smarthome.domain.log.Log;
+import smarthome.domain.log.ReadingSeries;
 import smarthome.domain.vo.devicevo.DeviceIDVO;
+import smarthome.domain.vo.logvo.LogCursorVO;
 import smarthome.domain.vo.logvo.LogIDVO;
 import smarthome.domain.vo.logvo.TimeStampVO;
 
+import java.util.stream.Stream;
+
 /**
  * This interface defines the operations that a LogRepository must support.
  * It extends the generic Repository interface with LogIDVO as the ID type and Log as the entity type.
  */
 public interface LogRepository extends Repository<LogIDVO, Log>{
 
+    /**
+     * Saves a group of logs in as few round-trips as the implementation allows, within a single transaction.
+     *
+     * @param logs the logs to be saved
+     * @return true if every log was saved, false otherwise
+     */
+    boolean saveAll(Iterable<Log> logs);
+
     /**
      * Retrieves all logs associated with a specific device within a given time period.
      *
@@ -20,7 +32,70 @@ public interface LogRepository extends Repository<LogIDVO, Log>{
      * @return an Iterable of logs that match the given criteria
      */
     Iterable<Log> findReadingsByDeviceID(DeviceIDVO deviceID, TimeStampVO from, TimeStampVO to);
+
+    /**
+     * Streams all logs associated with a specific device within a given time period, reading them from storage
+     * as the stream is consumed instead of loading the whole result first.
+     * The stream holds storage resources open until it is closed, so callers must close it.
+     *
+     * @param deviceID the ID of the device
+     * @param from     the start of the time period, or null for no lower bound
+     * @param to       the end of the time period, or null for no upper bound
+     * @return a Stream of logs that match the given criteria
+     */
+    Stream<Log> streamReadingsByDeviceID(DeviceIDVO deviceID, TimeStampVO from, TimeStampVO to);
+
+    /**
+     * Retrieves one page of the logs associated with a specific device within a given time period, ordered by time
+     * and then by log ID. The page starts right after (or, for a backward cursor, ends right before) the position of
+     * the cursor, so the cost of a page does not depend on how many pages precede it.
+     *
+     * @param deviceID the ID of the device
+     * @param from     the start of the time period, or null for no lower bound
+     * @param to       the end of the time period, or null for no upper bound
+     * @param cursor   the position the page starts from, or null for the first page
+     * @param limit    the maximum number of logs in the page
+     * @return an Iterable of at most {@code limit} logs, in ascending order of time and log ID
+     */
+    Iterable<Log> findReadingsPageByDeviceID(DeviceIDVO deviceID, TimeStampVO from, TimeStampVO to, LogCursorVO cursor, int limit);
     Iterable<Log> getDeviceTemperatureLogs(DeviceIDVO deviceID, String sensorType, TimeStampVO start, TimeStampVO end);
     Iterable<Log> findByDeviceIDAndSensorTypeAndTimeBetween(String deviceID, String sensorType, TimeStampVO start, TimeStampVO end);
     Iterable<Log> findByNegativeReadingAndNotDeviceIDAndSensorTypeAndTimeBetween(String excludeDeviceID, String sensorType, TimeStampVO start, TimeStampVO end);
+
+    /**
+     * Retrieves the time and numeric reading of the logs of a device and sensor type within a given time period,
+     * without building the logs. Returns the same readings as {@link #getDeviceTemperatureLogs}.
+     *
+     * @param deviceID   the ID of the device
+     * @param sensorType the ID of the sensor type
+     * @param start      the start of the time period
+     * @param end        the end of the time period
+     * @return the series of the matching readings ordered by time, empty if there are none or they cannot be read
+     */
+    ReadingSeries getDeviceTemperatureSeries(DeviceIDVO deviceID, String sensorType, TimeStampVO start, TimeStampVO end);
+
+    /**
+     * Retrieves the time and numeric reading of the logs of a device and sensor type within a given time period,
+     * without building the logs. Returns the same readings as {@link #findByDeviceIDAndSensorTypeAndTimeBetween}.
+     *
+     * @param deviceID   the ID of the device
+     * @param sensorType the ID of the sensor type
+     * @param start      the start of the time period
+     * @param end        the end of the time period
+     * @return the series of the matching readings ordered by time, empty if there are none or they cannot be read
+     */
+    ReadingSeries findSeriesByDeviceIDAndSensorTypeAndTimeBetween(String deviceID, String sensorType, TimeStampVO start, TimeStampVO end);
+
+    /**
+     * Retrieves the time and numeric reading of the logs of a sensor type within a given time period whose reading is
+     * below zero, excluding the logs of a device, without building the logs. Returns the same readings as
+     * {@link #findByNegativeReadingAndNotDeviceIDAndSensorTypeAndTimeBetween}.
+     *
+     * @param excludeDeviceID the ID of the device to exclude
+     * @param sensorType      the ID of the sensor type
+     * @param start           the start of the time period
+     * @param end             the end of the time period
+     * @return the series of the matching readings ordered by time, empty if there are none or they cannot be read
+     */
+    ReadingSeries findSeriesByNegativeReadingAndNotDeviceIDAndSensorTypeAndTimeBetween(String excludeDeviceID, String sensorType, TimeStampVO start, TimeStampVO end);
 }
@@ -0,0 +1,152 @@
+package smarthome.persistence;
+
+import smarthome.domain.AggregateRoot;
+import smarthome.domain.DomainID;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Read-through, never-expiring cache for reference data: aggregates that are written once, such as the sensor and
+ * actuator types loaded from the configuration at startup, and only read afterwards.
+ * <p>
+ * Aggregates are loaded on their first lookup and kept for the life of the application; the repository owning the
+ * cache records the aggregates it saves. Lookups of aggregates that do not exist are not kept, so they always reach
+ * the loader. Lookups answered from the cache are counted as hits, the others as misses.
+ * </p>
+ *
+ * @param <I> the type of the IDs
+ * @param <T> the type of the aggregates
+ */
+public final class ReferenceDataCache<I extends DomainID, T extends AggregateRoot> {
+
+    private final String name;
+    private final Map<DomainID, T> byId = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private volatile List<T> all;
+
+    /**
+     * Constructs a ReferenceDataCache.
+     *
+     * @param name name of the cache, as published in the metrics
+     * @throws IllegalArgumentException if the name is null
+     */
+    public ReferenceDataCache(String name) {
+        if (name == null) {
+            throw new IllegalArgumentException("Invalid parameters.");
+        }
+        this.name = name;
+    }
+
+    /**
+     * Gets an aggregate, loading it if it is not cached.
+     *
+     * @param id     the ID of the aggregate
+     * @param loader loads the aggregate, or returns null if it does not exist
+     * @return the aggregate, or null if it does not exist
+     */
+    public T get(I id, Function<I, T> loader) {
+        T aggregate = this.byId.get(id);
+        if (aggregate != null) {
+            this.hits.increment();
+            return aggregate;
+        }
+        this.misses.increment();
+        aggregate = loader.apply(id);
+        if (aggregate != null) {
+            this.byId.putIfAbsent(id, aggregate);
+        }
+        return aggregate;
+    }
+
+    /**
+     * Gets every aggregate, loading them all the first time. An empty or failed load is not kept, as it may come from
+     * a database not populated yet or not reachable.
+     *
+     * @param loader loads every aggregate, or returns null if they cannot be read
+     * @return the aggregates, in the order they were first loaded followed by those saved since, or what the loader
+     * returned if it was not kept
+     */
+    public Iterable<T> getAll(Supplier<Iterable<T>> loader) {
+        List<T> cached = this.all;
+        if (cached != null) {
+            this.hits.increment();
+            return cached;
+        }
+        this.misses.increment();
+        Iterable<T> loaded = loader.get();
+        if (loaded == null) {
+            return null;
+        }
+        List<T> aggregates = new ArrayList<>();
+        loaded.forEach(aggregates::add);
+        if (aggregates.isEmpty()) {
+            return aggregates;
+        }
+        synchronized (this) {
+            if (this.all == null) {
+                aggregates.forEach(aggregate -> this.byId.putIfAbsent(aggregate.getId(), aggregate));
+                this.all = Collections.unmodifiableList(aggregates);
+            }
+            return this.all;
+        }
+    }
+
+    /**
+     * Records an aggregate saved, replacing any cached under the same ID.
+     *
+     * @param aggregate the aggregate saved
+     */
+    public synchronized void put(T aggregate) {
+        if (aggregate == null || aggregate.getId() == null) {
+            return;
+        }
+        T previous = this.byId.put(aggregate.getId(), aggregate);
+        List<T> cached = this.all;
+        if (cached != null) {
+            List<T> updated = new ArrayList<>(cached);
+            int index = previous == null ? -1 : updated.indexOf(previous);
+            if (index < 0) {
+                updated.add(aggregate);
+            } else {
+                updated.set(index, aggregate);
+            }
+            this.all = Collections.unmodifiableList(updated);
+        }
+    }
+
+    /**
+     * @return name of the cache
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * @return number of aggregates cached
+     */
+    public int size() {
+        return this.byId.size();
+    }
+
+    /**
+     * @return number of lookups answered from the cache
+     */
+    public long getHitCount() {
+        return this.hits.sum();
+    }
+
+    /**
+     * @return number of lookups that reached the loader
+     */
+    public long getMissCount() {
+        return this.misses.sum();
+    }
+}
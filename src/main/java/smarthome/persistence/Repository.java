@@ -3,6 +3,12 @@ package smarthome.persistence;
 import smarthome.domain.AggregateRoot;
 import smarthome.domain.DomainID;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+
 public interface Repository<ID extends DomainID, T extends AggregateRoot> {
 
     /**
@@ -30,4 +36,25 @@ public interface Repository<ID extends DomainID, T extends AggregateRoot> {
      * @return True or False
      */
     boolean isPresent(ID id);
+
+    /**
+     * Finds the entities matching a collection of IDVOs. IDVOs with no entity are skipped, as are repeated ones.
+     * Implementations backed by a database look every entity up in a single query; this default looks them up one
+     * by one.
+     * @param ids IDVOs
+     * @return Entities found, in no particular order. Empty if ids is null.
+     */
+    default Iterable<T> findAllByIds(Collection<ID> ids) {
+        if (ids == null) {
+            return Collections.emptyList();
+        }
+        List<T> found = new ArrayList<>();
+        for (ID id : new LinkedHashSet<>(ids)) {
+            T entity = id == null ? null : findById(id);
+            if (entity != null) {
+                found.add(entity);
+            }
+        }
+        return found;
+    }
 }
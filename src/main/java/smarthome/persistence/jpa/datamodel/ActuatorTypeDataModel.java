@@ -1,9 +1,12 @@
 package smarthome.persistence.jpa.datamodel;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import smarthome.domain.actuatortype.ActuatorType;
 
 
@@ -15,9 +18,13 @@ import smarthome.domain.actuatortype.ActuatorType;
  * The field actuatorTypeId corresponds to the primary key column in the actuator_type table and it is annotated with @Id,
  * with the annotation @Column specifying the name of the column in the database.
  * Each instance of this class represents a single row in the actuator_type table.
+ * The annotations @Cacheable and @Cache mark the entity for the second-level cache, as actuator types are only
+ * written when loaded from the configuration.
  */
 @Entity
 @Table(name = "actuator_type")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
 public class ActuatorTypeDataModel {
 
     @Id
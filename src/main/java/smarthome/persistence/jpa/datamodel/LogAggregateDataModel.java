@@ -0,0 +1,266 @@
+package smarthome.persistence.jpa.datamodel;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Id;
+import jakarta.persistence.MappedSuperclass;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Transient;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * LogAggregateDataModel is the common mapping of the tables that hold downsampled sensor logs.
+ * <p>
+ * Each row summarises the numeric readings of one sensor within one time bucket: minimum, maximum, sum, count and
+ * the first and last readings of the bucket. The bucket is stored as the epoch nanoseconds (UTC wall-clock) of its
+ * start, like the times of the raw logs, and its length is given by the subclass. Aggregates can be built incrementally with {@link #add(long, double)} and
+ * combined with {@link #merge(LogAggregateDataModel)}, so late readings can be folded into an existing bucket.
+ * </p>
+ */
+@MappedSuperclass
+public abstract class LogAggregateDataModel implements Persistable<String> {
+
+    @Id
+    @Column(name = "id")
+    private String aggregateID;
+    @Column(name = "bucket", nullable = false)
+    private long bucket;
+    @Column(name = "sensor_id")
+    private String sensorID;
+    @Column(name = "device_id")
+    private String deviceID;
+    @Column(name = "sensor_type_id")
+    private String sensorTypeID;
+    @Column(name = "min_value")
+    private double minValue;
+    @Column(name = "max_value")
+    private double maxValue;
+    @Column(name = "sum_value")
+    private double sumValue;
+    @Column(name = "count_value")
+    private long count;
+    @Column(name = "first_time")
+    private long firstTime;
+    @Column(name = "first_value")
+    private double firstValue;
+    @Column(name = "last_time")
+    private long lastTime;
+    @Column(name = "last_value")
+    private double lastValue;
+    @Transient
+    private boolean isNew;
+
+    /**
+     * Constructor with no arguments. Necessary for JPA.
+     */
+    protected LogAggregateDataModel() {
+    }
+
+    /**
+     * Creates an empty aggregate for a sensor and a bucket. The aggregate is new until it is first persisted.
+     *
+     * @param sensorID     the ID of the sensor
+     * @param deviceID     the ID of the device the sensor belongs to
+     * @param sensorTypeID the ID of the sensor type
+     * @param bucket       the start of the bucket, in epoch nanoseconds
+     */
+    protected LogAggregateDataModel(String sensorID, String deviceID, String sensorTypeID, long bucket) {
+        this.aggregateID = aggregateID(sensorID, getResolutionSeconds(), bucket);
+        this.bucket = bucket;
+        this.sensorID = sensorID;
+        this.deviceID = deviceID;
+        this.sensorTypeID = sensorTypeID;
+        this.minValue = Double.POSITIVE_INFINITY;
+        this.maxValue = Double.NEGATIVE_INFINITY;
+        this.firstTime = Long.MAX_VALUE;
+        this.lastTime = Long.MIN_VALUE;
+        this.isNew = true;
+    }
+
+    /**
+     * Builds the ID of the aggregate of a sensor for a bucket. The resolution is part of the ID so aggregates of
+     * different tables never share one.
+     *
+     * @param sensorID          the ID of the sensor
+     * @param resolutionSeconds the length of the bucket, in seconds
+     * @param bucket            the start of the bucket, in epoch nanoseconds
+     * @return the aggregate ID
+     */
+    public static String aggregateID(String sensorID, long resolutionSeconds, long bucket) {
+        return sensorID + ":" + resolutionSeconds + ":" + bucket;
+    }
+
+    /**
+     * Length of the buckets of this table, in seconds.
+     */
+    public abstract long getResolutionSeconds();
+
+    /**
+     * Adds a reading to the aggregate.
+     *
+     * @param time  the time of the reading, in epoch nanoseconds
+     * @param value the numeric reading
+     */
+    public void add(long time, double value) {
+        this.minValue = Math.min(this.minValue, value);
+        this.maxValue = Math.max(this.maxValue, value);
+        this.sumValue += value;
+        this.count++;
+        if (time < this.firstTime) {
+            this.firstTime = time;
+            this.firstValue = value;
+        }
+        if (time >= this.lastTime) {
+            this.lastTime = time;
+            this.lastValue = value;
+        }
+    }
+
+    /**
+     * Adds every reading summarised by another aggregate of the same bucket to this one.
+     *
+     * @param other the aggregate to merge
+     */
+    public void merge(LogAggregateDataModel other) {
+        if (other.count == 0) {
+            return;
+        }
+        this.minValue = Math.min(this.minValue, other.minValue);
+        this.maxValue = Math.max(this.maxValue, other.maxValue);
+        this.sumValue += other.sumValue;
+        this.count += other.count;
+        if (other.firstTime < this.firstTime) {
+            this.firstTime = other.firstTime;
+            this.firstValue = other.firstValue;
+        }
+        if (other.lastTime >= this.lastTime) {
+            this.lastTime = other.lastTime;
+            this.lastValue = other.lastValue;
+        }
+    }
+
+    /**
+     * Marks the aggregate as stored, so later saves update it instead of inserting it.
+     */
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+    /**
+     * Getter to obtain the aggregateID attribute.
+     */
+    @Override
+    public String getId() {
+        return aggregateID;
+    }
+
+    /**
+     * Indicates whether the aggregate has never been stored, so it can be inserted without a lookup.
+     */
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    /**
+     * Getter to obtain the bucket attribute, in epoch nanoseconds.
+     */
+    public long getBucket() {
+        return bucket;
+    }
+
+    /**
+     * Getter to obtain the start of the bucket.
+     */
+    public LocalDateTime getTime() {
+        return LogDataModel.fromEpochNanos(bucket);
+    }
+
+    /**
+     * Getter to obtain the average of the readings of the bucket.
+     */
+    public double getAverage() {
+        return count == 0 ? 0 : sumValue / count;
+    }
+
+    /**
+     * Getter to obtain the sensorID attribute.
+     */
+    public String getSensorID() {
+        return sensorID;
+    }
+
+    /**
+     * Getter to obtain the deviceID attribute.
+     */
+    public String getDeviceID() {
+        return deviceID;
+    }
+
+    /**
+     * Getter to obtain the sensorTypeID attribute.
+     */
+    public String getSensorTypeID() {
+        return sensorTypeID;
+    }
+
+    /**
+     * Getter to obtain the minValue attribute.
+     */
+    public double getMinValue() {
+        return minValue;
+    }
+
+    /**
+     * Getter to obtain the maxValue attribute.
+     */
+    public double getMaxValue() {
+        return maxValue;
+    }
+
+    /**
+     * Getter to obtain the sumValue attribute.
+     */
+    public double getSumValue() {
+        return sumValue;
+    }
+
+    /**
+     * Getter to obtain the count attribute.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Getter to obtain the firstTime attribute, in epoch nanoseconds.
+     */
+    public long getFirstTime() {
+        return firstTime;
+    }
+
+    /**
+     * Getter to obtain the firstValue attribute.
+     */
+    public double getFirstValue() {
+        return firstValue;
+    }
+
+    /**
+     * Getter to obtain the lastTime attribute, in epoch nanoseconds.
+     */
+    public long getLastTime() {
+        return lastTime;
+    }
+
+    /**
+     * Getter to obtain the lastValue attribute.
+     */
+    public double getLastValue() {
+        return lastValue;
+    }
+}
@@ -3,26 +3,43 @@ package smarthome.persistence.jpa.datamodel;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import smarthome.domain.log.Log;
 
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 
 /**
  * LogDataModel is a class that mirrors the Log entity within the database.
  * It serves as a means to persist Log objects in the database.
+ * <p>
+ * The timestamp is stored as epoch nanoseconds (UTC wall-clock), so sub-second times are kept, and numeric readings
+ * are stored in a numeric column, so time ranges and reading comparisons are plain range predicates that can use an
+ * index. Readings that are not numbers (wind, switch state, sun times) are stored as text instead.
+ * </p>
  */
 
 @Entity
-@Table(name = "LOG")
+@Table(name = "LOG", indexes = {
+        @Index(name = "idx_log_device_type_time", columnList = "device_id, sensor_type_id, time"),
+        @Index(name = "idx_log_sensor_type_time", columnList = "sensor_type_id, time"),
+        @Index(name = "idx_log_sensor_type_reading_num", columnList = "sensor_type_id, reading_num"),
+        @Index(name = "idx_log_device_time_id", columnList = "device_id, time, id"),
+        @Index(name = "idx_log_time", columnList = "time")
+})
 public class LogDataModel {
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
     @Id
     @Column(name = "id")
     private String logID;
-    @Column(name = "time")
-    private LocalDateTime time;
-    @Column(name = "reading")
-    private String reading;
+    @Column(name = "time", nullable = false)
+    private long time;
+    @Column(name = "reading_num")
+    private Double readingNum;
+    @Column(name = "reading_text")
+    private String readingText;
     @Column(name = "sensor_id")
     private String sensorID;
     @Column(name = "device_id")
@@ -45,8 +62,13 @@ public class LogDataModel {
      */
     public LogDataModel(Log log) {
         this.logID = log.getId().getID();
-        this.time = log.getTime().getValue();
-        this.reading = log.getReading().getValue().toString();
+        this.time = toEpochNanos(log.getTime().getValue());
+        Object value = log.getReading().getValue();
+        if (value instanceof Number number) {
+            this.readingNum = number.doubleValue();
+        } else {
+            this.readingText = value.toString();
+        }
         this.sensorID = log.getSensorID().getID();
         this.deviceID = log.getDeviceID().getID();
         this.sensorTypeID = log.getSensorTypeID().getID();
@@ -59,18 +81,68 @@ public class LogDataModel {
         return logID;
     }
 
+    /**
+     * Converts a timestamp to the epoch nanoseconds stored in the time column.
+     *
+     * @param time the timestamp
+     * @return the timestamp as nanoseconds since the epoch, reading the timestamp as UTC
+     */
+    public static long toEpochNanos(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) * NANOS_PER_SECOND + time.getNano();
+    }
+
+    /**
+     * Converts epoch nanoseconds, as stored in the time column, back to a timestamp.
+     *
+     * @param epochNanos the nanoseconds since the epoch
+     * @return the timestamp, on the UTC wall-clock
+     */
+    public static LocalDateTime fromEpochNanos(long epochNanos) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(epochNanos, NANOS_PER_SECOND),
+                (int) Math.floorMod(epochNanos, NANOS_PER_SECOND), ZoneOffset.UTC);
+    }
+
     /**
      * Getter to obtain the time attribute.
      */
     public LocalDateTime getTime() {
+        return fromEpochNanos(time);
+    }
+
+    /**
+     * Getter to obtain the time attribute as stored, in epoch nanoseconds.
+     */
+    public long getEpochTime() {
         return time;
     }
 
     /**
-     * Getter to obtain the reading attribute.
+     * Getter to obtain the reading as the text the sensor value objects parse. Whole numbers are written without
+     * a fractional part so integer values can parse them back.
      */
     public String getReading() {
-        return reading;
+        if (readingNum == null) {
+            return readingText;
+        }
+        double value = readingNum;
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            return Long.toString((long) value);
+        }
+        return Double.toString(value);
+    }
+
+    /**
+     * Getter to obtain the readingNum attribute, or null if the reading is not numeric.
+     */
+    public Double getReadingNum() {
+        return readingNum;
+    }
+
+    /**
+     * Getter to obtain the readingText attribute, or null if the reading is numeric.
+     */
+    public String getReadingText() {
+        return readingText;
     }
 
     /**
@@ -0,0 +1,41 @@
+package smarthome.persistence.jpa.datamodel;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * LogHourDataModel holds the per-hour aggregates of the numeric sensor logs that have been compacted.
+ */
+@Entity
+@Table(name = "LOG_HOUR", indexes = {
+        @Index(name = "idx_log_hour_device_type_bucket", columnList = "device_id, sensor_type_id, bucket"),
+        @Index(name = "idx_log_hour_sensor_type_bucket", columnList = "sensor_type_id, bucket")
+})
+public class LogHourDataModel extends LogAggregateDataModel {
+
+    public static final long RESOLUTION_SECONDS = 3600;
+
+    /**
+     * Constructor with no arguments. Necessary for JPA.
+     */
+    public LogHourDataModel() {
+    }
+
+    /**
+     * Creates an empty per-hour aggregate for a sensor and a bucket.
+     *
+     * @param sensorID     the ID of the sensor
+     * @param deviceID     the ID of the device the sensor belongs to
+     * @param sensorTypeID the ID of the sensor type
+     * @param bucket       the start of the hour, in epoch nanoseconds
+     */
+    public LogHourDataModel(String sensorID, String deviceID, String sensorTypeID, long bucket) {
+        super(sensorID, deviceID, sensorTypeID, bucket);
+    }
+
+    @Override
+    public long getResolutionSeconds() {
+        return RESOLUTION_SECONDS;
+    }
+}
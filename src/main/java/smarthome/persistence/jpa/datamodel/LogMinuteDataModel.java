@@ -0,0 +1,42 @@
+package smarthome.persistence.jpa.datamodel;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * LogMinuteDataModel holds the per-minute aggregates of the numeric sensor logs that have been compacted.
+ */
+@Entity
+@Table(name = "LOG_MINUTE", indexes = {
+        @Index(name = "idx_log_minute_device_type_bucket", columnList = "device_id, sensor_type_id, bucket"),
+        @Index(name = "idx_log_minute_sensor_type_bucket", columnList = "sensor_type_id, bucket"),
+        @Index(name = "idx_log_minute_bucket", columnList = "bucket")
+})
+public class LogMinuteDataModel extends LogAggregateDataModel {
+
+    public static final long RESOLUTION_SECONDS = 60;
+
+    /**
+     * Constructor with no arguments. Necessary for JPA.
+     */
+    public LogMinuteDataModel() {
+    }
+
+    /**
+     * Creates an empty per-minute aggregate for a sensor and a bucket.
+     *
+     * @param sensorID     the ID of the sensor
+     * @param deviceID     the ID of the device the sensor belongs to
+     * @param sensorTypeID the ID of the sensor type
+     * @param bucket       the start of the minute, in epoch nanoseconds
+     */
+    public LogMinuteDataModel(String sensorID, String deviceID, String sensorTypeID, long bucket) {
+        super(sensorID, deviceID, sensorTypeID, bucket);
+    }
+
+    @Override
+    public long getResolutionSeconds() {
+        return RESOLUTION_SECONDS;
+    }
+}
@@ -0,0 +1,12 @@
+package smarthome.persistence.jpa.datamodel;
+
+/**
+ * LogReadingProjection holds the columns of a LOG row that the analytics read: the sensor, the time and the numeric
+ * reading. Range queries select it instead of the whole LogDataModel, so no entity is managed per row.
+ *
+ * @param sensorID   the ID of the sensor
+ * @param time       the time of the reading, in epoch nanoseconds
+ * @param readingNum the numeric reading, or null if the reading is not numeric
+ */
+public record LogReadingProjection(String sensorID, long time, Double readingNum) {
+}
@@ -1,9 +1,12 @@
 package smarthome.persistence.jpa.datamodel;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import smarthome.domain.sensortype.SensorType;
 
 
@@ -11,9 +14,12 @@ import smarthome.domain.sensortype.SensorType;
  * Represents the data model for sensor types in the smartHome system project.
  * This class maps sensor type data to a database using the Jakarta Persistence API.
  * Each instance of this class represents a single row in the sensor_type table.
+ * The entity is marked for the second-level cache, as sensor types are only written when loaded from the configuration.
  */
 @Entity
 @Table(name = "sensor_type")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
 public class SensorTypeDataModel {
 
     @Id
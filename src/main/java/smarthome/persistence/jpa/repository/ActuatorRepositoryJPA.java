@@ -11,8 +11,10 @@ import smarthome.persistence.ActuatorRepository;
 import smarthome.persistence.jpa.datamodel.ActuatorDataModel;
 import smarthome.persistence.jpa.datamodel.DeviceDataModel;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 public class ActuatorRepositoryJPA implements ActuatorRepository {
@@ -155,4 +157,28 @@ public class ActuatorRepositoryJPA implements ActuatorRepository {
             return Collections.emptyList();
         }
     }
+
+    /**
+     * Retrieves the Actuator entities with the given IDs with a single query. IDs with no Actuator entity are skipped.
+     * @param ids The IDs of the Actuator entities to retrieve.
+     * @return The Actuator entities found, in no particular order. Empty if ids is null or any RunTimeException occurred.
+     */
+    @Override
+    public Iterable<Actuator> findAllByIds(Collection<ActuatorIDVO> ids) {
+        if (ids == null) {
+            return Collections.emptyList();
+        }
+        List<String> keys = ids.stream().filter(Objects::nonNull).map(ActuatorIDVO::getID).distinct().toList();
+        if (keys.isEmpty()) {
+            return Collections.emptyList();
+        }
+        try (EntityManager em = this.entityManagerFactory.createEntityManager()) {
+            TypedQuery<ActuatorDataModel> query = em.createQuery(
+                    "SELECT e FROM ActuatorDataModel e WHERE e.actuatorID IN :ids", ActuatorDataModel.class);
+            query.setParameter("ids", keys);
+            return ActuatorAssembler.toDomainList(this.actuatorFactory, query.getResultList());
+        } catch (RuntimeException e) {
+            return Collections.emptyList();
+        }
+    }
 }
@@ -9,8 +9,10 @@ import smarthome.mapper.assembler.DeviceAssembler;
 import smarthome.persistence.DeviceRepository;
 import smarthome.persistence.jpa.datamodel.DeviceDataModel;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 /**
@@ -201,5 +203,28 @@ public class DeviceRepositoryJPA implements DeviceRepository {
     private boolean isNull(Object object){
         return object == null;
     }
-}
 
+    /**
+     * Retrieves the Device entities with the given IDs with a single query. IDs with no Device entity are skipped.
+     * @param ids The IDs of the Device entities to retrieve.
+     * @return The Device entities found, in no particular order. Empty if ids is null or any RunTimeException occurred.
+     */
+    @Override
+    public Iterable<Device> findAllByIds(Collection<DeviceIDVO> ids) {
+        if (ids == null) {
+            return Collections.emptyList();
+        }
+        List<String> keys = ids.stream().filter(Objects::nonNull).map(DeviceIDVO::getID).distinct().toList();
+        if (keys.isEmpty()) {
+            return Collections.emptyList();
+        }
+        try (EntityManager em = this.entityManagerFactory.createEntityManager()) {
+            TypedQuery<DeviceDataModel> query = em.createQuery(
+                    "SELECT e FROM DeviceDataModel e WHERE e.deviceID IN :ids", DeviceDataModel.class);
+            query.setParameter("ids", keys);
+            return DeviceAssembler.toDomainList(this.deviceFactory, query.getResultList());
+        } catch (RuntimeException e) {
+            return Collections.emptyList();
+        }
+    }
+}
@@ -4,25 +4,34 @@ import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.EntityTransaction;
 import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
 import smarthome.domain.log.Log;
 import smarthome.domain.log.LogFactory;
+import smarthome.domain.log.ReadingSeries;
 import smarthome.domain.sensor.sensorvalues.SensorValueFactory;
 import smarthome.domain.vo.devicevo.DeviceIDVO;
+import smarthome.domain.vo.logvo.LogCursorVO;
 import smarthome.domain.vo.logvo.LogIDVO;
 import smarthome.mapper.assembler.LogAssembler;
 import smarthome.persistence.LogRepository;
 import smarthome.persistence.jpa.datamodel.LogDataModel;
+import smarthome.persistence.jpa.datamodel.LogReadingProjection;
 import smarthome.domain.vo.logvo.TimeStampVO;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public class LogRepositoryJPA implements LogRepository {
     private final LogFactory logFactory;
     private final SensorValueFactory sensorValueFactory;
     private final EntityManagerFactory entityManagerFactory;
     private static final String ERROR_MESSAGE = "Invalid parameters.";
+    private static final int FLUSH_INTERVAL = 500;
+    private static final int STREAM_FETCH_SIZE = 500;
     /**
      * Constructor for LogRepositoryJPA.
      *
@@ -60,6 +69,49 @@ public class LogRepositoryJPA implements LogRepository {
         }
     }
 
+    /**
+     * Saves a group of logs to the database using a single EntityManager and transaction.
+     * The persistence context is flushed and cleared periodically so that memory stays bounded for large groups.
+     *
+     * @param logs the logs to be saved
+     * @return true if every log was saved, false if the transaction was rolled back
+     * @throws IllegalArgumentException if logs is null or contains a null log
+     */
+    @Override
+    public boolean saveAll(Iterable<Log> logs) {
+        if (logs == null) {
+            throw new IllegalArgumentException("Logs cannot be null");
+        }
+        for (Log log : logs) {
+            if (log == null) {
+                throw new IllegalArgumentException("Log cannot be null");
+            }
+        }
+        try (EntityManager em = entityManagerFactory.createEntityManager()) {
+            EntityTransaction tx = em.getTransaction();
+            tx.begin();
+            try {
+                int count = 0;
+                for (Log log : logs) {
+                    em.persist(new LogDataModel(log));
+                    if (++count % FLUSH_INTERVAL == 0) {
+                        em.flush();
+                        em.clear();
+                    }
+                }
+                tx.commit();
+                return true;
+            } catch (RuntimeException e) {
+                if (tx.isActive()) {
+                    tx.rollback();
+                }
+                return false;
+            }
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
     /**
      * Checks if a log with the given ID is present in the database.
      *
@@ -149,9 +201,9 @@ public class LogRepositoryJPA implements LogRepository {
             Query query = em.createQuery("SELECT r FROM LogDataModel r WHERE r.deviceID = :deviceID AND " +
                     "(:from IS NULL OR r.time >= :from) AND (:to IS NULL OR r.time <= :to)");
 
-            query.setParameter("deviceID", deviceID);
-            query.setParameter("from", from);
-            query.setParameter("to", to);
+            query.setParameter("deviceID", deviceID.getID());
+            query.setParameter("from", from != null ? LogDataModel.toEpochNanos(from.getValue()) : null);
+            query.setParameter("to", to != null ? LogDataModel.toEpochNanos(to.getValue()) : null);
 
             List<LogDataModel> listOfLogs = query.getResultList();
             return LogAssembler.toDomain(logFactory, sensorValueFactory, listOfLogs);
@@ -160,6 +212,83 @@ public class LogRepositoryJPA implements LogRepository {
         }
     }
 
+    /**
+     * Streams all Log objects of a device within a given time period, reading rows as the stream is consumed.
+     * The stream uses its own EntityManager, which is closed when the stream is closed; rows are fetched in chunks
+     * of {@value #STREAM_FETCH_SIZE} and detached once converted so the persistence context does not grow.
+     *
+     * @param deviceID the ID of the device
+     * @param from     the start of the time period, or null for no lower bound
+     * @param to       the end of the time period, or null for no upper bound
+     * @return a Stream of logs that match the given criteria, or an empty stream if the query cannot be opened
+     * @throws IllegalArgumentException if the deviceID is null
+     */
+    @Override
+    public Stream<Log> streamReadingsByDeviceID(DeviceIDVO deviceID, TimeStampVO from, TimeStampVO to) {
+        if (deviceID == null) {
+            throw new IllegalArgumentException("DeviceIDVO cannot be null");
+        }
+        EntityManager em = entityManagerFactory.createEntityManager();
+        try {
+            TypedQuery<LogDataModel> query = em.createQuery("SELECT r FROM LogDataModel r WHERE r.deviceID = :deviceID AND " +
+                    "(:from IS NULL OR r.time >= :from) AND (:to IS NULL OR r.time <= :to)", LogDataModel.class);
+            query.setParameter("deviceID", deviceID.getID());
+            query.setParameter("from", from != null ? LogDataModel.toEpochNanos(from.getValue()) : null);
+            query.setParameter("to", to != null ? LogDataModel.toEpochNanos(to.getValue()) : null);
+            query.setHint(HibernateHints.HINT_FETCH_SIZE, STREAM_FETCH_SIZE);
+            query.setHint(HibernateHints.HINT_READ_ONLY, true);
+            Stream<LogDataModel> dataModels = query.getResultStream().peek(em::detach).onClose(em::close);
+            return LogAssembler.toDomainStream(logFactory, sensorValueFactory, dataModels);
+        } catch (RuntimeException e) {
+            em.close();
+            return Stream.empty();
+        }
+    }
+
+    /**
+     * Retrieves one page of the logs of a device within a given time period, using keyset pagination.
+     * The cursor position is applied as {@code time >= :time AND (time > :time OR id > :logID)}, the expanded form of
+     * {@code (time, id) > (:time, :logID)}, and the page size with setMaxResults(), so the query is a range scan of the
+     * (device_id, time, id) index whatever the depth of the page. Backward pages are queried in descending order and
+     * reversed before being returned.
+     *
+     * @param deviceID the ID of the device
+     * @param from     the start of the time period, or null for no lower bound
+     * @param to       the end of the time period, or null for no upper bound
+     * @param cursor   the position the page starts from, or null for the first page
+     * @param limit    the maximum number of logs in the page
+     * @return an Iterable of logs in ascending order of time and log ID, or an empty list if a RuntimeException occurs
+     * @throws IllegalArgumentException if the deviceID is null or the limit is not positive
+     */
+    @Override
+    public Iterable<Log> findReadingsPageByDeviceID(DeviceIDVO deviceID, TimeStampVO from, TimeStampVO to, LogCursorVO cursor, int limit) {
+        if (deviceID == null || limit <= 0) {
+            throw new IllegalArgumentException(ERROR_MESSAGE);
+        }
+        boolean forward = cursor == null || cursor.isForward();
+        String position = forward
+                ? "r.time >= :time AND (r.time > :time OR r.logID > :logID) ORDER BY r.time, r.logID"
+                : "r.time <= :time AND (r.time < :time OR r.logID < :logID) ORDER BY r.time DESC, r.logID DESC";
+        try (EntityManager em = entityManagerFactory.createEntityManager()) {
+            TypedQuery<LogDataModel> query = em.createQuery("SELECT r FROM LogDataModel r WHERE r.deviceID = :deviceID AND " +
+                    "(:from IS NULL OR r.time >= :from) AND (:to IS NULL OR r.time <= :to) AND " + position, LogDataModel.class);
+            query.setParameter("deviceID", deviceID.getID());
+            query.setParameter("from", from != null ? LogDataModel.toEpochNanos(from.getValue()) : null);
+            query.setParameter("to", to != null ? LogDataModel.toEpochNanos(to.getValue()) : null);
+            query.setParameter("time", cursor != null ? LogDataModel.toEpochNanos(cursor.getTime().getValue()) : Long.MIN_VALUE);
+            query.setParameter("logID", cursor != null ? cursor.getLogID().getID() : "");
+            query.setMaxResults(limit);
+
+            List<LogDataModel> page = new ArrayList<>(query.getResultList());
+            if (!forward) {
+                Collections.reverse(page);
+            }
+            return LogAssembler.toDomain(logFactory, sensorValueFactory, page);
+        } catch (RuntimeException e) {
+            return Collections.emptyList();
+        }
+    }
+
     /**
      * Retrieves all Log objects from the database that fall within the specified time range and are associated with
      * the specified device and sensor type.
@@ -185,8 +314,8 @@ public class LogRepositoryJPA implements LogRepository {
             Query query = em.createQuery("SELECT l FROM LogDataModel l WHERE l.deviceID = :deviceID AND l.sensorTypeID = :sensorTypeID AND l.time BETWEEN :start AND :end");
             query.setParameter("deviceID", deviceID.getID());
             query.setParameter("sensorTypeID", sensorType);
-            query.setParameter("start", start.getValue());
-            query.setParameter("end", end.getValue());
+            query.setParameter("start", LogDataModel.toEpochNanos(start.getValue()));
+            query.setParameter("end", LogDataModel.toEpochNanos(end.getValue()));
             List<LogDataModel> listOfLogs = query.getResultList();
             return LogAssembler.toDomain(logFactory, sensorValueFactory, listOfLogs);
         } catch (RuntimeException e) {
@@ -217,8 +346,8 @@ public class LogRepositoryJPA implements LogRepository {
             Query query = em.createQuery("SELECT l FROM LogDataModel l WHERE l.deviceID = :deviceID AND l.sensorTypeID = :sensorTypeID AND l.time BETWEEN :start AND :end");
             query.setParameter("deviceID", deviceID);
             query.setParameter("sensorTypeID", sensorType);
-            query.setParameter("start", start.getValue());
-            query.setParameter("end", end.getValue());
+            query.setParameter("start", LogDataModel.toEpochNanos(start.getValue()));
+            query.setParameter("end", LogDataModel.toEpochNanos(end.getValue()));
             List<LogDataModel> listOfLogs = query.getResultList();
             return LogAssembler.toDomain(logFactory, sensorValueFactory, listOfLogs);
         } catch (RuntimeException e) {
@@ -251,13 +380,12 @@ public class LogRepositoryJPA implements LogRepository {
                             "WHERE l.deviceID != :excludeDeviceID " +
                             "AND l.sensorTypeID = :sensorTypeID " +
                             "AND l.time BETWEEN :start AND :end " +
-                            "AND l.reading LIKE :negativeSign"  // Check if the reading contains the minus sign
+                            "AND l.readingNum < 0"
             );
             query.setParameter("excludeDeviceID", excludeDeviceID);
             query.setParameter("sensorTypeID", sensorType);
-            query.setParameter("start", start.getValue());
-            query.setParameter("end", end.getValue());
-            query.setParameter("negativeSign", "%-%");  // Pattern to match any string containing '-'
+            query.setParameter("start", LogDataModel.toEpochNanos(start.getValue()));
+            query.setParameter("end", LogDataModel.toEpochNanos(end.getValue()));
             List<LogDataModel> listOfLogs = query.getResultList();
             return LogAssembler.toDomain(logFactory, sensorValueFactory, listOfLogs);
         } catch (RuntimeException e) {
@@ -265,6 +393,95 @@ public class LogRepositoryJPA implements LogRepository {
         }
     }
 
+    /**
+     * Retrieves the time and numeric reading of the logs of a device and sensor type within a given time range.
+     * Only the needed columns are selected, and the rows are neither managed as entities nor converted to Log objects.
+     * If a RuntimeException occurs, it returns an empty series.
+     *
+     * @param deviceID   The device ID to filter the log data by.
+     * @param sensorType The sensor type to filter the log data by.
+     * @param start      The start of the time range to filter the log data by.
+     * @param end        The end of the time range to filter the log data by.
+     * @return The series of the readings that match the query criteria.
+     * @throws IllegalArgumentException if any of the input parameters are null.
+     */
+    @Override
+    public ReadingSeries getDeviceTemperatureSeries(DeviceIDVO deviceID, String sensorType, TimeStampVO start, TimeStampVO end) {
+        if (deviceID == null || sensorType == null || start == null || end == null) {
+            throw new IllegalArgumentException(ERROR_MESSAGE);
+        }
+        return findSeriesByDeviceIDAndSensorTypeAndTimeBetween(deviceID.getID(), sensorType, start, end);
+    }
 
+    /**
+     * Retrieves the time and numeric reading of the logs of a device and sensor type within a given time range.
+     * Only the needed columns are selected, and the rows are neither managed as entities nor converted to Log objects.
+     * If a RuntimeException occurs, it returns an empty series.
+     *
+     * @param deviceID   the ID of the device to filter logs.
+     * @param sensorType the type of sensor to filter logs.
+     * @param start      the start timestamp of the period, represented as a TimeStampVO object.
+     * @param end        the end timestamp of the period, represented as a TimeStampVO object.
+     * @return the series of the readings that match the specified criteria, ordered by time.
+     * @throws IllegalArgumentException if any of the input parameters are null.
+     */
+    @Override
+    public ReadingSeries findSeriesByDeviceIDAndSensorTypeAndTimeBetween(String deviceID, String sensorType, TimeStampVO start, TimeStampVO end) {
+        if (deviceID == null || sensorType == null || start == null || end == null) {
+            throw new IllegalArgumentException(ERROR_MESSAGE);
+        }
 
-}
\ No newline at end of file
+        try (EntityManager em = entityManagerFactory.createEntityManager()) {
+            TypedQuery<LogReadingProjection> query = em.createQuery(
+                    "SELECT new smarthome.persistence.jpa.datamodel.LogReadingProjection(l.sensorID, l.time, l.readingNum) " +
+                            "FROM LogDataModel l WHERE l.deviceID = :deviceID AND l.sensorTypeID = :sensorTypeID AND l.time BETWEEN :start AND :end " +
+                            "ORDER BY l.time",
+                    LogReadingProjection.class);
+            query.setParameter("deviceID", deviceID);
+            query.setParameter("sensorTypeID", sensorType);
+            query.setParameter("start", LogDataModel.toEpochNanos(start.getValue()));
+            query.setParameter("end", LogDataModel.toEpochNanos(end.getValue()));
+            return LogAssembler.toSeries(query.getResultList());
+        } catch (RuntimeException e) {
+            return ReadingSeries.empty();
+        }
+    }
+
+    /**
+     * Retrieves the time and numeric reading of the logs of a sensor type within a given time range whose reading is
+     * below zero, excluding the logs of a specific device. Only the needed columns are selected, and the rows are
+     * neither managed as entities nor converted to Log objects. If a RuntimeException occurs, it returns an empty series.
+     *
+     * @param excludeDeviceID the ID of the device to exclude from the logs.
+     * @param sensorType      the type of sensor to filter logs.
+     * @param start           the start timestamp of the period, represented as a TimeStampVO object.
+     * @param end             the end timestamp of the period, represented as a TimeStampVO object.
+     * @return the series of the readings that match the specified criteria, ordered by time.
+     * @throws IllegalArgumentException if any of the input parameters are null.
+     */
+    @Override
+    public ReadingSeries findSeriesByNegativeReadingAndNotDeviceIDAndSensorTypeAndTimeBetween(String excludeDeviceID, String sensorType, TimeStampVO start, TimeStampVO end) {
+        if (excludeDeviceID == null || sensorType == null || start == null || end == null) {
+            throw new IllegalArgumentException(ERROR_MESSAGE);
+        }
+
+        try (EntityManager em = entityManagerFactory.createEntityManager()) {
+            TypedQuery<LogReadingProjection> query = em.createQuery(
+                    "SELECT new smarthome.persistence.jpa.datamodel.LogReadingProjection(l.sensorID, l.time, l.readingNum) " +
+                            "FROM LogDataModel l " +
+                            "WHERE l.deviceID != :excludeDeviceID " +
+                            "AND l.sensorTypeID = :sensorTypeID " +
+                            "AND l.time BETWEEN :start AND :end " +
+                            "AND l.readingNum < 0 " +
+                            "ORDER BY l.time",
+                    LogReadingProjection.class);
+            query.setParameter("excludeDeviceID", excludeDeviceID);
+            query.setParameter("sensorTypeID", sensorType);
+            query.setParameter("start", LogDataModel.toEpochNanos(start.getValue()));
+            query.setParameter("end", LogDataModel.toEpochNanos(end.getValue()));
+            return LogAssembler.toSeries(query.getResultList());
+        } catch (RuntimeException e) {
+            return ReadingSeries.empty();
+        }
+    }
+}
@@ -11,9 +11,12 @@ import smarthome.mapper.assembler.RoomAssembler;
 import smarthome.persistence.RoomRepository;
 import smarthome.persistence.jpa.datamodel.RoomDataModel;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import jakarta.persistence.TypedQuery;
 
 /**
  * RoomRepositoryJPA is a class that implements the RoomRepository interface.
@@ -177,4 +180,28 @@ public class RoomRepositoryJPA implements RoomRepository {
         String roomId = roomIDVO.getID();
         return Optional.ofNullable(entityManager.find(RoomDataModel.class, roomId));
     }
+
+    /**
+     * Retrieves the Room entities with the given IDs with a single query. IDs with no Room entity are skipped.
+     * @param ids The IDs of the Room entities to retrieve.
+     * @return The Room entities found, in no particular order. Empty if ids is null or any RunTimeException occurred.
+     */
+    @Override
+    public Iterable<Room> findAllByIds(Collection<RoomIDVO> ids) {
+        if (ids == null) {
+            return Collections.emptyList();
+        }
+        List<String> keys = ids.stream().filter(Objects::nonNull).map(RoomIDVO::getID).distinct().toList();
+        if (keys.isEmpty()) {
+            return Collections.emptyList();
+        }
+        try (EntityManager em = this.entityManagerFactory.createEntityManager()) {
+            TypedQuery<RoomDataModel> query = em.createQuery(
+                    "SELECT e FROM RoomDataModel e WHERE e.roomID IN :ids", RoomDataModel.class);
+            query.setParameter("ids", keys);
+            return RoomAssembler.toDomainList(this.roomFactory, query.getResultList());
+        } catch (RuntimeException e) {
+            return Collections.emptyList();
+        }
+    }
 }
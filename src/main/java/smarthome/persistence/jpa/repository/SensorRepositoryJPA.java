@@ -13,8 +13,10 @@ import smarthome.persistence.SensorRepository;
 import smarthome.persistence.jpa.datamodel.ActuatorDataModel;
 import smarthome.persistence.jpa.datamodel.SensorDataModel;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 public class SensorRepositoryJPA implements SensorRepository {
@@ -198,4 +200,28 @@ public class SensorRepositoryJPA implements SensorRepository {
             return Collections.emptyList();
         }
     }
+
+    /**
+     * Retrieves the Sensor entities with the given IDs with a single query. IDs with no Sensor entity are skipped.
+     * @param ids The IDs of the Sensor entities to retrieve.
+     * @return The Sensor entities found, in no particular order. Empty if ids is null or any RunTimeException occurred.
+     */
+    @Override
+    public Iterable<Sensor> findAllByIds(Collection<SensorIDVO> ids) {
+        if (ids == null) {
+            return Collections.emptyList();
+        }
+        List<String> keys = ids.stream().filter(Objects::nonNull).map(SensorIDVO::getID).distinct().toList();
+        if (keys.isEmpty()) {
+            return Collections.emptyList();
+        }
+        try (EntityManager em = this.entityManagerFactory.createEntityManager()) {
+            TypedQuery<SensorDataModel> query = em.createQuery(
+                    "SELECT e FROM SensorDataModel e WHERE e.id IN :ids", SensorDataModel.class);
+            query.setParameter("ids", keys);
+            return SensorAssembler.toDomain(this.sensorFactory, query.getResultList());
+        } catch (RuntimeException e) {
+            return Collections.emptyList();
+        }
+    }
 }
@@ -83,4 +83,25 @@ public class ActuatorRepositoryMem implements ActuatorRepository {
                 .filter(actuator -> deviceID.equals(actuator.getDeviceID()))
                 .collect(Collectors.toList());
     }
+
+    /**
+     * Finds the entities matching a collection of IDs, skipping IDs with no entity;
+     *
+     * @param ids IDs
+     * @return List of entities found
+     */
+    @Override
+    public Iterable<Actuator> findAllByIds(Collection<ActuatorIDVO> ids) {
+        List<Actuator> found = new ArrayList<>();
+        if (ids == null) {
+            return found;
+        }
+        for (ActuatorIDVO id : new LinkedHashSet<>(ids)) {
+            Actuator entity = actuatorMap.get(id);
+            if (entity != null) {
+                found.add(entity);
+            }
+        }
+        return found;
+    }
 }
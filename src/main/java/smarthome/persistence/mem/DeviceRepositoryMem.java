@@ -93,4 +93,25 @@ public class DeviceRepositoryMem implements DeviceRepository {
         data.put(entity.getId(),entity);
         return true;
     }
-}
\ No newline at end of file
+
+    /**
+     * Finds the entities matching a collection of IDs, skipping IDs with no entity;
+     *
+     * @param ids IDs
+     * @return List of entities found
+     */
+    @Override
+    public Iterable<Device> findAllByIds(Collection<DeviceIDVO> ids) {
+        List<Device> found = new ArrayList<>();
+        if (ids == null) {
+            return found;
+        }
+        for (DeviceIDVO id : new LinkedHashSet<>(ids)) {
+            Device entity = data.get(id);
+            if (entity != null) {
+                found.add(entity);
+            }
+        }
+        return found;
+    }
+}
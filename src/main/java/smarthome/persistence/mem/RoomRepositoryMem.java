@@ -65,5 +65,25 @@ public class RoomRepositoryMem implements RoomRepository {
     public List<Room> findByHouseID(HouseIDVO houseID) {
         return data.values().stream().filter(room -> houseID.equals(room.getHouseID())).toList();
     }
-}
 
+    /**
+     * Finds the entities matching a collection of IDs, skipping IDs with no entity;
+     *
+     * @param ids IDs
+     * @return List of entities found
+     */
+    @Override
+    public Iterable<Room> findAllByIds(Collection<RoomIDVO> ids) {
+        List<Room> found = new ArrayList<>();
+        if (ids == null) {
+            return found;
+        }
+        for (RoomIDVO id : new LinkedHashSet<>(ids)) {
+            Room entity = data.get(id);
+            if (entity != null) {
+                found.add(entity);
+            }
+        }
+        return found;
+    }
+}
@@ -6,7 +6,11 @@ import smarthome.domain.vo.sensortype.SensorTypeIDVO;
 import smarthome.domain.vo.sensorvo.SensorIDVO;
 import smarthome.persistence.SensorRepository;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.stream.Collectors;
 
 public class SensorRepositoryMem implements SensorRepository {
@@ -80,4 +84,25 @@ public class SensorRepositoryMem implements SensorRepository {
                 .filter(sensor -> id.equals(sensor.getSensorTypeID()))
                 .collect(Collectors.toList());
     }
+
+    /**
+     * Finds the entities matching a collection of IDs, skipping IDs with no entity;
+     *
+     * @param ids IDs
+     * @return List of entities found
+     */
+    @Override
+    public Iterable<Sensor> findAllByIds(Collection<SensorIDVO> ids) {
+        List<Sensor> found = new ArrayList<>();
+        if (ids == null) {
+            return found;
+        }
+        for (SensorIDVO id : new LinkedHashSet<>(ids)) {
+            Sensor entity = sensorMap.get(id);
+            if (entity != null) {
+                found.add(entity);
+            }
+        }
+        return found;
+    }
 }
@@ -10,7 +10,10 @@ import smarthome.mapper.assembler.ActuatorAssembler;
 import smarthome.persistence.ActuatorRepository;
 import smarthome.persistence.jpa.datamodel.ActuatorDataModel;
 
+import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 import static java.util.Objects.isNull;
@@ -111,7 +114,11 @@ public class ActuatorRepositorySpringData implements ActuatorRepository {
         if (isNull(id)) {
             return false;
         }
-        return findById(id) != null;
+        try {
+            return this.iActuatorRepositorySpringData.existsById(id.getID());
+        } catch (DataAccessException e) {
+            return false;
+        }
     }
 
     /**
@@ -130,4 +137,24 @@ public class ActuatorRepositorySpringData implements ActuatorRepository {
             return Collections.emptyList();
         }
     }
+
+    /**
+     * Finds the actuators with the given IDs with a single query. IDs with no actuator are skipped.
+     *
+     * @param ids The IDs of the actuators.
+     * @return The actuators found, in no particular order. Null if a DataAccessException occurs.
+     */
+    @Override
+    public Iterable<Actuator> findAllByIds(Collection<ActuatorIDVO> ids) {
+        if (ids == null) {
+            return Collections.emptyList();
+        }
+        List<String> keys = ids.stream().filter(Objects::nonNull).map(ActuatorIDVO::getID).distinct().toList();
+        try {
+            Iterable<ActuatorDataModel> dataModels = this.iActuatorRepositorySpringData.findAllById(keys);
+            return ActuatorAssembler.toDomainList(this.actuatorFactory, dataModels);
+        } catch (DataAccessException e) {
+            return null;
+        }
+    }
 }
@@ -2,11 +2,14 @@ package smarthome.persistence.springdata;
 
 import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import smarthome.domain.actuatortype.ActuatorType;
 import smarthome.domain.actuatortype.ActuatorTypeFactory;
 import smarthome.domain.vo.actuatortype.ActuatorTypeIDVO;
 import smarthome.mapper.assembler.ActuatorTypeAssembler;
 import smarthome.persistence.ActuatorTypeRepository;
+import smarthome.persistence.ReferenceDataCache;
 import smarthome.persistence.jpa.datamodel.ActuatorTypeDataModel;
 
 
@@ -15,12 +18,15 @@ import java.util.Optional;
 
 /**
  * This class implements the ActuatorTypeRepository interface, interacting with the database using Spring Data JPA.
+ * Actuator types are only written when loaded from the configuration, so they are kept in a {@link ReferenceDataCache}
+ * once read and the database is only queried for types not read yet.
  */
 @Repository
 public class ActuatorTypeRepositorySpringData implements ActuatorTypeRepository {
 
     ActuatorTypeFactory actuatorTypeFactory;
     IActuatorTypeRepositorySpringData iActuatorTypeRepositorySpringData;
+    private final ReferenceDataCache<ActuatorTypeIDVO, ActuatorType> cache = new ReferenceDataCache<>("actuatorTypes");
 
     /**
      * Constructor to create a new ActuatorTypeRepositorySpringData object.
@@ -55,22 +61,51 @@ public class ActuatorTypeRepositorySpringData implements ActuatorTypeRepository
         ActuatorTypeDataModel actuatorTypeDataModel = new ActuatorTypeDataModel(actuatorType);
         try {
             this.iActuatorTypeRepositorySpringData.save(actuatorTypeDataModel);
+            cacheAfterCommit(actuatorType);
             return true;
         } catch (DataAccessException e) {
             return false;
         }
     }
 
+    /**
+     * Caches a saved ActuatorType once the transaction it was saved in commits, so a rolled back save is never cached.
+     * Without a surrounding transaction, the save has already committed.
+     *
+     * @param actuatorType the ActuatorType saved
+     */
+    private void cacheAfterCommit(ActuatorType actuatorType) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            this.cache.put(actuatorType);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                cache.put(actuatorType);
+            }
+        });
+    }
+
     /**
      * This method searches for all ActuatorType objects in the database and returns an Iterable of ActuatorType objects.
      * This method is an implementation of the findAll() method called upon the interface.
      * After retrieving the ActuatorTypeDataModel objects from the database, it converts them to ActuatorType objects using the ActuatorTypeAssembler class,
      * while using the ActuatorTypeFactory to create the ActuatorType objects. It then returns the Iterable of ActuatorType objects.
      * If a DataAccessException is thrown, it returns an empty list.
+     * Once read, the ActuatorType objects are returned from the cache.
      * @return An Iterable of ActuatorType objects.
      */
     @Override
     public Iterable<ActuatorType> findAll() {
+        return this.cache.getAll(this::loadAll);
+    }
+
+    /**
+     * Reads all ActuatorType objects from the database.
+     * @return An Iterable of ActuatorType objects, empty if a DataAccessException is thrown.
+     */
+    private Iterable<ActuatorType> loadAll() {
         try {
             Iterable<ActuatorTypeDataModel> actuatorTypeDataModelIterable = this.iActuatorTypeRepositorySpringData.findAll();
             return ActuatorTypeAssembler.actuatorTypeListToDomain(this.actuatorTypeFactory, actuatorTypeDataModelIterable);
@@ -88,6 +123,7 @@ public class ActuatorTypeRepositorySpringData implements ActuatorTypeRepository
      * and then converts it to an ActuatorType object using the ActuatorTypeAssembler class and returns it.
      * If the ActuatorTypeDataModel object is not present, it returns null.
      * If a DataAccessException is thrown, it returns null.
+     * Once read, the ActuatorType object is returned from the cache.
      * @param actuatorTypeIDVO The ActuatorTypeIDVO object containing the ID of the ActuatorType to search for.
      * @return The ActuatorType object found in the database.
      */
@@ -96,7 +132,15 @@ public class ActuatorTypeRepositorySpringData implements ActuatorTypeRepository
         if (actuatorTypeIDVO == null) {
             throw new IllegalArgumentException("Actuator type ID is null.");
         }
+        return this.cache.get(actuatorTypeIDVO, this::load);
+    }
 
+    /**
+     * Reads an ActuatorType object from the database by its ID.
+     * @param actuatorTypeIDVO The ActuatorTypeIDVO object containing the ID of the ActuatorType to read.
+     * @return The ActuatorType object, or null if it is not found or a DataAccessException is thrown.
+     */
+    private ActuatorType load(ActuatorTypeIDVO actuatorTypeIDVO) {
         try{
             Optional<ActuatorTypeDataModel> actuatorTypeDataModelOptional = getDataModelFromId(actuatorTypeIDVO);
 
@@ -114,9 +158,9 @@ public class ActuatorTypeRepositorySpringData implements ActuatorTypeRepository
     /**
      * This method verifies if an ActuatorType object is present in the database.
      * It first checks if the ActuatorTypeIDVO object is null, and throws an IllegalArgumentException if so.
-     * Otherwise, it retrieves the ActuatorTypeDataModel object from the database by its ID using an auxiliary method getDataModelFromId().
-     * If the ActuatorTypeDataModel object is present, it returns true.
-     * If a DataAccessException is thrown, it returns false.
+     * Otherwise, it looks the ActuatorType up with findById(), so that types not cached yet are read and later
+     * checks and lookups are answered from the cache.
+     * If it exists, it returns true.
      * @param actuatorTypeIDVO IDVO
      * @return A boolean value indicating whether the ActuatorType object is present in the database.
      */
@@ -125,12 +169,14 @@ public class ActuatorTypeRepositorySpringData implements ActuatorTypeRepository
         if (actuatorTypeIDVO == null) {
             throw new IllegalArgumentException("Actuator type ID is null.");
         }
-        try {
-            Optional<ActuatorTypeDataModel> actuatorTypeDataModelOptional = getDataModelFromId(actuatorTypeIDVO);
-            return actuatorTypeDataModelOptional.isPresent();
-        } catch (DataAccessException e) {
-            return false;
-        }
+        return findById(actuatorTypeIDVO) != null;
+    }
+
+    /**
+     * @return The cache of the actuator types.
+     */
+    public ReferenceDataCache<ActuatorTypeIDVO, ActuatorType> getCache() {
+        return this.cache;
     }
 
     /**
@@ -11,7 +11,10 @@ import smarthome.mapper.assembler.DeviceAssembler;
 import smarthome.persistence.DeviceRepository;
 
 import smarthome.persistence.jpa.datamodel.DeviceDataModel;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 @Repository
@@ -127,7 +130,11 @@ public class DeviceRepositorySpringData implements DeviceRepository {
         if(isNull(id)){
             return false;
         }
-        return findById(id) != null;
+        try {
+            return this.iDeviceRepositorySpringData.existsById(id.getID());
+        } catch (DataAccessException e) {
+            return false;
+        }
     }
 
 
@@ -179,5 +186,23 @@ public class DeviceRepositorySpringData implements DeviceRepository {
         return object == null;
     }
 
-
+    /**
+     * Finds the devices with the given IDs with a single query. IDs with no device are skipped.
+     *
+     * @param ids The IDs of the devices.
+     * @return The devices found, in no particular order. Null if a DataAccessException occurs.
+     */
+    @Override
+    public Iterable<Device> findAllByIds(Collection<DeviceIDVO> ids) {
+        if (ids == null) {
+            return Collections.emptyList();
+        }
+        List<String> keys = ids.stream().filter(Objects::nonNull).map(DeviceIDVO::getID).distinct().toList();
+        try {
+            Iterable<DeviceDataModel> dataModels = this.iDeviceRepositorySpringData.findAllById(keys);
+            return DeviceAssembler.toDomainList(this.deviceFactory, dataModels);
+        } catch (DataAccessException e) {
+            return null;
+        }
+    }
 }
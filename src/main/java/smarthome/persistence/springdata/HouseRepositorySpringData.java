@@ -111,7 +111,11 @@ public class HouseRepositorySpringData implements HouseRepository {
         if(isNull(id)){
             return false;
         }
-       return findById(id) != null;
+       try {
+           return this.iHouseRepositorySpringData.existsById(id.getID());
+       } catch (DataAccessException e) {
+           return false;
+       }
     }
 
     /**
@@ -0,0 +1,47 @@
+package smarthome.persistence.springdata;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.NoRepositoryBean;
+import org.springframework.data.repository.query.Param;
+import smarthome.persistence.jpa.datamodel.LogAggregateDataModel;
+
+import java.util.List;
+
+/**
+ * Queries shared by the tables of downsampled logs. Range queries mirror those of {@link ILogRepositorySpringData},
+ * with the time range applied to the start of the buckets.
+ *
+ * @param <T> the aggregate table
+ */
+@NoRepositoryBean
+public interface ILogAggregateRepositorySpringData<T extends LogAggregateDataModel> extends JpaRepository<T, String> {
+
+    /**
+     * Finds the aggregates of a device and sensor type whose bucket starts within the given range.
+     *
+     * @param deviceID   the ID of the device
+     * @param sensorType the ID of the sensor type
+     * @param from       the first bucket start (inclusive), in epoch nanoseconds
+     * @param to         the last bucket start (inclusive), in epoch nanoseconds
+     * @return the matching aggregates
+     */
+    @Query("SELECT a FROM #{#entityName} a WHERE a.deviceID = :deviceID AND a.sensorTypeID = :sensorType " +
+            "AND a.bucket BETWEEN :from AND :to")
+    List<T> findByDeviceIDAndSensorTypeAndBucketBetween(
+            @Param("deviceID") String deviceID,
+            @Param("sensorType") String sensorType,
+            @Param("from") long from,
+            @Param("to") long to);
+
+    /**
+     * Deletes the aggregates whose bucket starts before the given time. Must run inside a transaction.
+     *
+     * @param bucket the first bucket start to keep, in epoch nanoseconds
+     * @return the number of aggregates deleted
+     */
+    @Modifying
+    @Query("DELETE FROM #{#entityName} a WHERE a.bucket < :bucket")
+    int deleteByBucketBefore(@Param("bucket") long bucket);
+}
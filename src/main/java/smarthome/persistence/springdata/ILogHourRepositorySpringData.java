@@ -0,0 +1,6 @@
+package smarthome.persistence.springdata;
+
+import smarthome.persistence.jpa.datamodel.LogHourDataModel;
+
+public interface ILogHourRepositorySpringData extends ILogAggregateRepositorySpringData<LogHourDataModel> {
+}
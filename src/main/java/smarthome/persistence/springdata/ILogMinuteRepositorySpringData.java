@@ -0,0 +1,6 @@
+package smarthome.persistence.springdata;
+
+import smarthome.persistence.jpa.datamodel.LogMinuteDataModel;
+
+public interface ILogMinuteRepositorySpringData extends ILogAggregateRepositorySpringData<LogMinuteDataModel> {
+}
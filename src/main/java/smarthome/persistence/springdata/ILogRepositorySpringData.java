@@ -1,21 +1,22 @@
 package smarthome.persistence.springdata;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import smarthome.persistence.jpa.datamodel.LogDataModel;
+import smarthome.persistence.jpa.datamodel.LogReadingProjection;
 
-import java.time.LocalDateTime;
 import java.util.List;
 
-public interface ILogRepositorySpringData extends JpaRepository<LogDataModel, String> {
+public interface ILogRepositorySpringData extends JpaRepository<LogDataModel, String>, ILogStreamRepository {
     /**
      * Finds logs by device ID and optionally within a specified time range.
      * If 'from' or 'to' parameters are null, the time condition is ignored.
      *
      * @param deviceID the ID of the device
-     * @param from     the start time of the time range (inclusive), or null to ignore this condition
-     * @param to       the end time of the time range (inclusive), or null to ignore this condition
+     * @param from     the start time of the time range (inclusive) in epoch nanoseconds, or null to ignore this condition
+     * @param to       the end time of the time range (inclusive) in epoch nanoseconds, or null to ignore this condition
      * @return a list of LogDataModel objects that match the criteria
      */
 
@@ -24,8 +25,60 @@ public interface ILogRepositorySpringData extends JpaRepository<LogDataModel, St
             "AND (:to IS NULL OR l.time <= :to)")
     List<LogDataModel> findByDeviceIDAndTimeBetween(
             @Param("deviceID") String deviceID,
-            @Param("from") LocalDateTime from,
-            @Param("to") LocalDateTime to);
+            @Param("from") Long from,
+            @Param("to") Long to);
+
+    /**
+     * Finds the logs of a device that come after a given (time, log ID) position, optionally within a time range,
+     * ordered by time and then by log ID. The position is expressed as {@code time >= :time AND (time > :time OR
+     * id > :logID)}, the expanded form of {@code (time, id) > (:time, :logID)} that every database can serve as a
+     * range scan of the (device_id, time, id) index, and the page size is applied as a LIMIT.
+     *
+     * @param deviceID the ID of the device
+     * @param from     the start of the time range (inclusive) in epoch nanoseconds, or null to ignore this condition
+     * @param to       the end of the time range (inclusive) in epoch nanoseconds, or null to ignore this condition
+     * @param time     the time of the position in epoch nanoseconds
+     * @param logID    the log ID of the position
+     * @param limit    the maximum number of logs returned
+     * @return a list of LogDataModel objects after the position, in ascending order
+     */
+    @Query("SELECT l FROM LogDataModel l WHERE l.deviceID = :deviceID " +
+            "AND (:from IS NULL OR l.time >= :from) " +
+            "AND (:to IS NULL OR l.time <= :to) " +
+            "AND l.time >= :time AND (l.time > :time OR l.logID > :logID) " +
+            "ORDER BY l.time, l.logID")
+    List<LogDataModel> findByDeviceIDAfter(
+            @Param("deviceID") String deviceID,
+            @Param("from") Long from,
+            @Param("to") Long to,
+            @Param("time") long time,
+            @Param("logID") String logID,
+            Limit limit);
+
+    /**
+     * Finds the logs of a device that come before a given (time, log ID) position, optionally within a time range,
+     * ordered by time and then by log ID in descending order, so the LIMIT keeps the logs closest to the position.
+     *
+     * @param deviceID the ID of the device
+     * @param from     the start of the time range (inclusive) in epoch nanoseconds, or null to ignore this condition
+     * @param to       the end of the time range (inclusive) in epoch nanoseconds, or null to ignore this condition
+     * @param time     the time of the position in epoch nanoseconds
+     * @param logID    the log ID of the position
+     * @param limit    the maximum number of logs returned
+     * @return a list of LogDataModel objects before the position, in descending order
+     */
+    @Query("SELECT l FROM LogDataModel l WHERE l.deviceID = :deviceID " +
+            "AND (:from IS NULL OR l.time >= :from) " +
+            "AND (:to IS NULL OR l.time <= :to) " +
+            "AND l.time <= :time AND (l.time < :time OR l.logID < :logID) " +
+            "ORDER BY l.time DESC, l.logID DESC")
+    List<LogDataModel> findByDeviceIDBefore(
+            @Param("deviceID") String deviceID,
+            @Param("from") Long from,
+            @Param("to") Long to,
+            @Param("time") long time,
+            @Param("logID") String logID,
+            Limit limit);
 
     /**
      * This method retrieves all log data from the database that falls within the specified time range and is associated
@@ -37,8 +90,8 @@ public interface ILogRepositorySpringData extends JpaRepository<LogDataModel, St
      *
      * @param deviceID   The device ID to filter the log data by.
      * @param sensorType The sensor type to filter the log data by.
-     * @param start      The start of the time range to filter the log data by.
-     * @param end        The end of the time range to filter the log data by.
+     * @param start      The start of the time range to filter the log data by, in epoch nanoseconds.
+     * @param end        The end of the time range to filter the log data by, in epoch nanoseconds.
      * @return A List of LogDataModel objects that match the query criteria.
      */
     @Query("SELECT l FROM LogDataModel l " +
@@ -48,8 +101,8 @@ public interface ILogRepositorySpringData extends JpaRepository<LogDataModel, St
     List<LogDataModel> findByDeviceIDAndSensorTypeAndTimeBetween(
             @Param("deviceID") String deviceID,
             @Param("sensorType") String sensorType,
-            @Param("start") LocalDateTime start,
-            @Param("end") LocalDateTime end
+            @Param("start") long start,
+            @Param("end") long end
     );
 
 
@@ -57,12 +110,13 @@ public interface ILogRepositorySpringData extends JpaRepository<LogDataModel, St
      * Finds and retrieves logs from the database for a specific sensor type and time range, excluding logs from a specific device,
      * and with negative readings. This method is defined using a JPQL query to filter logs based on the provided criteria.
      * The query selects logs where the device ID is not equal to the specified excludeDeviceID, the sensor type ID matches
-     * the specified sensorTypeID, the log time is between the specified start and end times, and the reading contains a negative sign.
+     * the specified sensorTypeID, the log time is between the specified start and end times, and the numeric reading is below zero.
+     * Both the time and the reading conditions are range predicates, so the query can be served by an index.
      *
      * @param excludeDeviceID the ID of the device to exclude from the logs.
      * @param sensorTypeID the ID of the sensor type to filter logs.
-     * @param start the start timestamp of the period, represented as a LocalDateTime object.
-     * @param end the end timestamp of the period, represented as a LocalDateTime object.
+     * @param start the start timestamp of the period, in epoch nanoseconds.
+     * @param end the end timestamp of the period, in epoch nanoseconds.
      * @return a list of LogDataModel objects that match the specified criteria.
      * @throws IllegalArgumentException if any of the input parameters are null.
      */
@@ -70,11 +124,83 @@ public interface ILogRepositorySpringData extends JpaRepository<LogDataModel, St
             "WHERE l.deviceID != :excludeDeviceID " +
             "AND l.sensorTypeID = :sensorTypeID " +
             "AND l.time BETWEEN :start AND :end " +
-            "AND l.reading LIKE '%-%'")
+            "AND l.readingNum < 0")
     List<LogDataModel> findByNegativeReadingAndNotDeviceIDAndSensorTypeAndTimeBetween(
             @Param("excludeDeviceID") String excludeDeviceID,
             @Param("sensorTypeID") String sensorTypeID,
-            @Param("start") LocalDateTime start,
-            @Param("end") LocalDateTime end
+            @Param("start") long start,
+            @Param("end") long end
+    );
+
+    /**
+     * Finds the sensor, time and numeric reading of the logs of a device and sensor type within a time range.
+     * Same criteria as {@link #findByDeviceIDAndSensorTypeAndTimeBetween}, but only the columns the analytics need
+     * are selected and no entity is managed per row. Rows are ordered by time, which the device, sensor type and time
+     * index provides without a sort.
+     *
+     * @param deviceID   The device ID to filter the log data by.
+     * @param sensorType The sensor type to filter the log data by.
+     * @param start      The start of the time range to filter the log data by, in epoch nanoseconds.
+     * @param end        The end of the time range to filter the log data by, in epoch nanoseconds.
+     * @return A List of the projected rows that match the query criteria, ordered by time.
+     */
+    @Query("SELECT new smarthome.persistence.jpa.datamodel.LogReadingProjection(l.sensorID, l.time, l.readingNum) " +
+            "FROM LogDataModel l " +
+            "WHERE l.deviceID = :deviceID " +
+            "AND l.sensorTypeID = :sensorType " +
+            "AND l.time BETWEEN :start AND :end " +
+            "ORDER BY l.time")
+    List<LogReadingProjection> findReadingsByDeviceIDAndSensorTypeAndTimeBetween(
+            @Param("deviceID") String deviceID,
+            @Param("sensorType") String sensorType,
+            @Param("start") long start,
+            @Param("end") long end
+    );
+
+    /**
+     * Finds the sensor, time and numeric reading of the logs of a sensor type within a time range whose reading is
+     * below zero, excluding the logs of a device. Same criteria as
+     * {@link #findByNegativeReadingAndNotDeviceIDAndSensorTypeAndTimeBetween}, but only the columns the analytics
+     * need are selected and no entity is managed per row. Rows are ordered by time, which the sensor type and time
+     * index provides without a sort.
+     *
+     * @param excludeDeviceID the ID of the device to exclude from the logs.
+     * @param sensorTypeID the ID of the sensor type to filter logs.
+     * @param start the start timestamp of the period, in epoch nanoseconds.
+     * @param end the end timestamp of the period, in epoch nanoseconds.
+     * @return a list of the projected rows that match the specified criteria, ordered by time.
+     */
+    @Query("SELECT new smarthome.persistence.jpa.datamodel.LogReadingProjection(l.sensorID, l.time, l.readingNum) " +
+            "FROM LogDataModel l " +
+            "WHERE l.deviceID != :excludeDeviceID " +
+            "AND l.sensorTypeID = :sensorTypeID " +
+            "AND l.time BETWEEN :start AND :end " +
+            "AND l.readingNum < 0 " +
+            "ORDER BY l.time")
+    List<LogReadingProjection> findReadingsByNegativeReadingAndNotDeviceIDAndSensorTypeAndTimeBetween(
+            @Param("excludeDeviceID") String excludeDeviceID,
+            @Param("sensorTypeID") String sensorTypeID,
+            @Param("start") long start,
+            @Param("end") long end
     );
-}
\ No newline at end of file
+
+    /**
+     * Finds the time of the oldest numeric log before a given time. Used by the compaction to find the next hour
+     * that still holds raw numeric logs.
+     *
+     * @param before the time limit (exclusive) in epoch nanoseconds
+     * @return the time of the oldest numeric log before the limit in epoch nanoseconds, or null if there is none
+     */
+    @Query("SELECT MIN(l.time) FROM LogDataModel l WHERE l.readingNum IS NOT NULL AND l.time < :before")
+    Long findOldestNumericTimeBefore(@Param("before") long before);
+
+    /**
+     * Finds the numeric logs within a time range. Logs without a numeric reading are not compacted and are left out.
+     *
+     * @param start the start of the time range (inclusive) in epoch nanoseconds
+     * @param end   the end of the time range (exclusive) in epoch nanoseconds
+     * @return a list of LogDataModel objects with a numeric reading in the range
+     */
+    @Query("SELECT l FROM LogDataModel l WHERE l.readingNum IS NOT NULL AND l.time >= :start AND l.time < :end")
+    List<LogDataModel> findNumericByTimeRange(@Param("start") long start, @Param("end") long end);
+}
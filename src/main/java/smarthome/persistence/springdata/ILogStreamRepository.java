@@ -0,0 +1,22 @@
+package smarthome.persistence.springdata;
+
+import smarthome.persistence.jpa.datamodel.LogDataModel;
+
+import java.util.stream.Stream;
+
+/**
+ * Streaming queries for logs, added to {@link ILogRepositorySpringData} as a repository fragment.
+ */
+public interface ILogStreamRepository {
+
+    /**
+     * Streams the logs of a device, optionally within a time range, reading rows from the database as the stream
+     * is consumed. The stream keeps a database connection open until it is closed.
+     *
+     * @param deviceID the ID of the device
+     * @param from     the start of the time range (inclusive) in epoch nanoseconds, or null to ignore this condition
+     * @param to       the end of the time range (inclusive) in epoch nanoseconds, or null to ignore this condition
+     * @return a stream of LogDataModel objects that match the criteria
+     */
+    Stream<LogDataModel> streamByDeviceIDAndTimeBetween(String deviceID, Long from, Long to);
+}
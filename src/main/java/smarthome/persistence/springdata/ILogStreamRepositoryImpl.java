@@ -0,0 +1,53 @@
+package smarthome.persistence.springdata;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+import smarthome.persistence.jpa.datamodel.LogDataModel;
+
+import java.util.stream.Stream;
+
+/**
+ * Implementation of the {@link ILogStreamRepository} fragment.
+ * <p>
+ * Each stream uses its own EntityManager instead of the transaction-bound one, so it does not depend on a
+ * surrounding transaction and can be consumed on a different thread than the one that opened it (for example,
+ * while a streaming response is written). Rows are fetched in chunks of {@value #FETCH_SIZE} and every entity is
+ * detached once it has been handed on, so the persistence context stays empty however many rows are read.
+ * </p>
+ */
+public class ILogStreamRepositoryImpl implements ILogStreamRepository {
+
+    static final int FETCH_SIZE = 500;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Constructor for ILogStreamRepositoryImpl.
+     *
+     * @param entityManagerFactory the factory used to create the EntityManager of each stream
+     */
+    public ILogStreamRepositoryImpl(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Override
+    public Stream<LogDataModel> streamByDeviceIDAndTimeBetween(String deviceID, Long from, Long to) {
+        EntityManager em = this.entityManagerFactory.createEntityManager();
+        try {
+            TypedQuery<LogDataModel> query = em.createQuery("SELECT l FROM LogDataModel l WHERE l.deviceID = :deviceID " +
+                    "AND (:from IS NULL OR l.time >= :from) " +
+                    "AND (:to IS NULL OR l.time <= :to)", LogDataModel.class);
+            query.setParameter("deviceID", deviceID);
+            query.setParameter("from", from);
+            query.setParameter("to", to);
+            query.setHint(HibernateHints.HINT_FETCH_SIZE, FETCH_SIZE);
+            query.setHint(HibernateHints.HINT_READ_ONLY, true);
+            return query.getResultStream().peek(em::detach).onClose(em::close);
+        } catch (RuntimeException e) {
+            em.close();
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,443 @@
+package smarthome.persistence.springdata;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+import smarthome.domain.log.Log;
+import smarthome.persistence.jpa.datamodel.LogDataModel;
+
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Group-commit writer for sensor logs.
+ * <p>
+ * Logs handed to {@link #write(Log)} or {@link #submit(Log)} are placed in a bounded buffer and written by a single
+ * background thread as JDBC batch inserts, one transaction per batch. When the buffer is full, producers wait up to
+ * the enqueue timeout for space (backpressure) and the log is rejected if no space becomes available.
+ * </p>
+ * <p>
+ * By default producers call {@link #write(Log)}, which returns once the batch holding the log has been committed, so
+ * a log saved can be read back straight away; a producer gives up once the acknowledge timeout elapses. Batches are
+ * then flushed as soon as the flusher is free: logs that arrive while a batch is being written are grouped into the
+ * next one. With asynchronous acknowledgement enabled,
+ * producers call {@link #submit(Log)} instead, which returns as soon as the log is queued; a batch is then flushed
+ * when it reaches the configured size or when the configured flush interval elapses, whichever comes first.
+ * </p>
+ * <p>
+ * On shutdown the writer stops accepting new logs and the flusher writes everything still buffered, finishing the
+ * batch it is writing, before it stops.
+ * </p>
+ * <p>
+ * Queue depth, batch size and flush latency are exposed through getters so the writer can be tuned under load.
+ * </p>
+ */
+@Component
+@Profile("!tsdb")
+public class LogBatchWriter {
+
+    static final String INSERT_SQL = "INSERT INTO log (id, time, reading_num, reading_text, sensor_id, device_id, " +
+            "sensor_type_id) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    /**
+     * Queued after every other log on shutdown, to tell the flusher to stop once it has written them.
+     */
+    private static final Pending STOP = new Pending(null);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<Pending> queue;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final long enqueueTimeoutMillis;
+    private final long acknowledgeTimeoutMillis;
+    private final boolean asyncAcknowledge;
+
+    private final AtomicLong writtenCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private final AtomicLong flushCount = new AtomicLong();
+    private final AtomicLong totalFlushNanos = new AtomicLong();
+    private volatile int lastBatchSize;
+    private volatile long lastFlushNanos;
+    private final LongAccumulator maxFlushNanos = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Guards the running flag: producers hold the read lock while they queue a log, so once shutdown has taken the
+     * write lock and cleared the flag no log can be queued behind the stop marker.
+     */
+    private final ReadWriteLock stateLock = new ReentrantReadWriteLock();
+    private boolean running;
+    private Thread flusher;
+
+    /**
+     * A log waiting in the buffer, and the outcome of its write.
+     */
+    private static final class Pending {
+
+        private final Log log;
+        private final CompletableFuture<Boolean> written = new CompletableFuture<>();
+
+        private Pending(Log log) {
+            this.log = log;
+        }
+    }
+
+    /**
+     * Constructs a new LogBatchWriter.
+     *
+     * @param jdbcTemplate             the template used to issue the batch inserts
+     * @param transactionManager       the transaction manager used to wrap each batch in a single transaction
+     * @param capacity                 maximum number of logs held in the buffer
+     * @param batchSize                maximum number of logs written per batch
+     * @param flushIntervalMillis      maximum time a buffered log waits before being flushed
+     * @param enqueueTimeoutMillis     maximum time a producer waits for space when the buffer is full
+     * @param acknowledgeTimeoutMillis maximum time a producer waits for its log to be written
+     * @param asyncAcknowledge         whether saved logs are acknowledged once queued rather than once written
+     * @throws IllegalArgumentException if any of the sizes or intervals is not positive
+     */
+    public LogBatchWriter(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                          @Value("${smarthome.log.writer.capacity:10000}") int capacity,
+                          @Value("${smarthome.log.writer.batch-size:500}") int batchSize,
+                          @Value("${smarthome.log.writer.flush-interval-ms:200}") long flushIntervalMillis,
+                          @Value("${smarthome.log.writer.enqueue-timeout-ms:1000}") long enqueueTimeoutMillis,
+                          @Value("${smarthome.log.writer.acknowledge-timeout-ms:30000}") long acknowledgeTimeoutMillis,
+                          @Value("${smarthome.log.writer.async-acknowledge:false}") boolean asyncAcknowledge) {
+        if (capacity <= 0 || batchSize <= 0 || flushIntervalMillis <= 0 || enqueueTimeoutMillis < 0
+                || acknowledgeTimeoutMillis <= 0) {
+            throw new IllegalArgumentException("Invalid writer configuration");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.enqueueTimeoutMillis = enqueueTimeoutMillis;
+        this.acknowledgeTimeoutMillis = acknowledgeTimeoutMillis;
+        this.asyncAcknowledge = asyncAcknowledge;
+    }
+
+    /**
+     * Starts the background flusher thread.
+     */
+    @PostConstruct
+    public void start() {
+        this.stateLock.writeLock().lock();
+        try {
+            this.running = true;
+        } finally {
+            this.stateLock.writeLock().unlock();
+        }
+        this.flusher = new Thread(this::runFlushLoop, "log-batch-writer");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    /**
+     * Stops accepting new logs and waits for the flusher thread to write everything still buffered.
+     */
+    @PreDestroy
+    public void shutdown() {
+        this.stateLock.writeLock().lock();
+        try {
+            if (!this.running) {
+                return;
+            }
+            this.running = false;
+        } finally {
+            this.stateLock.writeLock().unlock();
+        }
+        try {
+            this.queue.put(STOP);
+            this.flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @return true if saved logs are acknowledged once queued, false if once written
+     */
+    public boolean isAsyncAcknowledge() {
+        return this.asyncAcknowledge;
+    }
+
+    /**
+     * Queues a log to be written with the next batch and waits up to the acknowledge timeout until that batch has
+     * been committed. If the buffer is full, waits up to the enqueue timeout for space to become available.
+     *
+     * @param log the log to write
+     * @return true if the log was written, false if the writer is stopped, the buffer stayed full, the batch could
+     * not be written or it was not written within the acknowledge timeout
+     * @throws IllegalArgumentException if the log is null
+     */
+    public boolean write(Log log) {
+        Pending pending = enqueue(log);
+        if (pending == null) {
+            return false;
+        }
+        try {
+            return pending.written.get(this.acknowledgeTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException | TimeoutException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Queues a log to be written with the next batch, without waiting for it to be written. If the buffer is full,
+     * waits up to the enqueue timeout for space to become available.
+     *
+     * @param log the log to queue
+     * @return true if the log was queued, false if the writer is stopped or the buffer stayed full
+     * @throws IllegalArgumentException if the log is null
+     */
+    public boolean submit(Log log) {
+        return enqueue(log) != null;
+    }
+
+    /**
+     * Writes the given logs immediately as JDBC batch inserts inside a single transaction, bypassing the buffer.
+     *
+     * @param logs the logs to write
+     * @return true if every log was written, false if the transaction was rolled back
+     */
+    public boolean writeBatch(List<Log> logs) {
+        if (logs == null) {
+            throw new IllegalArgumentException("Logs cannot be null");
+        }
+        if (logs.isEmpty()) {
+            return true;
+        }
+        long start = System.nanoTime();
+        try {
+            this.transactionTemplate.executeWithoutResult(status -> insert(logs));
+            this.writtenCount.addAndGet(logs.size());
+            return true;
+        } catch (DataAccessException | TransactionException e) {
+            this.failedCount.addAndGet(logs.size());
+            return false;
+        } finally {
+            recordFlush(logs.size(), System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Places a log in the buffer, waiting up to the enqueue timeout for space.
+     *
+     * @param log the log to queue
+     * @return the queued log, or null if it was rejected
+     */
+    private Pending enqueue(Log log) {
+        if (log == null) {
+            throw new IllegalArgumentException("Log cannot be null");
+        }
+        Pending pending = new Pending(log);
+        this.stateLock.readLock().lock();
+        try {
+            if (this.running && this.queue.offer(pending, this.enqueueTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                return pending;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            this.stateLock.readLock().unlock();
+        }
+        this.rejectedCount.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * Flusher loop. Waits for the first log of a batch, then collects what is already buffered up to a full batch
+     * and writes it. With asynchronous acknowledgement it also waits up to the flush interval for the batch to fill.
+     * Stops once the stop marker has been reached, after writing the logs queued before it.
+     */
+    private void runFlushLoop() {
+        List<Pending> batch = new ArrayList<>(this.batchSize + 1);
+        boolean stopped = false;
+        while (!stopped) {
+            try {
+                batch.add(this.queue.take());
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(this.flushIntervalMillis);
+                while (batch.size() < this.batchSize && !isStop(batch)) {
+                    this.queue.drainTo(batch, this.batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (!this.asyncAcknowledge || batch.size() >= this.batchSize || isStop(batch) || remaining <= 0) {
+                        break;
+                    }
+                    Pending next = this.queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                // The flusher is only stopped through the stop marker, so the logs collected so far are still written
+            }
+            if (isStop(batch)) {
+                batch.remove(batch.size() - 1);
+                stopped = true;
+            }
+            flush(batch);
+        }
+    }
+
+    /**
+     * @return true if the last log collected is the stop marker
+     */
+    private static boolean isStop(List<Pending> batch) {
+        return !batch.isEmpty() && batch.get(batch.size() - 1) == STOP;
+    }
+
+    /**
+     * Writes the given batch, tells the producers waiting on it the outcome, and clears it so the list can be reused.
+     * Any failure of the write is reported to the producers as a batch that was not written, so the flusher keeps
+     * running.
+     *
+     * @param batch the logs collected for this flush
+     */
+    private void flush(List<Pending> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<Log> logs = new ArrayList<>(batch.size());
+        for (Pending pending : batch) {
+            logs.add(pending.log);
+        }
+        boolean written = false;
+        try {
+            written = writeBatch(logs);
+        } catch (RuntimeException e) {
+            this.failedCount.addAndGet(logs.size());
+        } finally {
+            for (Pending pending : batch) {
+                pending.written.complete(written);
+            }
+            batch.clear();
+        }
+    }
+
+    /**
+     * Issues the JDBC batch inserts for the given logs, split into statements of at most the configured batch size.
+     * Must run inside a transaction.
+     *
+     * @param logs the logs to insert
+     */
+    private void insert(List<Log> logs) {
+        this.jdbcTemplate.batchUpdate(INSERT_SQL, logs, this.batchSize, (ps, log) -> {
+            LogDataModel row = new LogDataModel(log);
+            ps.setString(1, row.getLogID());
+            ps.setLong(2, row.getEpochTime());
+            ps.setObject(3, row.getReadingNum(), Types.DOUBLE);
+            ps.setString(4, row.getReadingText());
+            ps.setString(5, row.getSensorID());
+            ps.setString(6, row.getDeviceID());
+            ps.setString(7, row.getSensorTypeID());
+        });
+    }
+
+    /**
+     * Records the size and latency of a flush.
+     *
+     * @param size        number of logs in the flush
+     * @param elapsedNanos time taken by the flush, in nanoseconds
+     */
+    private void recordFlush(int size, long elapsedNanos) {
+        this.lastBatchSize = size;
+        this.lastFlushNanos = elapsedNanos;
+        this.maxFlushNanos.accumulate(elapsedNanos);
+        this.flushCount.incrementAndGet();
+        this.totalFlushNanos.addAndGet(elapsedNanos);
+    }
+
+    /**
+     * @return number of logs currently waiting in the buffer
+     */
+    public int getQueueDepth() {
+        return this.queue.size();
+    }
+
+    /**
+     * @return number of logs that can still be queued before producers start waiting
+     */
+    public int getRemainingCapacity() {
+        return this.queue.remainingCapacity();
+    }
+
+    /**
+     * @return number of logs written by the most recent flush
+     */
+    public int getLastBatchSize() {
+        return this.lastBatchSize;
+    }
+
+    /**
+     * @return duration of the most recent flush, in milliseconds
+     */
+    public double getLastFlushLatencyMillis() {
+        return this.lastFlushNanos / 1_000_000.0;
+    }
+
+    /**
+     * @return longest flush observed so far, in milliseconds
+     */
+    public double getMaxFlushLatencyMillis() {
+        return this.maxFlushNanos.get() / 1_000_000.0;
+    }
+
+    /**
+     * @return average flush duration so far, in milliseconds
+     */
+    public double getAverageFlushLatencyMillis() {
+        long flushes = this.flushCount.get();
+        return flushes == 0 ? 0 : this.totalFlushNanos.get() / 1_000_000.0 / flushes;
+    }
+
+    /**
+     * @return number of flushes performed so far
+     */
+    public long getFlushCount() {
+        return this.flushCount.get();
+    }
+
+    /**
+     * @return number of logs successfully written so far
+     */
+    public long getWrittenCount() {
+        return this.writtenCount.get();
+    }
+
+    /**
+     * @return number of logs lost because their batch could not be written
+     */
+    public long getFailedCount() {
+        return this.failedCount.get();
+    }
+
+    /**
+     * @return number of logs rejected because the buffer stayed full or the writer was stopped
+     */
+    public long getRejectedCount() {
+        return this.rejectedCount.get();
+    }
+}
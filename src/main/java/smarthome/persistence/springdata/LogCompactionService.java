@@ -0,0 +1,205 @@
+package smarthome.persistence.springdata;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+import smarthome.persistence.jpa.datamodel.LogAggregateDataModel;
+import smarthome.persistence.jpa.datamodel.LogDataModel;
+import smarthome.persistence.jpa.datamodel.LogHourDataModel;
+import smarthome.persistence.jpa.datamodel.LogMinuteDataModel;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Background compaction of sensor logs.
+ * <p>
+ * On every run, numeric raw logs older than the raw age of the {@link LogRetentionPolicy} are rolled into per-minute
+ * and per-hour aggregates and then deleted, one hour at a time and one transaction per hour, starting from the oldest.
+ * Aggregates that already exist for a bucket are merged with the new readings, so logs that arrive late are not lost.
+ * Raw logs are deleted by ID, so a log inserted into an hour while it is being compacted is left for the next pass.
+ * Logs without a numeric reading (wind, switch state, sun times) cannot be aggregated and are kept as they are.
+ * Finally, per-minute aggregates older than the minute age are purged; per-hour aggregates are kept.
+ * </p>
+ * <p>
+ * Compaction is disabled unless {@code smarthome.log.retention.enabled} is set: every read of the log repository other
+ * than its downsampled series reads raw logs only, so compacted readings disappear from the log listings and the
+ * analytics.
+ * </p>
+ */
+@Component
+@Profile("!tsdb")
+public class LogCompactionService {
+
+    private static final int DELETE_BATCH_SIZE = 1000;
+
+    private final ILogRepositorySpringData iLogRepositorySpringData;
+    private final ILogMinuteRepositorySpringData iLogMinuteRepositorySpringData;
+    private final ILogHourRepositorySpringData iLogHourRepositorySpringData;
+    private final TransactionTemplate transactionTemplate;
+    private final LogRetentionPolicy retentionPolicy;
+    private final boolean enabled;
+    private final long intervalMillis;
+
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * Constructs a new LogCompactionService.
+     *
+     * @param iLogRepositorySpringData       the repository of raw logs
+     * @param iLogMinuteRepositorySpringData the repository of per-minute aggregates
+     * @param iLogHourRepositorySpringData   the repository of per-hour aggregates
+     * @param transactionManager             the transaction manager used to compact each hour atomically
+     * @param retentionPolicy                the retention settings
+     * @param enabled                        whether compaction runs in the background
+     * @param intervalMillis                 time between the end of a run and the start of the next one
+     * @throws IllegalArgumentException if the interval is not positive
+     */
+    public LogCompactionService(ILogRepositorySpringData iLogRepositorySpringData,
+                                ILogMinuteRepositorySpringData iLogMinuteRepositorySpringData,
+                                ILogHourRepositorySpringData iLogHourRepositorySpringData,
+                                PlatformTransactionManager transactionManager,
+                                LogRetentionPolicy retentionPolicy,
+                                @Value("${smarthome.log.retention.enabled:false}") boolean enabled,
+                                @Value("${smarthome.log.retention.interval-ms:3600000}") long intervalMillis) {
+        if (intervalMillis <= 0) {
+            throw new IllegalArgumentException("Invalid compaction interval");
+        }
+        this.iLogRepositorySpringData = iLogRepositorySpringData;
+        this.iLogMinuteRepositorySpringData = iLogMinuteRepositorySpringData;
+        this.iLogHourRepositorySpringData = iLogHourRepositorySpringData;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.retentionPolicy = retentionPolicy;
+        this.enabled = enabled;
+        this.intervalMillis = intervalMillis;
+    }
+
+    /**
+     * Schedules the background runs, the first one an interval after start-up.
+     */
+    @PostConstruct
+    public void start() {
+        if (!this.enabled) {
+            return;
+        }
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "log-compaction");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.scheduler.scheduleWithFixedDelay(this::runSafely, this.intervalMillis, this.intervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the background runs, waiting for a run in progress to finish.
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (this.scheduler == null) {
+            return;
+        }
+        this.scheduler.shutdown();
+        try {
+            this.scheduler.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Runs a compaction pass: rolls every hour of numeric raw logs older than the raw age into aggregates, deletes
+     * those raw logs and purges the expired per-minute aggregates. Stops at the first hour that cannot be compacted;
+     * what was committed so far is kept and the rest is retried on the next pass.
+     *
+     * @return the number of raw logs compacted
+     */
+    public synchronized long compact() {
+        long now = this.retentionPolicy.now();
+        long rawCutoff = this.retentionPolicy.rawCutoff(now);
+        long compacted = 0;
+        try {
+            Long oldest = this.iLogRepositorySpringData.findOldestNumericTimeBefore(rawCutoff);
+            while (oldest != null) {
+                long start = LogResolution.HOUR.bucketOf(oldest);
+                long end = Math.min(start + LogResolution.HOUR.getNanos(), rawCutoff);
+                Integer moved = this.transactionTemplate.execute(status -> compactHour(start, end));
+                if (moved == null || moved == 0) {
+                    break;
+                }
+                compacted += moved;
+                oldest = this.iLogRepositorySpringData.findOldestNumericTimeBefore(rawCutoff);
+            }
+            long minuteCutoff = this.retentionPolicy.minuteCutoff(now);
+            this.transactionTemplate.executeWithoutResult(status ->
+                    this.iLogMinuteRepositorySpringData.deleteByBucketBefore(minuteCutoff));
+        } catch (DataAccessException | TransactionException e) {
+            return compacted;
+        }
+        return compacted;
+    }
+
+    /**
+     * Compaction run for the scheduler; failures are dropped so later runs still happen.
+     */
+    private void runSafely() {
+        try {
+            compact();
+        } catch (RuntimeException e) {
+            // The run is retried at the next interval
+        }
+    }
+
+    /**
+     * Rolls the numeric raw logs of one hour into aggregates and deletes them. Must run inside a transaction.
+     *
+     * @param start the start of the hour (inclusive), in epoch nanoseconds
+     * @param end   the end of the hour (exclusive), in epoch nanoseconds
+     * @return the number of raw logs compacted
+     */
+    private int compactHour(long start, long end) {
+        List<LogDataModel> logs = this.iLogRepositorySpringData.findNumericByTimeRange(start, end);
+        if (logs.isEmpty()) {
+            return 0;
+        }
+        store(this.iLogMinuteRepositorySpringData, LogRollup.rollUp(logs, LogResolution.MINUTE, LogMinuteDataModel::new));
+        store(this.iLogHourRepositorySpringData, LogRollup.rollUp(logs, LogResolution.HOUR, LogHourDataModel::new));
+        List<String> ids = new ArrayList<>(DELETE_BATCH_SIZE);
+        for (LogDataModel log : logs) {
+            ids.add(log.getLogID());
+            if (ids.size() == DELETE_BATCH_SIZE) {
+                this.iLogRepositorySpringData.deleteAllByIdInBatch(ids);
+                ids.clear();
+            }
+        }
+        if (!ids.isEmpty()) {
+            this.iLogRepositorySpringData.deleteAllByIdInBatch(ids);
+        }
+        return logs.size();
+    }
+
+    /**
+     * Saves new aggregates, merging them into the aggregates already stored for the same buckets.
+     *
+     * @param repository the repository of the aggregate table
+     * @param aggregates the new aggregates, keyed by aggregate ID
+     */
+    private static <T extends LogAggregateDataModel> void store(ILogAggregateRepositorySpringData<T> repository,
+                                                                Map<String, T> aggregates) {
+        for (T stored : repository.findAllById(aggregates.keySet())) {
+            stored.merge(aggregates.get(stored.getId()));
+            aggregates.put(stored.getId(), stored);
+        }
+        repository.saveAll(aggregates.values());
+    }
+}
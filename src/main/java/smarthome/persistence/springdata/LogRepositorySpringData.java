@@ -1,28 +1,55 @@
 package smarthome.persistence.springdata;
 
+import jakarta.persistence.PersistenceException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
 import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Repository;
 import smarthome.domain.log.Log;
 import smarthome.domain.log.LogFactory;
+import smarthome.domain.log.ReadingSeries;
 import smarthome.domain.sensor.sensorvalues.SensorValueFactory;
 import smarthome.domain.vo.devicevo.DeviceIDVO;
+import smarthome.domain.vo.logvo.LogCursorVO;
 import smarthome.domain.vo.logvo.LogIDVO;
 import smarthome.mapper.assembler.LogAssembler;
 import smarthome.persistence.LogRepository;
+import smarthome.persistence.jpa.datamodel.LogAggregateDataModel;
 import smarthome.persistence.jpa.datamodel.LogDataModel;
+import smarthome.persistence.jpa.datamodel.LogHourDataModel;
+import smarthome.persistence.jpa.datamodel.LogMinuteDataModel;
+import smarthome.persistence.jpa.datamodel.LogReadingProjection;
 import smarthome.domain.vo.logvo.TimeStampVO;
 
-import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
+@Profile("!tsdb")
 public class LogRepositorySpringData implements LogRepository {
     private final ILogRepositorySpringData iLogRepositorySpringData;
     private final LogFactory logFactory;
     private final SensorValueFactory sensorValueFactory;
+    private final LogBatchWriter logBatchWriter;
+    private final ILogMinuteRepositorySpringData iLogMinuteRepositorySpringData;
+    private final ILogHourRepositorySpringData iLogHourRepositorySpringData;
+    private final LogRetentionPolicy retentionPolicy;
     private static final String ERROR_MESSAGE = "Invalid parameters.";
 
+    /**
+     * Query on one of the aggregate tables, for a range of bucket starts in epoch nanoseconds.
+     */
+    @FunctionalInterface
+    private interface AggregateQuery {
+        List<? extends LogAggregateDataModel> find(ILogAggregateRepositorySpringData<?> repository, long from, long to);
+    }
+
     /**
      * Constructor for LogRepositorySpringData.
      *
@@ -31,16 +58,60 @@ public class LogRepositorySpringData implements LogRepository {
      * @param sensorValueFactory       the factory used to create SensorValue domain objects
      */
     public LogRepositorySpringData(ILogRepositorySpringData iLogRepositorySpringData, LogFactory logFactory, SensorValueFactory sensorValueFactory) {
+        this(iLogRepositorySpringData, logFactory, sensorValueFactory, null);
+    }
+
+    /**
+     * Constructor for LogRepositorySpringData with group-commit writes.
+     * When a LogBatchWriter is provided, saved logs are written in batches instead of one transaction per log.
+     *
+     * @param iLogRepositorySpringData the Spring Data repository used for data access
+     * @param logFactory               the factory used to create Log domain objects
+     * @param sensorValueFactory       the factory used to create SensorValue domain objects
+     * @param logBatchWriter           the writer used to batch log inserts, or null to save each log synchronously
+     */
+    public LogRepositorySpringData(ILogRepositorySpringData iLogRepositorySpringData, LogFactory logFactory,
+                                   SensorValueFactory sensorValueFactory, LogBatchWriter logBatchWriter) {
+        this(iLogRepositorySpringData, logFactory, sensorValueFactory, logBatchWriter, null, null, null);
+    }
+
+    /**
+     * Constructor for LogRepositorySpringData with group-commit writes and downsampled reads.
+     * When the aggregate repositories and a retention policy are provided, {@link #findDownsampledSeries} also reads
+     * the logs that have been compacted, at the resolution selected by the policy. Every other query reads the raw
+     * logs only, so the plain, paged and streamed reads of a window return the same logs.
+     *
+     * @param iLogRepositorySpringData       the Spring Data repository used for data access
+     * @param logFactory                     the factory used to create Log domain objects
+     * @param sensorValueFactory             the factory used to create SensorValue domain objects
+     * @param logBatchWriter                 the writer used to batch log inserts, or null to save each log synchronously
+     * @param iLogMinuteRepositorySpringData the repository of per-minute aggregates, or null
+     * @param iLogHourRepositorySpringData   the repository of per-hour aggregates, or null
+     * @param retentionPolicy                the policy that selects the resolution of downsampled reads, or null
+     */
+    @Autowired
+    public LogRepositorySpringData(ILogRepositorySpringData iLogRepositorySpringData, LogFactory logFactory,
+                                   SensorValueFactory sensorValueFactory, LogBatchWriter logBatchWriter,
+                                   ILogMinuteRepositorySpringData iLogMinuteRepositorySpringData,
+                                   ILogHourRepositorySpringData iLogHourRepositorySpringData,
+                                   LogRetentionPolicy retentionPolicy) {
         this.iLogRepositorySpringData = iLogRepositorySpringData;
         this.logFactory = logFactory;
         this.sensorValueFactory = sensorValueFactory;
+        this.logBatchWriter = logBatchWriter;
+        this.iLogMinuteRepositorySpringData = iLogMinuteRepositorySpringData;
+        this.iLogHourRepositorySpringData = iLogHourRepositorySpringData;
+        this.retentionPolicy = retentionPolicy;
     }
 
     /**
      * Saves a log to the database.
+     * If a LogBatchWriter is configured the log is written with the next batch and this method returns once that
+     * batch has been committed, or once the log is queued if the writer acknowledges asynchronously; otherwise it is
+     * saved on its own.
      *
      * @param log the log to be saved
-     * @return true if the log was saved successfully, false otherwise
+     * @return true if the log was saved (or, with asynchronous acknowledgement, queued) successfully, false otherwise
      * @throws IllegalArgumentException if the log is null
      */
     @Override
@@ -48,6 +119,10 @@ public class LogRepositorySpringData implements LogRepository {
         if (log == null) {
             throw new IllegalArgumentException("Log cannot be null");
         }
+        if (this.logBatchWriter != null) {
+            return this.logBatchWriter.isAsyncAcknowledge()
+                    ? this.logBatchWriter.submit(log) : this.logBatchWriter.write(log);
+        }
         try {
             LogDataModel logdataModel = new LogDataModel(log);
             this.iLogRepositorySpringData.save(logdataModel);
@@ -57,6 +132,41 @@ public class LogRepositorySpringData implements LogRepository {
         }
     }
 
+    /**
+     * Saves a group of logs within a single transaction.
+     * When a LogBatchWriter is configured the logs are written immediately as JDBC batch inserts, bypassing the queue.
+     *
+     * @param logs the logs to be saved
+     * @return true if every log was saved, false otherwise
+     * @throws IllegalArgumentException if logs is null or contains a null log
+     */
+    @Override
+    public boolean saveAll(Iterable<Log> logs) {
+        if (logs == null) {
+            throw new IllegalArgumentException("Logs cannot be null");
+        }
+        List<Log> logList = new ArrayList<>();
+        for (Log log : logs) {
+            if (log == null) {
+                throw new IllegalArgumentException("Log cannot be null");
+            }
+            logList.add(log);
+        }
+        if (this.logBatchWriter != null) {
+            return this.logBatchWriter.writeBatch(logList);
+        }
+        try {
+            List<LogDataModel> dataModels = new ArrayList<>(logList.size());
+            for (Log log : logList) {
+                dataModels.add(new LogDataModel(log));
+            }
+            this.iLogRepositorySpringData.saveAll(dataModels);
+            return true;
+        } catch (DataAccessException e) {
+            return false;
+        }
+    }
+
     /**
      * Retrieves a log from the database by its ID.
      *
@@ -94,29 +204,98 @@ public class LogRepositorySpringData implements LogRepository {
         }
 
         try {
-            LocalDateTime fromValue = (from != null) ? from.getValue() : null;
-            LocalDateTime toValue = (to != null) ? to.getValue() : null;
+            Long fromValue = (from != null) ? LogDataModel.toEpochNanos(from.getValue()) : null;
+            Long toValue = (to != null) ? LogDataModel.toEpochNanos(to.getValue()) : null;
 
-            Iterable<LogDataModel> logDataModelIterable = this.iLogRepositorySpringData.findByDeviceIDAndTimeBetween(deviceID.getID(), fromValue, toValue);
-            return LogAssembler.toDomain(this.logFactory, this.sensorValueFactory, logDataModelIterable);
+            List<LogDataModel> logDataModelList = this.iLogRepositorySpringData.findByDeviceIDAndTimeBetween(deviceID.getID(), fromValue, toValue);
+            return LogAssembler.toDomain(this.logFactory, this.sensorValueFactory, logDataModelList);
         } catch (DataAccessException e) {
             // Log the exception if necessary
             return new ArrayList<>();
         }
     }
 
+    /**
+     * Streams all logs associated with a specific device within a given time period.
+     * Rows are read from the database and converted to Log objects as the stream is consumed.
+     * The stream holds a database connection until it is closed.
+     *
+     * @param deviceID the ID of the device
+     * @param from     the start of the time period, or null for no lower bound
+     * @param to       the end of the time period, or null for no upper bound
+     * @return a Stream of logs that match the given criteria, or an empty stream if the query cannot be opened
+     * @throws IllegalArgumentException if the deviceID is null
+     */
+    @Override
+    public Stream<Log> streamReadingsByDeviceID(DeviceIDVO deviceID, TimeStampVO from, TimeStampVO to) {
+        if (deviceID == null) {
+            throw new IllegalArgumentException("Invalid parameters: deviceID is null");
+        }
+        try {
+            Long fromValue = (from != null) ? LogDataModel.toEpochNanos(from.getValue()) : null;
+            Long toValue = (to != null) ? LogDataModel.toEpochNanos(to.getValue()) : null;
+            Stream<LogDataModel> dataModels = this.iLogRepositorySpringData.streamByDeviceIDAndTimeBetween(deviceID.getID(), fromValue, toValue);
+            return LogAssembler.toDomainStream(this.logFactory, this.sensorValueFactory, dataModels);
+        } catch (DataAccessException | PersistenceException e) {
+            return Stream.empty();
+        }
+    }
+
+    /**
+     * Retrieves one page of the logs of a device within a given time period, using keyset pagination.
+     * The first page starts before every stored log; afterwards the page starts right after the cursor position
+     * or, for a backward cursor, ends right before it. Backward pages are queried in descending order so the limit
+     * keeps the logs closest to the cursor, and are reversed before being returned.
+     *
+     * @param deviceID the ID of the device
+     * @param from     the start of the time period, or null for no lower bound
+     * @param to       the end of the time period, or null for no upper bound
+     * @param cursor   the position the page starts from, or null for the first page
+     * @param limit    the maximum number of logs in the page
+     * @return an Iterable of logs in ascending order of time and log ID, or an empty list if a DataAccessException occurs
+     * @throws IllegalArgumentException if the deviceID is null or the limit is not positive
+     */
+    @Override
+    public Iterable<Log> findReadingsPageByDeviceID(DeviceIDVO deviceID, TimeStampVO from, TimeStampVO to, LogCursorVO cursor, int limit) {
+        if (deviceID == null || limit <= 0) {
+            throw new IllegalArgumentException(ERROR_MESSAGE);
+        }
+        try {
+            Long fromValue = (from != null) ? LogDataModel.toEpochNanos(from.getValue()) : null;
+            Long toValue = (to != null) ? LogDataModel.toEpochNanos(to.getValue()) : null;
+            List<LogDataModel> page;
+            if (cursor == null) {
+                page = this.iLogRepositorySpringData.findByDeviceIDAfter(deviceID.getID(), fromValue, toValue,
+                        Long.MIN_VALUE, "", Limit.of(limit));
+            } else if (cursor.isForward()) {
+                page = this.iLogRepositorySpringData.findByDeviceIDAfter(deviceID.getID(), fromValue, toValue,
+                        LogDataModel.toEpochNanos(cursor.getTime().getValue()), cursor.getLogID().getID(), Limit.of(limit));
+            } else {
+                page = new ArrayList<>(this.iLogRepositorySpringData.findByDeviceIDBefore(deviceID.getID(), fromValue, toValue,
+                        LogDataModel.toEpochNanos(cursor.getTime().getValue()), cursor.getLogID().getID(), Limit.of(limit)));
+                Collections.reverse(page);
+            }
+            return LogAssembler.toDomain(this.logFactory, this.sensorValueFactory, page);
+        } catch (DataAccessException e) {
+            return new ArrayList<>();
+        }
+    }
+
     /**
      * Checks if a log with the given ID is present in the database.
      *
      * @param id the ID of the log
-     * @return true if the log is present, false otherwise
-     * @throws IllegalArgumentException if the id is null
+     * @return true if the log is present, false otherwise or if the id is null
      */
     public boolean isPresent(LogIDVO id) {
         if (id == null) {
-            throw new IllegalArgumentException("ID cannot be null");
+            return false;
+        }
+        try {
+            return this.iLogRepositorySpringData.existsById(id.getID());
+        } catch (DataAccessException e) {
+            return false;
         }
-        return findById(id) != null;
     }
 
     /**
@@ -158,9 +337,9 @@ public class LogRepositorySpringData implements LogRepository {
 
         try {
             String deviceIDString = deviceID.getID();
-            LocalDateTime startTime = start.getValue();
-            LocalDateTime endTime = end.getValue();
-            Iterable<LogDataModel> listOfLogs = this.iLogRepositorySpringData.findByDeviceIDAndSensorTypeAndTimeBetween(deviceIDString, sensorType, startTime, endTime);
+            long startTime = LogDataModel.toEpochNanos(start.getValue());
+            long endTime = LogDataModel.toEpochNanos(end.getValue());
+            List<LogDataModel> listOfLogs = this.iLogRepositorySpringData.findByDeviceIDAndSensorTypeAndTimeBetween(deviceIDString, sensorType, startTime, endTime);
             return LogAssembler.toDomain(this.logFactory, this.sensorValueFactory, listOfLogs);
         } catch (DataAccessException e) {
             return null;
@@ -171,7 +350,7 @@ public class LogRepositorySpringData implements LogRepository {
     /**
      * Finds and retrieves logs from the database for a specific device and sensor type within a given time range using Spring Data.
      * This method performs validation on the input parameters to ensure they are not null. It converts the TimeStampVO
-     * objects to LocalDateTime before passing them to the Spring Data repository method.
+     * objects to epoch nanoseconds before passing them to the Spring Data repository method.
      * If any parameter is invalid or if a DataAccessException occurs during query execution, null is returned.
      *
      * @param deviceID the ID of the device to filter logs.
@@ -187,9 +366,9 @@ public class LogRepositorySpringData implements LogRepository {
             throw new IllegalArgumentException(ERROR_MESSAGE);
         }
         try {
-            LocalDateTime startTime = start.getValue();
-            LocalDateTime endTime = end.getValue();
-            Iterable<LogDataModel> gridPowerMeterLogsDataModel = this.iLogRepositorySpringData.findByDeviceIDAndSensorTypeAndTimeBetween(deviceID, sensorType, startTime, endTime);
+            long startTime = LogDataModel.toEpochNanos(start.getValue());
+            long endTime = LogDataModel.toEpochNanos(end.getValue());
+            List<LogDataModel> gridPowerMeterLogsDataModel = this.iLogRepositorySpringData.findByDeviceIDAndSensorTypeAndTimeBetween(deviceID, sensorType, startTime, endTime);
             return LogAssembler.toDomain(this.logFactory, this.sensorValueFactory, gridPowerMeterLogsDataModel);
         } catch (DataAccessException e) {
             return null;
@@ -200,7 +379,7 @@ public class LogRepositorySpringData implements LogRepository {
     /**
      * Finds and retrieves logs from the database for a specific sensor type and time range, excluding logs from a specific device
      * and with negative readings, using Spring Data. This method performs validation on the input parameters to ensure they are not null.
-     * It converts the TimeStampVO objects to LocalDateTime before passing them to the Spring Data repository method.
+     * It converts the TimeStampVO objects to epoch nanoseconds before passing them to the Spring Data repository method.
      * If any parameter is invalid or if a DataAccessException occurs during query execution, null is returned.
      *
      * @param excludeDeviceID the ID of the device to exclude from the logs.
@@ -215,12 +394,179 @@ public class LogRepositorySpringData implements LogRepository {
             throw new IllegalArgumentException(ERROR_MESSAGE);
         }
         try {
-            LocalDateTime startTime = start.getValue();
-            LocalDateTime endTime = end.getValue();
-            Iterable<LogDataModel> powerSourceLogsDataModel = this.iLogRepositorySpringData.findByNegativeReadingAndNotDeviceIDAndSensorTypeAndTimeBetween(excludeDeviceID, sensorType, startTime, endTime);
+            long startTime = LogDataModel.toEpochNanos(start.getValue());
+            long endTime = LogDataModel.toEpochNanos(end.getValue());
+            List<LogDataModel> powerSourceLogsDataModel = this.iLogRepositorySpringData.findByNegativeReadingAndNotDeviceIDAndSensorTypeAndTimeBetween(excludeDeviceID, sensorType, startTime, endTime);
             return LogAssembler.toDomain(this.logFactory, this.sensorValueFactory, powerSourceLogsDataModel);
         } catch (DataAccessException e) {
             return null;
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Retrieves the time and numeric reading of the temperature logs of a device within a given time range, without
+     * building the logs. Only the needed columns are read, and the readings are those of the logs
+     * {@link #getDeviceTemperatureLogs} returns. If a DataAccessException occurs, it returns an empty series.
+     *
+     * @param deviceID   The device ID to filter the log data by.
+     * @param sensorType The sensor type to filter the log data by.
+     * @param start      The start of the time range to filter the log data by.
+     * @param end        The end of the time range to filter the log data by.
+     * @return The series of the readings that match the query criteria, ordered by time.
+     * @throws IllegalArgumentException if any of the input parameters are null.
+     */
+    @Override
+    public ReadingSeries getDeviceTemperatureSeries(DeviceIDVO deviceID, String sensorType, TimeStampVO start, TimeStampVO end) {
+        if (deviceID == null || sensorType == null || start == null || end == null) {
+            throw new IllegalArgumentException(ERROR_MESSAGE);
+        }
+        return findSeriesByDeviceIDAndSensorTypeAndTimeBetween(deviceID.getID(), sensorType, start, end);
+    }
+
+    /**
+     * Retrieves the time and numeric reading of the logs of a device and sensor type within a given time range,
+     * without building the logs. Only the needed columns are read, and the readings are those of the logs
+     * {@link #findByDeviceIDAndSensorTypeAndTimeBetween} returns. If a DataAccessException occurs, it returns an empty
+     * series.
+     *
+     * @param deviceID the ID of the device to filter logs.
+     * @param sensorType the type of sensor to filter logs.
+     * @param start the start timestamp of the period, represented as a TimeStampVO object.
+     * @param end the end timestamp of the period, represented as a TimeStampVO object.
+     * @return the series of the readings that match the specified criteria, ordered by time.
+     * @throws IllegalArgumentException if any of the input parameters are null.
+     */
+    @Override
+    public ReadingSeries findSeriesByDeviceIDAndSensorTypeAndTimeBetween(String deviceID, String sensorType, TimeStampVO start, TimeStampVO end) {
+        if (deviceID == null || sensorType == null || start == null || end == null) {
+            throw new IllegalArgumentException(ERROR_MESSAGE);
+        }
+        try {
+            long startTime = LogDataModel.toEpochNanos(start.getValue());
+            long endTime = LogDataModel.toEpochNanos(end.getValue());
+            List<LogReadingProjection> rows = this.iLogRepositorySpringData.findReadingsByDeviceIDAndSensorTypeAndTimeBetween(deviceID, sensorType, startTime, endTime);
+            return LogAssembler.toSeries(rows);
+        } catch (DataAccessException e) {
+            return ReadingSeries.empty();
+        }
+    }
+
+    /**
+     * Retrieves the time and numeric reading of the logs of a sensor type within a given time range whose reading is
+     * below zero, excluding the logs of a specific device, without building the logs. Only the needed columns are
+     * read, and the readings are those of the logs
+     * {@link #findByNegativeReadingAndNotDeviceIDAndSensorTypeAndTimeBetween} returns. If a DataAccessException occurs,
+     * it returns an empty series.
+     *
+     * @param excludeDeviceID the ID of the device to exclude from the logs.
+     * @param sensorType the type of sensor to filter logs.
+     * @param start the start timestamp of the period, represented as a TimeStampVO object.
+     * @param end the end timestamp of the period, represented as a TimeStampVO object.
+     * @return the series of the readings that match the specified criteria, ordered by time.
+     * @throws IllegalArgumentException if any of the input parameters are null.
+     */
+    @Override
+    public ReadingSeries findSeriesByNegativeReadingAndNotDeviceIDAndSensorTypeAndTimeBetween(String excludeDeviceID, String sensorType, TimeStampVO start, TimeStampVO end) {
+        if (excludeDeviceID == null || sensorType == null || start == null || end == null) {
+            throw new IllegalArgumentException(ERROR_MESSAGE);
+        }
+        try {
+            long startTime = LogDataModel.toEpochNanos(start.getValue());
+            long endTime = LogDataModel.toEpochNanos(end.getValue());
+            List<LogReadingProjection> rows = this.iLogRepositorySpringData.findReadingsByNegativeReadingAndNotDeviceIDAndSensorTypeAndTimeBetween(excludeDeviceID, sensorType, startTime, endTime);
+            return LogAssembler.toSeries(rows);
+        } catch (DataAccessException e) {
+            return ReadingSeries.empty();
+        }
+    }
+
+    /**
+     * Retrieves the readings of a device and sensor type within a given time range downsampled to the resolution the
+     * retention policy selects for the length of the range, including the readings that have been compacted.
+     * <p>
+     * Unlike the other range queries, which only read the raw logs still kept, this read goes to the aggregate tables:
+     * each point of the series is the average of the numeric readings of one bucket, timed at the start of the bucket.
+     * Raw logs not compacted yet are rolled up into buckets of the same resolution and merged with the stored
+     * aggregates of their bucket. Short ranges, and stores without a retention policy, read the raw readings as
+     * {@link #findSeriesByDeviceIDAndSensorTypeAndTimeBetween} does. Compacted buckets stand for their whole bucket, so
+     * the first one may start slightly before the range. If a DataAccessException occurs, it returns an empty series.
+     * </p>
+     *
+     * @param deviceID   the ID of the device to filter logs.
+     * @param sensorType the type of sensor to filter logs.
+     * @param start      the start timestamp of the period, represented as a TimeStampVO object.
+     * @param end        the end timestamp of the period, represented as a TimeStampVO object.
+     * @return the series of the bucket averages, ordered by time.
+     * @throws IllegalArgumentException if any of the input parameters are null.
+     */
+    public ReadingSeries findDownsampledSeries(String deviceID, String sensorType, TimeStampVO start, TimeStampVO end) {
+        if (deviceID == null || sensorType == null || start == null || end == null) {
+            throw new IllegalArgumentException(ERROR_MESSAGE);
+        }
+        try {
+            long startTime = LogDataModel.toEpochNanos(start.getValue());
+            long endTime = LogDataModel.toEpochNanos(end.getValue());
+            List<LogReadingProjection> rows = this.iLogRepositorySpringData.findReadingsByDeviceIDAndSensorTypeAndTimeBetween(deviceID, sensorType, startTime, endTime);
+            LogResolution resolution = this.retentionPolicy != null
+                    ? this.retentionPolicy.resolutionFor(startTime, endTime) : LogResolution.RAW;
+            if (resolution == LogResolution.RAW) {
+                return LogAssembler.toSeries(rows);
+            }
+            Map<String, LogAggregateDataModel> aggregates = new LinkedHashMap<>(resolution == LogResolution.HOUR
+                    ? LogRollup.rollUpReadings(rows, deviceID, sensorType, resolution, LogHourDataModel::new)
+                    : LogRollup.rollUpReadings(rows, deviceID, sensorType, resolution, LogMinuteDataModel::new));
+            for (LogAggregateDataModel stored : findAggregates(startTime, endTime, resolution,
+                    (repository, from, to) -> repository.findByDeviceIDAndSensorTypeAndBucketBetween(deviceID, sensorType, from, to))) {
+                LogAggregateDataModel rolledUp = aggregates.get(stored.getId());
+                if (rolledUp != null) {
+                    rolledUp.merge(stored);
+                } else {
+                    aggregates.put(stored.getId(), stored);
+                }
+            }
+            ReadingSeries.Builder builder = new ReadingSeries.Builder(aggregates.size());
+            for (LogAggregateDataModel aggregate : aggregates.values()) {
+                builder.add(aggregate.getBucket(), aggregate.getAverage());
+            }
+            return builder.build().sortedByTime();
+        } catch (DataAccessException e) {
+            return ReadingSeries.empty();
+        }
+    }
+
+    /**
+     * Reads the aggregates of the compacted buckets of a window at the given resolution. At hourly resolution every
+     * compacted bucket is read from the per-hour aggregates; otherwise compacted buckets are read from the per-minute
+     * aggregates where they are still kept and from the per-hour aggregates before that.
+     *
+     * @param from       the start of the window in epoch nanoseconds, or Long.MIN_VALUE if unbounded
+     * @param to         the end of the window in epoch nanoseconds, or Long.MAX_VALUE if unbounded
+     * @param resolution the resolution selected for the window
+     * @param query      the query on an aggregate table
+     * @return the aggregates of the window
+     */
+    private List<LogAggregateDataModel> findAggregates(long from, long to, LogResolution resolution, AggregateQuery query) {
+        long minuteCutoff = this.retentionPolicy.minuteCutoff(this.retentionPolicy.now());
+        List<LogAggregateDataModel> aggregates = new ArrayList<>();
+        if (resolution == LogResolution.HOUR) {
+            aggregates.addAll(query.find(this.iLogHourRepositorySpringData, bucketOf(from, LogResolution.HOUR), to));
+        } else {
+            if (to >= minuteCutoff) {
+                long start = Math.max(bucketOf(from, LogResolution.MINUTE), minuteCutoff);
+                aggregates.addAll(query.find(this.iLogMinuteRepositorySpringData, start, to));
+            }
+            if (from < minuteCutoff) {
+                long end = Math.min(to, minuteCutoff - 1);
+                aggregates.addAll(query.find(this.iLogHourRepositorySpringData, bucketOf(from, LogResolution.HOUR), end));
+            }
+        }
+        return aggregates;
+    }
+
+    /**
+     * Returns the start of the bucket that contains the given time, leaving an unbounded start as it is.
+     */
+    private static long bucketOf(long time, LogResolution resolution) {
+        return time == Long.MIN_VALUE ? time : resolution.bucketOf(time);
+    }
+}
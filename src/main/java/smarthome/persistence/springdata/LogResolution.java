@@ -0,0 +1,43 @@
+package smarthome.persistence.springdata;
+
+/**
+ * Resolutions at which sensor logs are stored: the raw readings and the per-minute and per-hour aggregates.
+ */
+public enum LogResolution {
+    RAW(1),
+    MINUTE(60),
+    HOUR(3600);
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final long seconds;
+
+    LogResolution(long seconds) {
+        this.seconds = seconds;
+    }
+
+    /**
+     * Length of a bucket at this resolution, in seconds.
+     */
+    public long getSeconds() {
+        return seconds;
+    }
+
+    /**
+     * Length of a bucket at this resolution, in nanoseconds.
+     */
+    public long getNanos() {
+        return seconds * NANOS_PER_SECOND;
+    }
+
+    /**
+     * Returns the start of the bucket that contains the given time.
+     *
+     * @param time the time in epoch nanoseconds
+     * @return the start of its bucket, in epoch nanoseconds
+     */
+    public long bucketOf(long time) {
+        long nanos = getNanos();
+        return Math.floorDiv(time, nanos) * nanos;
+    }
+}
@@ -0,0 +1,104 @@
+package smarthome.persistence.springdata;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import smarthome.persistence.jpa.datamodel.LogDataModel;
+
+import java.time.LocalDateTime;
+
+/**
+ * Retention settings for sensor logs and the rules derived from them.
+ * <p>
+ * Numeric raw logs are kept for the raw age and then rolled into per-minute and per-hour aggregates; per-minute
+ * aggregates are kept for the minute age and per-hour aggregates are kept forever. Both cut-offs are aligned to the
+ * hour, so every compacted hour is complete in both aggregate tables.
+ * </p>
+ * <p>
+ * A downsampled read uses the coarsest resolution its window allows: windows of at least the hour span read hourly
+ * aggregates, windows of at least the minute span read per-minute aggregates, and shorter or unbounded windows read
+ * raw logs. Compacted periods can only be read that way; the other range queries return the raw logs still kept.
+ * </p>
+ */
+@Component
+@Profile("!tsdb")
+public class LogRetentionPolicy {
+
+    private static final long NANOS_PER_HOUR = 3_600_000_000_000L;
+    private static final long NANOS_PER_DAY = 86_400_000_000_000L;
+
+    private final long rawAgeNanos;
+    private final long minuteAgeNanos;
+    private final long minuteSpanNanos;
+    private final long hourSpanNanos;
+
+    /**
+     * Constructs a new LogRetentionPolicy.
+     *
+     * @param rawAgeHours     how long numeric raw logs are kept before being compacted, in hours
+     * @param minuteAgeDays   how long per-minute aggregates are kept, in days
+     * @param minuteSpanHours shortest window that is read from per-minute aggregates, in hours
+     * @param hourSpanDays    shortest window that is read from per-hour aggregates, in days
+     * @throws IllegalArgumentException if any setting is not positive, if per-minute aggregates would expire before
+     *                                  raw logs or if the hour span is not longer than the minute span
+     */
+    public LogRetentionPolicy(@Value("${smarthome.log.retention.raw-age-hours:168}") long rawAgeHours,
+                              @Value("${smarthome.log.retention.minute-age-days:90}") long minuteAgeDays,
+                              @Value("${smarthome.log.retention.minute-span-hours:48}") long minuteSpanHours,
+                              @Value("${smarthome.log.retention.hour-span-days:30}") long hourSpanDays) {
+        if (rawAgeHours <= 0 || minuteAgeDays <= 0 || minuteSpanHours <= 0 || hourSpanDays <= 0) {
+            throw new IllegalArgumentException("Invalid retention configuration");
+        }
+        this.rawAgeNanos = rawAgeHours * NANOS_PER_HOUR;
+        this.minuteAgeNanos = minuteAgeDays * NANOS_PER_DAY;
+        this.minuteSpanNanos = minuteSpanHours * NANOS_PER_HOUR;
+        this.hourSpanNanos = hourSpanDays * NANOS_PER_DAY;
+        if (this.minuteAgeNanos <= this.rawAgeNanos || this.hourSpanNanos <= this.minuteSpanNanos) {
+            throw new IllegalArgumentException("Invalid retention configuration");
+        }
+    }
+
+    /**
+     * @return the current time in epoch nanoseconds, on the same UTC wall-clock as the stored logs
+     */
+    public long now() {
+        return LogDataModel.toEpochNanos(LocalDateTime.now());
+    }
+
+    /**
+     * @param now the current time in epoch nanoseconds
+     * @return the time before which numeric raw logs are compacted, in epoch nanoseconds
+     */
+    public long rawCutoff(long now) {
+        return LogResolution.HOUR.bucketOf(now - this.rawAgeNanos);
+    }
+
+    /**
+     * @param now the current time in epoch nanoseconds
+     * @return the time before which per-minute aggregates are purged, in epoch nanoseconds
+     */
+    public long minuteCutoff(long now) {
+        return LogResolution.HOUR.bucketOf(now - this.minuteAgeNanos);
+    }
+
+    /**
+     * Selects the resolution a downsampled read uses, from the length of its window.
+     *
+     * @param from the start of the window in epoch nanoseconds, or Long.MIN_VALUE if unbounded
+     * @param to   the end of the window in epoch nanoseconds, or Long.MAX_VALUE if unbounded
+     * @return the coarsest resolution that satisfies the window
+     */
+    public LogResolution resolutionFor(long from, long to) {
+        if (from == Long.MIN_VALUE || to == Long.MAX_VALUE) {
+            return LogResolution.RAW;
+        }
+        long span = to - from;
+        if (span >= this.hourSpanNanos) {
+            return LogResolution.HOUR;
+        }
+        if (span >= this.minuteSpanNanos) {
+            return LogResolution.MINUTE;
+        }
+        return LogResolution.RAW;
+    }
+}
@@ -0,0 +1,81 @@
+package smarthome.persistence.springdata;
+
+import smarthome.persistence.jpa.datamodel.LogAggregateDataModel;
+import smarthome.persistence.jpa.datamodel.LogDataModel;
+import smarthome.persistence.jpa.datamodel.LogReadingProjection;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Folds raw logs into aggregates of a given resolution. Used both to compact stored logs and to downsample raw
+ * logs read for a coarse query, so both produce the same aggregates.
+ */
+final class LogRollup {
+
+    /**
+     * Creates an empty aggregate of one table.
+     */
+    @FunctionalInterface
+    interface AggregateFactory<T extends LogAggregateDataModel> {
+        T create(String sensorID, String deviceID, String sensorTypeID, long bucket);
+    }
+
+    private LogRollup() {
+    }
+
+    /**
+     * Folds the numeric logs into one aggregate per sensor and bucket. Logs without a numeric reading are skipped.
+     *
+     * @param logs       the raw logs, in any order
+     * @param resolution the resolution of the aggregates
+     * @param factory    creates the aggregates of the target table
+     * @return the aggregates, keyed by aggregate ID
+     */
+    static <T extends LogAggregateDataModel> Map<String, T> rollUp(Iterable<LogDataModel> logs, LogResolution resolution,
+                                                                   AggregateFactory<T> factory) {
+        Map<String, T> aggregates = new LinkedHashMap<>();
+        for (LogDataModel log : logs) {
+            Double value = log.getReadingNum();
+            if (value == null) {
+                continue;
+            }
+            long bucket = resolution.bucketOf(log.getEpochTime());
+            String id = LogAggregateDataModel.aggregateID(log.getSensorID(), resolution.getSeconds(), bucket);
+            T aggregate = aggregates.computeIfAbsent(id,
+                    key -> factory.create(log.getSensorID(), log.getDeviceID(), log.getSensorTypeID(), bucket));
+            aggregate.add(log.getEpochTime(), value);
+        }
+        return aggregates;
+    }
+
+    /**
+     * Folds the projected readings of one device and sensor type into one aggregate per sensor and bucket, as
+     * {@link #rollUp} does for whole logs. Readings without a numeric value are skipped.
+     *
+     * @param rows         the projected readings, in any order
+     * @param deviceID     the ID of the device the readings belong to
+     * @param sensorTypeID the ID of the sensor type of the readings
+     * @param resolution   the resolution of the aggregates
+     * @param factory      creates the aggregates of the target table
+     * @return the aggregates, keyed by aggregate ID
+     */
+    static <T extends LogAggregateDataModel> Map<String, T> rollUpReadings(Iterable<LogReadingProjection> rows,
+                                                                           String deviceID, String sensorTypeID,
+                                                                           LogResolution resolution,
+                                                                           AggregateFactory<T> factory) {
+        Map<String, T> aggregates = new LinkedHashMap<>();
+        for (LogReadingProjection row : rows) {
+            Double value = row.readingNum();
+            if (value == null) {
+                continue;
+            }
+            long bucket = resolution.bucketOf(row.time());
+            String id = LogAggregateDataModel.aggregateID(row.sensorID(), resolution.getSeconds(), bucket);
+            T aggregate = aggregates.computeIfAbsent(id,
+                    key -> factory.create(row.sensorID(), deviceID, sensorTypeID, bucket));
+            aggregate.add(row.time(), value);
+        }
+        return aggregates;
+    }
+}
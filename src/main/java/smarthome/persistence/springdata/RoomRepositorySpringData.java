@@ -9,7 +9,10 @@ import smarthome.mapper.assembler.RoomAssembler;
 import smarthome.persistence.RoomRepository;
 import smarthome.persistence.jpa.datamodel.RoomDataModel;
 
+import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 /**
@@ -121,8 +124,7 @@ public class RoomRepositorySpringData implements RoomRepository {
      * Method to check if a Room object is present in the database. It returns true if the Room is present, and false otherwise.
      * This method is an implementation of the isPresent() method in the Repository interface.
      * First, it checks if the RoomIDVO object is null, and throws an IllegalArgumentException if it is.
-     * Then, it gets an Optional of RoomDataModel object by calling getDataModelFromId() method with the RoomIDVO object as a parameter.
-     * Then, it returns a boolean value indicating whether the RoomDataModel object is present by calling isPresent() on the Optional object.
+     * Then, it asks the IRoomRepositorySpringData object whether a row exists with the ID, without loading the RoomDataModel.
      * If a DataAccessException is thrown, it returns false.
      *
      * @param roomIDVO IDVO object of the Room
@@ -135,8 +137,7 @@ public class RoomRepositorySpringData implements RoomRepository {
             throw new IllegalArgumentException("ID is null");
         }
         try {
-            Optional<RoomDataModel> roomDataModelOptional = getDataModelFromId(roomIDVO);
-            return roomDataModelOptional.isPresent();
+            return this.iRoomRepositorySpringData.existsById(roomIDVO.getID());
         } catch (DataAccessException e) {
             return false;
         }
@@ -157,4 +158,24 @@ public class RoomRepositorySpringData implements RoomRepository {
         String roomId = roomIDVO.getID();
         return this.iRoomRepositorySpringData.findById(roomId);
     }
+
+    /**
+     * Finds the rooms with the given IDs with a single query. IDs with no room are skipped.
+     *
+     * @param ids The IDs of the rooms.
+     * @return The rooms found, in no particular order. Empty if a DataAccessException occurs.
+     */
+    @Override
+    public Iterable<Room> findAllByIds(Collection<RoomIDVO> ids) {
+        if (ids == null) {
+            return Collections.emptyList();
+        }
+        List<String> keys = ids.stream().filter(Objects::nonNull).map(RoomIDVO::getID).distinct().toList();
+        try {
+            Iterable<RoomDataModel> dataModels = this.iRoomRepositorySpringData.findAllById(keys);
+            return RoomAssembler.toDomainList(this.roomFactory, dataModels);
+        } catch (DataAccessException e) {
+            return Collections.emptyList();
+        }
+    }
 }
@@ -14,7 +14,10 @@ import smarthome.persistence.SensorRepository;
 import smarthome.persistence.jpa.datamodel.ActuatorDataModel;
 import smarthome.persistence.jpa.datamodel.SensorDataModel;
 
+import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 @Repository
@@ -104,7 +107,11 @@ public class SensorRepositorySpringData implements SensorRepository {
         if (id == null) {
             return false;
         }
-        return findById(id) != null;
+        try {
+            return this.iSensorRepositorySpringData.existsById(id.getID());
+        } catch (DataAccessException e) {
+            return false;
+        }
     }
 
     @Override
@@ -116,4 +123,24 @@ public class SensorRepositorySpringData implements SensorRepository {
             return Collections.emptyList();
         }
     }
+
+    /**
+     * Finds the sensors with the given IDs with a single query. IDs with no sensor are skipped.
+     *
+     * @param ids The IDs of the sensors.
+     * @return The sensors found, in no particular order. Null if a DataAccessException occurs.
+     */
+    @Override
+    public Iterable<Sensor> findAllByIds(Collection<SensorIDVO> ids) {
+        if (ids == null) {
+            return Collections.emptyList();
+        }
+        List<String> keys = ids.stream().filter(Objects::nonNull).map(SensorIDVO::getID).distinct().toList();
+        try {
+            Iterable<SensorDataModel> dataModels = this.iSensorRepositorySpringData.findAllById(keys);
+            return SensorAssembler.toDomain(this.sensorFactory, dataModels);
+        } catch (DataAccessException e) {
+            return null;
+        }
+    }
 }
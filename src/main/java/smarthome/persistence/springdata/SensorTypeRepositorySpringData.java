@@ -2,10 +2,13 @@ package smarthome.persistence.springdata;
 
 import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import smarthome.domain.sensortype.SensorType;
 import smarthome.domain.sensortype.SensorTypeFactory;
 import smarthome.domain.vo.sensortype.SensorTypeIDVO;
 import smarthome.mapper.assembler.SensorTypeAssembler;
+import smarthome.persistence.ReferenceDataCache;
 import smarthome.persistence.SensorTypeRepository;
 import smarthome.persistence.jpa.datamodel.SensorTypeDataModel;
 
@@ -18,6 +21,8 @@ import java.util.Optional;
  * with the data stored for SensorType entities.
  * Depends on ISensorTypeRepositorySpringData for data access
  * and SensorTypeFactory for creating domain objects.
+ * Sensor types are only written when loaded from the configuration, so they are kept in a
+ * {@link ReferenceDataCache} once read and the database is only queried for types not read yet.
  */
 
 @Repository
@@ -25,6 +30,7 @@ public class SensorTypeRepositorySpringData implements SensorTypeRepository {
 
     private final ISensorTypeRepositorySpringData repositorySpringData;
     private final SensorTypeFactory factory;
+    private final ReferenceDataCache<SensorTypeIDVO, SensorType> cache = new ReferenceDataCache<>("sensorTypes");
 
 
     /**
@@ -56,6 +62,7 @@ public class SensorTypeRepositorySpringData implements SensorTypeRepository {
 
         try{
             this.repositorySpringData.save(sensorTypeDataModel);
+            cacheAfterCommit(sensorType);
             return true;
         }catch (DataAccessException e){
             return false;
@@ -64,13 +71,41 @@ public class SensorTypeRepositorySpringData implements SensorTypeRepository {
 
 
     /**
-     * Retrieves all SensorType entities from the database.
+     * Caches a saved SensorType once the transaction it was saved in commits, so a rolled back save is never cached.
+     * Without a surrounding transaction, the save has already committed.
+     *
+     * @param sensorType the SensorType saved
+     */
+    private void cacheAfterCommit(SensorType sensorType) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            this.cache.put(sensorType);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                cache.put(sensorType);
+            }
+        });
+    }
+
+
+    /**
+     * Retrieves all SensorType entities, from the cache once they have been read from the database.
      *
      * @return an Iterable collection of SensorType, or null if an error occurs
-     * @throws DataAccessException if there is any problem occurred during the database access
      */
     @Override
     public Iterable<SensorType> findAll() {
+        return this.cache.getAll(this::loadAll);
+    }
+
+    /**
+     * Reads all SensorType entities from the database.
+     *
+     * @return an Iterable collection of SensorType, or null if an error occurs
+     */
+    private Iterable<SensorType> loadAll() {
         try{
             Iterable<SensorTypeDataModel> sensorTypeDataModelIterable = this.repositorySpringData.findAll();
             return SensorTypeAssembler.toDomain(this.factory, sensorTypeDataModelIterable);
@@ -81,17 +116,26 @@ public class SensorTypeRepositorySpringData implements SensorTypeRepository {
 
 
     /**
-     * Finds a single SensorType by its ID.
+     * Finds a single SensorType by its ID, reading it from the database if it is not cached.
      *
      * @param id the ID value object of the SensorType to find
      * @return the found SensorType, or null if not found or an error occurs
-     * @throws DataAccessException if there is any problem occurred during the database access
      */
     @Override
     public SensorType findById(SensorTypeIDVO id) {
         if(id == null){
             return null;
         }
+        return this.cache.get(id, this::load);
+    }
+
+    /**
+     * Reads a single SensorType from the database.
+     *
+     * @param id the ID value object of the SensorType to read
+     * @return the SensorType, or null if not found or an error occurs
+     */
+    private SensorType load(SensorTypeIDVO id) {
         String sensorTypeID = id.getID();
         try{
             Optional<SensorTypeDataModel> sensorTypeDataModelOptional = this.repositorySpringData.findById(sensorTypeID);
@@ -109,17 +153,21 @@ public class SensorTypeRepositorySpringData implements SensorTypeRepository {
 
 
     /**
-     * Checks if a SensorType with the specified ID exists in the database.
+     * Checks if a SensorType with the specified ID exists. Types not cached yet are read, rather than only checked, so
+     * later checks and lookups are answered from the cache.
      *
      * @param id the ID value object of the SensorType to check
      * @return true if an entity with the specified ID exists, false otherwise
-     * @throws DataAccessException if there is any problem occurred during the database access
      */
     @Override
     public boolean isPresent(SensorTypeIDVO id) {
-        if(id == null){
-            return false;
-        }
         return findById(id) != null;
     }
+
+    /**
+     * @return the cache of the sensor types
+     */
+    public ReferenceDataCache<SensorTypeIDVO, SensorType> getCache() {
+        return this.cache;
+    }
 }
@@ -0,0 +1,53 @@
+package smarthome.persistence.tsdb;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Sequential bit reader over a region of a (possibly memory-mapped) buffer. Reads use absolute positions, so the
+ * buffer position is never modified and the same buffer can be shared by concurrent readers.
+ */
+final class BitReader {
+
+    private final ByteBuffer buffer;
+    private final int start;
+    private long bitPosition;
+
+    /**
+     * Constructs a BitReader starting at the given byte offset.
+     *
+     * @param buffer the buffer to read from
+     * @param start  offset of the first byte of the bit stream
+     */
+    BitReader(ByteBuffer buffer, int start) {
+        this.buffer = buffer;
+        this.start = start;
+    }
+
+    /**
+     * @return the next bit
+     */
+    boolean readBit() {
+        return readBits(1) == 1;
+    }
+
+    /**
+     * Reads the next {@code count} bits as an unsigned value, most significant first.
+     *
+     * @param count number of bits to read, between 0 and 64
+     * @return the bits read
+     */
+    long readBits(int count) {
+        long value = 0;
+        int remaining = count;
+        while (remaining > 0) {
+            int current = this.buffer.get(this.start + (int) (this.bitPosition >>> 3)) & 0xFF;
+            int availableInByte = 8 - (int) (this.bitPosition & 7);
+            int toRead = Math.min(availableInByte, remaining);
+            int bits = (current >>> (availableInByte - toRead)) & ((1 << toRead) - 1);
+            value = (value << toRead) | bits;
+            this.bitPosition += toRead;
+            remaining -= toRead;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,59 @@
+package smarthome.persistence.tsdb;
+
+import java.util.Arrays;
+
+/**
+ * Append-only bit stream backed by a growable byte array. Bits are written most significant first.
+ */
+final class BitWriter {
+
+    private byte[] buffer;
+    private long bitPosition;
+
+    /**
+     * Constructs a BitWriter with the given initial capacity.
+     *
+     * @param initialBytes initial size of the backing array, in bytes
+     */
+    BitWriter(int initialBytes) {
+        this.buffer = new byte[Math.max(initialBytes, 16)];
+    }
+
+    /**
+     * Writes a single bit.
+     *
+     * @param bit the bit to write
+     */
+    void writeBit(boolean bit) {
+        writeBits(bit ? 1 : 0, 1);
+    }
+
+    /**
+     * Writes the lowest {@code count} bits of {@code value}, most significant first.
+     *
+     * @param value the bits to write
+     * @param count number of bits to write, between 0 and 64
+     */
+    void writeBits(long value, int count) {
+        int remaining = count;
+        while (remaining > 0) {
+            int byteIndex = (int) (this.bitPosition >>> 3);
+            if (byteIndex >= this.buffer.length) {
+                this.buffer = Arrays.copyOf(this.buffer, this.buffer.length * 2);
+            }
+            int freeInByte = 8 - (int) (this.bitPosition & 7);
+            int toWrite = Math.min(freeInByte, remaining);
+            int bits = (int) ((value >>> (remaining - toWrite)) & ((1L << toWrite) - 1));
+            this.buffer[byteIndex] |= (byte) (bits << (freeInByte - toWrite));
+            this.bitPosition += toWrite;
+            remaining -= toWrite;
+        }
+    }
+
+    /**
+     * @return the written bits, padded with zeros up to a whole byte
+     */
+    byte[] toByteArray() {
+        return Arrays.copyOf(this.buffer, (int) ((this.bitPosition + 7) >>> 3));
+    }
+}
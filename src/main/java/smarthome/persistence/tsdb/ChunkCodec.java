@@ -0,0 +1,317 @@
+package smarthome.persistence.tsdb;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Encodes and decodes the blocks appended to a chunk file.
+ * <p>
+ * A block holds the readings of one series sorted by time. Timestamps are kept in nanoseconds, so a reading comes
+ * back at the exact time it was taken, and stored as delta-of-delta values with variable-length bit prefixes, so
+ * readings taken at a regular interval cost a single bit each. Numeric readings are
+ * stored with XOR compression against the previous value (Gorilla encoding), so a repeated or slowly changing value
+ * costs one bit or a few meaningful bits. Text readings are stored as length-prefixed UTF-8 and log identifiers as
+ * 16 raw bytes.
+ * </p>
+ * <p>
+ * Block layout: magic, point count, min time, max time, value kind, timestamp section length, value section length,
+ * then the timestamp section, the value section and the identifiers. The min and max time let readers skip blocks
+ * outside a queried range without decoding them.
+ * </p>
+ */
+final class ChunkCodec {
+
+    static final int MAGIC = 0x54534232;
+    static final int HEADER_BYTES = Integer.BYTES * 4 + Long.BYTES * 2 + 1;
+    private static final int ID_BYTES = Long.BYTES * 2;
+
+    private ChunkCodec() {
+    }
+
+    /**
+     * Encodes the given points as one block.
+     *
+     * @param points the points to encode; all readings must be accepted by {@code kind}
+     * @param kind   the value encoding of the block
+     * @return a buffer positioned at zero holding the whole block
+     */
+    static ByteBuffer encode(List<DataPoint> points, ValueKind kind) {
+        List<DataPoint> sorted = new ArrayList<>(points);
+        sorted.sort(Comparator.comparingLong(DataPoint::epochNanos));
+        int count = sorted.size();
+
+        byte[] times = encodeTimestamps(sorted);
+        byte[] values = kind == ValueKind.TEXT ? encodeText(sorted) : encodeNumeric(sorted);
+
+        ByteBuffer block = ByteBuffer.allocate(HEADER_BYTES + times.length + values.length + count * ID_BYTES);
+        block.putInt(MAGIC);
+        block.putInt(count);
+        block.putLong(sorted.get(0).epochNanos());
+        block.putLong(sorted.get(count - 1).epochNanos());
+        block.put((byte) kind.ordinal());
+        block.putInt(times.length);
+        block.putInt(values.length);
+        block.put(times);
+        block.put(values);
+        for (DataPoint point : sorted) {
+            block.putLong(point.id().getMostSignificantBits());
+            block.putLong(point.id().getLeastSignificantBits());
+        }
+        return block.flip();
+    }
+
+    /**
+     * Checks whether a complete block starts at the given offset.
+     *
+     * @param buffer the chunk contents
+     * @param offset offset of the block
+     * @param limit  number of valid bytes in the buffer
+     * @return true if a complete, well-formed block header is found
+     */
+    static boolean hasBlock(ByteBuffer buffer, int offset, int limit) {
+        return offset + HEADER_BYTES <= limit && buffer.getInt(offset) == MAGIC && offset + blockLength(buffer, offset) <= limit;
+    }
+
+    /**
+     * @param buffer the chunk contents
+     * @param offset offset of the block
+     * @return total length of the block, header included
+     */
+    static int blockLength(ByteBuffer buffer, int offset) {
+        int count = buffer.getInt(offset + 4);
+        return HEADER_BYTES + timesLength(buffer, offset) + valuesLength(buffer, offset) + count * ID_BYTES;
+    }
+
+    /**
+     * @param buffer the chunk contents
+     * @param offset offset of the block
+     * @return earliest timestamp of the block, in epoch nanoseconds
+     */
+    static long minTime(ByteBuffer buffer, int offset) {
+        return buffer.getLong(offset + 8);
+    }
+
+    /**
+     * @param buffer the chunk contents
+     * @param offset offset of the block
+     * @return latest timestamp of the block, in epoch nanoseconds
+     */
+    static long maxTime(ByteBuffer buffer, int offset) {
+        return buffer.getLong(offset + 16);
+    }
+
+    /**
+     * Decodes the block starting at the given offset.
+     *
+     * @param buffer the chunk contents
+     * @param offset offset of the block
+     * @return the points of the block, sorted by time
+     */
+    static List<DataPoint> decode(ByteBuffer buffer, int offset) {
+        int count = buffer.getInt(offset + 4);
+        ValueKind kind = ValueKind.values()[buffer.get(offset + 24)];
+        int timesStart = offset + HEADER_BYTES;
+        int valuesStart = timesStart + timesLength(buffer, offset);
+        int idsStart = valuesStart + valuesLength(buffer, offset);
+
+        long[] times = decodeTimestamps(new BitReader(buffer, timesStart), count);
+        String[] readings = kind == ValueKind.TEXT
+                ? decodeText(buffer, valuesStart, valuesLength(buffer, offset), count)
+                : decodeNumeric(new BitReader(buffer, valuesStart), count, kind);
+
+        List<DataPoint> points = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int idOffset = idsStart + i * ID_BYTES;
+            UUID id = new UUID(buffer.getLong(idOffset), buffer.getLong(idOffset + Long.BYTES));
+            points.add(new DataPoint(id, times[i], readings[i]));
+        }
+        return points;
+    }
+
+    /**
+     * Reads the log identifiers of the block starting at the given offset, without decoding its timestamps or
+     * readings.
+     *
+     * @param buffer the chunk contents
+     * @param offset offset of the block
+     * @return the identifiers of the points of the block
+     */
+    static List<UUID> ids(ByteBuffer buffer, int offset) {
+        int count = buffer.getInt(offset + 4);
+        int idsStart = offset + HEADER_BYTES + timesLength(buffer, offset) + valuesLength(buffer, offset);
+        List<UUID> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int idOffset = idsStart + i * ID_BYTES;
+            ids.add(new UUID(buffer.getLong(idOffset), buffer.getLong(idOffset + Long.BYTES)));
+        }
+        return ids;
+    }
+
+    private static int timesLength(ByteBuffer buffer, int offset) {
+        return buffer.getInt(offset + 25);
+    }
+
+    private static int valuesLength(ByteBuffer buffer, int offset) {
+        return buffer.getInt(offset + 29);
+    }
+
+    /**
+     * Delta-of-delta encoding: the first timestamp is stored in full, then each timestamp is stored as the change
+     * between its delta and the previous delta, using the shortest of five bucket sizes. The 32-bit bucket covers
+     * the sub-second jitter of readings taken at a nominally regular interval.
+     */
+    private static byte[] encodeTimestamps(List<DataPoint> points) {
+        BitWriter writer = new BitWriter(points.size());
+        long previous = points.get(0).epochNanos();
+        long previousDelta = 0;
+        writer.writeBits(previous, 64);
+        for (int i = 1; i < points.size(); i++) {
+            long time = points.get(i).epochNanos();
+            long delta = time - previous;
+            long deltaOfDelta = delta - previousDelta;
+            if (deltaOfDelta == 0) {
+                writer.writeBit(false);
+            } else if (deltaOfDelta >= -63 && deltaOfDelta <= 64) {
+                writer.writeBits(0b10, 2);
+                writer.writeBits(deltaOfDelta + 63, 7);
+            } else if (deltaOfDelta >= -255 && deltaOfDelta <= 256) {
+                writer.writeBits(0b110, 3);
+                writer.writeBits(deltaOfDelta + 255, 9);
+            } else if (deltaOfDelta >= -2047 && deltaOfDelta <= 2048) {
+                writer.writeBits(0b1110, 4);
+                writer.writeBits(deltaOfDelta + 2047, 12);
+            } else if (deltaOfDelta >= Integer.MIN_VALUE && deltaOfDelta <= Integer.MAX_VALUE) {
+                writer.writeBits(0b11110, 5);
+                writer.writeBits(deltaOfDelta - Integer.MIN_VALUE, 32);
+            } else {
+                writer.writeBits(0b11111, 5);
+                writer.writeBits(deltaOfDelta, 64);
+            }
+            previous = time;
+            previousDelta = delta;
+        }
+        return writer.toByteArray();
+    }
+
+    private static long[] decodeTimestamps(BitReader reader, int count) {
+        long[] times = new long[count];
+        long previous = reader.readBits(64);
+        long previousDelta = 0;
+        times[0] = previous;
+        for (int i = 1; i < count; i++) {
+            long deltaOfDelta;
+            if (!reader.readBit()) {
+                deltaOfDelta = 0;
+            } else if (!reader.readBit()) {
+                deltaOfDelta = reader.readBits(7) - 63;
+            } else if (!reader.readBit()) {
+                deltaOfDelta = reader.readBits(9) - 255;
+            } else if (!reader.readBit()) {
+                deltaOfDelta = reader.readBits(12) - 2047;
+            } else if (!reader.readBit()) {
+                deltaOfDelta = reader.readBits(32) + Integer.MIN_VALUE;
+            } else {
+                deltaOfDelta = reader.readBits(64);
+            }
+            long delta = previousDelta + deltaOfDelta;
+            previous += delta;
+            previousDelta = delta;
+            times[i] = previous;
+        }
+        return times;
+    }
+
+    /**
+     * XOR encoding: the first value is stored in full; each next value is XORed with the previous one. An identical
+     * value costs one bit; otherwise only the meaningful bits of the XOR are stored, reusing the previous window of
+     * leading and trailing zeros when it still fits.
+     */
+    private static byte[] encodeNumeric(List<DataPoint> points) {
+        BitWriter writer = new BitWriter(points.size() * 2);
+        long previous = Double.doubleToRawLongBits(Double.parseDouble(points.get(0).reading()));
+        int previousLeading = -1;
+        int previousTrailing = 0;
+        writer.writeBits(previous, 64);
+        for (int i = 1; i < points.size(); i++) {
+            long bits = Double.doubleToRawLongBits(Double.parseDouble(points.get(i).reading()));
+            long xor = bits ^ previous;
+            if (xor == 0) {
+                writer.writeBit(false);
+            } else {
+                writer.writeBit(true);
+                int leading = Math.min(Long.numberOfLeadingZeros(xor), 31);
+                int trailing = Long.numberOfTrailingZeros(xor);
+                if (previousLeading >= 0 && leading >= previousLeading && trailing >= previousTrailing) {
+                    writer.writeBit(false);
+                    writer.writeBits(xor >>> previousTrailing, 64 - previousLeading - previousTrailing);
+                } else {
+                    int significant = 64 - leading - trailing;
+                    writer.writeBit(true);
+                    writer.writeBits(leading, 5);
+                    writer.writeBits(significant - 1L, 6);
+                    writer.writeBits(xor >>> trailing, significant);
+                    previousLeading = leading;
+                    previousTrailing = trailing;
+                }
+            }
+            previous = bits;
+        }
+        return writer.toByteArray();
+    }
+
+    private static String[] decodeNumeric(BitReader reader, int count, ValueKind kind) {
+        String[] readings = new String[count];
+        long previous = reader.readBits(64);
+        int previousLeading = 0;
+        int previousTrailing = 0;
+        readings[0] = kind.format(Double.longBitsToDouble(previous));
+        for (int i = 1; i < count; i++) {
+            if (reader.readBit()) {
+                if (reader.readBit()) {
+                    previousLeading = (int) reader.readBits(5);
+                    int significant = (int) reader.readBits(6) + 1;
+                    previousTrailing = 64 - previousLeading - significant;
+                }
+                long xor = reader.readBits(64 - previousLeading - previousTrailing) << previousTrailing;
+                previous ^= xor;
+            }
+            readings[i] = kind.format(Double.longBitsToDouble(previous));
+        }
+        return readings;
+    }
+
+    private static byte[] encodeText(List<DataPoint> points) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(points.size() * 8);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            for (DataPoint point : points) {
+                out.writeUTF(point.reading());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static String[] decodeText(ByteBuffer buffer, int start, int length, int count) {
+        byte[] bytes = new byte[length];
+        buffer.get(start, bytes);
+        String[] readings = new String[count];
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            for (int i = 0; i < count; i++) {
+                readings[i] = in.readUTF();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return readings;
+    }
+}
@@ -0,0 +1,13 @@
+package smarthome.persistence.tsdb;
+
+import java.util.UUID;
+
+/**
+ * A single reading of a series: the log identifier, the timestamp in epoch nanoseconds and the reading as stored.
+ *
+ * @param id         the log identifier
+ * @param epochNanos the timestamp of the reading, in nanoseconds since the epoch (UTC wall-clock)
+ * @param reading    the reading as stored
+ */
+record DataPoint(UUID id, long epochNanos, String reading) {
+}
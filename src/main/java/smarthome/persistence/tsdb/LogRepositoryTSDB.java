@@ -0,0 +1,652 @@
+package smarthome.persistence.tsdb;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+import smarthome.domain.log.Log;
+import smarthome.domain.log.LogFactory;
+import smarthome.domain.log.ReadingSeries;
+import smarthome.domain.sensor.sensorvalues.SensorValueFactory;
+import smarthome.domain.sensor.sensorvalues.SensorValueObject;
+import smarthome.domain.vo.devicevo.DeviceIDVO;
+import smarthome.domain.vo.logvo.LogCursorVO;
+import smarthome.domain.vo.logvo.LogIDVO;
+import smarthome.domain.vo.logvo.TimeStampVO;
+import smarthome.domain.vo.sensortype.SensorTypeIDVO;
+import smarthome.domain.vo.sensorvo.SensorIDVO;
+import smarthome.persistence.LogRepository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * LogRepository backed by a compressed, append-only time-series store on the local file system.
+ * <p>
+ * Readings are grouped into one series per sensor and partitioned by day into chunk files, with timestamps stored as
+ * delta-of-delta values and numeric readings XOR-compressed (see {@link ChunkCodec}). Range queries only touch the
+ * day partitions and blocks that overlap the requested period, and chunk files are read through memory mapping.
+ * The device and sensor type of a series are kept once in its metadata instead of once per reading.
+ * </p>
+ * <p>
+ * Readings are buffered per series and day until a block is full; buffered readings are visible to queries
+ * immediately and are written to disk by a background flush every flush interval and on shutdown. Timestamps are
+ * kept to the nanosecond. Each series indexes the blocks of its readings by log identifier in memory, so looking a
+ * log up by its identifier decodes a single block.
+ * </p>
+ * <p>
+ * Enabled with the {@code tsdb} Spring profile, which replaces the Spring Data implementation.
+ * </p>
+ */
+@Repository
+@Profile("tsdb")
+public class LogRepositoryTSDB implements LogRepository {
+    private final LogFactory logFactory;
+    private final SensorValueFactory sensorValueFactory;
+    private final Path root;
+    private final int blockSize;
+    private final long flushIntervalMillis;
+    private final Map<String, Series> seriesBySensor = new ConcurrentHashMap<>();
+    private ScheduledExecutorService flusher;
+    private static final String ERROR_MESSAGE = "Invalid parameters.";
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final Comparator<Log> BY_POSITION = Comparator.comparing((Log log) -> log.getTime().getValue())
+            .thenComparing(log -> log.getId().getID());
+
+    /**
+     * Constructor for LogRepositoryTSDB.
+     *
+     * @param logFactory          the factory used to create Log domain objects
+     * @param sensorValueFactory  the factory used to create SensorValue domain objects
+     * @param path                the directory holding the store
+     * @param blockSize           maximum number of readings per compressed block
+     * @param flushIntervalMillis interval between background flushes of buffered readings
+     * @throws IllegalArgumentException if the path is empty or the block size or flush interval is not positive
+     */
+    public LogRepositoryTSDB(LogFactory logFactory, SensorValueFactory sensorValueFactory,
+                             @Value("${smarthome.tsdb.path:data/tsdb}") String path,
+                             @Value("${smarthome.tsdb.block-size:1024}") int blockSize,
+                             @Value("${smarthome.tsdb.flush-interval-ms:1000}") long flushIntervalMillis) {
+        if (logFactory == null || sensorValueFactory == null || path == null || path.isBlank() || blockSize <= 0
+                || flushIntervalMillis <= 0) {
+            throw new IllegalArgumentException(ERROR_MESSAGE);
+        }
+        this.logFactory = logFactory;
+        this.sensorValueFactory = sensorValueFactory;
+        this.root = Paths.get(path);
+        this.blockSize = blockSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+    }
+
+    /**
+     * Opens every series found in the store directory and starts the background flush.
+     *
+     * @throws IOException if the store directory or a series cannot be read
+     */
+    @PostConstruct
+    public void open() throws IOException {
+        Files.createDirectories(this.root);
+        try (DirectoryStream<Path> directories = Files.newDirectoryStream(this.root, Files::isDirectory)) {
+            for (Path directory : directories) {
+                if (Files.exists(directory.resolve(Series.META_FILE))) {
+                    Series series = Series.open(directory, this.blockSize);
+                    this.seriesBySensor.put(series.getSensorID(), series);
+                }
+            }
+        }
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "tsdb-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.flusher.scheduleWithFixedDelay(this::flush, this.flushIntervalMillis, this.flushIntervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the background flush and writes every buffered reading to disk.
+     */
+    @PreDestroy
+    public void close() {
+        if (this.flusher != null) {
+            this.flusher.shutdown();
+            try {
+                this.flusher.awaitTermination(this.flushIntervalMillis, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flush();
+    }
+
+    /**
+     * Writes every buffered reading to disk.
+     *
+     * @return true if every series was flushed, false otherwise
+     */
+    public boolean flush() {
+        boolean flushed = true;
+        for (Series series : this.seriesBySensor.values()) {
+            try {
+                series.flush();
+            } catch (IOException e) {
+                flushed = false;
+            }
+        }
+        return flushed;
+    }
+
+    /**
+     * Appends a log to the series of its sensor.
+     *
+     * @param log the log to be saved
+     * @return true if the log was saved successfully, false otherwise
+     * @throws IllegalArgumentException if the log is null
+     */
+    @Override
+    public boolean save(Log log) {
+        if (log == null) {
+            throw new IllegalArgumentException("Log cannot be null");
+        }
+        try {
+            return append(log);
+        } catch (IOException | UncheckedIOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Appends a group of logs to the series of their sensors. The store has no transactions: if a write fails,
+     * the logs appended before it are kept.
+     *
+     * @param logs the logs to be saved
+     * @return true if every log was saved, false otherwise
+     * @throws IllegalArgumentException if logs is null or contains a null log
+     */
+    @Override
+    public boolean saveAll(Iterable<Log> logs) {
+        if (logs == null) {
+            throw new IllegalArgumentException("Logs cannot be null");
+        }
+        List<Log> logList = new ArrayList<>();
+        for (Log log : logs) {
+            if (log == null) {
+                throw new IllegalArgumentException("Log cannot be null");
+            }
+            logList.add(log);
+        }
+        try {
+            for (Log log : logList) {
+                if (!append(log)) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (IOException | UncheckedIOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Retrieves a log by its ID.
+     *
+     * @param logIDVO the ID of the log to be retrieved
+     * @return the retrieved log, or null if no log with the given ID was found
+     * @throws IllegalArgumentException if the logIDVO is null
+     */
+    @Override
+    public Log findById(LogIDVO logIDVO) {
+        if (logIDVO == null) {
+            throw new IllegalArgumentException("LogIDVO cannot be null");
+        }
+        UUID id = UUID.fromString(logIDVO.getID());
+        try {
+            for (Series series : this.seriesBySensor.values()) {
+                DataPoint point = series.find(id);
+                if (point != null) {
+                    return toDomain(series, point);
+                }
+            }
+        } catch (IOException | UncheckedIOException e) {
+            return null;
+        }
+        return null;
+    }
+
+    /**
+     * Checks if a log with the given ID is present.
+     *
+     * @param id the ID of the log
+     * @return true if the log is present, false otherwise
+     * @throws IllegalArgumentException if the id is null
+     */
+    @Override
+    public boolean isPresent(LogIDVO id) {
+        if (id == null) {
+            throw new IllegalArgumentException("ID cannot be null");
+        }
+        UUID uuid = UUID.fromString(id.getID());
+        for (Series series : this.seriesBySensor.values()) {
+            if (series.contains(uuid)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Retrieves all logs.
+     *
+     * @return an Iterable of all logs, or null if the store cannot be read
+     */
+    @Override
+    public Iterable<Log> findAll() {
+        try {
+            return query(series -> true, Long.MIN_VALUE, Long.MAX_VALUE, reading -> true);
+        } catch (IOException | UncheckedIOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Retrieves all logs associated with a specific device within a given time period. A null bound leaves that
+     * side of the period open.
+     *
+     * @param deviceID the ID of the device
+     * @param from     the start of the time period
+     * @param to       the end of the time period
+     * @return an Iterable of logs that match the given criteria
+     * @throws IllegalArgumentException if the deviceID is null
+     */
+    @Override
+    public Iterable<Log> findReadingsByDeviceID(DeviceIDVO deviceID, TimeStampVO from, TimeStampVO to) {
+        if (deviceID == null) {
+            throw new IllegalArgumentException("Invalid parameters: deviceID is null");
+        }
+        long fromNanos = from != null ? toEpochNanos(from) : Long.MIN_VALUE;
+        long toNanos = to != null ? toEpochNanos(to) : Long.MAX_VALUE;
+        try {
+            return query(series -> series.getDeviceID().equals(deviceID.getID()), fromNanos, toNanos,
+                    reading -> true);
+        } catch (IOException | UncheckedIOException e) {
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Streams all logs associated with a specific device within a given time period, one series and day partition
+     * at a time, so only the partition being read is held in memory. Logs come ordered by time within each sensor.
+     *
+     * @param deviceID the ID of the device
+     * @param from     the start of the time period, or null for no lower bound
+     * @param to       the end of the time period, or null for no upper bound
+     * @return a Stream of logs that match the given criteria
+     * @throws IllegalArgumentException if the deviceID is null
+     */
+    @Override
+    public Stream<Log> streamReadingsByDeviceID(DeviceIDVO deviceID, TimeStampVO from, TimeStampVO to) {
+        if (deviceID == null) {
+            throw new IllegalArgumentException("Invalid parameters: deviceID is null");
+        }
+        long fromNanos = from != null ? toEpochNanos(from) : Long.MIN_VALUE;
+        long toNanos = to != null ? toEpochNanos(to) : Long.MAX_VALUE;
+        return seriesOf(deviceID).stream().flatMap(series -> series.partitions(fromNanos, toNanos).stream()
+                .flatMap(day -> readPartition(series, day, fromNanos, toNanos)));
+    }
+
+    /**
+     * Retrieves one page of the logs of a device within a given time period, ordered by time and log ID.
+     * The cursor time narrows the period, and the day partitions of the device are then read one at a time in the
+     * direction of the page, starting next to the cursor, until the page is full; the partitions beyond are not
+     * decoded.
+     *
+     * @param deviceID the ID of the device
+     * @param from     the start of the time period, or null for no lower bound
+     * @param to       the end of the time period, or null for no upper bound
+     * @param cursor   the position the page starts from, or null for the first page
+     * @param limit    the maximum number of logs in the page
+     * @return an Iterable of logs in ascending order of time and log ID, or an empty list if the store cannot be read
+     * @throws IllegalArgumentException if the deviceID is null or the limit is not positive
+     */
+    @Override
+    public Iterable<Log> findReadingsPageByDeviceID(DeviceIDVO deviceID, TimeStampVO from, TimeStampVO to, LogCursorVO cursor, int limit) {
+        if (deviceID == null || limit <= 0) {
+            throw new IllegalArgumentException(ERROR_MESSAGE);
+        }
+        long fromNanos = from != null ? toEpochNanos(from) : Long.MIN_VALUE;
+        long toNanos = to != null ? toEpochNanos(to) : Long.MAX_VALUE;
+        boolean forward = cursor == null || cursor.isForward();
+        if (cursor != null && forward) {
+            fromNanos = Math.max(fromNanos, toEpochNanos(cursor.getTime()));
+        } else if (cursor != null) {
+            toNanos = Math.min(toNanos, toEpochNanos(cursor.getTime()));
+        }
+        List<Series> selected = seriesOf(deviceID);
+        TreeSet<Long> days = new TreeSet<>();
+        for (Series series : selected) {
+            days.addAll(series.partitions(fromNanos, toNanos));
+        }
+        List<Log> page = new ArrayList<>();
+        try {
+            for (long day : forward ? days : days.descendingSet()) {
+                List<Log> logs = new ArrayList<>();
+                for (Series series : selected) {
+                    for (DataPoint point : series.readPartition(day, fromNanos, toNanos)) {
+                        Log log = toDomain(series, point);
+                        if (log != null && isOnPage(log, cursor)) {
+                            logs.add(log);
+                        }
+                    }
+                }
+                logs.sort(forward ? BY_POSITION : BY_POSITION.reversed());
+                page.addAll(logs.subList(0, Math.min(limit - page.size(), logs.size())));
+                if (page.size() == limit) {
+                    break;
+                }
+            }
+        } catch (IOException | UncheckedIOException e) {
+            return new ArrayList<>();
+        }
+        if (!forward) {
+            Collections.reverse(page);
+        }
+        return page;
+    }
+
+    /**
+     * Retrieves the logs of a device and sensor type within the given time range.
+     *
+     * @param deviceID   the ID of the device
+     * @param sensorType the sensor type ID
+     * @param start      the start of the time range
+     * @param end        the end of the time range
+     * @return an Iterable of logs that match the given criteria, or null if the store cannot be read
+     * @throws IllegalArgumentException if any of the parameters are null
+     */
+    @Override
+    public Iterable<Log> getDeviceTemperatureLogs(DeviceIDVO deviceID, String sensorType, TimeStampVO start, TimeStampVO end) {
+        if (deviceID == null || sensorType == null || start == null || end == null) {
+            throw new IllegalArgumentException(ERROR_MESSAGE);
+        }
+        return findByDeviceIDAndSensorTypeAndTimeBetween(deviceID.getID(), sensorType, start, end);
+    }
+
+    /**
+     * Retrieves the logs of a device and sensor type within the given time range.
+     *
+     * @param deviceID   the ID of the device
+     * @param sensorType the sensor type ID
+     * @param start      the start of the time range
+     * @param end        the end of the time range
+     * @return an Iterable of logs that match the given criteria, or null if the store cannot be read
+     * @throws IllegalArgumentException if any of the parameters are null
+     */
+    @Override
+    public Iterable<Log> findByDeviceIDAndSensorTypeAndTimeBetween(String deviceID, String sensorType, TimeStampVO start, TimeStampVO end) {
+        if (deviceID == null || sensorType == null || start == null || end == null) {
+            throw new IllegalArgumentException(ERROR_MESSAGE);
+        }
+        try {
+            return query(series -> series.getDeviceID().equals(deviceID) && series.getSensorTypeID().equals(sensorType),
+                    toEpochNanos(start), toEpochNanos(end), reading -> true);
+        } catch (IOException | UncheckedIOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Retrieves the logs of a sensor type within the given time range whose numeric reading is below zero,
+     * excluding the logs of the given device.
+     *
+     * @param excludeDeviceID the ID of the device to exclude
+     * @param sensorType      the sensor type ID
+     * @param start           the start of the time range
+     * @param end             the end of the time range
+     * @return an Iterable of logs that match the given criteria, or null if the store cannot be read
+     * @throws IllegalArgumentException if any of the parameters are null
+     */
+    @Override
+    public Iterable<Log> findByNegativeReadingAndNotDeviceIDAndSensorTypeAndTimeBetween(String excludeDeviceID, String sensorType, TimeStampVO start, TimeStampVO end) {
+        if (excludeDeviceID == null || sensorType == null || start == null || end == null) {
+            throw new IllegalArgumentException(ERROR_MESSAGE);
+        }
+        try {
+            return query(series -> !series.getDeviceID().equals(excludeDeviceID) && series.getSensorTypeID().equals(sensorType),
+                    toEpochNanos(start), toEpochNanos(end), LogRepositoryTSDB::isNegative);
+        } catch (IOException | UncheckedIOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Retrieves the time and numeric reading of the logs of a device and sensor type within the given time range,
+     * without building the logs.
+     *
+     * @param deviceID   the ID of the device
+     * @param sensorType the sensor type ID
+     * @param start      the start of the time range
+     * @param end        the end of the time range
+     * @return the series of the matching readings ordered by time, empty if the store cannot be read
+     * @throws IllegalArgumentException if any of the parameters are null
+     */
+    @Override
+    public ReadingSeries getDeviceTemperatureSeries(DeviceIDVO deviceID, String sensorType, TimeStampVO start, TimeStampVO end) {
+        if (deviceID == null || sensorType == null || start == null || end == null) {
+            throw new IllegalArgumentException(ERROR_MESSAGE);
+        }
+        return findSeriesByDeviceIDAndSensorTypeAndTimeBetween(deviceID.getID(), sensorType, start, end);
+    }
+
+    /**
+     * Retrieves the time and numeric reading of the logs of a device and sensor type within the given time range,
+     * without building the logs.
+     *
+     * @param deviceID   the ID of the device
+     * @param sensorType the sensor type ID
+     * @param start      the start of the time range
+     * @param end        the end of the time range
+     * @return the series of the matching readings ordered by time, empty if the store cannot be read
+     * @throws IllegalArgumentException if any of the parameters are null
+     */
+    @Override
+    public ReadingSeries findSeriesByDeviceIDAndSensorTypeAndTimeBetween(String deviceID, String sensorType, TimeStampVO start, TimeStampVO end) {
+        if (deviceID == null || sensorType == null || start == null || end == null) {
+            throw new IllegalArgumentException(ERROR_MESSAGE);
+        }
+        try {
+            return querySeries(series -> series.getDeviceID().equals(deviceID) && series.getSensorTypeID().equals(sensorType),
+                    toEpochNanos(start), toEpochNanos(end), reading -> true);
+        } catch (IOException | UncheckedIOException e) {
+            return ReadingSeries.empty();
+        }
+    }
+
+    /**
+     * Retrieves the time and numeric reading of the logs of a sensor type within the given time range whose reading
+     * is below zero, excluding the logs of the given device, without building the logs.
+     *
+     * @param excludeDeviceID the ID of the device to exclude
+     * @param sensorType      the sensor type ID
+     * @param start           the start of the time range
+     * @param end             the end of the time range
+     * @return the series of the matching readings ordered by time, empty if the store cannot be read
+     * @throws IllegalArgumentException if any of the parameters are null
+     */
+    @Override
+    public ReadingSeries findSeriesByNegativeReadingAndNotDeviceIDAndSensorTypeAndTimeBetween(String excludeDeviceID, String sensorType, TimeStampVO start, TimeStampVO end) {
+        if (excludeDeviceID == null || sensorType == null || start == null || end == null) {
+            throw new IllegalArgumentException(ERROR_MESSAGE);
+        }
+        try {
+            return querySeries(series -> !series.getDeviceID().equals(excludeDeviceID) && series.getSensorTypeID().equals(sensorType),
+                    toEpochNanos(start), toEpochNanos(end), LogRepositoryTSDB::isNegative);
+        } catch (IOException | UncheckedIOException e) {
+            return ReadingSeries.empty();
+        }
+    }
+
+    /**
+     * Appends a log to the series of its sensor, creating the series on first use.
+     *
+     * @return false if the sensor already has a series for a different device or sensor type
+     */
+    private boolean append(Log log) throws IOException {
+        String sensorID = log.getSensorID().getID();
+        String deviceID = log.getDeviceID().getID();
+        String sensorTypeID = log.getSensorTypeID().getID();
+        Series series = this.seriesBySensor.computeIfAbsent(sensorID, key -> {
+            try {
+                return Series.create(this.root, key, deviceID, sensorTypeID, this.blockSize);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        if (!series.getDeviceID().equals(deviceID) || !series.getSensorTypeID().equals(sensorTypeID)) {
+            return false;
+        }
+        UUID id = UUID.fromString(log.getId().getID());
+        series.append(new DataPoint(id, toEpochNanos(log.getTime()), log.getReading().getValue().toString()));
+        return true;
+    }
+
+    /**
+     * Reads the matching readings of every selected series and converts them to logs sorted by time.
+     */
+    private List<Log> query(Predicate<Series> seriesFilter, long from, long to, Predicate<String> readingFilter) throws IOException {
+        List<Log> logs = new ArrayList<>();
+        for (Series series : this.seriesBySensor.values()) {
+            if (!seriesFilter.test(series)) {
+                continue;
+            }
+            for (DataPoint point : series.read(from, to)) {
+                if (readingFilter.test(point.reading())) {
+                    Log log = toDomain(series, point);
+                    if (log != null) {
+                        logs.add(log);
+                    }
+                }
+            }
+        }
+        logs.sort(BY_POSITION);
+        return logs;
+    }
+
+    /**
+     * Lists the series of the sensors of a device.
+     */
+    private List<Series> seriesOf(DeviceIDVO deviceID) {
+        List<Series> selected = new ArrayList<>();
+        for (Series series : this.seriesBySensor.values()) {
+            if (series.getDeviceID().equals(deviceID.getID())) {
+                selected.add(series);
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * Reads the matching numeric readings of every selected series into a series of readings, in the same order as
+     * {@link #query} returns their logs. Readings that are not numeric are skipped.
+     */
+    private ReadingSeries querySeries(Predicate<Series> seriesFilter, long from, long to, Predicate<String> readingFilter) throws IOException {
+        List<DataPoint> points = new ArrayList<>();
+        for (Series series : this.seriesBySensor.values()) {
+            if (!seriesFilter.test(series)) {
+                continue;
+            }
+            for (DataPoint point : series.read(from, to)) {
+                if (ValueKind.of(point.reading()) != ValueKind.TEXT && readingFilter.test(point.reading())) {
+                    points.add(point);
+                }
+            }
+        }
+        points.sort(Comparator.comparingLong(DataPoint::epochNanos).thenComparing(point -> point.id().toString()));
+        ReadingSeries.Builder builder = new ReadingSeries.Builder(points.size());
+        for (DataPoint point : points) {
+            builder.add(point.epochNanos(), Double.parseDouble(point.reading()));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Reads one day partition of a series and converts its readings to logs.
+     */
+    private Stream<Log> readPartition(Series series, long day, long from, long to) {
+        try {
+            return series.readPartition(day, from, to).stream()
+                    .map(point -> toDomain(series, point))
+                    .filter(Objects::nonNull);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Rebuilds a log from a stored reading and the metadata of its series.
+     *
+     * @return the log, or null if the reading is no longer valid for the sensor type
+     */
+    private Log toDomain(Series series, DataPoint point) {
+        SensorTypeIDVO sensorTypeIDVO = new SensorTypeIDVO(series.getSensorTypeID());
+        SensorValueObject<?> reading = this.sensorValueFactory.createSensorValue(point.reading(), sensorTypeIDVO);
+        if (reading == null) {
+            return null;
+        }
+        LogIDVO logIDVO = new LogIDVO(point.id());
+        long seconds = Math.floorDiv(point.epochNanos(), NANOS_PER_SECOND);
+        int nanos = (int) Math.floorMod(point.epochNanos(), NANOS_PER_SECOND);
+        TimeStampVO timeStamp = new TimeStampVO(LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC));
+        SensorIDVO sensorIDVO = new SensorIDVO(UUID.fromString(series.getSensorID()));
+        DeviceIDVO deviceIDVO = new DeviceIDVO(UUID.fromString(series.getDeviceID()));
+        return this.logFactory.createLog(logIDVO, timeStamp, reading, sensorIDVO, deviceIDVO, sensorTypeIDVO);
+    }
+
+    /**
+     * Tells whether a log lies past the cursor, in the direction of the cursor, comparing (time, log ID) positions.
+     * Every log is on the first page, which has no cursor.
+     */
+    private static boolean isOnPage(Log log, LogCursorVO cursor) {
+        if (cursor == null) {
+            return true;
+        }
+        int byTime = log.getTime().getValue().compareTo(cursor.getTime().getValue());
+        int position = byTime != 0 ? byTime : log.getId().getID().compareTo(cursor.getLogID().getID());
+        return cursor.isForward() ? position > 0 : position < 0;
+    }
+
+    private static boolean isNegative(String reading) {
+        return ValueKind.of(reading) != ValueKind.TEXT && Double.parseDouble(reading) < 0;
+    }
+
+    private static long toEpochNanos(TimeStampVO timeStamp) {
+        return ReadingSeries.toEpochNanos(timeStamp.getValue());
+    }
+
+    /**
+     * @return number of sensors with readings in the store
+     */
+    public int getSeriesCount() {
+        return this.seriesBySensor.size();
+    }
+}
@@ -0,0 +1,382 @@
+package smarthome.persistence.tsdb;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * The readings of one sensor, stored in a directory with one append-only chunk file per day.
+ * <p>
+ * New readings are kept in an in-memory head block per day and appended to the chunk file as one compressed block
+ * when the head is full, when a reading needs a different value encoding, or when the series is flushed. Readers map
+ * the committed part of each chunk file read-only and merge it with the current head, so a reading is visible as
+ * soon as it is appended. A torn block left by a crash is truncated away when the series is opened.
+ * </p>
+ * <p>
+ * The series keeps an in-memory index from log identifier to the block holding the reading, built from the block
+ * identifiers when the series is opened, so a reading is found by its identifier by decoding a single block.
+ * </p>
+ */
+final class Series {
+
+    static final String META_FILE = "series.properties";
+    private static final String CHUNK_SUFFIX = ".chunk";
+    private static final String DEVICE_KEY = "deviceID";
+    private static final String SENSOR_TYPE_KEY = "sensorTypeID";
+    private static final long NANOS_PER_DAY = 86_400_000_000_000L;
+    private static final int IN_HEAD = -1;
+
+    private final String sensorID;
+    private final String deviceID;
+    private final String sensorTypeID;
+    private final Path directory;
+    private final int blockSize;
+    private final Map<Long, Head> heads = new HashMap<>();
+    private final NavigableMap<Long, Long> committedLengths = new TreeMap<>();
+    private final Map<UUID, Location> index = new HashMap<>();
+
+    /**
+     * Where a reading is kept: the day partition, and the offset of its block in the chunk file of that day or
+     * {@link #IN_HEAD} while it is still buffered.
+     */
+    private record Location(long day, int offset) {
+    }
+
+    /**
+     * Readings of one day not yet written to the chunk file, all sharing the same value encoding.
+     */
+    private static final class Head {
+        private final ValueKind kind;
+        private final List<DataPoint> points = new ArrayList<>();
+
+        private Head(ValueKind kind) {
+            this.kind = kind;
+        }
+    }
+
+    private Series(String sensorID, String deviceID, String sensorTypeID, Path directory, int blockSize) {
+        this.sensorID = sensorID;
+        this.deviceID = deviceID;
+        this.sensorTypeID = sensorTypeID;
+        this.directory = directory;
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * Creates the directory and metadata of a new series.
+     *
+     * @param root         the root directory of the store
+     * @param sensorID     the sensor the readings belong to
+     * @param deviceID     the device the sensor belongs to
+     * @param sensorTypeID the type of the sensor
+     * @param blockSize    maximum number of readings per block
+     * @return the new, empty series
+     * @throws IOException if the directory or metadata cannot be written
+     */
+    static Series create(Path root, String sensorID, String deviceID, String sensorTypeID, int blockSize) throws IOException {
+        Path directory = Files.createDirectories(root.resolve(sensorID));
+        Properties meta = new Properties();
+        meta.setProperty(DEVICE_KEY, deviceID);
+        meta.setProperty(SENSOR_TYPE_KEY, sensorTypeID);
+        try (OutputStream out = Files.newOutputStream(directory.resolve(META_FILE))) {
+            meta.store(out, null);
+        }
+        return new Series(sensorID, deviceID, sensorTypeID, directory, blockSize);
+    }
+
+    /**
+     * Opens an existing series, validating and indexing its chunk files.
+     *
+     * @param directory the series directory, named after the sensor
+     * @param blockSize maximum number of readings per block
+     * @return the series
+     * @throws IOException if the metadata or chunk files cannot be read
+     */
+    static Series open(Path directory, int blockSize) throws IOException {
+        Properties meta = new Properties();
+        try (InputStream in = Files.newInputStream(directory.resolve(META_FILE))) {
+            meta.load(in);
+        }
+        Series series = new Series(directory.getFileName().toString(), meta.getProperty(DEVICE_KEY),
+                meta.getProperty(SENSOR_TYPE_KEY), directory, blockSize);
+        try (DirectoryStream<Path> chunks = Files.newDirectoryStream(directory, "*" + CHUNK_SUFFIX)) {
+            for (Path chunk : chunks) {
+                String name = chunk.getFileName().toString();
+                long day = LocalDate.parse(name.substring(0, name.length() - CHUNK_SUFFIX.length())).toEpochDay();
+                series.committedLengths.put(day, series.recover(day, chunk));
+            }
+        }
+        return series;
+    }
+
+    /**
+     * Walks the blocks of a chunk file, indexing their identifiers, and truncates anything after the last complete
+     * block.
+     *
+     * @param day   the partition, as an epoch day
+     * @param chunk the chunk file
+     * @return the length of the valid part of the file
+     */
+    private long recover(long day, Path chunk) throws IOException {
+        try (FileChannel channel = FileChannel.open(chunk, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            int size = (int) channel.size();
+            if (size == 0) {
+                return 0;
+            }
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            int offset = 0;
+            while (ChunkCodec.hasBlock(buffer, offset, size)) {
+                Location location = new Location(day, offset);
+                for (UUID id : ChunkCodec.ids(buffer, offset)) {
+                    this.index.put(id, location);
+                }
+                offset += ChunkCodec.blockLength(buffer, offset);
+            }
+            if (offset < size) {
+                channel.truncate(offset);
+            }
+            return offset;
+        }
+    }
+
+    String getSensorID() {
+        return this.sensorID;
+    }
+
+    String getDeviceID() {
+        return this.deviceID;
+    }
+
+    String getSensorTypeID() {
+        return this.sensorTypeID;
+    }
+
+    /**
+     * Adds a reading to the head block of its day, writing the head to disk when it is full. If the head cannot be
+     * written, the reading is taken out of it again, so a failed append leaves no trace of the reading and can be
+     * retried.
+     *
+     * @param point the reading to add
+     * @throws IOException if a block cannot be written
+     */
+    synchronized void append(DataPoint point) throws IOException {
+        long day = Math.floorDiv(point.epochNanos(), NANOS_PER_DAY);
+        Head head = this.heads.get(day);
+        if (head != null && !head.kind.accepts(point.reading())) {
+            writeBlock(day, head);
+            this.heads.remove(day);
+            head = null;
+        }
+        if (head == null) {
+            head = new Head(ValueKind.of(point.reading()));
+            this.heads.put(day, head);
+        }
+        head.points.add(point);
+        if (head.points.size() < this.blockSize) {
+            this.index.put(point.id(), new Location(day, IN_HEAD));
+            return;
+        }
+        boolean written = false;
+        try {
+            writeBlock(day, head);
+            written = true;
+        } finally {
+            if (written) {
+                this.heads.remove(day);
+            } else {
+                head.points.remove(head.points.size() - 1);
+                if (head.points.isEmpty()) {
+                    this.heads.remove(day);
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes every head block to disk.
+     *
+     * @throws IOException if a block cannot be written
+     */
+    synchronized void flush() throws IOException {
+        List<Long> days = new ArrayList<>(this.heads.keySet());
+        for (Long day : days) {
+            writeBlock(day, this.heads.get(day));
+            this.heads.remove(day);
+        }
+    }
+
+    /**
+     * Appends a head block to the chunk file of its day. The block is written at the committed length so a
+     * previously failed write is overwritten rather than left in the middle of the file. Once written, the readings
+     * of the block are indexed at its offset.
+     */
+    private void writeBlock(long day, Head head) throws IOException {
+        ByteBuffer block = ChunkCodec.encode(head.points, head.kind);
+        long start = this.committedLengths.getOrDefault(day, 0L);
+        long position = start;
+        Path chunk = this.directory.resolve(LocalDate.ofEpochDay(day) + CHUNK_SUFFIX);
+        try (FileChannel channel = FileChannel.open(chunk, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            int length = block.remaining();
+            while (block.hasRemaining()) {
+                position += channel.write(block, position);
+            }
+            channel.force(false);
+            this.committedLengths.merge(day, (long) length, Long::sum);
+        }
+        Location location = new Location(day, (int) start);
+        for (DataPoint point : head.points) {
+            this.index.put(point.id(), location);
+        }
+    }
+
+    /**
+     * Retrieves the readings taken within the given range, both ends included, in no particular order.
+     * Blocks entirely outside the range are skipped without being decoded.
+     *
+     * @param from start of the range, in epoch nanoseconds
+     * @param to   end of the range, in epoch nanoseconds
+     * @return the readings in the range
+     * @throws IOException if a chunk file cannot be mapped
+     */
+    List<DataPoint> read(long from, long to) throws IOException {
+        List<DataPoint> result = new ArrayList<>();
+        for (long day : partitions(from, to)) {
+            result.addAll(readPartition(day, from, to));
+        }
+        return result;
+    }
+
+    /**
+     * Lists the day partitions, written or still buffered, that may hold readings within the given range.
+     *
+     * @param from start of the range, in epoch nanoseconds
+     * @param to   end of the range, in epoch nanoseconds
+     * @return the partitions as epoch days, in ascending order
+     */
+    synchronized List<Long> partitions(long from, long to) {
+        long fromDay = Math.floorDiv(from, NANOS_PER_DAY);
+        long toDay = Math.floorDiv(to, NANOS_PER_DAY);
+        NavigableMap<Long, Boolean> days = new TreeMap<>();
+        for (Long day : this.committedLengths.subMap(fromDay, true, toDay, true).keySet()) {
+            days.put(day, Boolean.TRUE);
+        }
+        for (Long day : this.heads.keySet()) {
+            if (day >= fromDay && day <= toDay) {
+                days.put(day, Boolean.TRUE);
+            }
+        }
+        return new ArrayList<>(days.keySet());
+    }
+
+    /**
+     * Retrieves the readings of one day partition taken within the given range, sorted by time. The written part
+     * of the partition is read through a memory mapping of the length committed when the call starts, and merged
+     * with the readings still buffered for that day.
+     *
+     * @param day  the partition, as an epoch day
+     * @param from start of the range, in epoch nanoseconds
+     * @param to   end of the range, in epoch nanoseconds
+     * @return the readings of the partition in the range
+     * @throws IOException if the chunk file cannot be mapped
+     */
+    List<DataPoint> readPartition(long day, long from, long to) throws IOException {
+        List<DataPoint> result = new ArrayList<>();
+        long length;
+        synchronized (this) {
+            length = this.committedLengths.getOrDefault(day, 0L);
+            Head head = this.heads.get(day);
+            if (head != null) {
+                addInRange(result, head.points, from, to);
+            }
+        }
+        readChunk(result, day, (int) length, from, to);
+        result.sort(Comparator.comparingLong(DataPoint::epochNanos));
+        return result;
+    }
+
+    /**
+     * Finds a reading by its log identifier, decoding only the block that holds it.
+     *
+     * @param id the log identifier
+     * @return the reading, or null if the series does not contain it
+     * @throws IOException if a chunk file cannot be mapped
+     */
+    DataPoint find(UUID id) throws IOException {
+        Location location;
+        long length;
+        synchronized (this) {
+            location = this.index.get(id);
+            if (location == null) {
+                return null;
+            }
+            if (location.offset() == IN_HEAD) {
+                return findIn(this.heads.get(location.day()).points, id);
+            }
+            length = this.committedLengths.get(location.day());
+        }
+        Path chunk = this.directory.resolve(LocalDate.ofEpochDay(location.day()) + CHUNK_SUFFIX);
+        try (FileChannel channel = FileChannel.open(chunk, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, location.offset(),
+                    length - location.offset());
+            return findIn(ChunkCodec.decode(buffer, 0), id);
+        }
+    }
+
+    /**
+     * @return true if the series holds a reading with the given log identifier
+     */
+    synchronized boolean contains(UUID id) {
+        return this.index.containsKey(id);
+    }
+
+    private static DataPoint findIn(List<DataPoint> points, UUID id) {
+        for (DataPoint point : points) {
+            if (point.id().equals(id)) {
+                return point;
+            }
+        }
+        return null;
+    }
+
+    private void readChunk(List<DataPoint> result, long day, int length, long from, long to) throws IOException {
+        if (length == 0) {
+            return;
+        }
+        Path chunk = this.directory.resolve(LocalDate.ofEpochDay(day) + CHUNK_SUFFIX);
+        try (FileChannel channel = FileChannel.open(chunk, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+            int offset = 0;
+            while (offset < length) {
+                if (ChunkCodec.maxTime(buffer, offset) >= from && ChunkCodec.minTime(buffer, offset) <= to) {
+                    addInRange(result, ChunkCodec.decode(buffer, offset), from, to);
+                }
+                offset += ChunkCodec.blockLength(buffer, offset);
+            }
+        }
+    }
+
+    private static void addInRange(List<DataPoint> result, List<DataPoint> points, long from, long to) {
+        for (DataPoint point : points) {
+            if (point.epochNanos() >= from && point.epochNanos() <= to) {
+                result.add(point);
+            }
+        }
+    }
+}
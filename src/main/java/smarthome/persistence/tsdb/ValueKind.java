@@ -0,0 +1,75 @@
+package smarthome.persistence.tsdb;
+
+/**
+ * Encoding used for the readings of a block. Numeric readings are stored as doubles with XOR compression; the kind
+ * remembers how the original reading was written so it can be rebuilt exactly. Any other reading is stored as text.
+ */
+enum ValueKind {
+
+    /**
+     * Readings written as whole numbers, e.g. "250".
+     */
+    INTEGRAL,
+
+    /**
+     * Readings written as Java doubles, e.g. "23.5".
+     */
+    DECIMAL,
+
+    /**
+     * Readings that are not numeric, e.g. "44:W" or "On".
+     */
+    TEXT;
+
+    /**
+     * Determines the most compact kind able to represent the given reading without loss.
+     *
+     * @param reading the reading as stored
+     * @return the kind for the reading
+     */
+    static ValueKind of(String reading) {
+        if (INTEGRAL.accepts(reading)) {
+            return INTEGRAL;
+        }
+        if (DECIMAL.accepts(reading)) {
+            return DECIMAL;
+        }
+        return TEXT;
+    }
+
+    /**
+     * Checks whether the given reading can be stored with this kind and rebuilt unchanged.
+     *
+     * @param reading the reading as stored
+     * @return true if the reading round-trips through this kind
+     */
+    boolean accepts(String reading) {
+        switch (this) {
+            case INTEGRAL:
+                try {
+                    long value = Long.parseLong(reading);
+                    return Math.abs(value) < (1L << 53) && Long.toString(value).equals(reading);
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            case DECIMAL:
+                try {
+                    return Double.toString(Double.parseDouble(reading)).equals(reading);
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * Rebuilds the reading of a numeric kind from its stored value.
+     *
+     * @param value the stored value
+     * @return the reading exactly as it was written
+     */
+    String format(double value) {
+        return this == INTEGRAL ? Long.toString((long) value) : Double.toString(value);
+    }
+}
@@ -26,6 +26,7 @@ public class ActuatorServiceImpl implements ActuatorService {
     private final ActuatorFactory actuatorFactory;
     private final ActuatorRepository actuatorRepository;
     private ActuatorExternalService actuatorExternalService;
+    private FunctionalityIndex functionalityIndex;
 
     /**
      * Constructs an instance of V1ActuatorService with the provided dependencies.
@@ -87,6 +88,9 @@ public class ActuatorServiceImpl implements ActuatorService {
         Actuator newActuator = this.actuatorFactory.createActuator(actuatorNameVO, actuatorTypeIDVO,
                 deviceIDVO, settings);
         if (this.actuatorRepository.save(newActuator)) {
+            if (this.functionalityIndex != null) {
+                this.functionalityIndex.add(actuatorTypeIDVO.getID(), deviceIDVO);
+            }
             return Optional.of(newActuator);
         }
         return Optional.empty();
@@ -103,6 +107,17 @@ public class ActuatorServiceImpl implements ActuatorService {
         this.actuatorExternalService = actuatorExternalService;
     }
 
+    /**
+     * Setter method for the FunctionalityIndex to provide setter injection of this component. When set, every actuator
+     * added is recorded in the index.
+     *
+     * @param functionalityIndex The FunctionalityIndex to be set.
+     */
+    @Autowired(required = false)
+    public void setFunctionalityIndex(FunctionalityIndex functionalityIndex) {
+        this.functionalityIndex = functionalityIndex;
+    }
+
     /**
      * Closes a roller blind actuator associated with the provided actuator ID.
      *
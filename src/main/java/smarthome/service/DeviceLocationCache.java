@@ -0,0 +1,200 @@
+package smarthome.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import smarthome.domain.device.Device;
+import smarthome.domain.room.Room;
+import smarthome.domain.vo.devicevo.DeviceIDVO;
+import smarthome.domain.vo.roomvo.RoomIDVO;
+import smarthome.persistence.DeviceRepository;
+import smarthome.persistence.RoomRepository;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory cache of where each device is placed: its room, and the floor and height of that room. Services that only
+ * need the placement of a device, such as checking whether it is outdoors, read it here instead of loading the device
+ * and its room.
+ * <p>
+ * The cache is warmed from the repositories once the application is ready, and the services record the rooms and
+ * devices they add. Devices and rooms not known yet, such as those saved straight through the repositories, are
+ * loaded on first use. Placement does not change once a device is added, so entries are only replaced when a room is
+ * recorded again, in which case the devices in it are looked up anew.
+ * </p>
+ * <p>
+ * Devices in the same room share one {@link Location}, so the cache holds little more than a reference per device.
+ * </p>
+ * <p>
+ * Disabled with {@code smarthome.device-location-cache.enabled=false}, in which case services load the device and its
+ * room.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(name = "smarthome.device-location-cache.enabled", havingValue = "true", matchIfMissing = true)
+public class DeviceLocationCache {
+
+    private final DeviceRepository deviceRepository;
+    private final RoomRepository roomRepository;
+    private final Map<RoomIDVO, Location> rooms = new ConcurrentHashMap<>();
+    private final Map<DeviceIDVO, Location> devices = new ConcurrentHashMap<>();
+
+    /**
+     * The placement of a room, and of the devices in it.
+     */
+    public static final class Location {
+
+        private final RoomIDVO roomID;
+        private final int floor;
+        private final double height;
+
+        private Location(Room room) {
+            this.roomID = room.getId();
+            this.floor = room.getFloor().getValue();
+            this.height = room.getRoomDimensions().getRoomHeight();
+        }
+
+        /**
+         * @return The ID of the room.
+         */
+        public RoomIDVO getRoomID() {
+            return this.roomID;
+        }
+
+        /**
+         * @return The floor of the room.
+         */
+        public int getFloor() {
+            return this.floor;
+        }
+
+        /**
+         * @return The height of the room.
+         */
+        public double getHeight() {
+            return this.height;
+        }
+
+        /**
+         * @return true if the room is outdoors, which rooms with no height are.
+         */
+        public boolean isOutdoor() {
+            return this.height == 0;
+        }
+    }
+
+    /**
+     * Constructs a DeviceLocationCache.
+     *
+     * @param deviceRepository The repository of the devices.
+     * @param roomRepository   The repository of the rooms.
+     * @throws IllegalArgumentException if any repository is null.
+     */
+    public DeviceLocationCache(DeviceRepository deviceRepository, RoomRepository roomRepository) {
+        if (deviceRepository == null || roomRepository == null) {
+            throw new IllegalArgumentException("Invalid repository.");
+        }
+        this.deviceRepository = deviceRepository;
+        this.roomRepository = roomRepository;
+    }
+
+    /**
+     * Warms the cache once the application, including its bootstrap data, is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        warm();
+    }
+
+    /**
+     * Loads the placement of every room and device in the repositories.
+     *
+     * @return true if the cache was warmed, false if the rooms or devices could not be read, in which case they are
+     * loaded on first use.
+     */
+    public boolean warm() {
+        Iterable<Room> allRooms = this.roomRepository.findAll();
+        Iterable<Device> allDevices = this.deviceRepository.findAll();
+        if (allRooms == null || allDevices == null) {
+            return false;
+        }
+        allRooms.forEach(this::record);
+        allDevices.forEach(this::record);
+        return true;
+    }
+
+    /**
+     * Records the placement of a room. If the room was known with another placement, the devices in it are looked up
+     * anew.
+     *
+     * @param room The room, as saved.
+     */
+    public void record(Room room) {
+        if (room == null || room.getId() == null) {
+            return;
+        }
+        Location location = new Location(room);
+        Location previous = this.rooms.put(room.getId(), location);
+        if (previous != null && (previous.floor != location.floor || previous.height != location.height)) {
+            this.devices.values().removeIf(deviceLocation -> deviceLocation == previous);
+        }
+    }
+
+    /**
+     * Records the placement of a device. Ignored if its room cannot be found.
+     *
+     * @param device The device, as saved.
+     */
+    public void record(Device device) {
+        if (device == null || device.getId() == null) {
+            return;
+        }
+        Location location = roomLocation(device.getRoomID());
+        if (location != null) {
+            this.devices.put(device.getId(), location);
+        }
+    }
+
+    /**
+     * Gets the placement of a device, loading it if it is not known yet.
+     *
+     * @param deviceID The ID of the device.
+     * @return The placement of the device, or null if the device or its room cannot be found.
+     */
+    public Location getLocation(DeviceIDVO deviceID) {
+        if (deviceID == null) {
+            return null;
+        }
+        Location location = this.devices.get(deviceID);
+        if (location != null) {
+            return location;
+        }
+        Device device = this.deviceRepository.findById(deviceID);
+        if (device == null) {
+            return null;
+        }
+        record(device);
+        return this.devices.get(deviceID);
+    }
+
+    /**
+     * Gets the placement of a room, loading it if it is not known yet.
+     */
+    private Location roomLocation(RoomIDVO roomID) {
+        if (roomID == null) {
+            return null;
+        }
+        Location location = this.rooms.get(roomID);
+        if (location != null) {
+            return location;
+        }
+        Room room = this.roomRepository.findById(roomID);
+        if (room == null) {
+            return null;
+        }
+        record(room);
+        return this.rooms.get(roomID);
+    }
+}
@@ -1,5 +1,6 @@
 package smarthome.service;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import smarthome.domain.actuator.Actuator;
 import smarthome.domain.device.Device;
@@ -28,6 +29,8 @@ public class DeviceServiceImpl implements DeviceService {
     private final DeviceRepository deviceRepository;
     private final SensorRepository sensorRepository;
     private final ActuatorRepository actuatorRepository;
+    private FunctionalityIndex functionalityIndex;
+    private DeviceLocationCache deviceLocationCache;
     private static final String NOT_PRESENT_MESSAGE = " is not present.";
 
     /**
@@ -53,6 +56,28 @@ public class DeviceServiceImpl implements DeviceService {
         this.actuatorRepository = actuatorRepository;
     }
 
+    /**
+     * Setter method for the FunctionalityIndex to provide setter injection of this component. When set, devices are
+     * listed by functionality from the index.
+     *
+     * @param functionalityIndex The FunctionalityIndex to be set.
+     */
+    @Autowired(required = false)
+    public void setFunctionalityIndex(FunctionalityIndex functionalityIndex) {
+        this.functionalityIndex = functionalityIndex;
+    }
+
+    /**
+     * Setter method for the DeviceLocationCache to provide setter injection of this component. When set, this service
+     * records in it the placement of the devices it adds.
+     *
+     * @param deviceLocationCache The DeviceLocationCache to be set.
+     */
+    @Autowired(required = false)
+    public void setDeviceLocationCache(DeviceLocationCache deviceLocationCache) {
+        this.deviceLocationCache = deviceLocationCache;
+    }
+
     /**
      * Adds a new Device with the provided details to the system.
      * This method first checks if the specified Room, identified by roomIDVO, is present in the system.
@@ -76,6 +101,9 @@ public class DeviceServiceImpl implements DeviceService {
         }
         Device newDevice = deviceFactory.createDevice(deviceNameVO, deviceModelVO, roomIDVO);
         if (deviceRepository.save(newDevice)) {
+            if (deviceLocationCache != null) {
+                deviceLocationCache.record(newDevice);
+            }
             return Optional.of(newDevice);
         }
         return Optional.empty();
@@ -154,28 +182,35 @@ public class DeviceServiceImpl implements DeviceService {
 
     /**
      * This method obtains a list of devices by functionality. The return format is: String (related to the type) as key,
-     * and a list of Device objects as values.
+     * and a list of Device objects as values. The FunctionalityIndex answers when it is available; otherwise every
+     * sensor and actuator is read.
      * @return Map String to List of Devices
      */
     public Map<String, List<Device>> getListOfDeviceByFunctionality(){
-        LinkedHashMap<String,List<DeviceIDVO>> sensorMap = getMapDeviceIDBySensorType();
-        LinkedHashMap<String,List<DeviceIDVO>> actuatorMap = getMapDeviceIDBySensorAndActuatorType();
-        LinkedHashMap<String,List<DeviceIDVO>> sensorActuatorMap = mergeMaps(sensorMap,actuatorMap);
+        if (functionalityIndex != null) {
+            Map<String, List<Device>> indexed = functionalityIndex.getDevicesByFunctionality();
+            if (indexed != null) {
+                return indexed;
+            }
+        }
+        LinkedHashMap<String,Set<DeviceIDVO>> sensorMap = getMapDeviceIDBySensorType();
+        LinkedHashMap<String,Set<DeviceIDVO>> actuatorMap = getMapDeviceIDBySensorAndActuatorType();
+        LinkedHashMap<String,Set<DeviceIDVO>> sensorActuatorMap = mergeMaps(sensorMap,actuatorMap);
         return getDevices(sensorActuatorMap);
     }
 
     /**
      * This method leverages the sensor repository implementation to retrieve a comprehensive list of sensors. Subsequently,
      * it iterates through each sensor object, extracting their sensorTypeID and deviceID. These sensorTypeIDs are then mapped
-     * as keys in a map structure. For each unique sensorTypeID, a corresponding list of DeviceIDs is created, ensuring avoidance
+     * as keys in a map structure. For each unique sensorTypeID, a corresponding set of DeviceIDs is created, ensuring avoidance
      * of duplicate deviceIDs per sensorTypeID. The method's return value is of type Map, where each key corresponds to a sensorTypeID,
-     * and its value is a list of DeviceIDVO objects representing the devices associated with that sensorTypeID.
+     * and its value is a set of DeviceIDVO objects representing the devices associated with that sensorTypeID.
      */
-    private LinkedHashMap<String,List<DeviceIDVO>> getMapDeviceIDBySensorType(){
+    private LinkedHashMap<String,Set<DeviceIDVO>> getMapDeviceIDBySensorType(){
         Iterable<Sensor> sensorList = sensorRepository.findAll();
 
         if(sensorList != null){
-            LinkedHashMap<String,List<DeviceIDVO>> map = new LinkedHashMap<>();
+            LinkedHashMap<String,Set<DeviceIDVO>> map = new LinkedHashMap<>();
             for (Sensor sensor : sensorList){
                 String type = sensor.getSensorTypeID().getID();
                 DeviceIDVO deviceID = sensor.getDeviceID();
@@ -189,16 +224,16 @@ public class DeviceServiceImpl implements DeviceService {
     /**
      * This method uses the actuator repository implementation to retrieve a complete list of actuators. It subsequently
      * iterates through each actuator object, extracting their actuatorTypeID and deviceID. These actuatorTypeIDs are then
-     * mapped as keys in a map structure. For each unique actuatorTypeID, a corresponding list of DeviceIDs is created,
+     * mapped as keys in a map structure. For each unique actuatorTypeID, a corresponding set of DeviceIDs is created,
      * ensuring avoidance of duplicate deviceIDs per actuatorTypeID. The method's return value is a Map where each key
-     * represents an actuatorTypeID, and its value is a list of DeviceIDVO objects each representing a device associated
+     * represents an actuatorTypeID, and its value is a set of DeviceIDVO objects each representing a device associated
      * with that actuatorTypeID.
      */
-    private LinkedHashMap<String,List<DeviceIDVO>> getMapDeviceIDBySensorAndActuatorType(){
+    private LinkedHashMap<String,Set<DeviceIDVO>> getMapDeviceIDBySensorAndActuatorType(){
         Iterable<Actuator> actuatorList = actuatorRepository.findAll();
 
         if(actuatorList != null){
-            LinkedHashMap<String,List<DeviceIDVO>> map = new LinkedHashMap<>();
+            LinkedHashMap<String,Set<DeviceIDVO>> map = new LinkedHashMap<>();
             for (Actuator actuator : actuatorList){
                 String type = actuator.getActuatorTypeID().getID();
                 DeviceIDVO deviceID = actuator.getDeviceID();
@@ -215,57 +250,56 @@ public class DeviceServiceImpl implements DeviceService {
      * @param map2 Second map
      * @return Map containing the merged key+value pairs of each map
      */
-    private LinkedHashMap<String,List<DeviceIDVO>> mergeMaps (LinkedHashMap<String,List<DeviceIDVO>> map1, LinkedHashMap<String,List<DeviceIDVO>> map2){
-        LinkedHashMap<String,List<DeviceIDVO>> newMap = new LinkedHashMap<>();
+    private LinkedHashMap<String,Set<DeviceIDVO>> mergeMaps (LinkedHashMap<String,Set<DeviceIDVO>> map1, LinkedHashMap<String,Set<DeviceIDVO>> map2){
+        LinkedHashMap<String,Set<DeviceIDVO>> newMap = new LinkedHashMap<>();
         newMap.putAll(map1);
         newMap.putAll(map2);
         return newMap;
     }
 
     /**
-     * This method takes a Map with keys of type String and values of type List of DeviceIDVO. It then employs the
-     * deviceRepository recursively to associate each DeviceIDVO object with its corresponding Device object. The resultant
-     * Map mirrors the structure of the input, with Device objects replacing the original DeviceIDVO objects at each
-     * corresponding key.
-     * @param map Map <String,List<DeviceIDVO>>
+     * This method takes a Map with keys of type String and values of type Set of DeviceIDVO. It fetches every device
+     * referenced in the map with a single call to the deviceRepository, then associates each DeviceIDVO object with
+     * its corresponding Device object. The resultant Map mirrors the structure of the input, with Device objects
+     * replacing the original DeviceIDVO objects at each corresponding key.
+     * @param map Map <String,Set<DeviceIDVO>>
      * @return LinkedHashMap with keys of type String and values of type List containing Device objects.
      */
-    private LinkedHashMap<String, List<Device>> getDevices (Map<String, List<DeviceIDVO>> map) {
+    private LinkedHashMap<String, List<Device>> getDevices (Map<String, Set<DeviceIDVO>> map) {
+        Set<DeviceIDVO> allIDs = new LinkedHashSet<>();
+        map.values().forEach(allIDs::addAll);
+        Map<DeviceIDVO, Device> devicesByID = new HashMap<>();
+        if (!allIDs.isEmpty()) {
+            Iterable<Device> devices = this.deviceRepository.findAllByIds(allIDs);
+            if (devices == null) {
+                throw new IllegalArgumentException("Cannot access all devices");
+            }
+            devices.forEach(device -> devicesByID.put(device.getId(), device));
+        }
+
         LinkedHashMap<String, List<Device>> newMap = new LinkedHashMap<>();
-        for (Map.Entry<String, List<DeviceIDVO>> entry : map.entrySet()) {
-            String key = entry.getKey();
-            List<DeviceIDVO> idList = entry.getValue();
+        for (Map.Entry<String, Set<DeviceIDVO>> entry : map.entrySet()) {
             List<Device> deviceList = new ArrayList<>();
-            for (DeviceIDVO id : idList) {
-                Device device = this.deviceRepository.findById(id);
-                deviceList.add(device);
+            for (DeviceIDVO id : entry.getValue()) {
+                deviceList.add(devicesByID.get(id));
             }
-            newMap.put(key, deviceList);
+            newMap.put(entry.getKey(), deviceList);
         }
         return newMap;
     }
 
     /**
-     * Updates a LinkedHashMap with keys of type String and values of type List containing DeviceIDVO objects.
-     * If the map already contains the specified type as a key, the provided DeviceIDVO object is added to the corresponding list,
-     * if it's not already present. If the type is not found in the map, a new entry is created with the type as the key and
-     * a new List containing the provided DeviceIDVO object.
+     * Updates a LinkedHashMap with keys of type String and values of type Set containing DeviceIDVO objects.
+     * If the map already contains the specified type as a key, the provided DeviceIDVO object is added to the corresponding set,
+     * which ignores it if it's already present. If the type is not found in the map, a new entry is created with the type as
+     * the key and a new Set containing the provided DeviceIDVO object.
      *
      * @param map      The LinkedHashMap to update.
      * @param type     The type (String) representing the key in the map.
      * @param deviceID The DeviceIDVO object to add to the map.
      */
-    private void updateMap (LinkedHashMap<String,List<DeviceIDVO>> map, String type, DeviceIDVO deviceID){
-        if (map.containsKey(type)){
-            List<DeviceIDVO> devicesPerKey = map.get(type);
-            if(!devicesPerKey.contains(deviceID)){
-                devicesPerKey.add(deviceID);
-            }
-        } else {
-            List<DeviceIDVO> devicesPerKey = new ArrayList<>();
-            devicesPerKey.add(deviceID);
-            map.put(type,devicesPerKey);
-        }
+    private void updateMap (LinkedHashMap<String,Set<DeviceIDVO>> map, String type, DeviceIDVO deviceID){
+        map.computeIfAbsent(type, key -> new LinkedHashSet<>()).add(deviceID);
     }
 
     /**
@@ -0,0 +1,173 @@
+package smarthome.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import smarthome.domain.actuator.Actuator;
+import smarthome.domain.device.Device;
+import smarthome.domain.sensor.Sensor;
+import smarthome.domain.vo.devicevo.DeviceIDVO;
+import smarthome.persistence.ActuatorRepository;
+import smarthome.persistence.DeviceRepository;
+import smarthome.persistence.SensorRepository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-memory index from each functionality (the ID of a sensor type or actuator type) to the devices having a sensor
+ * or actuator of that type, so devices can be listed by functionality without scanning every sensor and actuator.
+ * <p>
+ * The index is built from the repositories once the application is ready, and kept up to date by the services as
+ * sensors and actuators are added. Sensors and actuators saved straight through the repositories are not seen until
+ * {@link #rebuild()} is called.
+ * </p>
+ * <p>
+ * Readers never block: the index is an immutable snapshot of device IDs, replaced as a whole by writers, which are
+ * serialized. The devices themselves are not kept, as they are mutable and can change in the repository: each listing
+ * fetches the indexed devices with a single batched lookup, so every request gets its own, current, aggregates.
+ * </p>
+ * <p>
+ * Disabled with {@code smarthome.functionality-index.enabled=false}, in which case devices are listed by scanning.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(name = "smarthome.functionality-index.enabled", havingValue = "true", matchIfMissing = true)
+public class FunctionalityIndex {
+
+    private final DeviceRepository deviceRepository;
+    private final SensorRepository sensorRepository;
+    private final ActuatorRepository actuatorRepository;
+    private volatile Map<String, Set<DeviceIDVO>> snapshot;
+
+    /**
+     * Constructs a FunctionalityIndex.
+     *
+     * @param deviceRepository   The repository of the devices.
+     * @param sensorRepository   The repository of the sensors.
+     * @param actuatorRepository The repository of the actuators.
+     * @throws IllegalArgumentException if any repository is null.
+     */
+    public FunctionalityIndex(DeviceRepository deviceRepository, SensorRepository sensorRepository,
+                              ActuatorRepository actuatorRepository) {
+        if (deviceRepository == null || sensorRepository == null || actuatorRepository == null) {
+            throw new IllegalArgumentException("Invalid repository.");
+        }
+        this.deviceRepository = deviceRepository;
+        this.sensorRepository = sensorRepository;
+        this.actuatorRepository = actuatorRepository;
+    }
+
+    /**
+     * Builds the index once the application, including its bootstrap data, is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    /**
+     * Rebuilds the index from every sensor and actuator in the repositories.
+     *
+     * @return true if the index was built, false if the sensors or actuators could not be read, in which case the
+     * index stays unbuilt.
+     */
+    public synchronized boolean rebuild() {
+        Iterable<Sensor> sensors = this.sensorRepository.findAll();
+        Iterable<Actuator> actuators = this.actuatorRepository.findAll();
+        if (sensors == null || actuators == null) {
+            this.snapshot = null;
+            return false;
+        }
+        Map<String, Set<DeviceIDVO>> index = new LinkedHashMap<>();
+        for (Sensor sensor : sensors) {
+            index.computeIfAbsent(sensor.getSensorTypeID().getID(), type -> new LinkedHashSet<>())
+                    .add(sensor.getDeviceID());
+        }
+        for (Actuator actuator : actuators) {
+            index.computeIfAbsent(actuator.getActuatorTypeID().getID(), type -> new LinkedHashSet<>())
+                    .add(actuator.getDeviceID());
+        }
+        index.replaceAll((type, deviceIDs) -> Collections.unmodifiableSet(deviceIDs));
+        this.snapshot = Collections.unmodifiableMap(index);
+        return true;
+    }
+
+    /**
+     * Records that a device gained a sensor or actuator of a functionality. Ignored while the index is not built,
+     * as building it reads the repositories.
+     *
+     * @param functionality The ID of the sensor type or actuator type.
+     * @param deviceID      The ID of the device.
+     */
+    public synchronized void add(String functionality, DeviceIDVO deviceID) {
+        Map<String, Set<DeviceIDVO>> current = this.snapshot;
+        if (current == null || functionality == null || deviceID == null) {
+            return;
+        }
+        Set<DeviceIDVO> deviceIDs = current.getOrDefault(functionality, Collections.emptySet());
+        if (deviceIDs.contains(deviceID)) {
+            return;
+        }
+        Set<DeviceIDVO> updatedIDs = new LinkedHashSet<>(deviceIDs);
+        updatedIDs.add(deviceID);
+        Map<String, Set<DeviceIDVO>> updated = new LinkedHashMap<>(current);
+        updated.put(functionality, Collections.unmodifiableSet(updatedIDs));
+        this.snapshot = Collections.unmodifiableMap(updated);
+    }
+
+    /**
+     * Lists the devices by functionality: for each sensor type or actuator type, the devices having a sensor or
+     * actuator of that type. The devices are fetched from the repository, so they are listed as last saved; indexed
+     * devices that are no longer in the repository are left out.
+     *
+     * @return The devices by functionality, or null if the index is not built or its devices could not be read.
+     */
+    public Map<String, List<Device>> getDevicesByFunctionality() {
+        Map<String, Set<DeviceIDVO>> current = this.snapshot;
+        if (current == null) {
+            return null;
+        }
+        Map<DeviceIDVO, Device> devices = loadDevices(current);
+        if (devices == null) {
+            return null;
+        }
+        Map<String, List<Device>> result = new LinkedHashMap<>();
+        current.forEach((functionality, deviceIDs) -> {
+            List<Device> deviceList = new ArrayList<>(deviceIDs.size());
+            for (DeviceIDVO deviceID : deviceIDs) {
+                Device device = devices.get(deviceID);
+                if (device != null) {
+                    deviceList.add(device);
+                }
+            }
+            result.put(functionality, deviceList);
+        });
+        return result;
+    }
+
+    /**
+     * Fetches every indexed device in a single lookup.
+     */
+    private Map<DeviceIDVO, Device> loadDevices(Map<String, Set<DeviceIDVO>> current) {
+        Set<DeviceIDVO> deviceIDs = new LinkedHashSet<>();
+        current.values().forEach(deviceIDs::addAll);
+        Map<DeviceIDVO, Device> devices = new HashMap<>();
+        if (deviceIDs.isEmpty()) {
+            return devices;
+        }
+        Iterable<Device> found = this.deviceRepository.findAllByIds(deviceIDs);
+        if (found == null) {
+            return null;
+        }
+        found.forEach(device -> devices.put(device.getId(), device));
+        return devices;
+    }
+}
@@ -5,6 +5,7 @@ import org.springframework.stereotype.Service;
 import smarthome.domain.device.Device;
 import smarthome.domain.log.Log;
 import smarthome.domain.log.LogFactory;
+import smarthome.domain.log.ReadingSeries;
 import smarthome.domain.room.Room;
 import smarthome.domain.sensor.Sensor;
 import smarthome.domain.sensor.SunSensor;
@@ -14,6 +15,8 @@ import smarthome.domain.sensor.sensorvalues.SensorValueFactory;
 import smarthome.domain.sensor.sensorvalues.SensorValueObject;
 import smarthome.domain.vo.DeltaVO;
 import smarthome.domain.vo.devicevo.DeviceIDVO;
+import smarthome.domain.vo.logvo.LogCursorVO;
+import smarthome.domain.vo.logvo.LogIDVO;
 import smarthome.domain.vo.logvo.TimeStampVO;
 import smarthome.domain.vo.roomvo.RoomIDVO;
 import smarthome.domain.vo.sensortype.SensorTypeIDVO;
@@ -25,6 +28,7 @@ import smarthome.persistence.SensorRepository;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.stream.Stream;
 
 @Service
 public class LogServiceImpl implements LogService {
@@ -37,11 +41,18 @@ public class LogServiceImpl implements LogService {
     private SensorValueFactory sensorValueFactory;
     private SensorRepository sensorRepository;
     private SunTimeCalculator sunTimeCalculator;
+    private DeviceLocationCache deviceLocationCache;
 
     private static final String ERROR_MESSAGE_PARAMS = "Invalid parameters";
 
     private static final String ERROR_MESSAGE_TIME = "Invalid time stamps";
 
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private static final long NANOS_PER_MINUTE = 60 * NANOS_PER_SECOND;
+
     /**
      * Constructor for LogServiceImpl.
      * @param logRepository the repository used for data access
@@ -90,6 +101,58 @@ public class LogServiceImpl implements LogService {
         return Optional.empty();
     }
 
+    /**
+     * Builds a log from a raw reading without persisting it, so that it can later be added in bulk through
+     * {@link #addLogs(List)}.
+     * <p>
+     * The reading is validated and converted through the {@code SensorValueFactory} for the given sensor type.
+     * If a time stamp is provided the log keeps it (readings collected earlier by a gateway), otherwise the
+     * current time is used.
+     * </p>
+     *
+     * @param reading the raw reading, must not be null
+     * @param sensor the sensor ID associated with the log, must not be null
+     * @param device the device ID associated with the log, must not be null
+     * @param sensorType the sensor type ID associated with the log, must not be null
+     * @param time the moment the reading was taken, or null to use the current time
+     * @return an {@code Optional<Log>} containing the log, or an empty {@code Optional} if the reading is not valid
+     * for the given sensor type
+     * @throws IllegalArgumentException if any of the mandatory parameters are null
+     */
+    @Override
+    public Optional<Log> createLog(String reading, SensorIDVO sensor, DeviceIDVO device, SensorTypeIDVO sensorType, TimeStampVO time){
+        if (areParamsNull(reading, sensor, device, sensorType)) {
+            throw new IllegalArgumentException(ERROR_MESSAGE_PARAMS);
+        }
+        SensorValueObject<?> value = sensorValueFactory.createSensorValue(reading, sensorType);
+        if (value == null) {
+            return Optional.empty();
+        }
+        if (time == null) {
+            return Optional.of(logFactory.createLog(value, sensor, device, sensorType));
+        }
+        LogIDVO logID = new LogIDVO(UUID.randomUUID());
+        return Optional.of(logFactory.createLog(logID, time, value, sensor, device, sensorType));
+    }
+
+    /**
+     * Persists a group of logs in a single bulk operation.
+     *
+     * @param logs the logs to be added, must not be null nor contain null logs
+     * @return true if every log was saved, false otherwise
+     * @throws IllegalArgumentException if the list is null or contains a null log
+     */
+    @Override
+    public boolean addLogs(List<Log> logs){
+        if (logs == null || areParamsNull(logs.toArray())) {
+            throw new IllegalArgumentException(ERROR_MESSAGE_PARAMS);
+        }
+        if (logs.isEmpty()) {
+            return true;
+        }
+        return logRepository.saveAll(logs);
+    }
+
 
     /**
      * Retrieves all logs associated with a specific device. A time period may be specified.
@@ -109,6 +172,65 @@ public class LogServiceImpl implements LogService {
      */
     @Override
     public List<Log> findReadingsFromDevice(DeviceIDVO deviceID, TimeStampVO initialTimeStamp, TimeStampVO finalTimeStamp) {
+        validateReadingsQuery(deviceID, initialTimeStamp, finalTimeStamp);
+
+        try {
+            Iterable<Log> iterable = logRepository.findReadingsByDeviceID(deviceID, initialTimeStamp, finalTimeStamp);
+            return convertToList(iterable);
+        } catch (IllegalArgumentException e) {
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * Streams all logs associated with a specific device. A time period may be specified, with the same validations
+     * as {@link #findReadingsFromDevice}. Logs are read from the repository as the stream is consumed, so memory use
+     * does not depend on the size of the period. The caller must close the stream.
+     * @param deviceID the ID of the device
+     * @param initialTimeStamp the initial timestamp that represents the beginning of the time period
+     * @param finalTimeStamp the final timestamp that represents the end of the time period
+     * @return a Stream of logs that match the given criteria
+     * @throws IllegalArgumentException if the device ID is null, if time frame is incomplete or if the specified
+     * initial date is after final date.
+     */
+    @Override
+    public Stream<Log> streamReadingsFromDevice(DeviceIDVO deviceID, TimeStampVO initialTimeStamp, TimeStampVO finalTimeStamp) {
+        validateReadingsQuery(deviceID, initialTimeStamp, finalTimeStamp);
+        return logRepository.streamReadingsByDeviceID(deviceID, initialTimeStamp, finalTimeStamp);
+    }
+
+    /**
+     * Retrieves one page of the logs associated with a specific device, ordered by time and log ID. A time period may
+     * be specified, with the same validations as {@link #findReadingsFromDevice}. Pages are located by the position
+     * of the cursor rather than by an offset, so every page costs the same however deep it is.
+     * @param deviceID the ID of the device
+     * @param initialTimeStamp the initial timestamp that represents the beginning of the time period
+     * @param finalTimeStamp the final timestamp that represents the end of the time period
+     * @param cursor the position the page starts from, or null for the first page
+     * @param limit the maximum number of logs in the page, between 1 and {@value #MAX_PAGE_SIZE}
+     * @return a List of at most {@code limit} logs
+     * @throws IllegalArgumentException if the device ID is null, if time frame is incomplete, if the specified
+     * initial date is after final date or if the limit is out of range.
+     */
+    @Override
+    public List<Log> findReadingsPageFromDevice(DeviceIDVO deviceID, TimeStampVO initialTimeStamp, TimeStampVO finalTimeStamp, LogCursorVO cursor, int limit) {
+        validateReadingsQuery(deviceID, initialTimeStamp, finalTimeStamp);
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException(ERROR_MESSAGE_PARAMS);
+        }
+        Iterable<Log> iterable = logRepository.findReadingsPageByDeviceID(deviceID, initialTimeStamp, finalTimeStamp, cursor, limit);
+        return convertToList(iterable);
+    }
+
+    /**
+     * Validates the parameters of a readings query: the device ID is required, and the time stamps must be either
+     * both null or both present with the initial one before the final one.
+     * @param deviceID the ID of the device
+     * @param initialTimeStamp the initial timestamp that represents the beginning of the time period
+     * @param finalTimeStamp the final timestamp that represents the end of the time period
+     * @throws IllegalArgumentException if any of the validations fails
+     */
+    private void validateReadingsQuery(DeviceIDVO deviceID, TimeStampVO initialTimeStamp, TimeStampVO finalTimeStamp) {
         if (areParamsNull(deviceID)) {
             throw new IllegalArgumentException(ERROR_MESSAGE_PARAMS);
         }
@@ -123,13 +245,6 @@ public class LogServiceImpl implements LogService {
         if (initialTimeStamp != null && finalTimeStamp != null && areTimeStampsInvalid(initialTimeStamp, finalTimeStamp)) {
             throw new IllegalArgumentException(ERROR_MESSAGE_TIME);
         }
-
-        try {
-            Iterable<Log> iterable = logRepository.findReadingsByDeviceID(deviceID, initialTimeStamp, finalTimeStamp);
-            return convertToList(iterable);
-        } catch (IllegalArgumentException e) {
-            return Collections.emptyList();
-        }
     }
 
     /**
@@ -213,11 +328,11 @@ public class LogServiceImpl implements LogService {
         // Defines the sensorTypeID for the desired query
         String sensorTypeID = "TemperatureSensor";
 
-        // Gets the Logs that result from the query for the Logs for the desired devices, with the desired sensor type, within the desired period/time frame
-        Iterable<Log> outdoorDeviceLog = logRepository.getDeviceTemperatureLogs(outdoorDevice, sensorTypeID, initialTimeStamp, finalTimeStamp);
-        Iterable<Log> indoorDeviceLog = logRepository.getDeviceTemperatureLogs(indoorDevice, sensorTypeID, initialTimeStamp, finalTimeStamp);
+        // Gets the time and reading of the Logs for the desired devices, with the desired sensor type, within the desired period/time frame
+        ReadingSeries outdoorDeviceReadings = logRepository.getDeviceTemperatureSeries(outdoorDevice, sensorTypeID, initialTimeStamp, finalTimeStamp);
+        ReadingSeries indoorDeviceReadings = logRepository.getDeviceTemperatureSeries(indoorDevice, sensorTypeID, initialTimeStamp, finalTimeStamp);
 
-        return retrieveMaxTempDiffInAnInstant(outdoorDeviceLog, indoorDeviceLog, deltaMin);
+        return retrieveMaxTempDiffInAnInstant(outdoorDeviceReadings, indoorDeviceReadings, deltaMin);
     }
 
 
@@ -300,37 +415,84 @@ public class LogServiceImpl implements LogService {
     /**
      * Retrieves the maximum instantaneous temperature difference between an indoor and an outdoor device over a given
      * time period.
-     * @param outdoorDeviceLog The logs from the outdoor device.
-     * @param indoorDeviceLog The logs from the indoor device.
+     * <p>
+     * Both series are walked once in time order. For each indoor reading, the outdoor readings strictly within the
+     * delta form a sliding window whose minimum and maximum are kept in two monotonic queues, so the largest
+     * difference for that indoor reading is found without comparing it against every outdoor reading. Ties are
+     * resolved in favour of the indoor reading that comes first in the query result.
+     * </p>
+     * @param outdoorReadings The readings from the outdoor device.
+     * @param indoorReadings The readings from the indoor device.
      * @param delta The time window allowed for the same readings to be considered as being in the same instant (in minutes)
      * @return A string message detailing the maximum temperature difference and the precise moment it occurred, or a relevant error message.
      */
-    private String retrieveMaxTempDiffInAnInstant(Iterable<Log> outdoorDeviceLog, Iterable<Log> indoorDeviceLog, DeltaVO delta){
+    private String retrieveMaxTempDiffInAnInstant(ReadingSeries outdoorReadings, ReadingSeries indoorReadings, DeltaVO delta){
         // Defines the two variables needed: Maximum temperature difference and the Instant where it occurred.
         double maxTempDiff = 0;
         String instantTime = null;
 
         // Checks if there are any logs/records from the query
-        if(!outdoorDeviceLog.iterator().hasNext() || !indoorDeviceLog.iterator().hasNext()){
+        if(outdoorReadings.isEmpty() || indoorReadings.isEmpty()){
             return "There are no records available for the given period";
         }
 
-        // Checks the outdoor device and the indoor device for logs/records that are within the defined delta (in case
-        // there are records/logs found in the query)
-        // Compares the two logs to get the maximum temperature difference and the instant where it happened
-        for (Log interiorLog : indoorDeviceLog) {
-            TimeStampVO intTime = interiorLog.getTime();
-            for (Log exteriorLog : outdoorDeviceLog) {
-                TimeStampVO extTime = exteriorLog.getTime();
-                if (isWithinTimeWindow(intTime, extTime, delta)) {
-                    double temp = getAbsoluteDifference(interiorLog, exteriorLog);
-                    if (temp>maxTempDiff){
-                        maxTempDiff=temp;
-                        instantTime = interiorLog.getTime().getValue().toString();
+        int[] intOrder = indoorReadings.timeOrder();
+        int[] extOrder = outdoorReadings.timeOrder();
+        long window = delta.getValue() * NANOS_PER_MINUTE;
+
+        // Outdoor readings are copied when they enter the window. The queues hold positions in extOrder, with the
+        // readings decreasing in maxQueue and increasing in minQueue.
+        double[] extValues = new double[extOrder.length];
+        int[] maxQueue = new int[extOrder.length];
+        int[] minQueue = new int[extOrder.length];
+        int maxHead = 0;
+        int maxTail = 0;
+        int minHead = 0;
+        int minTail = 0;
+        int next = 0;
+        int instantIndex = -1;
+
+        for (int intIndex : intOrder) {
+            long intTime = indoorReadings.getTime(intIndex);
+            // Adds the outdoor readings before the end of the window; those before its start are out of every later window
+            while (next < extOrder.length && outdoorReadings.getTime(extOrder[next]) < intTime + window) {
+                int extIndex = extOrder[next];
+                if (outdoorReadings.getTime(extIndex) > intTime - window) {
+                    double value = outdoorReadings.getValue(extIndex);
+                    extValues[next] = value;
+                    while (maxTail > maxHead && extValues[maxQueue[maxTail - 1]] <= value) {
+                        maxTail--;
+                    }
+                    maxQueue[maxTail++] = next;
+                    while (minTail > minHead && extValues[minQueue[minTail - 1]] >= value) {
+                        minTail--;
                     }
+                    minQueue[minTail++] = next;
                 }
+                next++;
+            }
+            // Drops the outdoor readings that are no longer after the start of the window
+            while (maxHead < maxTail && outdoorReadings.getTime(extOrder[maxQueue[maxHead]]) <= intTime - window) {
+                maxHead++;
+            }
+            while (minHead < minTail && outdoorReadings.getTime(extOrder[minQueue[minHead]]) <= intTime - window) {
+                minHead++;
+            }
+            if (maxHead == maxTail) {
+                continue;
+            }
+            // The largest difference against any reading in the window is against its maximum or its minimum
+            double intValue = indoorReadings.getValue(intIndex);
+            double temp = Math.max(Math.abs(intValue - extValues[maxQueue[maxHead]]),
+                    Math.abs(intValue - extValues[minQueue[minHead]]));
+            if (temp > maxTempDiff || (temp == maxTempDiff && instantIndex > intIndex)) {
+                maxTempDiff = temp;
+                instantIndex = intIndex;
             }
         }
+        if (instantIndex >= 0) {
+            instantTime = indoorReadings.getDateTime(instantIndex).toString();
+        }
         // Checks if the instantTime variable has not been altered since it has been initialized
         // In case the variable has not been altered (is still null) it means there were no matches that were
         // in the same instant (instant is defined by the delta)
@@ -343,14 +505,20 @@ public class LogServiceImpl implements LogService {
             return "The Maximum Temperature Difference within the selected Period was of " +maxTempDiff+ " Cº which happened at " +instantTime;
         }
     }
+
     /**
      * Checks if the outdoor device is located in the exterior of the House.
      * The method checks the room where the device is located and checks if the room's height is 0, which means
      * the room is located in the exterior.
+     * When a DeviceLocationCache is set, the placement of the device is read from it instead.
      * @param outdoorDevice The identification of the outdoor device.
      * @return true if the outdoor device is located in the exterior, false otherwise.
      */
     private boolean isOutdoorDeviceInTheExterior(DeviceIDVO outdoorDevice){
+        if (deviceLocationCache != null) {
+            DeviceLocationCache.Location location = deviceLocationCache.getLocation(outdoorDevice);
+            return location != null && location.isOutdoor();
+        }
         Device outDevice = deviceRepository.findById(outdoorDevice);
         RoomIDVO outRoomID = outDevice.getRoomID();
         Room outRoom = roomRepository.findById(outRoomID);
@@ -362,10 +530,15 @@ public class LogServiceImpl implements LogService {
      * Checks if the indoor device is located in the interior of the House.
      * The method checks the room where the device is located and checks if the room's height is
      * greater than 0, which means the room is located in the interior.
+     * When a DeviceLocationCache is set, the placement of the device is read from it instead.
      * @param indoorDevice The identification of the indoor device.
      * @return true if the indoor device is located in the interior, false otherwise.
      */
     private boolean isIndoorDeviceInTheInterior(DeviceIDVO indoorDevice){
+        if (deviceLocationCache != null) {
+            DeviceLocationCache.Location location = deviceLocationCache.getLocation(indoorDevice);
+            return location != null && location.getHeight() > 0;
+        }
         Device inDevice = deviceRepository.findById(indoorDevice);
         RoomIDVO inRoomID = inDevice.getRoomID();
         Room inRoom = roomRepository.findById(inRoomID);
@@ -373,31 +546,6 @@ public class LogServiceImpl implements LogService {
         return inRoom.getRoomDimensions().getRoomHeight()>0;
     }
 
-    /**
-     * Gets the absolute difference between the readings of two logs.
-     * @param interiorLog The log from the indoor device.
-     * @param exteriorLog The log from the outdoor device.
-     * @return The absolute difference between the readings of the two logs.
-     */
-    private double getAbsoluteDifference(Log interiorLog, Log exteriorLog){
-        return Math.abs((Double) interiorLog.getReading().getValue() - (Double) exteriorLog.getReading().getValue());
-    }
-
-    /**
-     * Checks if the reading timestamps of the two logs from the interior and exterior place
-     * devices are within a given time window.
-     * @param intTime The timestamp of the indoor device's reading.
-     * @param extTime The timestamp of the outdoor device's reading.
-     * @param deltaMin The time window in minutes.
-     * @return true if the timestamps are within the time window, false otherwise.
-     */
-    private boolean isWithinTimeWindow(TimeStampVO intTime, TimeStampVO extTime, DeltaVO deltaMin) {
-        LocalDateTime intT= intTime.getValue();
-        LocalDateTime extT = extTime.getValue();
-        int delta = deltaMin.getValue();
-        return intT.plusMinutes(delta).isAfter(extT) && intT.minusMinutes(delta).isBefore(extT);
-    }
-
     /**
      * Checks if the provided timestamps are invalid, i.e., if they are null, if the initial timestamp is after the final
      * and if the final timestamp is after the current time.
@@ -444,48 +592,73 @@ public class LogServiceImpl implements LogService {
         // are not the Grid Power Meter, and that have negative readings, within the specified time frame.
         String deviceID = System.getProperty("Grid Power Meter device");
         String sensorTypeID = System.getProperty("Grid Power Meter sensor type");
-        Iterable<Log> powerGridLogs = logRepository.findByDeviceIDAndSensorTypeAndTimeBetween(deviceID, sensorTypeID, start, end);
-        Iterable<Log> powerSourceLogs = logRepository.findByNegativeReadingAndNotDeviceIDAndSensorTypeAndTimeBetween(deviceID, sensorTypeID, start, end);
+        ReadingSeries gridReadings = logRepository.findSeriesByDeviceIDAndSensorTypeAndTimeBetween(deviceID, sensorTypeID, start, end);
+        ReadingSeries sourceReadings = logRepository.findSeriesByNegativeReadingAndNotDeviceIDAndSensorTypeAndTimeBetween(deviceID, sensorTypeID, start, end);
 
         // Checks if there are no results for Logs from the Grid Power Meter, within the time frame provided.
-        if(!powerGridLogs.iterator().hasNext()){
+        if(gridReadings.isEmpty()){
             return "There are no records available from the Grid Power Meter for the given period";
         }
 
         // Checks if there are any Power Source Devices from the query, and, if
         // not, retrieves the peak consumption from the Grid Power Meter Only.
-        if(!powerSourceLogs.iterator().hasNext()){
-            Log maxValueLog = getMaxValue(powerGridLogs);
-            return "The Peak Power Consumption from the Grid within the selected Period was " + maxValueLog.getReading().getValue() +
-                    " Wh which happened at " + maxValueLog.getTime().getValue() + " (No Power Source Device Logs were found within the selected period)";
+        if(sourceReadings.isEmpty()){
+            int maxValueIndex = getMaxValueIndex(gridReadings);
+            return "The Peak Power Consumption from the Grid within the selected Period was " + intValue(gridReadings, maxValueIndex) +
+                    " Wh which happened at " + gridReadings.getDateTime(maxValueIndex) + " (No Power Source Device Logs were found within the selected period)";
         }
 
         int peakConsumption = 0;
         String instantTime = null;
         boolean foundInstantLogMatch = false;
 
-        // Checks the power grid device and all power source devices for logs/records that are within the defined delta
-        // (in case there are records/logs found in the query)
-        // Compares the two logs to get the peak power consumption and the instant where it happened
-        for (Log powerGridLog : powerGridLogs) {
-            TimeStampVO gridTime = powerGridLog.getTime();
-            int totalValue = (int) powerGridLog.getReading().getValue();
-
-            for (Log powerSourceLog : powerSourceLogs) {
-                TimeStampVO sourceTime = powerSourceLog.getTime();
-
-                if (isWithinTimeWindow(gridTime, sourceTime, delta)) {
-                    int sourceValue = (int) powerSourceLog.getReading().getValue();
-                    totalValue += Math.abs(sourceValue);
-                    foundInstantLogMatch = true;
-
+        // Sweeps the grid readings in time order. The power source readings strictly within the delta of the current
+        // grid reading form a sliding window whose total contribution is kept up to date as readings enter and leave
+        // it, so each source reading is added and removed once. Ties are resolved in favour of the grid reading that
+        // comes first in the query result.
+        int[] gridOrder = gridReadings.timeOrder();
+        int[] sourceOrder = sourceReadings.timeOrder();
+        long window = delta.getValue() * NANOS_PER_MINUTE;
+
+        // Source readings are copied when they enter the window; readings skipped before its start are never used
+        int[] sourceValues = new int[sourceOrder.length];
+        boolean[] inWindow = new boolean[sourceOrder.length];
+        int windowSum = 0;
+        int windowCount = 0;
+        int next = 0;
+        int first = 0;
+        int peakIndex = -1;
+
+        for (int gridIndex : gridOrder) {
+            long gridTime = gridReadings.getTime(gridIndex);
+            while (next < sourceOrder.length && sourceReadings.getTime(sourceOrder[next]) < gridTime + window) {
+                if (sourceReadings.getTime(sourceOrder[next]) > gridTime - window) {
+                    sourceValues[next] = Math.abs(intValue(sourceReadings, sourceOrder[next]));
+                    inWindow[next] = true;
+                    windowSum += sourceValues[next];
+                    windowCount++;
                 }
+                next++;
             }
-            if (totalValue>peakConsumption){
+            while (first < next && sourceReadings.getTime(sourceOrder[first]) <= gridTime - window) {
+                if (inWindow[first]) {
+                    windowSum -= sourceValues[first];
+                    windowCount--;
+                }
+                first++;
+            }
+            if (windowCount > 0) {
+                foundInstantLogMatch = true;
+            }
+            int totalValue = intValue(gridReadings, gridIndex) + windowSum;
+            if (totalValue > peakConsumption || (totalValue == peakConsumption && peakIndex > gridIndex)) {
                 peakConsumption = totalValue;
-                instantTime = powerGridLog.getTime().getValue().toString();
+                peakIndex = gridIndex;
             }
         }
+        if (peakIndex >= 0) {
+            instantTime = gridReadings.getDateTime(peakIndex).toString();
+        }
         // Checks if the foundInstantLogMatch variable has not been altered since it has been initialized
         // In case the variable has not been altered (is still false) it means there were no matches
         // in the same instant (instant is defined by the delta)
@@ -500,22 +673,34 @@ public class LogServiceImpl implements LogService {
     }
 
     /**
-     * Retrieves the log with the maximum reading value from the provided list of logs.
+     * Retrieves the position of the maximum reading of the provided series. If the maximum occurs more than once,
+     * the last occurrence is returned.
      *
-     * @param list an Iterable of Log objects.
-     * @return the Log object with the maximum reading value.
+     * @param readings a non-empty series of readings.
+     * @return the position of the maximum reading.
      */
-    private Log getMaxValue (Iterable<Log> list){
-        int peakGridConsumption = (int) list.iterator().next().getReading().getValue();
-        Log biggestReadingLog = list.iterator().next();
-        for (Log log : list) {
-            int powerGridValue = (int) log.getReading().getValue();
+    private int getMaxValueIndex (ReadingSeries readings){
+        int peakGridConsumption = intValue(readings, 0);
+        int biggestReadingIndex = 0;
+        for (int i = 0; i < readings.size(); i++) {
+            int powerGridValue = intValue(readings, i);
             if (powerGridValue >= peakGridConsumption) {
                 peakGridConsumption = powerGridValue;
-                biggestReadingLog = log;
+                biggestReadingIndex = i;
             }
         }
-        return biggestReadingLog;
+        return biggestReadingIndex;
+    }
+
+    /**
+     * Reads a reading of a series as a whole number of watt-hours, rounding the stored value.
+     *
+     * @param readings the series of readings.
+     * @param index the position of the reading.
+     * @return the reading, rounded to an int.
+     */
+    private static int intValue(ReadingSeries readings, int index) {
+        return (int) Math.round(readings.getValue(index));
     }
 
 
@@ -534,4 +719,14 @@ public class LogServiceImpl implements LogService {
         this.sunTimeCalculator = sunTimeCalculator;
     }
 
+    /**
+     * Setter method for the DeviceLocationCache to provide setter injection of this component. When set, the placement
+     * of devices is read from it instead of loading each device and its room.
+     * @param deviceLocationCache The DeviceLocationCache to be set.
+     */
+    @Autowired(required = false)
+    public void setDeviceLocationCache(DeviceLocationCache deviceLocationCache) {
+        this.deviceLocationCache = deviceLocationCache;
+    }
+
 }
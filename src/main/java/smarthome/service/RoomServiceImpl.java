@@ -1,5 +1,6 @@
 package smarthome.service;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import smarthome.domain.room.Room;
 import smarthome.domain.room.RoomFactory;
@@ -21,6 +22,7 @@ public class RoomServiceImpl implements RoomService {
     private final HouseRepository houseRepository;
     private final RoomRepository roomRepository;
     private final RoomFactory roomFactory;
+    private DeviceLocationCache deviceLocationCache;
     private static final String NOT_PRESENT_MESSAGE = " is not present.";
 
     /**
@@ -38,6 +40,16 @@ public class RoomServiceImpl implements RoomService {
         this.roomFactory = roomFactory;
     }
 
+    /**
+     * Setter method for the DeviceLocationCache to provide setter injection of this component. When set, this service
+     * records in it the placement of the rooms it adds.
+     * @param deviceLocationCache The DeviceLocationCache to be set.
+     */
+    @Autowired(required = false)
+    public void setDeviceLocationCache(DeviceLocationCache deviceLocationCache) {
+        this.deviceLocationCache = deviceLocationCache;
+    }
+
     /**
      * Calls createRoom on RoomFactory and saves received Room using the RoomRepository.
      * @param roomNameVO RoomNameVO object
@@ -51,6 +63,9 @@ public class RoomServiceImpl implements RoomService {
             HouseIDVO houseIDVO = houseRepository.getFirstHouseIDVO();
             Room newRoom = roomFactory.createRoom(roomNameVO,roomFloorVO,roomDimensionsVO,houseIDVO);
             if (roomRepository.save(newRoom)) {
+                if (deviceLocationCache != null) {
+                    deviceLocationCache.record(newRoom);
+                }
                 return Optional.of(newRoom);
             }
         } catch (IllegalArgumentException e) {
@@ -1,5 +1,6 @@
 package smarthome.service;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import smarthome.domain.device.Device;
 import smarthome.domain.sensor.Sensor;
@@ -22,6 +23,7 @@ public class SensorServiceImpl implements SensorService {
     private final SensorTypeRepository sensorTypeRepository;
     private final SensorRepository sensorRepository;
     private final SensorFactory sensorFactory;
+    private FunctionalityIndex functionalityIndex;
 
     /**
      * Constructor for the SensorService class. It receives a DeviceRepository to validate device IDs, a SensorTypeRepository
@@ -40,6 +42,17 @@ public class SensorServiceImpl implements SensorService {
         this.sensorFactory = sensorFactory;
     }
 
+    /**
+     * Setter method for the FunctionalityIndex to provide setter injection of this component. When set, every sensor
+     * added is recorded in the index.
+     *
+     * @param functionalityIndex The FunctionalityIndex to be set.
+     */
+    @Autowired(required = false)
+    public void setFunctionalityIndex(FunctionalityIndex functionalityIndex) {
+        this.functionalityIndex = functionalityIndex;
+    }
+
     /**
      * This method is responsible for creating and persisting a sensor instance. It orchestrates the process by
      * interfacing with the sensor factory to create a new sensor object. The newly created sensor is then passed to the
@@ -62,6 +75,9 @@ public class SensorServiceImpl implements SensorService {
         }
         Sensor newSensor = sensorFactory.createSensor(sensorName, deviceIDVO, sensorTypeIDVO);
         if (sensorRepository.save(newSensor)) {
+            if (functionalityIndex != null) {
+                functionalityIndex.add(sensorTypeIDVO.getID(), deviceIDVO);
+            }
             return Optional.of(newSensor);
         }
         return Optional.empty();
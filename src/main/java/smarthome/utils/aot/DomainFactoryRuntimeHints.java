@@ -0,0 +1,76 @@
+package smarthome.utils.aot;
+
+import org.apache.commons.configuration2.Configuration;
+import org.apache.commons.configuration2.builder.fluent.Configurations;
+import org.apache.commons.configuration2.ex.ConfigurationException;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotContribution;
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.util.ClassUtils;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Registers the classes the domain factories create for reflection in an AOT/native build.
+ * <p>
+ * The sensor, actuator and sensor value factories load the classes named in their configuration files and resolve
+ * their public constructors into method handles when they are created. A native image only keeps those classes and
+ * constructors if they are declared at build time, so every loadable class named in the configuration files is
+ * registered here, with its public constructors. The files are the ones the factories are given, found by resolving
+ * the same {@code filepath} and {@code filePathValue} properties against the environment of the build.
+ * </p>
+ */
+public class DomainFactoryRuntimeHints implements BeanFactoryInitializationAotProcessor {
+
+    private static final String[] CONFIGURATION_PROPERTIES = {"${filepath}", "${filePathValue}"};
+
+    @Override
+    public BeanFactoryInitializationAotContribution processAheadOfTime(ConfigurableListableBeanFactory beanFactory) {
+        List<String> paths = new ArrayList<>();
+        for (String property : CONFIGURATION_PROPERTIES) {
+            try {
+                String path = beanFactory.resolveEmbeddedValue(property);
+                if (path != null && !path.equals(property)) {
+                    paths.add(path);
+                }
+            } catch (IllegalArgumentException e) {
+                // The property is not set, so there is no file to read
+            }
+        }
+        ClassLoader classLoader = beanFactory.getBeanClassLoader();
+        return (generationContext, beanFactoryInitializationCode) ->
+                registerHints(generationContext.getRuntimeHints(), classLoader, paths);
+    }
+
+    /**
+     * Registers every loadable class named in the given configuration files with its public constructors.
+     * Files that cannot be read are skipped.
+     *
+     * @param hints       the runtime hints to register the classes in
+     * @param classLoader the class loader used to load the named classes
+     * @param paths       the paths of the configuration files
+     */
+    static void registerHints(RuntimeHints hints, ClassLoader classLoader, List<String> paths) {
+        for (String path : paths) {
+            Configuration configuration;
+            try {
+                configuration = new Configurations().properties(new File(path));
+            } catch (ConfigurationException e) {
+                continue;
+            }
+            Iterator<String> keys = configuration.getKeys();
+            while (keys.hasNext()) {
+                String className = configuration.getString(keys.next());
+                if (className != null && ClassUtils.isPresent(className, classLoader)) {
+                    hints.reflection().registerType(ClassUtils.resolveClassName(className, classLoader),
+                            MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package smarthome.utils.identitymap;
+
+import smarthome.domain.AggregateRoot;
+import smarthome.domain.DomainID;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The aggregates loaded within a unit of work, by repository and ID, so each is fetched and rebuilt at most once.
+ * <p>
+ * Aggregates are mutable, so one handed out to a service operation may be changed and then not saved. Aggregates
+ * handed out while an operation runs are therefore only kept past its end if they were saved since; the others are
+ * forgotten when the outermost operation ends, and fetched again by the next one.
+ * </p>
+ * <p>
+ * An identity map belongs to the thread serving the unit of work and is not thread safe.
+ * </p>
+ */
+public final class IdentityMap {
+
+    private final Map<Class<?>, Map<DomainID, AggregateRoot>> aggregates = new HashMap<>();
+    private final Map<Class<?>, Set<DomainID>> unsaved = new HashMap<>();
+    private int operations;
+    private int hits;
+    private int misses;
+
+    /**
+     * Looks up an aggregate loaded earlier in the unit of work.
+     *
+     * @param repository the class of the repository the aggregate was loaded from
+     * @param id         the ID of the aggregate
+     * @return the aggregate, or null if it was not loaded yet
+     */
+    public AggregateRoot get(Class<?> repository, DomainID id) {
+        Map<DomainID, AggregateRoot> loaded = this.aggregates.get(repository);
+        AggregateRoot aggregate = loaded == null || id == null ? null : loaded.get(id);
+        if (aggregate == null) {
+            this.misses++;
+        } else {
+            this.hits++;
+        }
+        return aggregate;
+    }
+
+    /**
+     * Records an aggregate loaded or saved in the unit of work, replacing any kept under the same ID. Aggregates
+     * without an ID are ignored.
+     *
+     * @param repository the class of the repository the aggregate was loaded from or saved to
+     * @param aggregate  the aggregate
+     */
+    public void put(Class<?> repository, AggregateRoot aggregate) {
+        if (aggregate == null || aggregate.getId() == null) {
+            return;
+        }
+        this.aggregates.computeIfAbsent(repository, key -> new HashMap<>()).put(aggregate.getId(), aggregate);
+    }
+
+    /**
+     * Forgets an aggregate, so it is fetched again the next time it is looked up.
+     *
+     * @param repository the class of the repository the aggregate was loaded from
+     * @param id         the ID of the aggregate
+     */
+    public void evict(Class<?> repository, DomainID id) {
+        Map<DomainID, AggregateRoot> loaded = this.aggregates.get(repository);
+        if (loaded != null && id != null) {
+            loaded.remove(id);
+        }
+    }
+
+    /**
+     * Starts a service operation, which may be nested in another.
+     */
+    public void beginOperation() {
+        this.operations++;
+    }
+
+    /**
+     * Ends a service operation. When the outermost one ends, the aggregates handed out to it and not saved since are
+     * forgotten.
+     */
+    public void endOperation() {
+        if (this.operations == 0 || --this.operations > 0) {
+            return;
+        }
+        this.unsaved.forEach((repository, ids) -> ids.forEach(id -> evict(repository, id)));
+        this.unsaved.clear();
+    }
+
+    /**
+     * Records that an aggregate was handed out to the current operation, which may change it. Ignored outside an
+     * operation.
+     *
+     * @param repository the class of the repository the aggregate was loaded from
+     * @param aggregate  the aggregate
+     */
+    public void handOut(Class<?> repository, AggregateRoot aggregate) {
+        if (this.operations == 0 || aggregate == null || aggregate.getId() == null) {
+            return;
+        }
+        this.unsaved.computeIfAbsent(repository, key -> new HashSet<>()).add(aggregate.getId());
+    }
+
+    /**
+     * Records an aggregate saved or updated in the unit of work, which is then kept past the end of the operation.
+     *
+     * @param repository the class of the repository the aggregate was saved to
+     * @param aggregate  the aggregate
+     */
+    public void saved(Class<?> repository, AggregateRoot aggregate) {
+        put(repository, aggregate);
+        Set<DomainID> ids = this.unsaved.get(repository);
+        if (ids != null && aggregate != null) {
+            ids.remove(aggregate.getId());
+        }
+    }
+
+    /**
+     * @return number of aggregates kept
+     */
+    public int size() {
+        return this.aggregates.values().stream().mapToInt(Map::size).sum();
+    }
+
+    /**
+     * @return number of lookups answered from the map
+     */
+    public int getHits() {
+        return this.hits;
+    }
+
+    /**
+     * @return number of lookups the map could not answer
+     */
+    public int getMisses() {
+        return this.misses;
+    }
+}
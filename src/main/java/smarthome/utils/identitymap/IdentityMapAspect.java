@@ -0,0 +1,183 @@
+package smarthome.utils.identitymap;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import smarthome.domain.AggregateRoot;
+import smarthome.domain.DomainID;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * Answers lookups by ID from the identity map of the current unit of work, and records in it the aggregates the
+ * repositories load and save, so an aggregate is fetched and rebuilt at most once per unit of work.
+ * <p>
+ * {@code findById} and {@code isPresent} are answered from the map when the aggregate was loaded before, and
+ * {@code findAllByIds} only fetches the aggregates that were not. Aggregates saved or updated replace the ones kept;
+ * when a save or update fails, the aggregate is forgotten, as it may no longer match what is stored. Outside a unit
+ * of work, the repositories are called as usual.
+ * </p>
+ * <p>
+ * Each call to a service is an operation of the unit of work. The aggregates handed out to an operation are
+ * forgotten when it ends unless they were saved, so changes it made without saving them, because it failed or
+ * never saved, are not seen by later operations.
+ * </p>
+ * <p>
+ * Runs before the other repository aspects, so lookups answered from the map are not timed or traced as
+ * repository calls.
+ * </p>
+ * <p>
+ * Disabled with {@code smarthome.identity-map.enabled=false}.
+ * </p>
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "smarthome.identity-map.enabled", havingValue = "true", matchIfMissing = true)
+public class IdentityMapAspect {
+
+    private static final String REPOSITORY = "target(smarthome.persistence.Repository)";
+    private static final String SERVICE = "execution(public * smarthome.service.*ServiceImpl.*(..))";
+
+    /**
+     * Runs a service call as an operation of the unit of work.
+     *
+     * @param call the call
+     * @return whatever the service returns
+     * @throws Throwable whatever the service throws
+     */
+    @Around(SERVICE)
+    public Object operation(ProceedingJoinPoint call) throws Throwable {
+        IdentityMap identityMap = UnitOfWork.current();
+        if (identityMap == null) {
+            return call.proceed();
+        }
+        identityMap.beginOperation();
+        try {
+            return call.proceed();
+        } finally {
+            identityMap.endOperation();
+        }
+    }
+
+    /**
+     * Answers a lookup by ID from the identity map, or records the aggregate found.
+     *
+     * @param call the call
+     * @return the aggregate, or null if there is none
+     * @throws Throwable whatever the repository throws
+     */
+    @Around(REPOSITORY + " && execution(public * findById(*))")
+    public Object findById(ProceedingJoinPoint call) throws Throwable {
+        IdentityMap identityMap = UnitOfWork.current();
+        if (identityMap == null || !(call.getArgs()[0] instanceof DomainID id)) {
+            return call.proceed();
+        }
+        Class<?> repository = call.getTarget().getClass();
+        AggregateRoot loaded = identityMap.get(repository, id);
+        if (loaded != null) {
+            identityMap.handOut(repository, loaded);
+            return loaded;
+        }
+        Object found = call.proceed();
+        if (found instanceof AggregateRoot aggregate) {
+            identityMap.put(repository, aggregate);
+            identityMap.handOut(repository, aggregate);
+        }
+        return found;
+    }
+
+    /**
+     * Answers an existence check from the identity map when the aggregate was loaded before.
+     *
+     * @param call the call
+     * @return true if the aggregate exists
+     * @throws Throwable whatever the repository throws
+     */
+    @Around(REPOSITORY + " && execution(public boolean isPresent(*))")
+    public Object isPresent(ProceedingJoinPoint call) throws Throwable {
+        IdentityMap identityMap = UnitOfWork.current();
+        if (identityMap != null && call.getArgs()[0] instanceof DomainID id
+                && identityMap.get(call.getTarget().getClass(), id) != null) {
+            return true;
+        }
+        return call.proceed();
+    }
+
+    /**
+     * Fetches only the aggregates that are not in the identity map, and records them.
+     *
+     * @param call the call
+     * @return the aggregates found
+     * @throws Throwable whatever the repository throws
+     */
+    @Around(REPOSITORY + " && execution(public * findAllByIds(*))")
+    public Object findAllByIds(ProceedingJoinPoint call) throws Throwable {
+        IdentityMap identityMap = UnitOfWork.current();
+        if (identityMap == null || !(call.getArgs()[0] instanceof Collection<?> ids)) {
+            return call.proceed();
+        }
+        Class<?> repository = call.getTarget().getClass();
+        List<Object> found = new ArrayList<>();
+        List<Object> missing = new ArrayList<>();
+        for (Object id : new LinkedHashSet<>(ids)) {
+            AggregateRoot loaded = id instanceof DomainID domainID ? identityMap.get(repository, domainID) : null;
+            if (loaded == null) {
+                missing.add(id);
+            } else {
+                identityMap.handOut(repository, loaded);
+                found.add(loaded);
+            }
+        }
+        if (missing.isEmpty()) {
+            return found;
+        }
+        Object fetched = call.proceed(new Object[]{missing});
+        if (!(fetched instanceof Iterable<?> aggregates)) {
+            return fetched;
+        }
+        for (Object aggregate : aggregates) {
+            if (aggregate instanceof AggregateRoot aggregateRoot) {
+                identityMap.put(repository, aggregateRoot);
+                identityMap.handOut(repository, aggregateRoot);
+            }
+            found.add(aggregate);
+        }
+        return found;
+    }
+
+    /**
+     * Records an aggregate saved or updated, or forgets it if that failed.
+     *
+     * @param call the call
+     * @return whether the aggregate was saved or updated
+     * @throws Throwable whatever the repository throws
+     */
+    @Around(REPOSITORY + " && (execution(public boolean save(*)) || execution(public boolean update(*)))")
+    public Object save(ProceedingJoinPoint call) throws Throwable {
+        IdentityMap identityMap = UnitOfWork.current();
+        if (identityMap == null || !(call.getArgs()[0] instanceof AggregateRoot aggregate)) {
+            return call.proceed();
+        }
+        Class<?> repository = call.getTarget().getClass();
+        boolean saved = false;
+        try {
+            Object result = call.proceed();
+            saved = Boolean.TRUE.equals(result);
+            return result;
+        } finally {
+            if (saved) {
+                identityMap.saved(repository, aggregate);
+            } else {
+                identityMap.evict(repository, aggregate.getId());
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package smarthome.utils.identitymap;
+
+/**
+ * Holds the identity map of the unit of work, usually a request, the current thread is serving.
+ * <p>
+ * The map is kept per thread so that nested service calls share it without it being passed around. When no unit of
+ * work is active, repositories are called as usual.
+ * </p>
+ */
+public final class UnitOfWork {
+
+    private static final ThreadLocal<IdentityMap> CURRENT = new ThreadLocal<>();
+
+    private UnitOfWork() {
+    }
+
+    /**
+     * Starts a unit of work on the current thread, replacing any already active.
+     *
+     * @return the identity map of the new unit of work
+     */
+    public static IdentityMap begin() {
+        IdentityMap identityMap = new IdentityMap();
+        CURRENT.set(identityMap);
+        return identityMap;
+    }
+
+    /**
+     * @return the identity map of the unit of work of the current thread, or null if none is active
+     */
+    public static IdentityMap current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Ends the unit of work of the current thread, dropping the aggregates it loaded.
+     *
+     * @return the identity map of the unit of work, or null if none was active
+     */
+    public static IdentityMap end() {
+        IdentityMap identityMap = CURRENT.get();
+        CURRENT.remove();
+        return identityMap;
+    }
+}
@@ -0,0 +1,33 @@
+package smarthome.utils.identitymap;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Runs every request in its own unit of work, so an aggregate is loaded at most once per request.
+ * <p>
+ * Disabled with {@code smarthome.identity-map.enabled=false}.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(name = "smarthome.identity-map.enabled", havingValue = "true", matchIfMissing = true)
+public class UnitOfWorkFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        UnitOfWork.begin();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            UnitOfWork.end();
+        }
+    }
+}
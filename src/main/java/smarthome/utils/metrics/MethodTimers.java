@@ -0,0 +1,61 @@
+package smarthome.utils.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The timers of the methods of one layer, one per method and outcome, under a single metric name.
+ * <p>
+ * Timers are registered the first time a method of a class ends with an outcome and kept per class and method, so
+ * timing a call costs two map lookups and an array read rather than a registry lookup with tags. Timers are kept per
+ * class as well as per method because an inherited method, such as a default method of a repository interface, is the
+ * same Method for every class that calls it, yet it is timed under the class it was called on.
+ * </p>
+ */
+final class MethodTimers {
+
+    private final MeterRegistry registry;
+    private final String name;
+    private final String description;
+    private final String ownerTag;
+    private final ConcurrentHashMap<Class<?>, ConcurrentHashMap<Method, Timer[]>> timers = new ConcurrentHashMap<>();
+
+    /**
+     * @param registry    The registry of the timers.
+     * @param name        The name of the timers.
+     * @param description The description of the timers.
+     * @param ownerTag    The tag that names the class of the method, e.g. "repository".
+     */
+    MethodTimers(MeterRegistry registry, String name, String description, String ownerTag) {
+        this.registry = registry;
+        this.name = name;
+        this.description = description;
+        this.ownerTag = ownerTag;
+    }
+
+    /**
+     * Records a call.
+     *
+     * @param owner        The class the method was called on.
+     * @param method       The method.
+     * @param outcome      How the call ended.
+     * @param elapsedNanos How long the call took.
+     */
+    void record(Class<?> owner, Method method, Outcome outcome, long elapsedNanos) {
+        Timer[] byOutcome = this.timers.computeIfAbsent(owner, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(method, key -> new Timer[Outcome.values().length]);
+        Timer timer = byOutcome[outcome.ordinal()];
+        if (timer == null) {
+            timer = Timer.builder(this.name)
+                    .description(this.description)
+                    .tags(this.ownerTag, owner.getSimpleName(), "method", method.getName(), "outcome", outcome.getTag())
+                    .register(this.registry);
+            byOutcome[outcome.ordinal()] = timer;
+        }
+        timer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,53 @@
+package smarthome.utils.metrics;
+
+import smarthome.domain.log.ReadingSeries;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * How a call ended, as seen by its caller.
+ * <p>
+ * Repositories report failures by returning false, null or nothing rather than by throwing, so the outcome of a
+ * repository call is told apart by its result: a failing database shows as a rise of the false and null outcomes.
+ * </p>
+ */
+enum Outcome {
+    SUCCESS("success"), FALSE("false"), NULL("null"), EMPTY("empty"), EXCEPTION("exception");
+
+    private final String tag;
+
+    Outcome(String tag) {
+        this.tag = tag;
+    }
+
+    String getTag() {
+        return tag;
+    }
+
+    /**
+     * Classifies the result of a call. Only results that can be checked without consuming them are told empty:
+     * collections, maps, optionals and reading series.
+     *
+     * @param returnType The declared return type of the method.
+     * @param result     The result of the call.
+     * @return The outcome.
+     */
+    static Outcome of(Class<?> returnType, Object result) {
+        if (returnType == void.class) {
+            return SUCCESS;
+        }
+        if (result == null) {
+            return NULL;
+        }
+        if (Boolean.FALSE.equals(result)) {
+            return FALSE;
+        }
+        boolean empty = result instanceof Collection<?> collection && collection.isEmpty()
+                || result instanceof Map<?, ?> map && map.isEmpty()
+                || result instanceof Optional<?> optional && optional.isEmpty()
+                || result instanceof ReadingSeries series && series.size() == 0;
+        return empty ? EMPTY : SUCCESS;
+    }
+}
@@ -0,0 +1,112 @@
+package smarthome.utils.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import smarthome.mapper.IDInterner;
+import smarthome.persistence.ReferenceDataCache;
+import smarthome.persistence.springdata.ActuatorTypeRepositorySpringData;
+import smarthome.persistence.springdata.LogBatchWriter;
+import smarthome.persistence.springdata.SensorTypeRepositorySpringData;
+import smarthome.persistence.tsdb.LogRepositoryTSDB;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Publishes the state of the persistence layer: the buffer of the log writer, the size of the shared ID caches, the
+ * size, hits and misses of the caches of reference data, and the number of series in the time-series store.
+ * <p>
+ * The values are read from the components when the metrics are scraped, so nothing is added to the write path. The
+ * log writer and the time-series store belong to different profiles; only the one present is published.
+ * </p>
+ * <p>
+ * Disabled with {@code smarthome.metrics.enabled=false}.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(name = "smarthome.metrics.enabled", havingValue = "true", matchIfMissing = true)
+public class PersistenceMetrics implements MeterBinder {
+
+    private final ObjectProvider<LogBatchWriter> logWriter;
+    private final ObjectProvider<LogRepositoryTSDB> timeSeriesStore;
+    private final ObjectProvider<SensorTypeRepositorySpringData> sensorTypes;
+    private final ObjectProvider<ActuatorTypeRepositorySpringData> actuatorTypes;
+
+    /**
+     * Constructs a PersistenceMetrics.
+     *
+     * @param logWriter       the log writer, if the Spring Data log repository is in use
+     * @param timeSeriesStore the time-series store, if the tsdb profile is active
+     * @param sensorTypes     the repository of the sensor types, if the Spring Data one is in use
+     * @param actuatorTypes   the repository of the actuator types, if the Spring Data one is in use
+     */
+    public PersistenceMetrics(ObjectProvider<LogBatchWriter> logWriter,
+                              ObjectProvider<LogRepositoryTSDB> timeSeriesStore,
+                              ObjectProvider<SensorTypeRepositorySpringData> sensorTypes,
+                              ObjectProvider<ActuatorTypeRepositorySpringData> actuatorTypes) {
+        this.logWriter = logWriter;
+        this.timeSeriesStore = timeSeriesStore;
+        this.sensorTypes = sensorTypes;
+        this.actuatorTypes = actuatorTypes;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.logWriter.ifAvailable(writer -> bindLogWriter(writer, registry));
+        this.timeSeriesStore.ifAvailable(store ->
+                Gauge.builder("smarthome.tsdb.series", store, LogRepositoryTSDB::getSeriesCount)
+                        .description("Sensors with readings in the time-series store")
+                        .register(registry));
+        IDInterner.sharedInterners().forEach((cache, interner) ->
+                Gauge.builder("smarthome.cache.size", interner, IDInterner::size)
+                        .description("Entries in the in-process caches, by cache")
+                        .tag("cache", cache)
+                        .register(registry));
+        this.sensorTypes.ifAvailable(repository -> bindReferenceDataCache(repository.getCache(), registry));
+        this.actuatorTypes.ifAvailable(repository -> bindReferenceDataCache(repository.getCache(), registry));
+    }
+
+    private static void bindReferenceDataCache(ReferenceDataCache<?, ?> cache, MeterRegistry registry) {
+        Gauge.builder("smarthome.cache.size", cache, ReferenceDataCache::size)
+                .description("Entries in the in-process caches, by cache")
+                .tag("cache", cache.getName())
+                .register(registry);
+        FunctionCounter.builder("smarthome.cache.gets", cache, ReferenceDataCache::getHitCount)
+                .description("Lookups in the caches of reference data, by result")
+                .tag("cache", cache.getName())
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("smarthome.cache.gets", cache, ReferenceDataCache::getMissCount)
+                .description("Lookups in the caches of reference data, by result")
+                .tag("cache", cache.getName())
+                .tag("result", "miss")
+                .register(registry);
+    }
+
+    private static void bindLogWriter(LogBatchWriter writer, MeterRegistry registry) {
+        Gauge.builder("smarthome.log.writer.queue.depth", writer, LogBatchWriter::getQueueDepth)
+                .description("Logs waiting in the buffer of the log writer")
+                .register(registry);
+        Gauge.builder("smarthome.log.writer.remaining.capacity", writer, LogBatchWriter::getRemainingCapacity)
+                .description("Logs that can still be queued before producers start waiting")
+                .register(registry);
+        FunctionCounter.builder("smarthome.log.writer.flushes", writer, LogBatchWriter::getFlushCount)
+                .description("Flushes of the log writer")
+                .register(registry);
+        logCounter(registry, writer, "written", LogBatchWriter::getWrittenCount);
+        logCounter(registry, writer, "failed", LogBatchWriter::getFailedCount);
+        logCounter(registry, writer, "rejected", LogBatchWriter::getRejectedCount);
+    }
+
+    private static void logCounter(MeterRegistry registry, LogBatchWriter writer, String outcome,
+                                   ToDoubleFunction<LogBatchWriter> count) {
+        FunctionCounter.builder("smarthome.log.writer.logs", writer, count)
+                .description("Logs handled by the log writer, by outcome")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+}
@@ -0,0 +1,93 @@
+package smarthome.utils.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.AfterThrowing;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+
+/**
+ * Times every call to a repository and counts the persistence errors the repositories swallow.
+ * <p>
+ * Calls are timed under {@code smarthome.repository.calls}, tagged with the repository, the method and the outcome of
+ * the call (see {@link Outcome}). The repositories catch the exceptions of the Spring Data repositories they delegate
+ * to and return false, null or nothing instead, so those exceptions are counted on their way out of the Spring Data
+ * repository, under {@code smarthome.persistence.errors}, tagged with the Spring Data repository and the exception.
+ * For methods that return a stream, the timer covers opening the stream, not reading it.
+ * </p>
+ * <p>
+ * Disabled with {@code smarthome.metrics.enabled=false}.
+ * </p>
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(name = "smarthome.metrics.enabled", havingValue = "true", matchIfMissing = true)
+public class RepositoryMetricsAspect {
+
+    private final MeterRegistry registry;
+    private final MethodTimers timers;
+
+    /**
+     * Constructs a RepositoryMetricsAspect.
+     *
+     * @param registry the registry of the metrics
+     */
+    public RepositoryMetricsAspect(MeterRegistry registry) {
+        this.registry = registry;
+        this.timers = new MethodTimers(registry, "smarthome.repository.calls",
+                "Calls to the repositories, by outcome", "repository");
+    }
+
+    /**
+     * Times a call to a repository and records its outcome.
+     *
+     * @param call the call
+     * @return the result of the call
+     * @throws Throwable whatever the repository throws
+     */
+    @Around("within(smarthome.persistence..*) && execution(public * *(..)) && target(smarthome.persistence.Repository)")
+    public Object timeRepositoryCall(ProceedingJoinPoint call) throws Throwable {
+        Method method = ((MethodSignature) call.getSignature()).getMethod();
+        long start = System.nanoTime();
+        Outcome outcome = Outcome.EXCEPTION;
+        try {
+            Object result = call.proceed();
+            outcome = Outcome.of(method.getReturnType(), result);
+            return result;
+        } finally {
+            this.timers.record(call.getTarget().getClass(), method, outcome, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Counts an exception thrown by a Spring Data repository.
+     *
+     * @param call      the call that threw
+     * @param exception the exception
+     */
+    @AfterThrowing(pointcut = "target(org.springframework.data.repository.Repository)", throwing = "exception")
+    public void countPersistenceError(JoinPoint call, RuntimeException exception) {
+        Counter.builder("smarthome.persistence.errors")
+                .description("Exceptions thrown by the Spring Data repositories")
+                .tags("repository", repositoryName(call.getTarget()),
+                        "exception", exception.getClass().getSimpleName())
+                .register(this.registry)
+                .increment();
+    }
+
+    /**
+     * Names a Spring Data repository by its interface, since the repository itself is a generated proxy.
+     */
+    private static String repositoryName(Object repository) {
+        Class<?>[] interfaces = AopProxyUtils.proxiedUserInterfaces(repository);
+        return interfaces.length == 0 ? repository.getClass().getSimpleName() : interfaces[0].getSimpleName();
+    }
+}
@@ -0,0 +1,57 @@
+package smarthome.utils.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+
+/**
+ * Times every call to a service, under {@code smarthome.service.calls}, tagged with the service, the method and
+ * whether the call returned or threw.
+ * <p>
+ * Disabled with {@code smarthome.metrics.enabled=false}.
+ * </p>
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(name = "smarthome.metrics.enabled", havingValue = "true", matchIfMissing = true)
+public class ServiceMetricsAspect {
+
+    private final MethodTimers timers;
+
+    /**
+     * Constructs a ServiceMetricsAspect.
+     *
+     * @param registry the registry of the metrics
+     */
+    public ServiceMetricsAspect(MeterRegistry registry) {
+        this.timers = new MethodTimers(registry, "smarthome.service.calls", "Calls to the services, by outcome",
+                "service");
+    }
+
+    /**
+     * Times a call to a service.
+     *
+     * @param call the call
+     * @return the result of the call
+     * @throws Throwable whatever the service throws
+     */
+    @Around("within(smarthome.service..*) && execution(public * *(..))")
+    public Object timeServiceCall(ProceedingJoinPoint call) throws Throwable {
+        Method method = ((MethodSignature) call.getSignature()).getMethod();
+        long start = System.nanoTime();
+        Outcome outcome = Outcome.EXCEPTION;
+        try {
+            Object result = call.proceed();
+            outcome = Outcome.SUCCESS;
+            return result;
+        } finally {
+            this.timers.record(call.getTarget().getClass(), method, outcome, System.nanoTime() - start);
+        }
+    }
+}
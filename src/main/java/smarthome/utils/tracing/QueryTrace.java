@@ -0,0 +1,192 @@
+package smarthome.utils.tracing;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * The repository calls and SQL statements issued while serving one request, in the order they were issued.
+ * <p>
+ * Calls are also counted by signature: the repository and method of a repository call, or the SQL of a statement with
+ * its literals and the length of its IN lists taken out. Calls with the same signature differ only by their
+ * parameters, so a signature counted many times in one request is a query issued once per item (N+1). Only the
+ * first calls are kept in full; the counts cover every call.
+ * </p>
+ * <p>
+ * A trace belongs to the thread serving its request and is not thread-safe.
+ * </p>
+ */
+public final class QueryTrace {
+
+    /**
+     * The kind of a traced call.
+     */
+    public enum Kind {
+        REPOSITORY, SQL
+    }
+
+    /**
+     * A traced call.
+     *
+     * @param kind           whether the call was a repository call or a SQL statement
+     * @param signature      the signature of the call
+     * @param durationMicros how long the call took, in microseconds
+     */
+    public record Call(Kind kind, String signature, long durationMicros) {
+    }
+
+    static final int MAX_CALLS = 1000;
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern PARAMETER_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+
+    private final String request;
+    private final long startNanos;
+    private long endNanos;
+    private final List<Call> calls = new ArrayList<>();
+    private final Map<String, Integer> counts = new LinkedHashMap<>();
+    private int repositoryCallCount;
+    private int statementCount;
+    private String preparedSql;
+
+    /**
+     * Starts a trace.
+     *
+     * @param request the request being traced, e.g. "GET /devices"
+     */
+    public QueryTrace(String request) {
+        this.request = request;
+        this.startNanos = System.nanoTime();
+    }
+
+    /**
+     * Records a repository call.
+     *
+     * @param signature     the repository and method, e.g. "DeviceRepositoryJPA.findById"
+     * @param durationNanos how long the call took
+     */
+    public void repositoryCall(String signature, long durationNanos) {
+        this.repositoryCallCount++;
+        add(Kind.REPOSITORY, signature, durationNanos);
+    }
+
+    /**
+     * Records the SQL of a statement about to be executed. The statement is traced once it has executed.
+     *
+     * @param sql the SQL of the statement
+     */
+    public void statementPrepared(String sql) {
+        this.preparedSql = sql;
+    }
+
+    /**
+     * Records the execution of the statement last prepared.
+     *
+     * @param durationNanos how long the execution took
+     */
+    public void statementExecuted(long durationNanos) {
+        this.statementCount++;
+        add(Kind.SQL, this.preparedSql == null ? "?" : normalize(this.preparedSql), durationNanos);
+    }
+
+    private void add(Kind kind, String signature, long durationNanos) {
+        this.counts.merge(signature, 1, Integer::sum);
+        if (this.calls.size() < MAX_CALLS) {
+            this.calls.add(new Call(kind, signature, durationNanos / 1_000));
+        }
+    }
+
+    /**
+     * Ends the trace.
+     */
+    public void end() {
+        this.endNanos = System.nanoTime();
+    }
+
+    /**
+     * Returns the signatures issued more times than a threshold, with how many times they were issued.
+     *
+     * @param threshold the number of times a signature may be issued
+     * @return the signatures issued more often, in the order they were first issued
+     */
+    public Map<String, Integer> getRepeated(int threshold) {
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        this.counts.forEach((signature, count) -> {
+            if (count > threshold) {
+                repeated.put(signature, count);
+            }
+        });
+        return repeated;
+    }
+
+    /**
+     * @return the request being traced
+     */
+    public String getRequest() {
+        return this.request;
+    }
+
+    /**
+     * @return how long the request took, or has taken so far, in milliseconds
+     */
+    public double getDurationMillis() {
+        long end = this.endNanos == 0 ? System.nanoTime() : this.endNanos;
+        return (end - this.startNanos) / 1_000_000.0;
+    }
+
+    /**
+     * @return number of repository calls issued
+     */
+    public int getRepositoryCallCount() {
+        return this.repositoryCallCount;
+    }
+
+    /**
+     * @return number of SQL statements executed
+     */
+    public int getStatementCount() {
+        return this.statementCount;
+    }
+
+    /**
+     * @return number of times each signature was issued, in the order they were first issued
+     */
+    public Map<String, Integer> getCounts() {
+        return Collections.unmodifiableMap(this.counts);
+    }
+
+    /**
+     * @return the first calls issued, in the order they were issued
+     */
+    public List<Call> getCalls() {
+        return Collections.unmodifiableList(this.calls);
+    }
+
+    /**
+     * Reduces a SQL statement to its structure: literals become parameters and lists of parameters become a single
+     * one, so statements that differ only by their values or by the number of values they look up are the same.
+     *
+     * @param sql the SQL of a statement
+     * @return the structure of the statement
+     */
+    static String normalize(String sql) {
+        String normalized = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+        normalized = STRING_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+        return PARAMETER_LIST.matcher(normalized).replaceAll("(?...)");
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder(this.request).append(": ").append(this.repositoryCallCount)
+                .append(" repository calls, ").append(this.statementCount).append(" statements");
+        this.counts.forEach((signature, count) -> text.append(System.lineSeparator()).append("  ").append(count)
+                .append(" x ").append(signature));
+        return text.toString();
+    }
+}
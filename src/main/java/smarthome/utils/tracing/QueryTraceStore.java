@@ -0,0 +1,60 @@
+package smarthome.utils.tracing;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Keeps the most recent traces of requests that issued repeated queries, for the {@code querytraces} endpoint.
+ */
+@Component
+@ConditionalOnProperty(name = "smarthome.tracing.enabled", havingValue = "true", matchIfMissing = true)
+public class QueryTraceStore {
+
+    private final int capacity;
+    private final Deque<QueryTrace> traces = new ArrayDeque<>();
+
+    /**
+     * Constructs a QueryTraceStore.
+     *
+     * @param capacity number of traces kept; older ones are dropped
+     * @throws IllegalArgumentException if the capacity is not positive
+     */
+    public QueryTraceStore(@Value("${smarthome.tracing.kept-traces:50}") int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Invalid parameters.");
+        }
+        this.capacity = capacity;
+    }
+
+    /**
+     * Keeps a trace, dropping the oldest one if the store is full.
+     *
+     * @param trace the trace
+     */
+    public synchronized void add(QueryTrace trace) {
+        if (this.traces.size() == this.capacity) {
+            this.traces.removeLast();
+        }
+        this.traces.addFirst(trace);
+    }
+
+    /**
+     * @return the traces kept, most recent first
+     */
+    public synchronized List<QueryTrace> getTraces() {
+        return new ArrayList<>(this.traces);
+    }
+
+    /**
+     * Drops every trace kept.
+     */
+    public synchronized void clear() {
+        this.traces.clear();
+    }
+}
@@ -0,0 +1,49 @@
+package smarthome.utils.tracing;
+
+/**
+ * Holds the trace of the request the current thread is serving.
+ * <p>
+ * The trace is kept per thread rather than as a bean because the SQL hooks are created by Hibernate, not by Spring.
+ * When no trace is active, the hooks only read a thread-local and return.
+ * </p>
+ */
+public final class QueryTracer {
+
+    private static final ThreadLocal<QueryTrace> CURRENT = new ThreadLocal<>();
+
+    private QueryTracer() {
+    }
+
+    /**
+     * Starts tracing the current thread, replacing any trace already active.
+     *
+     * @param request the request being traced
+     * @return the new trace
+     */
+    public static QueryTrace start(String request) {
+        QueryTrace trace = new QueryTrace(request);
+        CURRENT.set(trace);
+        return trace;
+    }
+
+    /**
+     * @return the trace of the current thread, or null if the thread is not being traced
+     */
+    public static QueryTrace current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Stops tracing the current thread.
+     *
+     * @return the trace, ended, or null if the thread was not being traced
+     */
+    public static QueryTrace stop() {
+        QueryTrace trace = CURRENT.get();
+        CURRENT.remove();
+        if (trace != null) {
+            trace.end();
+        }
+        return trace;
+    }
+}
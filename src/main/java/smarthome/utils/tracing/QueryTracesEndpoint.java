@@ -0,0 +1,46 @@
+package smarthome.utils.tracing;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Debug endpoint listing the traces of the recent requests that issued repeated queries, at
+ * {@code /actuator/querytraces}. A DELETE on the endpoint drops them.
+ */
+@Component
+@Endpoint(id = "querytraces")
+@ConditionalOnProperty(name = "smarthome.tracing.enabled", havingValue = "true", matchIfMissing = true)
+public class QueryTracesEndpoint {
+
+    private final QueryTraceStore store;
+
+    /**
+     * Constructs a QueryTracesEndpoint.
+     *
+     * @param store the traces kept
+     */
+    public QueryTracesEndpoint(QueryTraceStore store) {
+        this.store = store;
+    }
+
+    /**
+     * @return the traces kept, most recent first
+     */
+    @ReadOperation
+    public List<QueryTrace> traces() {
+        return this.store.getTraces();
+    }
+
+    /**
+     * Drops the traces kept.
+     */
+    @DeleteOperation
+    public void clear() {
+        this.store.clear();
+    }
+}
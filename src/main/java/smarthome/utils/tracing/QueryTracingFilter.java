@@ -0,0 +1,69 @@
+package smarthome.utils.tracing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Traces the repository calls and SQL statements of every request. When a request issues the same query more times
+ * than the threshold, a warning is logged and the trace is kept for the {@code querytraces} endpoint.
+ * <p>
+ * Only the thread serving the request is traced: the part of a streamed response written after the request thread
+ * returns is not.
+ * </p>
+ * <p>
+ * Disabled with {@code smarthome.tracing.enabled=false}.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(name = "smarthome.tracing.enabled", havingValue = "true", matchIfMissing = true)
+public class QueryTracingFilter extends OncePerRequestFilter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(QueryTracingFilter.class);
+
+    private final QueryTraceStore store;
+    private final int repeatedQueryThreshold;
+
+    /**
+     * Constructs a QueryTracingFilter.
+     *
+     * @param store                  where the traces of requests with repeated queries are kept
+     * @param repeatedQueryThreshold number of times a request may issue the same query before it is reported
+     * @throws IllegalArgumentException if the threshold is not positive
+     */
+    public QueryTracingFilter(QueryTraceStore store,
+                              @Value("${smarthome.tracing.repeated-query-threshold:10}") int repeatedQueryThreshold) {
+        if (repeatedQueryThreshold <= 0) {
+            throw new IllegalArgumentException("Invalid parameters.");
+        }
+        this.store = store;
+        this.repeatedQueryThreshold = repeatedQueryThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        QueryTracer.start(request.getMethod() + " " + request.getRequestURI());
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            QueryTrace trace = QueryTracer.stop();
+            Map<String, Integer> repeated = trace.getRepeated(this.repeatedQueryThreshold);
+            if (!repeated.isEmpty()) {
+                LOGGER.warn("{} issued the same query more than {} times: {}", trace.getRequest(),
+                        this.repeatedQueryThreshold, repeated);
+                this.store.add(trace);
+            }
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package smarthome.utils.tracing;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Records every call to a repository in the trace of the current thread, if it is being traced.
+ * <p>
+ * Disabled with {@code smarthome.tracing.enabled=false}.
+ * </p>
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(name = "smarthome.tracing.enabled", havingValue = "true", matchIfMissing = true)
+public class RepositoryTracingAspect {
+
+    /**
+     * Records a call to a repository.
+     *
+     * @param call the call
+     * @return the result of the call
+     * @throws Throwable whatever the repository throws
+     */
+    @Around("within(smarthome.persistence..*) && execution(public * *(..)) && target(smarthome.persistence.Repository)")
+    public Object traceRepositoryCall(ProceedingJoinPoint call) throws Throwable {
+        QueryTrace trace = QueryTracer.current();
+        if (trace == null) {
+            return call.proceed();
+        }
+        long start = System.nanoTime();
+        try {
+            return call.proceed();
+        } finally {
+            trace.repositoryCall(call.getTarget().getClass().getSimpleName() + "." + call.getSignature().getName(),
+                    System.nanoTime() - start);
+        }
+    }
+}
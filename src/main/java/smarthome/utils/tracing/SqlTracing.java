@@ -0,0 +1,74 @@
+package smarthome.utils.tracing;
+
+import org.hibernate.SessionEventListener;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Traces the SQL statements Hibernate executes. Hibernate passes each statement through the inspector before
+ * preparing it, then reports when its execution starts and ends to the listener of the session.
+ * <p>
+ * Both are registered by name, as Hibernate creates them itself, by {@link SqlTracingCustomizer} when tracing is
+ * enabled: {@code hibernate.session_factory.statement_inspector=smarthome.utils.tracing.SqlTracing$Inspector} and
+ * {@code hibernate.session.events.auto=smarthome.utils.tracing.SqlTracing$Listener}.
+ * </p>
+ */
+public final class SqlTracing {
+
+    private SqlTracing() {
+    }
+
+    /**
+     * Records the SQL of each statement in the trace of the current thread.
+     */
+    public static final class Inspector implements StatementInspector {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public String inspect(String sql) {
+            QueryTrace trace = QueryTracer.current();
+            if (trace != null) {
+                trace.statementPrepared(sql);
+            }
+            return sql;
+        }
+    }
+
+    /**
+     * Times the execution of each statement in the trace of the current thread. Hibernate creates one listener per
+     * session.
+     */
+    public static final class Listener implements SessionEventListener {
+
+        private static final long serialVersionUID = 1L;
+
+        private long executionStart;
+
+        @Override
+        public void jdbcExecuteStatementStart() {
+            this.executionStart = System.nanoTime();
+        }
+
+        @Override
+        public void jdbcExecuteStatementEnd() {
+            executed();
+        }
+
+        @Override
+        public void jdbcExecuteBatchStart() {
+            this.executionStart = System.nanoTime();
+        }
+
+        @Override
+        public void jdbcExecuteBatchEnd() {
+            executed();
+        }
+
+        private void executed() {
+            QueryTrace trace = QueryTracer.current();
+            if (trace != null) {
+                trace.statementExecuted(System.nanoTime() - this.executionStart);
+            }
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package smarthome.utils.tracing;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Registers the hooks of {@link SqlTracing} with Hibernate, so SQL statements are only inspected and timed when
+ * tracing is enabled.
+ */
+@Component
+@ConditionalOnProperty(name = "smarthome.tracing.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlTracingCustomizer implements HibernatePropertiesCustomizer {
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, SqlTracing.Inspector.class.getName());
+        hibernateProperties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, SqlTracing.Listener.class.getName());
+    }
+}
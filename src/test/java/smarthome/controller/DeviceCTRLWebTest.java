@@ -107,7 +107,7 @@ class DeviceCTRLWebTest {
         Link expectedAddActuatorLink = linkTo(methodOn(ActuatorCTRLWeb.class).addActuatorToDevice(null)).withRel("addActuator");
         Link expectedListOfActuatorsLink = linkTo(methodOn(ActuatorCTRLWeb.class).getActuatorsByDeviceID(deviceID)).withRel("getActuatorsByDeviceId");
         Link expectedActuatorTypeLink = linkTo(methodOn(ActuatorTypeCTRLWeb.class).getActuatorTypes()).withRel("getActuatorType");
-        Link expectedFindReadingsLink = linkTo(methodOn(LogCTRLWeb.class).findReadings(deviceID, null)).withRel("findReadingsInAPeriod");
+        Link expectedFindReadingsLink = linkTo(methodOn(LogCTRLWeb.class).findReadings(deviceID, null, null, null)).withRel("findReadingsInAPeriod");
 
         when(deviceRepository.isPresent(deviceIDVO)).thenReturn(true);
         when(deviceRepository.findById(deviceIDVO)).thenReturn(device);
@@ -762,9 +762,8 @@ class DeviceCTRLWebTest {
         DeviceIDVO secondDeviceID = secondDevice.getId();
         String secondDeviceIdString = secondDeviceID.getID();
 
-        //Conditioning device repository to return the correct device associated with a deviceID
-        when(deviceRepository.findById(deviceID)).thenReturn(device);
-        when(deviceRepository.findById(secondDeviceID)).thenReturn(secondDevice);
+        //Conditioning device repository to return both devices when queried for the devices of their deviceIDs
+        when(deviceRepository.findAllByIds(any())).thenReturn(List.of(device, secondDevice));
 
         //Initializing a sensor
         String sensorNameString = "Position Sensor Name";
@@ -865,9 +864,8 @@ class DeviceCTRLWebTest {
         //Extracting the generated device id
         DeviceIDVO secondDeviceID = secondDevice.getId();
 
-        //Conditioning device repository to return the correct device associated with a deviceID
-        when(deviceRepository.findById(deviceID)).thenReturn(device);
-        when(deviceRepository.findById(secondDeviceID)).thenReturn(secondDevice);
+        //Conditioning device repository to return both devices when queried for the devices of their deviceIDs
+        when(deviceRepository.findAllByIds(any())).thenReturn(List.of(device, secondDevice));
 
         //Initializing a sensor
         String sensorNameString = "Position Sensor Name";
@@ -29,6 +29,7 @@ import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -92,10 +93,7 @@ class GetListOfDevicesByFunctionalityCTRLTest {
 
         // Device doubling and behaviour conditioning
         DeviceRepository deviceRepositoryDouble = mock(DeviceRepository.class);
-        when(deviceRepositoryDouble.findById(deviceIDVO1)).thenReturn(device1);
-        when(deviceRepositoryDouble.findById(deviceIDVO2)).thenReturn(device2);
-        when(deviceRepositoryDouble.findById(deviceIDVO3)).thenReturn(device3);
-        when(deviceRepositoryDouble.findById(deviceIDVO4)).thenReturn(device4);
+        when(deviceRepositoryDouble.findAllByIds(any())).thenReturn(List.of(device1, device2, device3, device4));
 
         // Device1 sensors
         List<Sensor> sensorList = new ArrayList<>();
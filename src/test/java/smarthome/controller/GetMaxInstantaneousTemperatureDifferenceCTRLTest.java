@@ -4,6 +4,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import smarthome.domain.device.Device;
 import smarthome.domain.log.Log;
+import smarthome.domain.log.ReadingSeries;
 import smarthome.domain.log.LogFactory;
 import smarthome.domain.room.Room;
 import smarthome.domain.sensor.sensorvalues.TemperatureValue;
@@ -488,7 +489,7 @@ class GetMaxInstantaneousTemperatureDifferenceCTRLTest {
         TimeStampVO initialDateTime = new TimeStampVO(initialT);
         TimeStampVO finalDateTime = new TimeStampVO(finalT);
 
-        when(logRepository.getDeviceTemperatureLogs(outDeviceIDVO, "TemperatureSensor", initialDateTime, finalDateTime)).thenReturn(Collections.emptyList());
+        when(logRepository.getDeviceTemperatureSeries(outDeviceIDVO, "TemperatureSensor", initialDateTime, finalDateTime)).thenReturn(ReadingSeries.empty());
 
         TimeConfigDTO timeConfigDTO = new TimeConfigDTO(startDate, startTime, endDate, endTime, delta);
 
@@ -578,8 +579,8 @@ class GetMaxInstantaneousTemperatureDifferenceCTRLTest {
         TimeStampVO initialDateTime = new TimeStampVO(initialT);
         TimeStampVO finalDateTime = new TimeStampVO(finalT);
 
-        when(logRepository.getDeviceTemperatureLogs(outDeviceIDVO, "TemperatureSensor", initialDateTime, finalDateTime)).thenReturn(Collections.emptyList());
-        when(logRepository.getDeviceTemperatureLogs(inDeviceIDVO, "TemperatureSensor", initialDateTime, finalDateTime)).thenReturn(Collections.emptyList());
+        when(logRepository.getDeviceTemperatureSeries(outDeviceIDVO, "TemperatureSensor", initialDateTime, finalDateTime)).thenReturn(ReadingSeries.empty());
+        when(logRepository.getDeviceTemperatureSeries(inDeviceIDVO, "TemperatureSensor", initialDateTime, finalDateTime)).thenReturn(ReadingSeries.empty());
 
         SensorIDVO outdoorSensorID = new SensorIDVO(UUID.randomUUID());
 
@@ -593,8 +594,8 @@ class GetMaxInstantaneousTemperatureDifferenceCTRLTest {
 
         List<Log> outdoorLogs = Arrays.asList(outLog1Dev1, outLog2Dev1, outLog3Dev1, outLog4Dev1, outLog5Dev1);
 
-        when(logRepository.getDeviceTemperatureLogs(outDeviceIDVO, "TemperatureSensor", initialDateTime, finalDateTime)).thenReturn(outdoorLogs);
-        when(logRepository.getDeviceTemperatureLogs(inDeviceIDVO, "TemperatureSensor", initialDateTime, finalDateTime)).thenReturn(Collections.emptyList());
+        when(logRepository.getDeviceTemperatureSeries(outDeviceIDVO, "TemperatureSensor", initialDateTime, finalDateTime)).thenReturn(ReadingSeries.fromLogs(outdoorLogs));
+        when(logRepository.getDeviceTemperatureSeries(inDeviceIDVO, "TemperatureSensor", initialDateTime, finalDateTime)).thenReturn(ReadingSeries.empty());
 
         TimeConfigDTO timeConfigDTO = new TimeConfigDTO(startDate, startTime, endDate, endTime, delta);
 
@@ -706,8 +707,8 @@ class GetMaxInstantaneousTemperatureDifferenceCTRLTest {
         List<Log> outdoorLogs = Arrays.asList(outLog1Dev1, outLog2Dev1, outLog3Dev1, outLog4Dev1, outLog5Dev1);
         List<Log> indoorLogs = Arrays.asList(inLog1Dev1, inLog2Dev1, inLog3Dev1, inLog4Dev1, inLog5Dev1);
 
-        when(logRepository.getDeviceTemperatureLogs(outDeviceIDVO, "TemperatureSensor", initialDateTime, finalDateTime)).thenReturn(outdoorLogs);
-        when(logRepository.getDeviceTemperatureLogs(inDeviceIDVO, "TemperatureSensor", initialDateTime, finalDateTime)).thenReturn(indoorLogs);
+        when(logRepository.getDeviceTemperatureSeries(outDeviceIDVO, "TemperatureSensor", initialDateTime, finalDateTime)).thenReturn(ReadingSeries.fromLogs(outdoorLogs));
+        when(logRepository.getDeviceTemperatureSeries(inDeviceIDVO, "TemperatureSensor", initialDateTime, finalDateTime)).thenReturn(ReadingSeries.fromLogs(indoorLogs));
 
         String expected = "Readings were found within the provided time span, but with no matches within the delta provided";
 
@@ -819,8 +820,8 @@ class GetMaxInstantaneousTemperatureDifferenceCTRLTest {
         List<Log> outdoorLogs = Arrays.asList(outLog1Dev1, outLog2Dev1, outLog3Dev1, outLog4Dev1, outLog5Dev1);
         List<Log> indoorLogs = Arrays.asList(inLog1Dev1, inLog2Dev1, inLog3Dev1, inLog4Dev1, inLog5Dev1);
 
-        when(logRepository.getDeviceTemperatureLogs(outDeviceIDVO, "TemperatureSensor", initialDateTime, finalDateTime)).thenReturn(outdoorLogs);
-        when(logRepository.getDeviceTemperatureLogs(inDeviceIDVO, "TemperatureSensor", initialDateTime, finalDateTime)).thenReturn(indoorLogs);
+        when(logRepository.getDeviceTemperatureSeries(outDeviceIDVO, "TemperatureSensor", initialDateTime, finalDateTime)).thenReturn(ReadingSeries.fromLogs(outdoorLogs));
+        when(logRepository.getDeviceTemperatureSeries(inDeviceIDVO, "TemperatureSensor", initialDateTime, finalDateTime)).thenReturn(ReadingSeries.fromLogs(indoorLogs));
 
         String expected = "The Maximum Temperature Difference within the selected Period was of 9.0 Cº which happened at 2024-03-26T00:02:01";
 
@@ -8,9 +8,11 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import smarthome.domain.device.Device;
 import smarthome.domain.log.Log;
+import smarthome.domain.log.ReadingSeries;
 import smarthome.domain.room.Room;
 import smarthome.domain.sensor.SunsetSensor;
 import smarthome.domain.sensor.SwitchSensor;
@@ -21,12 +23,14 @@ import smarthome.domain.vo.devicevo.DeviceIDVO;
 import smarthome.domain.vo.devicevo.DeviceModelVO;
 import smarthome.domain.vo.devicevo.DeviceNameVO;
 import smarthome.domain.vo.housevo.HouseIDVO;
+import smarthome.domain.vo.logvo.LogCursorVO;
 import smarthome.domain.vo.logvo.LogIDVO;
 import smarthome.domain.vo.logvo.TimeStampVO;
 import smarthome.domain.vo.roomvo.*;
 import smarthome.domain.vo.sensortype.SensorTypeIDVO;
 import smarthome.domain.vo.sensorvo.SensorIDVO;
 import smarthome.domain.vo.sensorvo.SensorNameVO;
+import smarthome.mapper.LogMapper;
 import smarthome.mapper.dto.LogDTO;
 import smarthome.persistence.DeviceRepository;
 import smarthome.persistence.LogRepository;
@@ -41,9 +45,16 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -220,6 +231,128 @@ class LogCTRLWebTest {
                 .andExpect(jsonPath("$._embedded.logDTOList[1].sensorTypeID").value(log2.getSensorTypeID().getID()));
     }
 
+    /**
+     * Test case to verify that a GET request to the "/logs" endpoint with a limit returns the first page of readings
+     * with a next link carrying the cursor of the last reading, and no prev link.
+     *
+     * @throws Exception if an exception occurs during the mock MVC request operation.
+     */
+    @Test
+    void findReadings_WhenLimitAndFullFirstPage_ShouldReturnPageWithNextLink() throws Exception {
+        //Arrange
+        DeviceIDVO deviceID = new DeviceIDVO(UUID.randomUUID());
+        SensorIDVO sensorID = new SensorIDVO(UUID.randomUUID());
+        SensorTypeIDVO sensorType = new SensorTypeIDVO("TemperatureSensor");
+        Log log1 = new Log(new LogIDVO(UUID.randomUUID()), new TimeStampVO(LocalDateTime.parse("2024-04-04T12:00:30")),
+                new TemperatureValue("23"), sensorID, deviceID, sensorType);
+        Log log2 = new Log(new LogIDVO(UUID.randomUUID()), new TimeStampVO(LocalDateTime.parse("2024-04-04T12:10:00")),
+                new TemperatureValue("25"), sensorID, deviceID, sensorType);
+
+        when(logRepository.findReadingsPageByDeviceID(deviceID, null, null, null, 2)).thenReturn(List.of(log1, log2));
+        String expectedCursor = LogMapper.cursorToString(LogMapper.createNextCursor(log2));
+
+        //Act & Assert
+        mockMvc.perform(get("/logs")
+                        .param("deviceId", deviceID.getID())
+                        .param("limit", "2")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.logDTOList[0].logID").value(log1.getId().getID()))
+                .andExpect(jsonPath("$._embedded.logDTOList[1].logID").value(log2.getId().getID()))
+                .andExpect(jsonPath("$._links.next.href").value(containsString("cursor=" + expectedCursor)))
+                .andExpect(jsonPath("$._links.next.href").value(containsString("limit=2")))
+                .andExpect(jsonPath("$._links.prev").doesNotExist());
+    }
+
+    /**
+     * Test case to verify that a GET request to the "/logs" endpoint with a forward cursor returns the readings after
+     * the cursor, with a prev link and, as the page is not full, no next link.
+     *
+     * @throws Exception if an exception occurs during the mock MVC request operation.
+     */
+    @Test
+    void findReadings_WhenCursorAndLastPage_ShouldReturnPageWithPrevLinkOnly() throws Exception {
+        //Arrange
+        DeviceIDVO deviceID = new DeviceIDVO(UUID.randomUUID());
+        SensorIDVO sensorID = new SensorIDVO(UUID.randomUUID());
+        SensorTypeIDVO sensorType = new SensorTypeIDVO("TemperatureSensor");
+        Log previous = new Log(new LogIDVO(UUID.randomUUID()), new TimeStampVO(LocalDateTime.parse("2024-04-04T12:00:30")),
+                new TemperatureValue("23"), sensorID, deviceID, sensorType);
+        Log log = new Log(new LogIDVO(UUID.randomUUID()), new TimeStampVO(LocalDateTime.parse("2024-04-04T12:10:00")),
+                new TemperatureValue("25"), sensorID, deviceID, sensorType);
+        LogCursorVO cursor = LogMapper.createNextCursor(previous);
+
+        when(logRepository.findReadingsPageByDeviceID(deviceID, null, null, cursor, 2)).thenReturn(List.of(log));
+        String expectedCursor = LogMapper.cursorToString(LogMapper.createPreviousCursor(log));
+
+        //Act & Assert
+        mockMvc.perform(get("/logs")
+                        .param("deviceId", deviceID.getID())
+                        .param("cursor", LogMapper.cursorToString(cursor))
+                        .param("limit", "2")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.logDTOList[0].logID").value(log.getId().getID()))
+                .andExpect(jsonPath("$._links.prev.href").value(containsString("cursor=" + expectedCursor)))
+                .andExpect(jsonPath("$._links.next").doesNotExist());
+    }
+
+    /**
+     * Test case to verify that a GET request to the "/logs" endpoint with a malformed cursor returns a Bad Request status.
+     *
+     * @throws Exception if an exception occurs during the mock MVC request operation.
+     */
+    @Test
+    void findReadings_WhenMalformedCursor_ShouldReturnBadRequest() throws Exception {
+        //Arrange
+        DeviceIDVO deviceID = new DeviceIDVO(UUID.randomUUID());
+
+        //Act & Assert
+        mockMvc.perform(get("/logs")
+                        .param("deviceId", deviceID.getID())
+                        .param("cursor", "not-a-cursor")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Test case to verify that a GET request to the "/logs" endpoint with a limit out of range returns a Bad Request status.
+     *
+     * @throws Exception if an exception occurs during the mock MVC request operation.
+     */
+    @Test
+    void findReadings_WhenLimitIsZero_ShouldReturnBadRequest() throws Exception {
+        //Arrange
+        DeviceIDVO deviceID = new DeviceIDVO(UUID.randomUUID());
+
+        //Act & Assert
+        mockMvc.perform(get("/logs")
+                        .param("deviceId", deviceID.getID())
+                        .param("limit", "0")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Test case to verify that a GET request to the "/logs" endpoint with a limit above the maximum page size returns
+     * a Bad Request status without reading the repository.
+     *
+     * @throws Exception if an exception occurs during the mock MVC request operation.
+     */
+    @Test
+    void findReadings_WhenLimitIsAboveMaximum_ShouldReturnBadRequest() throws Exception {
+        //Arrange
+        DeviceIDVO deviceID = new DeviceIDVO(UUID.randomUUID());
+
+        //Act & Assert
+        mockMvc.perform(get("/logs")
+                        .param("deviceId", deviceID.getID())
+                        .param("limit", "1001")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+        verify(logRepository, never()).findReadingsPageByDeviceID(any(), any(), any(), any(), anyInt());
+    }
+
     /**
      * Test case to verify that a GET request to the "/logs" endpoint with an existing device ID
      * and only an initial time frame specified returns a Bad Request status.
@@ -567,10 +700,10 @@ class LogCTRLWebTest {
         TimeStampVO initialSearch = new TimeStampVO(initialDate, initialTime);
         TimeStampVO finalSearch = new TimeStampVO(endDate, endTime);
 
-        when(logRepository.getDeviceTemperatureLogs(outDeviceIDVO, "TemperatureSensor", initialSearch, finalSearch))
-                .thenReturn(outLog);
-        when(logRepository.getDeviceTemperatureLogs(inDeviceIDVO, "TemperatureSensor", initialSearch, finalSearch))
-                .thenReturn(inLog);
+        when(logRepository.getDeviceTemperatureSeries(outDeviceIDVO, "TemperatureSensor", initialSearch, finalSearch))
+                .thenReturn(ReadingSeries.fromLogs(outLog));
+        when(logRepository.getDeviceTemperatureSeries(inDeviceIDVO, "TemperatureSensor", initialSearch, finalSearch))
+                .thenReturn(ReadingSeries.fromLogs(inLog));
 
         String timeConfigJson = String.format(
                 "{\"initialDate\":\"%s\",\"initialTime\":\"%s\",\"endDate\":\"%s\",\"endTime\":\"%s\",\"deltaMin\":%s}",
@@ -665,10 +798,10 @@ class LogCTRLWebTest {
         TimeStampVO initialSearch = new TimeStampVO(initialDate, initialTime);
         TimeStampVO finalSearch = new TimeStampVO(endDate, endTime);
 
-        when(logRepository.getDeviceTemperatureLogs(outDeviceIDVO, "TemperatureSensor", initialSearch, finalSearch))
-                .thenReturn(outLog);
-        when(logRepository.getDeviceTemperatureLogs(inDeviceIDVO, "TemperatureSensor", initialSearch, finalSearch))
-                .thenReturn(inLog);
+        when(logRepository.getDeviceTemperatureSeries(outDeviceIDVO, "TemperatureSensor", initialSearch, finalSearch))
+                .thenReturn(ReadingSeries.fromLogs(outLog));
+        when(logRepository.getDeviceTemperatureSeries(inDeviceIDVO, "TemperatureSensor", initialSearch, finalSearch))
+                .thenReturn(ReadingSeries.fromLogs(inLog));
 
         String timeConfigJson = String.format(
                 "{\"initialDate\":\"%s\",\"initialTime\":\"%s\",\"endDate\":\"%s\",\"endTime\":\"%s\",\"deltaMin\":%s}",
@@ -746,10 +879,10 @@ class LogCTRLWebTest {
         TimeStampVO initialSearch = new TimeStampVO(initialDate, initialTime);
         TimeStampVO finalSearch = new TimeStampVO(endDate, endTime);
 
-        when(logRepository.getDeviceTemperatureLogs(outDeviceIDVO, "TemperatureSensor", initialSearch, finalSearch))
-                .thenReturn(new ArrayList<>());
-        when(logRepository.getDeviceTemperatureLogs(inDeviceIDVO, "TemperatureSensor", initialSearch, finalSearch))
-                .thenReturn(new ArrayList<>());
+        when(logRepository.getDeviceTemperatureSeries(outDeviceIDVO, "TemperatureSensor", initialSearch, finalSearch))
+                .thenReturn(ReadingSeries.empty());
+        when(logRepository.getDeviceTemperatureSeries(inDeviceIDVO, "TemperatureSensor", initialSearch, finalSearch))
+                .thenReturn(ReadingSeries.empty());
 
         String timeConfigJson = String.format(
                 "{\"initialDate\":\"%s\",\"initialTime\":\"%s\",\"endDate\":\"%s\",\"endTime\":\"%s\",\"deltaMin\":%s}",
@@ -905,10 +1038,10 @@ class LogCTRLWebTest {
         TimeStampVO initialSearch = new TimeStampVO(initialDate, initialTime);
         TimeStampVO finalSearch = new TimeStampVO(endDate, endTime);
 
-        when(logRepository.getDeviceTemperatureLogs(outDeviceIDVO, "TemperatureSensor", initialSearch, finalSearch))
-                .thenReturn(new ArrayList<>());
-        when(logRepository.getDeviceTemperatureLogs(inDeviceIDVO, "TemperatureSensor", initialSearch, finalSearch))
-                .thenReturn(new ArrayList<>());
+        when(logRepository.getDeviceTemperatureSeries(outDeviceIDVO, "TemperatureSensor", initialSearch, finalSearch))
+                .thenReturn(ReadingSeries.empty());
+        when(logRepository.getDeviceTemperatureSeries(inDeviceIDVO, "TemperatureSensor", initialSearch, finalSearch))
+                .thenReturn(ReadingSeries.empty());
 
         String timeConfigJson1 = String.format(
                 "{\"initialDate\":\"%s\",\"initialTime\":\"%s\",\"endDate\":\"%s\",\"endTime\":\"%s\",\"deltaMin\":%s}",
@@ -1074,7 +1207,7 @@ class LogCTRLWebTest {
         TimeStampVO initialSearch = new TimeStampVO(initialDate, initialTime);
         TimeStampVO finalSearch = new TimeStampVO(endDate, endTime);
 
-        when(logRepository.findByDeviceIDAndSensorTypeAndTimeBetween(deviceID.getID(), sensorType.getID(), initialSearch, finalSearch)).thenReturn(Collections.emptyList());
+        when(logRepository.findSeriesByDeviceIDAndSensorTypeAndTimeBetween(deviceID.getID(), sensorType.getID(), initialSearch, finalSearch)).thenReturn(ReadingSeries.empty());
 
         //Act & Assert
         mockMvc.perform(get("/logs/peak-power-consumption")
@@ -1131,9 +1264,9 @@ class LogCTRLWebTest {
         List<Log> listOfPowerGridLogs = new ArrayList<>();
         listOfPowerGridLogs.add(powerGridLog1);
 
-        when(logRepository.findByDeviceIDAndSensorTypeAndTimeBetween(deviceID, sensorTypeID, initialSearch, finalSearch)).thenReturn(listOfPowerGridLogs);
+        when(logRepository.findSeriesByDeviceIDAndSensorTypeAndTimeBetween(deviceID, sensorTypeID, initialSearch, finalSearch)).thenReturn(ReadingSeries.fromLogs(listOfPowerGridLogs));
 
-        when(logRepository.findByNegativeReadingAndNotDeviceIDAndSensorTypeAndTimeBetween(deviceID, sensorTypeID, initialSearch, finalSearch)).thenReturn(Collections.emptyList());
+        when(logRepository.findSeriesByNegativeReadingAndNotDeviceIDAndSensorTypeAndTimeBetween(deviceID, sensorTypeID, initialSearch, finalSearch)).thenReturn(ReadingSeries.empty());
 
         String expected = "The Peak Power Consumption from the Grid within the selected Period was " + powerGridLog1.getReading().getValue() +
                 " Wh which happened at " + powerGridLog1.getTime().getValue() + " (No Power Source Device Logs were found within the selected period)";
@@ -1193,7 +1326,7 @@ class LogCTRLWebTest {
         List<Log> listOfPowerGridLogs = new ArrayList<>();
         listOfPowerGridLogs.add(powerGridLog1);
 
-        when(logRepository.findByDeviceIDAndSensorTypeAndTimeBetween(deviceID, sensorTypeID, initialSearch, finalSearch)).thenReturn(listOfPowerGridLogs);
+        when(logRepository.findSeriesByDeviceIDAndSensorTypeAndTimeBetween(deviceID, sensorTypeID, initialSearch, finalSearch)).thenReturn(ReadingSeries.fromLogs(listOfPowerGridLogs));
 
         // Arranging PowerSourceLogs and Stubbing the repository
         LogIDVO powerSourceID1 = new LogIDVO(UUID.randomUUID());
@@ -1207,7 +1340,7 @@ class LogCTRLWebTest {
         List<Log> listOfPowerSourceLogs = new ArrayList<>();
         listOfPowerSourceLogs.add(powerSourceLog1);
 
-        when(logRepository.findByNegativeReadingAndNotDeviceIDAndSensorTypeAndTimeBetween(deviceID, sensorTypeID, initialSearch, finalSearch)).thenReturn(listOfPowerSourceLogs);
+        when(logRepository.findSeriesByNegativeReadingAndNotDeviceIDAndSensorTypeAndTimeBetween(deviceID, sensorTypeID, initialSearch, finalSearch)).thenReturn(ReadingSeries.fromLogs(listOfPowerSourceLogs));
 
         String expected = "Readings were found within the provided time span, but with no instant matches within the delta provided";
 
@@ -1264,7 +1397,7 @@ class LogCTRLWebTest {
         List<Log> listOfPowerGridLogs = new ArrayList<>();
         listOfPowerGridLogs.add(powerGridLog1);
 
-        when(logRepository.findByDeviceIDAndSensorTypeAndTimeBetween(deviceID, sensorTypeID, initialSearch, finalSearch)).thenReturn(listOfPowerGridLogs);
+        when(logRepository.findSeriesByDeviceIDAndSensorTypeAndTimeBetween(deviceID, sensorTypeID, initialSearch, finalSearch)).thenReturn(ReadingSeries.fromLogs(listOfPowerGridLogs));
 
         // Arranging PowerSupplyLogs and stubbing the repository
         LogIDVO powerSourceID1 = new LogIDVO(UUID.randomUUID());
@@ -1278,7 +1411,7 @@ class LogCTRLWebTest {
         List<Log> listOfPowerSourceLogs = new ArrayList<>();
         listOfPowerSourceLogs.add(powerSourceLog1);
 
-        when(logRepository.findByNegativeReadingAndNotDeviceIDAndSensorTypeAndTimeBetween(deviceID, sensorTypeID, initialSearch, finalSearch)).thenReturn(listOfPowerSourceLogs);
+        when(logRepository.findSeriesByNegativeReadingAndNotDeviceIDAndSensorTypeAndTimeBetween(deviceID, sensorTypeID, initialSearch, finalSearch)).thenReturn(ReadingSeries.fromLogs(listOfPowerSourceLogs));
 
         String expected = "The Peak Power Consumption of the House within the selected Period was of 26 Wh which happened at " + powerGridTime1.getValue();
 
@@ -1470,4 +1603,201 @@ class LogCTRLWebTest {
                 .andExpect(status().isOk())
                 .andExpect(content().string("2024-05-10T16:17:03Z[UTC]"));
     }
-}
\ No newline at end of file
+
+    /**
+     * Tests that a NDJSON upload to the "/logs/batch" endpoint persists the valid readings in a single batch and
+     * reports, per item, which readings were accepted and which were rejected.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void whenNdjsonUploadHasValidAndInvalidReadings_addLogsInBatchReturnsPerItemResults() throws Exception {
+        // Arrange
+        String sensorID = UUID.randomUUID().toString();
+        String deviceID = UUID.randomUUID().toString();
+        String body =
+                "{\"reading\":\"21.5\",\"sensorID\":\"" + sensorID + "\",\"deviceID\":\"" + deviceID + "\",\"sensorTypeID\":\"TemperatureSensor\",\"time\":\"2024-04-04T12:00:00\"}\n" +
+                "{\"reading\":\"hot\",\"sensorID\":\"" + sensorID + "\",\"deviceID\":\"" + deviceID + "\",\"sensorTypeID\":\"TemperatureSensor\"}\n" +
+                "{\"reading\":\"22\",\"sensorID\":\"not-a-uuid\",\"deviceID\":\"" + deviceID + "\",\"sensorTypeID\":\"TemperatureSensor\"}\n" +
+                "{\"reading\":\"23\",\"sensorID\":\"" + sensorID + "\",\"deviceID\":\"" + deviceID + "\",\"sensorTypeID\":\"TemperatureSensor\"}\n";
+
+        when(logRepository.saveAll(any())).thenReturn(true);
+
+        // Act & Assert
+        mockMvc.perform(MockMvcRequestBuilders.post("/logs/batch")
+                        .contentType("application/x-ndjson")
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(4))
+                .andExpect(jsonPath("$[0].index").value(0))
+                .andExpect(jsonPath("$[0].accepted").value(true))
+                .andExpect(jsonPath("$[0].logID").isNotEmpty())
+                .andExpect(jsonPath("$[1].accepted").value(false))
+                .andExpect(jsonPath("$[1].message").value("Invalid reading"))
+                .andExpect(jsonPath("$[2].accepted").value(false))
+                .andExpect(jsonPath("$[2].message").value("Invalid parameters"))
+                .andExpect(jsonPath("$[3].accepted").value(true));
+
+        verify(logRepository, times(1)).saveAll(any());
+    }
+
+    /**
+     * Tests that items missing a required field are rejected as invalid parameters while the remaining readings are
+     * still accepted.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void whenItemsAreMissingFields_addLogsInBatchRejectsThemAsInvalidParameters() throws Exception {
+        // Arrange
+        String sensorID = UUID.randomUUID().toString();
+        String deviceID = UUID.randomUUID().toString();
+        String body =
+                "{\"reading\":\"21\",\"sensorID\":\"" + sensorID + "\",\"sensorTypeID\":\"TemperatureSensor\"}\n" +
+                "{\"reading\":\"22\",\"deviceID\":\"" + deviceID + "\",\"sensorTypeID\":\"TemperatureSensor\"}\n" +
+                "{\"reading\":\"23\",\"sensorID\":\"" + sensorID + "\",\"deviceID\":\"" + deviceID + "\",\"sensorTypeID\":\"TemperatureSensor\"}\n";
+
+        when(logRepository.saveAll(any())).thenReturn(true);
+
+        // Act & Assert
+        mockMvc.perform(MockMvcRequestBuilders.post("/logs/batch")
+                        .contentType("application/x-ndjson")
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].accepted").value(false))
+                .andExpect(jsonPath("$[0].message").value("Invalid parameters"))
+                .andExpect(jsonPath("$[1].accepted").value(false))
+                .andExpect(jsonPath("$[1].message").value("Invalid parameters"))
+                .andExpect(jsonPath("$[2].accepted").value(true));
+    }
+
+    /**
+     * Tests that the "/logs/batch" endpoint also accepts a JSON array of readings.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void whenJsonArrayUpload_addLogsInBatchAcceptsEveryValidReading() throws Exception {
+        // Arrange
+        String sensorID = UUID.randomUUID().toString();
+        String deviceID = UUID.randomUUID().toString();
+        String item = "{\"reading\":\"40\",\"sensorID\":\"" + sensorID + "\",\"deviceID\":\"" + deviceID + "\",\"sensorTypeID\":\"HumiditySensor\"}";
+        String body = "[" + item + "," + item + "]";
+
+        when(logRepository.saveAll(any())).thenReturn(true);
+
+        // Act & Assert
+        mockMvc.perform(MockMvcRequestBuilders.post("/logs/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].accepted").value(true))
+                .andExpect(jsonPath("$[1].accepted").value(true));
+    }
+
+    /**
+     * Tests that when the repository fails to persist a batch, every reading of that batch is reported as rejected.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void whenRepositoryCannotSaveBatch_addLogsInBatchRejectsTheBatchReadings() throws Exception {
+        // Arrange
+        String sensorID = UUID.randomUUID().toString();
+        String deviceID = UUID.randomUUID().toString();
+        String body = "{\"reading\":\"40\",\"sensorID\":\"" + sensorID + "\",\"deviceID\":\"" + deviceID + "\",\"sensorTypeID\":\"HumiditySensor\"}";
+
+        when(logRepository.saveAll(any())).thenReturn(false);
+
+        // Act & Assert
+        mockMvc.perform(MockMvcRequestBuilders.post("/logs/batch")
+                        .contentType("application/x-ndjson")
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].accepted").value(false))
+                .andExpect(jsonPath("$[0].message").value("Unable to save reading"));
+    }
+
+    /**
+     * Tests that a payload which stops being valid JSON rejects the malformed position and keeps the readings
+     * accepted before it.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void whenPayloadIsMalformed_addLogsInBatchRejectsFromTheMalformedItem() throws Exception {
+        // Arrange
+        String sensorID = UUID.randomUUID().toString();
+        String deviceID = UUID.randomUUID().toString();
+        String body = "{\"reading\":\"40\",\"sensorID\":\"" + sensorID + "\",\"deviceID\":\"" + deviceID + "\",\"sensorTypeID\":\"HumiditySensor\"}\n" +
+                "{\"reading\":";
+
+        when(logRepository.saveAll(any())).thenReturn(true);
+
+        // Act & Assert
+        mockMvc.perform(MockMvcRequestBuilders.post("/logs/batch")
+                        .contentType("application/x-ndjson")
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].accepted").value(true))
+                .andExpect(jsonPath("$[1].accepted").value(false))
+                .andExpect(jsonPath("$[1].message").value("Malformed payload"));
+    }
+
+    /**
+     * Tests that a GET request to the "/logs" endpoint accepting NDJSON streams the device readings, one JSON
+     * object per line, from the stream returned by the repository.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void streamReadings_WhenClientAcceptsNdjson_ShouldWriteOneReadingPerLine() throws Exception {
+        // Arrange
+        SensorIDVO sensorID = new SensorIDVO(UUID.randomUUID());
+        DeviceIDVO deviceID = new DeviceIDVO(UUID.randomUUID());
+        SensorTypeIDVO sensorType = new SensorTypeIDVO("TemperatureSensor");
+        Log log1 = new Log(new LogIDVO(UUID.randomUUID()), new TimeStampVO(LocalDateTime.parse("2024-04-04T12:00:30")),
+                new TemperatureValue("23"), sensorID, deviceID, sensorType);
+        Log log2 = new Log(new LogIDVO(UUID.randomUUID()), new TimeStampVO(LocalDateTime.parse("2024-04-04T12:10:00")),
+                new TemperatureValue("25"), sensorID, deviceID, sensorType);
+
+        when(logRepository.streamReadingsByDeviceID(deviceID, null, null)).thenReturn(Stream.of(log1, log2));
+
+        String expected =
+                "{\"logID\":\"" + log1.getId().getID() + "\",\"time\":\"2024-04-04T12:00:30\",\"reading\":\"23.0\"," +
+                "\"sensorID\":\"" + sensorID.getID() + "\",\"deviceID\":\"" + deviceID.getID() + "\",\"sensorTypeID\":\"TemperatureSensor\"}\n" +
+                "{\"logID\":\"" + log2.getId().getID() + "\",\"time\":\"2024-04-04T12:10:00\",\"reading\":\"25.0\"," +
+                "\"sensorID\":\"" + sensorID.getID() + "\",\"deviceID\":\"" + deviceID.getID() + "\",\"sensorTypeID\":\"TemperatureSensor\"}\n";
+
+        // Act
+        MvcResult result = mockMvc.perform(get("/logs")
+                        .param("deviceId", deviceID.getID())
+                        .accept("application/x-ndjson"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(content().string(expected));
+    }
+
+    /**
+     * Tests that a GET request to the "/logs" endpoint accepting NDJSON with an invalid device ID returns
+     * a Bad Request status without starting the stream.
+     *
+     * @throws Exception if an error occurs during the test
+     */
+    @Test
+    void streamReadings_WhenDeviceIdIsInvalid_ShouldReturnBadRequest() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/logs")
+                        .param("deviceId", "not-a-uuid")
+                        .accept("application/x-ndjson"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,140 @@
+package smarthome.domain.log;
+
+import org.junit.jupiter.api.Test;
+import smarthome.domain.sensor.sensorvalues.EnergyConsumptionValue;
+import smarthome.domain.sensor.sensorvalues.SensorValueObject;
+import smarthome.domain.sensor.sensorvalues.SunTimeValue;
+import smarthome.domain.sensor.sensorvalues.TemperatureValue;
+import smarthome.domain.vo.devicevo.DeviceIDVO;
+import smarthome.domain.vo.logvo.LogIDVO;
+import smarthome.domain.vo.logvo.TimeStampVO;
+import smarthome.domain.vo.sensortype.SensorTypeIDVO;
+import smarthome.domain.vo.sensorvo.SensorIDVO;
+
+import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReadingSeriesTest {
+
+    private static Log log(String time, SensorValueObject<?> reading) {
+        return new Log(new LogIDVO(UUID.randomUUID()), new TimeStampVO(LocalDateTime.parse(time)), reading,
+                new SensorIDVO(UUID.randomUUID()), new DeviceIDVO(UUID.randomUUID()),
+                new SensorTypeIDVO("TemperatureSensor"));
+    }
+
+    /**
+     * Tests that a series built from logs keeps the order, times and numeric values of the logs.
+     */
+    @Test
+    void whenBuiltFromLogs_thenTimesAndValuesAreKeptInOrder() {
+        // Arrange
+        Log log1 = log("2024-03-25T23:50:00", new TemperatureValue("13.5"));
+        Log log2 = log("2024-03-25T23:40:00", new EnergyConsumptionValue("-20"));
+
+        // Act
+        ReadingSeries series = ReadingSeries.fromLogs(List.of(log1, log2));
+
+        // Assert
+        assertEquals(2, series.size());
+        assertEquals(LocalDateTime.parse("2024-03-25T23:50:00"), series.getDateTime(0));
+        assertEquals(13.5, series.getValue(0));
+        assertEquals(LocalDateTime.parse("2024-03-25T23:40:00"), series.getDateTime(1));
+        assertEquals(-20.0, series.getValue(1));
+        assertEquals(ReadingSeries.toEpochNanos(LocalDateTime.parse("2024-03-25T23:40:00")), series.getTime(1));
+    }
+
+    /**
+     * Tests that logs whose reading is not numeric are left out of the series.
+     */
+    @Test
+    void whenLogReadingIsNotNumeric_thenItIsSkipped() {
+        // Arrange
+        Log log1 = log("2024-03-25T23:50:00", new SunTimeValue(ZonedDateTime.parse("2024-03-25T06:50:00Z")));
+        Log log2 = log("2024-03-25T23:55:00", new TemperatureValue("10"));
+
+        // Act
+        ReadingSeries series = ReadingSeries.fromLogs(List.of(log1, log2));
+
+        // Assert
+        assertEquals(1, series.size());
+        assertEquals(10.0, series.getValue(0));
+    }
+
+    /**
+     * Tests that building a series from null logs throws an IllegalArgumentException.
+     */
+    @Test
+    void whenLogsAreNull_thenThrowsIllegalArgumentException() {
+        // Act
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> ReadingSeries.fromLogs(null));
+
+        // Assert
+        assertEquals("Invalid parameters.", exception.getMessage());
+    }
+
+    /**
+     * Tests that sorting orders the readings by time, keeping the relative order of equal times.
+     */
+    @Test
+    void whenSortedByTime_thenReadingsAreOrderedAndStable() {
+        // Arrange
+        ReadingSeries series = new ReadingSeries.Builder(1)
+                .add(30, 3.0)
+                .add(10, 1.0)
+                .add(30, 4.0)
+                .add(20, 2.0)
+                .build();
+
+        // Act
+        ReadingSeries sorted = series.sortedByTime();
+
+        // Assert
+        assertEquals(4, sorted.size());
+        assertEquals(10, sorted.getTime(0));
+        assertEquals(20, sorted.getTime(1));
+        assertEquals(3.0, sorted.getValue(2));
+        assertEquals(4.0, sorted.getValue(3));
+        assertSame(sorted, sorted.sortedByTime());
+    }
+
+    /**
+     * Tests that the time order lists the positions of the readings by time, keeping the relative order of equal
+     * times, and lists an ordered series as it is.
+     */
+    @Test
+    void whenTimeOrderIsRequested_thenPositionsAreOrderedByTimeAndStable() {
+        // Arrange
+        ReadingSeries series = new ReadingSeries.Builder()
+                .add(50, 5.0)
+                .add(30, 3.0)
+                .add(10, 1.0)
+                .add(30, 4.0)
+                .add(20, 2.0)
+                .build();
+
+        // Act
+        int[] order = series.timeOrder();
+        int[] orderOfSorted = series.sortedByTime().timeOrder();
+
+        // Assert
+        assertArrayEquals(new int[]{2, 4, 1, 3, 0}, order);
+        assertArrayEquals(new int[]{0, 1, 2, 3, 4}, orderOfSorted);
+    }
+
+    /**
+     * Tests that a builder with no readings builds the empty series.
+     */
+    @Test
+    void whenBuilderIsEmpty_thenEmptySeriesIsBuilt() {
+        // Act
+        ReadingSeries series = new ReadingSeries.Builder().build();
+
+        // Assert
+        assertTrue(series.isEmpty());
+        assertSame(ReadingSeries.empty(), series);
+    }
+}
@@ -696,4 +696,29 @@ class SensorFactoryImplTest {
         assertEquals(expectedDeviceID,resultDeviceID);
         assertEquals(expectedSensorTypeID,resultSensorTypeID);
     }
+
+    /**
+     * Test method to verify that rehydrating a sensor of a type that is not configured, or whose class cannot be
+     * loaded, returns null instead of failing.
+     */
+    @Test
+    void createSensorWithID_WhenTypeIsNotConfigured_shouldReturnNull(){
+        //Arrange
+        SensorIDVO sensorID = mock(SensorIDVO.class);
+        SensorNameVO sensorName = mock(SensorNameVO.class);
+        DeviceIDVO deviceID = mock(DeviceIDVO.class);
+        SensorTypeIDVO unknownType = mock(SensorTypeIDVO.class);
+        when(unknownType.getID()).thenReturn("xptoSensor");
+        SensorTypeIDVO invalidClassType = mock(SensorTypeIDVO.class);
+        when(invalidClassType.getID()).thenReturn("RotationSensor");
+        SensorFactoryImpl sensorFactoryImpl = new SensorFactoryImpl("config.properties");
+
+        //Act
+        Sensor unknownResult = sensorFactoryImpl.createSensor(sensorID, sensorName, deviceID, unknownType);
+        Sensor invalidClassResult = sensorFactoryImpl.createSensor(sensorID, sensorName, deviceID, invalidClassType);
+
+        //Assert
+        assertNull(unknownResult);
+        assertNull(invalidClassResult);
+    }
 }
@@ -51,5 +51,21 @@ class DewPointValueTest {
         //Assert
         assertEquals(expected,result);
     }
-}
 
+
+    /**
+     * Tests if the reading is returned as primitives, with decimal readings truncated when read as a long.
+     */
+    @Test
+    void whenReadingIsValid_thenItIsReturnedAsPrimitives() {
+        //Arrange
+        String reading = "12.5";
+
+        //Act
+        DewPointValue value = new DewPointValue(reading);
+
+        //Assert
+        assertEquals(12.5, value.asDouble());
+        assertEquals(12L, value.asLong());
+    }
+}
@@ -107,4 +107,21 @@ class EnergyConsumptionValueTest {
         //Assert
         assertEquals(expected,result);
     }
+
+
+    /**
+     * Tests if the reading is returned as primitives, with decimal readings truncated when read as a long.
+     */
+    @Test
+    void whenReadingIsValid_thenItIsReturnedAsPrimitives() {
+        //Arrange
+        String reading = "-20";
+
+        //Act
+        EnergyConsumptionValue value = new EnergyConsumptionValue(reading);
+
+        //Assert
+        assertEquals(-20.0, value.asDouble());
+        assertEquals(-20L, value.asLong());
+    }
 }
\ No newline at end of file
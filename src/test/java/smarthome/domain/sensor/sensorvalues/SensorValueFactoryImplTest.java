@@ -836,4 +836,42 @@ class SensorValueFactoryImplTest {
         //Assert
         assertNull(value);
     }
+
+    /**
+     * Test case to verify that a sensor type whose value object has no date-time constructor cannot be created from
+     * a date-time reading, while it can still be created from a reading string.
+     */
+    @Test
+    void whenTypeHasNoDateTimeConstructor_createFromDateTimeShouldReturnNull(){
+        //Arrange
+        SensorTypeIDVO sensorTypeID = new SensorTypeIDVO("TemperatureSensor");
+        SensorValueFactoryImpl factory = new SensorValueFactoryImpl(filePath);
+
+        //Act
+        SensorValueObject<?> fromDateTime = factory.createSensorValue(ZonedDateTime.now(ZoneId.of("UTC")), sensorTypeID);
+        SensorValueObject<?> fromString = factory.createSensorValue("21.5", sensorTypeID);
+
+        //Assert
+        assertNull(fromDateTime);
+        assertInstanceOf(TemperatureValue.class, fromString);
+        assertEquals(21.5, fromString.getValue());
+    }
+
+    /**
+     * Test case to verify that a sunrise reading string is parsed into a date-time before creating the value object.
+     */
+    @Test
+    void whenSunriseReadingIsString_shouldCreateSunTimeValue(){
+        //Arrange
+        SensorTypeIDVO sensorTypeID = new SensorTypeIDVO("SunriseSensor");
+        SensorValueFactoryImpl factory = new SensorValueFactoryImpl(filePath);
+        String reading = "2024-04-04T07:02Z";
+
+        //Act
+        SensorValueObject<?> value = factory.createSensorValue(reading, sensorTypeID);
+
+        //Assert
+        assertInstanceOf(SunTimeValue.class, value);
+        assertEquals(ZonedDateTime.parse(reading), value.getValue());
+    }
 }
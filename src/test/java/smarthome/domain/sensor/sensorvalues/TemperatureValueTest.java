@@ -50,4 +50,21 @@ class TemperatureValueTest {
         //Assert
         assertEquals(expected,value.getValue());
     }
+
+
+    /**
+     * Tests if the reading is returned as primitives, with decimal readings truncated when read as a long.
+     */
+    @Test
+    void whenReadingIsValid_thenItIsReturnedAsPrimitives() {
+        //Arrange
+        String reading = "-3.7";
+
+        //Act
+        TemperatureValue value = new TemperatureValue(reading);
+
+        //Assert
+        assertEquals(-3.7, value.asDouble());
+        assertEquals(-3L, value.asLong());
+    }
 }
\ No newline at end of file
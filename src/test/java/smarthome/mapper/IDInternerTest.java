@@ -0,0 +1,101 @@
+package smarthome.mapper;
+
+import org.junit.jupiter.api.Test;
+import smarthome.domain.vo.devicevo.DeviceIDVO;
+import smarthome.domain.vo.sensortype.SensorTypeIDVO;
+import smarthome.domain.vo.sensorvo.SensorIDVO;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IDInternerTest {
+
+    /**
+     * Tests that the same ID string always resolves to the same instance, created only once.
+     */
+    @Test
+    void whenSameIDIsInterned_thenSameInstanceIsReturned() {
+        // Arrange
+        AtomicInteger created = new AtomicInteger();
+        IDInterner<SensorIDVO> interner = new IDInterner<>(id -> {
+            created.incrementAndGet();
+            return new SensorIDVO(UUID.fromString(id));
+        }, 10);
+        String id = UUID.randomUUID().toString();
+
+        // Act
+        SensorIDVO first = interner.intern(id);
+        SensorIDVO second = interner.intern(new String(id));
+
+        // Assert
+        assertSame(first, second);
+        assertEquals(id, first.getID());
+        assertEquals(1, created.get());
+    }
+
+    /**
+     * Tests that the shared interners return value objects equal to the ones built directly.
+     */
+    @Test
+    void whenSharedInternersAreUsed_thenValueObjectsAreEqualToNewOnes() {
+        // Arrange
+        UUID uuid = UUID.randomUUID();
+
+        // Act
+        DeviceIDVO deviceID = IDInterner.deviceID(uuid.toString());
+        SensorTypeIDVO sensorTypeID = IDInterner.sensorTypeID("TemperatureSensor");
+
+        // Assert
+        assertEquals(new DeviceIDVO(uuid), deviceID);
+        assertSame(deviceID, IDInterner.deviceID(uuid.toString()));
+        assertEquals(new SensorTypeIDVO("TemperatureSensor"), sensorTypeID);
+    }
+
+    /**
+     * Tests that invalid IDs fail as creating the value object directly would, and are not cached.
+     */
+    @Test
+    void whenIDIsInvalid_thenFactoryExceptionIsThrown() {
+        // Arrange
+        IDInterner<DeviceIDVO> interner = new IDInterner<>(id -> new DeviceIDVO(UUID.fromString(id)), 10);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> interner.intern("not-a-uuid"));
+        assertThrows(NullPointerException.class, () -> interner.intern(null));
+        assertEquals(0, interner.size());
+    }
+
+    /**
+     * Tests that once the interner is full, new IDs are still resolved but not cached.
+     */
+    @Test
+    void whenInternerIsFull_thenNewIDsAreNotCached() {
+        // Arrange
+        IDInterner<SensorIDVO> interner = new IDInterner<>(id -> new SensorIDVO(UUID.fromString(id)), 1);
+        SensorIDVO cached = interner.intern(UUID.randomUUID().toString());
+        String id = UUID.randomUUID().toString();
+
+        // Act
+        SensorIDVO first = interner.intern(id);
+        SensorIDVO second = interner.intern(id);
+
+        // Assert
+        assertEquals(1, interner.size());
+        assertEquals(first, second);
+        assertNotSame(first, second);
+        assertNotNull(cached);
+    }
+
+    /**
+     * Tests that the constructor rejects a null factory and a non-positive size.
+     */
+    @Test
+    void whenParametersAreInvalid_thenConstructorThrowsIllegalArgumentException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new IDInterner<SensorIDVO>(null, 10));
+        assertThrows(IllegalArgumentException.class,
+                () -> new IDInterner<>(id -> new SensorIDVO(UUID.fromString(id)), 0));
+    }
+}
@@ -7,19 +7,23 @@ import smarthome.domain.sensor.sensorvalues.SensorValueFactory;
 import smarthome.domain.sensor.sensorvalues.SensorValueFactoryImpl;
 import smarthome.domain.sensor.sensorvalues.SensorValueObject;
 import smarthome.domain.vo.devicevo.DeviceIDVO;
+import smarthome.domain.vo.logvo.LogCursorVO;
 import smarthome.domain.vo.logvo.LogIDVO;
 import smarthome.domain.vo.sensortype.SensorTypeIDVO;
 import smarthome.domain.vo.sensorvo.SensorIDVO;
 import smarthome.domain.vo.logvo.TimeStampVO;
 import smarthome.mapper.dto.LogDTO;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -74,6 +78,33 @@ class LogMapperTest {
         assertEquals(expected,result6);
     }
 
+    /**
+     * Tests that the value object creation methods in {@code LogMapper} throw an {@code IllegalArgumentException}
+     * when the field they read is missing from the {@code LogDTO}.
+     */
+    @Test
+    void whenGivenDTOWithMissingFields_voCreatorsThrowIllegalArgumentException(){
+        // Arrange
+        String expected = "LogDTO is missing a required field.";
+        LogDTO logDTO = LogDTO.builder().reading("20").sensorTypeID("TemperatureSensor").build();
+
+        // Act
+        Exception exception1 = assertThrows(IllegalArgumentException.class, ()
+                -> LogMapper.createLogIDVO(logDTO));
+        Exception exception2 = assertThrows(IllegalArgumentException.class, ()
+                -> LogMapper.createDeviceIDVO(logDTO));
+        Exception exception3 = assertThrows(IllegalArgumentException.class, ()
+                -> LogMapper.createSensorIDVO(logDTO));
+        Exception exception4 = assertThrows(IllegalArgumentException.class, ()
+                -> LogMapper.createTimeStampVO(logDTO));
+
+        // Assert
+        assertEquals(expected,exception1.getMessage());
+        assertEquals(expected,exception2.getMessage());
+        assertEquals(expected,exception3.getMessage());
+        assertEquals(expected,exception4.getMessage());
+    }
+
     /**
      * Tests that the {@code createLogIDVO} method successfully creates a {@code LogIDVO}
      * from a valid {@code LogDTO}.
@@ -396,4 +427,47 @@ class LogMapperTest {
         assertEquals(deviceID,resultDeviceID2);
         assertEquals(sensorTypeID,resultSensorTypeID2);
     }
+
+    /**
+     * Tests that a cursor encoded with {@code cursorToString} is decoded back to an equal {@code LogCursorVO},
+     * for both directions.
+     */
+    @Test
+    void whenGivenEncodedCursor_createLogCursorVOReturnsEqualCursor(){
+        // Arrange
+        Log log = mock(Log.class);
+        LogIDVO logID = new LogIDVO(UUID.randomUUID());
+        when(log.getId()).thenReturn(logID);
+        when(log.getTime()).thenReturn(new TimeStampVO(LocalDateTime.of(2024, 4, 4, 12, 10, 30)));
+        LogCursorVO next = LogMapper.createNextCursor(log);
+        LogCursorVO previous = LogMapper.createPreviousCursor(log);
+
+        // Act
+        LogCursorVO resultNext = LogMapper.createLogCursorVO(LogMapper.cursorToString(next));
+        LogCursorVO resultPrevious = LogMapper.createLogCursorVO(LogMapper.cursorToString(previous));
+
+        // Assert
+        assertEquals(next, resultNext);
+        assertEquals(previous, resultPrevious);
+        assertEquals(logID, resultNext.getLogID());
+        assertFalse(resultPrevious.isForward());
+    }
+
+    /**
+     * Tests that {@code createLogCursorVO} throws an {@code IllegalArgumentException} for null or malformed tokens.
+     */
+    @Test
+    void whenGivenMalformedCursor_createLogCursorVOThrowsIllegalArgumentException(){
+        // Arrange
+        String notBase64 = "***";
+        String wrongContent = Base64.getUrlEncoder().encodeToString("x:1:2".getBytes(StandardCharsets.UTF_8));
+        String wrongTime = Base64.getUrlEncoder().encodeToString(("a:" + Long.MAX_VALUE + ":" + UUID.randomUUID())
+                .getBytes(StandardCharsets.UTF_8));
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> LogMapper.createLogCursorVO(null));
+        assertThrows(IllegalArgumentException.class, () -> LogMapper.createLogCursorVO(notBase64));
+        assertThrows(IllegalArgumentException.class, () -> LogMapper.createLogCursorVO(wrongContent));
+        assertThrows(IllegalArgumentException.class, () -> LogMapper.createLogCursorVO(wrongTime));
+    }
 }
@@ -14,8 +14,11 @@ import smarthome.persistence.jpa.datamodel.LogDataModel;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class LogAssemblerTest {
 
@@ -181,4 +184,40 @@ class LogAssemblerTest {
         assertEquals(expectedDeviceID1,resultDeviceID2);
         assertEquals(expectedSensorTypeID1,resultSensorTypeID2);
     }
+
+    /**
+     * SUT -> Log entity, VOs, DataModel, Factories and LogAssembler.
+     * Tests that toDomainStream converts each LogDataModel only when the stream reaches it, keeps the order of the
+     * source and closes the source when the resulting stream is closed.
+     */
+    @Test
+    void givenStreamOfDataModels_toDomainStreamConvertsLazilyAndClosesSource() {
+        // Arrange
+        SensorIDVO sensorIDVO = new SensorIDVO(UUID.randomUUID());
+        DeviceIDVO deviceIDVO = new DeviceIDVO(UUID.randomUUID());
+        SensorTypeIDVO sensorTypeIDVO = new SensorTypeIDVO("HumiditySensor");
+        Log log1 = new Log(new HumidityValue("50"), sensorIDVO, deviceIDVO, sensorTypeIDVO);
+        Log log2 = new Log(new HumidityValue("60"), sensorIDVO, deviceIDVO, sensorTypeIDVO);
+        AtomicInteger pulled = new AtomicInteger();
+        AtomicInteger closed = new AtomicInteger();
+        Stream<LogDataModel> source = Stream.of(new LogDataModel(log1), new LogDataModel(log2))
+                .peek(dataModel -> pulled.incrementAndGet())
+                .onClose(closed::incrementAndGet);
+
+        LogFactoryImpl logFactory = new LogFactoryImpl();
+        SensorValueFactoryImpl valueFactory = new SensorValueFactoryImpl("value.properties");
+
+        // Act
+        Stream<Log> result = LogAssembler.toDomainStream(logFactory, valueFactory, source);
+        int pulledBeforeConsuming = pulled.get();
+        List<String> ids;
+        try (result) {
+            ids = result.map(log -> log.getId().getID()).toList();
+        }
+
+        // Assert
+        assertEquals(0, pulledBeforeConsuming);
+        assertEquals(List.of(log1.getId().getID(), log2.getId().getID()), ids);
+        assertTrue(closed.get() > 0);
+    }
 }
@@ -0,0 +1,332 @@
+package smarthome.persistence;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import smarthome.domain.log.LogFactoryImpl;
+import smarthome.domain.sensor.sensorvalues.SensorValueFactoryImpl;
+import smarthome.domain.vo.devicevo.DeviceIDVO;
+import smarthome.domain.vo.logvo.LogCursorVO;
+import smarthome.domain.vo.logvo.LogIDVO;
+import smarthome.domain.vo.logvo.TimeStampVO;
+import smarthome.persistence.jpa.repository.LogRepositoryJPA;
+import smarthome.persistence.springdata.ILogRepositorySpringData;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Query-plan regression tests for the LOG table.
+ * Each test runs a repository query, captures the SQL Hibernate sends to the database and asks H2 to EXPLAIN it.
+ * A plan that reads the whole table instead of an index fails the test. findAll is left out, as it reads every row
+ * by definition.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "smarthome.persistence.LogQueryPlanTest$SqlCapture")
+class LogQueryPlanTest {
+
+    private static final String FULL_SCAN = "tableScan";
+    private static final String DEVICE_ID = UUID.randomUUID().toString();
+    private static final String SENSOR_TYPE = "PowerConsumptionSensor";
+    private static final TimeStampVO START = new TimeStampVO(LocalDateTime.of(2024, 1, 1, 0, 0));
+    private static final TimeStampVO END = new TimeStampVO(LocalDateTime.of(2024, 1, 2, 0, 0));
+
+    @Autowired
+    private ILogRepositorySpringData iLogRepositorySpringData;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private LogRepositoryJPA logRepositoryJPA;
+
+    /**
+     * Records every SQL statement prepared by Hibernate.
+     */
+    public static class SqlCapture implements StatementInspector {
+        private static final List<String> STATEMENTS = new ArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            synchronized (STATEMENTS) {
+                STATEMENTS.add(sql);
+            }
+            return sql;
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        this.logRepositoryJPA = new LogRepositoryJPA(new LogFactoryImpl(), new SensorValueFactoryImpl("value.properties"),
+                this.entityManagerFactory);
+        synchronized (SqlCapture.STATEMENTS) {
+            SqlCapture.STATEMENTS.clear();
+        }
+    }
+
+    /**
+     * Test case to verify that the Spring Data device query with both time bounds uses an index.
+     */
+    @Test
+    void springDataFindByDeviceIDAndTimeBetween_ShouldUseIndex() throws SQLException {
+        //Act
+        iLogRepositorySpringData.findByDeviceIDAndTimeBetween(DEVICE_ID, 0L, 1L);
+        //Assert
+        assertIndexedPlan();
+    }
+
+    /**
+     * Test case to verify that the Spring Data device query without time bounds uses an index.
+     */
+    @Test
+    void springDataFindByDeviceIDWithoutTimeBounds_ShouldUseIndex() throws SQLException {
+        //Act
+        iLogRepositorySpringData.findByDeviceIDAndTimeBetween(DEVICE_ID, null, null);
+        //Assert
+        assertIndexedPlan();
+    }
+
+    /**
+     * Test case to verify that the Spring Data device and sensor type query uses an index.
+     */
+    @Test
+    void springDataFindByDeviceIDAndSensorTypeAndTimeBetween_ShouldUseIndex() throws SQLException {
+        //Act
+        iLogRepositorySpringData.findByDeviceIDAndSensorTypeAndTimeBetween(DEVICE_ID, SENSOR_TYPE, 0L, 1L);
+        //Assert
+        assertIndexedPlan();
+    }
+
+    /**
+     * Test case to verify that the Spring Data negative reading query uses an index.
+     */
+    @Test
+    void springDataFindByNegativeReading_ShouldUseIndex() throws SQLException {
+        //Act
+        iLogRepositorySpringData.findByNegativeReadingAndNotDeviceIDAndSensorTypeAndTimeBetween(DEVICE_ID, SENSOR_TYPE, 0L, 1L);
+        //Assert
+        assertIndexedPlan();
+    }
+
+    /**
+     * Test case to verify that the Spring Data device and sensor type projection query uses an index.
+     */
+    @Test
+    void springDataFindReadingsByDeviceIDAndSensorTypeAndTimeBetween_ShouldUseIndex() throws SQLException {
+        //Act
+        iLogRepositorySpringData.findReadingsByDeviceIDAndSensorTypeAndTimeBetween(DEVICE_ID, SENSOR_TYPE, 0L, 1L);
+        //Assert
+        assertIndexedPlan();
+    }
+
+    /**
+     * Test case to verify that the Spring Data negative reading projection query uses an index.
+     */
+    @Test
+    void springDataFindReadingsByNegativeReading_ShouldUseIndex() throws SQLException {
+        //Act
+        iLogRepositorySpringData.findReadingsByNegativeReadingAndNotDeviceIDAndSensorTypeAndTimeBetween(DEVICE_ID, SENSOR_TYPE, 0L, 1L);
+        //Assert
+        assertIndexedPlan();
+    }
+
+    /**
+     * Test case to verify that the Spring Data lookup by ID uses the primary key.
+     */
+    @Test
+    void springDataFindById_ShouldUseIndex() throws SQLException {
+        //Act
+        iLogRepositorySpringData.findById(UUID.randomUUID().toString());
+        //Assert
+        assertIndexedPlan();
+    }
+
+    /**
+     * Test case to verify that the Spring Data forward keyset page query uses an index.
+     */
+    @Test
+    void springDataFindByDeviceIDAfter_ShouldUseIndex() throws SQLException {
+        //Act
+        iLogRepositorySpringData.findByDeviceIDAfter(DEVICE_ID, null, null, 0L, UUID.randomUUID().toString(), Limit.of(10));
+        //Assert
+        assertIndexedPlan();
+    }
+
+    /**
+     * Test case to verify that the Spring Data backward keyset page query uses an index.
+     */
+    @Test
+    void springDataFindByDeviceIDBefore_ShouldUseIndex() throws SQLException {
+        //Act
+        iLogRepositorySpringData.findByDeviceIDBefore(DEVICE_ID, 0L, 1L, 1L, UUID.randomUUID().toString(), Limit.of(10));
+        //Assert
+        assertIndexedPlan();
+    }
+
+    /**
+     * Test case to verify that the compaction lookup of the oldest numeric log uses an index.
+     */
+    @Test
+    void springDataFindOldestNumericTimeBefore_ShouldUseIndex() throws SQLException {
+        //Act
+        iLogRepositorySpringData.findOldestNumericTimeBefore(1L);
+        //Assert
+        assertIndexedPlan();
+    }
+
+    /**
+     * Test case to verify that the compaction read of one hour of numeric logs uses an index.
+     */
+    @Test
+    void springDataFindNumericByTimeRange_ShouldUseIndex() throws SQLException {
+        //Act
+        iLogRepositorySpringData.findNumericByTimeRange(0L, 3600L);
+        //Assert
+        assertIndexedPlan();
+    }
+
+    /**
+     * Test case to verify that the JPA device query uses an index.
+     */
+    @Test
+    void jpaFindReadingsByDeviceID_ShouldUseIndex() throws SQLException {
+        //Act
+        logRepositoryJPA.findReadingsByDeviceID(new DeviceIDVO(UUID.fromString(DEVICE_ID)), START, END);
+        //Assert
+        assertIndexedPlan();
+    }
+
+    /**
+     * Test case to verify that the JPA keyset page query uses an index.
+     */
+    @Test
+    void jpaFindReadingsPageByDeviceID_ShouldUseIndex() throws SQLException {
+        //Arrange
+        LogCursorVO cursor = new LogCursorVO(START, new LogIDVO(UUID.randomUUID()), true);
+        //Act
+        logRepositoryJPA.findReadingsPageByDeviceID(new DeviceIDVO(UUID.fromString(DEVICE_ID)), START, END, cursor, 10);
+        //Assert
+        assertIndexedPlan();
+    }
+
+    /**
+     * Test case to verify that the JPA temperature query uses an index.
+     */
+    @Test
+    void jpaGetDeviceTemperatureLogs_ShouldUseIndex() throws SQLException {
+        //Act
+        logRepositoryJPA.getDeviceTemperatureLogs(new DeviceIDVO(UUID.fromString(DEVICE_ID)), "TemperatureSensor", START, END);
+        //Assert
+        assertIndexedPlan();
+    }
+
+    /**
+     * Test case to verify that the JPA device and sensor type query uses an index.
+     */
+    @Test
+    void jpaFindByDeviceIDAndSensorTypeAndTimeBetween_ShouldUseIndex() throws SQLException {
+        //Act
+        logRepositoryJPA.findByDeviceIDAndSensorTypeAndTimeBetween(DEVICE_ID, SENSOR_TYPE, START, END);
+        //Assert
+        assertIndexedPlan();
+    }
+
+    /**
+     * Test case to verify that the JPA negative reading query uses an index.
+     */
+    @Test
+    void jpaFindByNegativeReading_ShouldUseIndex() throws SQLException {
+        //Act
+        logRepositoryJPA.findByNegativeReadingAndNotDeviceIDAndSensorTypeAndTimeBetween(DEVICE_ID, SENSOR_TYPE, START, END);
+        //Assert
+        assertIndexedPlan();
+    }
+
+    /**
+     * Test case to verify that the JPA device and sensor type series query uses an index.
+     */
+    @Test
+    void jpaFindSeriesByDeviceIDAndSensorTypeAndTimeBetween_ShouldUseIndex() throws SQLException {
+        //Act
+        logRepositoryJPA.findSeriesByDeviceIDAndSensorTypeAndTimeBetween(DEVICE_ID, SENSOR_TYPE, START, END);
+        //Assert
+        assertIndexedPlan();
+    }
+
+    /**
+     * Test case to verify that the JPA negative reading series query uses an index.
+     */
+    @Test
+    void jpaFindSeriesByNegativeReading_ShouldUseIndex() throws SQLException {
+        //Act
+        logRepositoryJPA.findSeriesByNegativeReadingAndNotDeviceIDAndSensorTypeAndTimeBetween(DEVICE_ID, SENSOR_TYPE, START, END);
+        //Assert
+        assertIndexedPlan();
+    }
+
+    /**
+     * Test case to verify that the JPA lookup by ID uses the primary key.
+     */
+    @Test
+    void jpaFindById_ShouldUseIndex() throws SQLException {
+        //Act
+        logRepositoryJPA.findById(new LogIDVO(UUID.randomUUID()));
+        //Assert
+        assertIndexedPlan();
+    }
+
+    /**
+     * Runs EXPLAIN for every captured query on the LOG table and fails if any plan scans the whole table.
+     * Parameters are bound to null: H2 chooses the plan when the statement is prepared, before any value is known.
+     */
+    private void assertIndexedPlan() throws SQLException {
+        List<String> queries = new ArrayList<>();
+        synchronized (SqlCapture.STATEMENTS) {
+            for (String sql : SqlCapture.STATEMENTS) {
+                String normalized = sql.toLowerCase(Locale.ROOT);
+                if (normalized.startsWith("select") && normalized.contains(" from log ")) {
+                    queries.add(sql);
+                }
+            }
+        }
+        assertFalse(queries.isEmpty(), "No query on the LOG table was captured");
+        try (Connection connection = dataSource.getConnection()) {
+            for (String sql : queries) {
+                String plan = explain(connection, sql);
+                assertFalse(plan.contains(FULL_SCAN), "Full table scan for: " + sql + "\n" + plan);
+            }
+        }
+    }
+
+    private static String explain(Connection connection, String sql) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+            int parameters = statement.getParameterMetaData().getParameterCount();
+            for (int i = 1; i <= parameters; i++) {
+                statement.setObject(i, null);
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                StringBuilder plan = new StringBuilder();
+                while (resultSet.next()) {
+                    plan.append(resultSet.getString(1));
+                }
+                return plan.toString();
+            }
+        }
+    }
+}
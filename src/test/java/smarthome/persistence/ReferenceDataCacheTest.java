@@ -0,0 +1,138 @@
+package smarthome.persistence;
+
+import org.junit.jupiter.api.Test;
+import smarthome.domain.sensortype.SensorType;
+import smarthome.domain.vo.sensortype.SensorTypeIDVO;
+import smarthome.domain.vo.sensortype.UnitVO;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReferenceDataCacheTest {
+
+    private static SensorType sensorType(String id, String unit) {
+        return new SensorType(new SensorTypeIDVO(id), new UnitVO(unit));
+    }
+
+    /**
+     * Tests that an aggregate is loaded on its first lookup only, and that lookups are counted as hits and misses.
+     */
+    @Test
+    void whenAggregateIsLookedUpTwice_thenItIsLoadedOnce() {
+        ReferenceDataCache<SensorTypeIDVO, SensorType> cache = new ReferenceDataCache<>("sensorTypes");
+        SensorType temperature = sensorType("TemperatureSensor", "Celsius");
+        AtomicInteger loads = new AtomicInteger();
+
+        SensorType first = cache.get(new SensorTypeIDVO("TemperatureSensor"), id -> {
+            loads.incrementAndGet();
+            return temperature;
+        });
+        SensorType second = cache.get(new SensorTypeIDVO("TemperatureSensor"), id -> {
+            loads.incrementAndGet();
+            return temperature;
+        });
+
+        assertSame(temperature, first);
+        assertSame(temperature, second);
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(1, cache.size());
+    }
+
+    /**
+     * Tests that lookups of aggregates that do not exist are not kept.
+     */
+    @Test
+    void whenAggregateDoesNotExist_thenEveryLookupReachesTheLoader() {
+        ReferenceDataCache<SensorTypeIDVO, SensorType> cache = new ReferenceDataCache<>("sensorTypes");
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get(new SensorTypeIDVO("Unknown"), id -> {
+            loads.incrementAndGet();
+            return null;
+        });
+        SensorType result = cache.get(new SensorTypeIDVO("Unknown"), id -> {
+            loads.incrementAndGet();
+            return null;
+        });
+
+        assertNull(result);
+        assertEquals(2, loads.get());
+        assertEquals(0, cache.size());
+    }
+
+    /**
+     * Tests that every aggregate is loaded once, answers later lookups by ID, and is kept in order with those saved
+     * since.
+     */
+    @Test
+    void whenAllAggregatesAreLoaded_thenTheyAreKeptWithThoseSavedSince() {
+        ReferenceDataCache<SensorTypeIDVO, SensorType> cache = new ReferenceDataCache<>("sensorTypes");
+        SensorType temperature = sensorType("TemperatureSensor", "Celsius");
+        SensorType humidity = sensorType("HumiditySensor", "Percentage");
+        SensorType wind = sensorType("WindSensor", "Km/h");
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.getAll(() -> {
+            loads.incrementAndGet();
+            return List.of(temperature, humidity);
+        });
+        cache.put(wind);
+        List<SensorType> all = new ArrayList<>();
+        cache.getAll(() -> {
+            loads.incrementAndGet();
+            return List.of();
+        }).forEach(all::add);
+        SensorType found = cache.get(new SensorTypeIDVO("HumiditySensor"), id -> null);
+
+        assertEquals(List.of(temperature, humidity, wind), all);
+        assertSame(humidity, found);
+        assertEquals(1, loads.get());
+    }
+
+    /**
+     * Tests that an aggregate saved again replaces the one kept, in place.
+     */
+    @Test
+    void whenAggregateIsSavedAgain_thenItReplacesTheOneKept() {
+        ReferenceDataCache<SensorTypeIDVO, SensorType> cache = new ReferenceDataCache<>("sensorTypes");
+        SensorType temperature = sensorType("TemperatureSensor", "Celsius");
+        SensorType humidity = sensorType("HumiditySensor", "Percentage");
+        cache.getAll(() -> List.of(temperature, humidity));
+        SensorType fahrenheit = sensorType("TemperatureSensor", "Fahrenheit");
+
+        cache.put(fahrenheit);
+
+        assertEquals(List.of(fahrenheit, humidity), cache.getAll(List::of));
+        assertSame(fahrenheit, cache.get(new SensorTypeIDVO("TemperatureSensor"), id -> null));
+    }
+
+    /**
+     * Tests that an empty or failed load of every aggregate is not kept.
+     */
+    @Test
+    void whenNoAggregatesAreLoaded_thenTheLoadIsNotKept() {
+        ReferenceDataCache<SensorTypeIDVO, SensorType> cache = new ReferenceDataCache<>("sensorTypes");
+        SensorType temperature = sensorType("TemperatureSensor", "Celsius");
+
+        Iterable<SensorType> failed = cache.getAll(() -> null);
+        Iterable<SensorType> empty = cache.getAll(List::of);
+        Iterable<SensorType> loaded = cache.getAll(() -> List.of(temperature));
+
+        assertNull(failed);
+        assertFalse(empty.iterator().hasNext());
+        assertEquals(List.of(temperature), loaded);
+    }
+
+    /**
+     * Tests that a cache needs a name.
+     */
+    @Test
+    void whenNameIsNull_thenThrowsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new ReferenceDataCache<SensorTypeIDVO, SensorType>(null));
+    }
+}
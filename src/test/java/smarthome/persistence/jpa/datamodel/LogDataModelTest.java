@@ -0,0 +1,108 @@
+package smarthome.persistence.jpa.datamodel;
+
+import org.junit.jupiter.api.Test;
+import smarthome.domain.log.Log;
+import smarthome.domain.log.LogFactoryImpl;
+import smarthome.domain.sensor.sensorvalues.HumidityValue;
+import smarthome.domain.sensor.sensorvalues.SensorValueFactoryImpl;
+import smarthome.domain.sensor.sensorvalues.SensorValueObject;
+import smarthome.domain.sensor.sensorvalues.SwitchValue;
+import smarthome.domain.sensor.sensorvalues.TemperatureValue;
+import smarthome.domain.vo.devicevo.DeviceIDVO;
+import smarthome.domain.vo.logvo.LogIDVO;
+import smarthome.domain.vo.logvo.TimeStampVO;
+import smarthome.domain.vo.sensortype.SensorTypeIDVO;
+import smarthome.domain.vo.sensorvo.SensorIDVO;
+import smarthome.mapper.assembler.LogAssembler;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the stored form of sensor logs: the time column and the numeric and text reading columns.
+ */
+class LogDataModelTest {
+
+    private static final LocalDateTime TIME = LocalDateTime.of(2024, 3, 10, 12, 30, 15);
+
+    private static Log log(SensorValueObject<?> reading, String sensorType) {
+        return new Log(new LogIDVO(UUID.randomUUID()), new TimeStampVO(TIME), reading,
+                new SensorIDVO(UUID.randomUUID()), new DeviceIDVO(UUID.randomUUID()), new SensorTypeIDVO(sensorType));
+    }
+
+    private static Log toDomain(LogDataModel dataModel) {
+        return LogAssembler.toDomain(new LogFactoryImpl(), new SensorValueFactoryImpl("value.properties"), dataModel);
+    }
+
+    /**
+     * Test case to verify that the time column keeps the sub-second part of a timestamp, down to the nanosecond.
+     */
+    @Test
+    void toEpochNanos_ThenFromEpochNanos_ShouldKeepSubSecondTime() {
+        //Arrange
+        LocalDateTime time = LocalDateTime.of(2024, 3, 10, 12, 30, 15, 123_456_789);
+        LocalDateTime beforeEpoch = LocalDateTime.of(1969, 12, 31, 23, 59, 59, 500_000_000);
+        //Act
+        long epochNanos = LogDataModel.toEpochNanos(time);
+        //Assert
+        assertEquals(1_710_073_815_123_456_789L, epochNanos);
+        assertEquals(time, LogDataModel.fromEpochNanos(epochNanos));
+        assertEquals(-500_000_000L, LogDataModel.toEpochNanos(beforeEpoch));
+        assertEquals(beforeEpoch, LogDataModel.fromEpochNanos(-500_000_000L));
+    }
+
+    /**
+     * Test case to verify that a decimal reading is stored in the numeric column and read back as the same value.
+     */
+    @Test
+    void constructor_WhenReadingIsDecimal_ShouldStoreItAsNumberAndReadItBack() {
+        //Arrange
+        Log log = log(new TemperatureValue("21.5"), "TemperatureSensor");
+        //Act
+        LogDataModel dataModel = new LogDataModel(log);
+        Log result = toDomain(dataModel);
+        //Assert
+        assertEquals(21.5, dataModel.getReadingNum());
+        assertNull(dataModel.getReadingText());
+        assertEquals("21.5", dataModel.getReading());
+        assertEquals(TIME, dataModel.getTime());
+        assertEquals(log.getTime(), result.getTime());
+        assertEquals(21.5, result.getReading().getValue());
+    }
+
+    /**
+     * Test case to verify that a whole reading is written back without a fractional part, so integer values can
+     * parse it.
+     */
+    @Test
+    void constructor_WhenReadingIsIntegral_ShouldReadItBackAsAWholeNumber() {
+        //Arrange
+        Log log = log(new HumidityValue("45"), "HumiditySensor");
+        //Act
+        LogDataModel dataModel = new LogDataModel(log);
+        Log result = toDomain(dataModel);
+        //Assert
+        assertEquals(45.0, dataModel.getReadingNum());
+        assertEquals("45", dataModel.getReading());
+        assertEquals(45, result.getReading().getValue());
+    }
+
+    /**
+     * Test case to verify that a reading that is not a number is stored in the text column and read back as it was.
+     */
+    @Test
+    void constructor_WhenReadingIsNotNumeric_ShouldStoreItAsText() {
+        //Arrange
+        Log log = log(new SwitchValue("On"), "SwitchSensor");
+        //Act
+        LogDataModel dataModel = new LogDataModel(log);
+        Log result = toDomain(dataModel);
+        //Assert
+        assertNull(dataModel.getReadingNum());
+        assertEquals("On", dataModel.getReadingText());
+        assertEquals("On", dataModel.getReading());
+        assertEquals("On", result.getReading().getValue());
+    }
+}
@@ -319,4 +319,29 @@ class DeviceRepositoryMemTest {
         assertTrue(listOfDevicesInARoom.contains(device2));
         assertFalse(listOfDevicesInARoom.contains(device3));
     }
-}
\ No newline at end of file
+
+    /**
+     * Tests that the devices matching a collection of IDs are found, skipping repeated IDs and IDs with no device.
+     */
+    @Test
+    void whenDevicesAreSaved_thenTheyCanBeFoundByIds() {
+        //Arrange
+        DeviceRepositoryMem deviceRepositoryMem = new DeviceRepositoryMem();
+        Device device1 = mock(Device.class);
+        Device device2 = mock(Device.class);
+        DeviceIDVO deviceID1 = mock(DeviceIDVO.class);
+        DeviceIDVO deviceID2 = mock(DeviceIDVO.class);
+        DeviceIDVO unknownID = mock(DeviceIDVO.class);
+        when(device1.getId()).thenReturn(deviceID1);
+        when(device2.getId()).thenReturn(deviceID2);
+        deviceRepositoryMem.save(device1);
+        deviceRepositoryMem.save(device2);
+
+        //Act
+        Iterable<Device> result = deviceRepositoryMem.findAllByIds(List.of(deviceID2, unknownID, deviceID2, deviceID1));
+
+        //Assert
+        assertEquals(List.of(device2, device1), result);
+        assertFalse(deviceRepositoryMem.findAllByIds(null).iterator().hasNext());
+    }
+}
@@ -0,0 +1,276 @@
+package smarthome.persistence.springdata;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import smarthome.domain.log.Log;
+import smarthome.domain.sensor.sensorvalues.TemperatureValue;
+import smarthome.domain.vo.devicevo.DeviceIDVO;
+import smarthome.domain.vo.logvo.LogIDVO;
+import smarthome.domain.vo.logvo.TimeStampVO;
+import smarthome.domain.vo.sensortype.SensorTypeIDVO;
+import smarthome.domain.vo.sensorvo.SensorIDVO;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the group-commit writer of sensor logs, against a JDBC template that records the batches it is given.
+ */
+class LogBatchWriterTest {
+
+    /**
+     * JDBC template recording each batch insert, optionally held until released or failing.
+     */
+    private static class RecordingJdbcTemplate extends JdbcTemplate {
+
+        private final BlockingQueue<List<Log>> batches = new LinkedBlockingQueue<>();
+        private volatile CountDownLatch release = new CountDownLatch(0);
+        private volatile boolean failing;
+        private volatile RuntimeException error;
+        private volatile boolean interrupted;
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> int[][] batchUpdate(String sql, Collection<T> batchArgs, int batchSize,
+                                       ParameterizedPreparedStatementSetter<T> pss) {
+            try {
+                this.release.await();
+            } catch (InterruptedException e) {
+                this.interrupted = true;
+            }
+            if (this.failing) {
+                throw new DataAccessResourceFailureException("Database unavailable");
+            }
+            if (this.error != null) {
+                throw this.error;
+            }
+            this.batches.add(new ArrayList<>((Collection<Log>) batchArgs));
+            return new int[0][];
+        }
+    }
+
+    /**
+     * Transaction manager that only lets the batch run.
+     */
+    private static class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+            // Nothing to begin
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+            // Nothing to commit
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+            // Nothing to roll back
+        }
+    }
+
+    private final RecordingJdbcTemplate jdbcTemplate = new RecordingJdbcTemplate();
+    private LogBatchWriter writer;
+
+    private LogBatchWriter start(int batchSize, long flushIntervalMillis, boolean asyncAcknowledge) {
+        return start(batchSize, flushIntervalMillis, 30_000, asyncAcknowledge);
+    }
+
+    private LogBatchWriter start(int batchSize, long flushIntervalMillis, long acknowledgeTimeoutMillis,
+                                 boolean asyncAcknowledge) {
+        this.writer = new LogBatchWriter(this.jdbcTemplate, new NoOpTransactionManager(), 100, batchSize,
+                flushIntervalMillis, 1000, acknowledgeTimeoutMillis, asyncAcknowledge);
+        this.writer.start();
+        return this.writer;
+    }
+
+    private static Log log() {
+        return new Log(new LogIDVO(UUID.randomUUID()), new TimeStampVO(LocalDateTime.now()), new TemperatureValue("20"),
+                new SensorIDVO(UUID.randomUUID()), new DeviceIDVO(UUID.randomUUID()),
+                new SensorTypeIDVO("TemperatureSensor"));
+    }
+
+    @AfterEach
+    void stopWriter() {
+        if (this.writer != null) {
+            this.jdbcTemplate.release.countDown();
+            this.writer.shutdown();
+        }
+    }
+
+    /**
+     * Test case to verify that a written log has been committed by the time write returns.
+     */
+    @Test
+    void write_ShouldReturnOnceTheLogIsWritten() {
+        //Arrange
+        LogBatchWriter batchWriter = start(10, 60_000, false);
+        Log log = log();
+        //Act
+        boolean written = batchWriter.write(log);
+        //Assert
+        assertTrue(written);
+        assertEquals(List.of(List.of(log)), new ArrayList<>(this.jdbcTemplate.batches));
+        assertEquals(1, batchWriter.getWrittenCount());
+    }
+
+    /**
+     * Test case to verify that write reports a batch that could not be written.
+     */
+    @Test
+    void write_WhenBatchFails_ShouldReturnFalse() {
+        //Arrange
+        LogBatchWriter batchWriter = start(10, 60_000, false);
+        this.jdbcTemplate.failing = true;
+        //Act
+        boolean written = batchWriter.write(log());
+        //Assert
+        assertFalse(written);
+        assertEquals(1, batchWriter.getFailedCount());
+    }
+
+    /**
+     * Test case to verify that an unexpected failure of a batch is reported to the producer as a log that was not
+     * written, and that the flusher keeps writing the following batches.
+     */
+    @Test
+    void write_WhenBatchThrowsUnexpectedException_ShouldReturnFalseAndKeepFlushing() {
+        //Arrange
+        LogBatchWriter batchWriter = start(10, 60_000, false);
+        this.jdbcTemplate.error = new IllegalStateException("Unexpected failure");
+        //Act
+        boolean failedWrite = batchWriter.write(log());
+        this.jdbcTemplate.error = null;
+        boolean nextWrite = batchWriter.write(log());
+        //Assert
+        assertFalse(failedWrite);
+        assertTrue(nextWrite);
+        assertEquals(1, batchWriter.getFailedCount());
+        assertEquals(1, batchWriter.getWrittenCount());
+    }
+
+    /**
+     * Test case to verify that write gives up once the acknowledge timeout elapses without the batch being written.
+     */
+    @Test
+    void write_WhenBatchIsNotWrittenWithinTimeout_ShouldReturnFalse() {
+        //Arrange
+        LogBatchWriter batchWriter = start(10, 60_000, 50, false);
+        this.jdbcTemplate.release = new CountDownLatch(1);
+        //Act
+        boolean written = batchWriter.write(log());
+        //Assert
+        assertFalse(written);
+    }
+
+    /**
+     * Test case to verify that queued logs are written together once the batch is full, without waiting for the flush
+     * interval.
+     */
+    @Test
+    void submit_ShouldWriteFullBatchesWithoutWaitingForTheInterval() throws InterruptedException {
+        //Arrange
+        LogBatchWriter batchWriter = start(3, 60_000, true);
+        List<Log> logs = List.of(log(), log(), log());
+        //Act
+        logs.forEach(batchWriter::submit);
+        List<Log> batch = this.jdbcTemplate.batches.poll(5, TimeUnit.SECONDS);
+        //Assert
+        assertEquals(logs, batch);
+        assertEquals(3, batchWriter.getLastBatchSize());
+    }
+
+    /**
+     * Test case to verify that a partial batch of queued logs is written once the flush interval elapses.
+     */
+    @Test
+    void submit_ShouldWritePartialBatchAfterTheInterval() throws InterruptedException {
+        //Arrange
+        LogBatchWriter batchWriter = start(100, 50, true);
+        Log log = log();
+        //Act
+        boolean queued = batchWriter.submit(log);
+        List<Log> batch = this.jdbcTemplate.batches.poll(5, TimeUnit.SECONDS);
+        //Assert
+        assertTrue(queued);
+        assertEquals(List.of(log), batch);
+    }
+
+    /**
+     * Test case to verify that shutdown writes the logs still buffered, lets the flusher finish the batch it is
+     * writing without interrupting it, and rejects logs saved afterwards.
+     */
+    @Test
+    void shutdown_ShouldFinishTheCurrentBatchAndWriteTheBufferedLogs() throws InterruptedException {
+        //Arrange
+        LogBatchWriter batchWriter = start(1, 60_000, true);
+        this.jdbcTemplate.release = new CountDownLatch(1);
+        Log first = log();
+        Log second = log();
+        batchWriter.submit(first);
+        batchWriter.submit(second);
+        Thread stopping = new Thread(batchWriter::shutdown);
+        //Act
+        stopping.start();
+        Thread.sleep(100);
+        this.jdbcTemplate.release.countDown();
+        stopping.join(5000);
+        boolean submittedAfter = batchWriter.submit(log());
+        boolean writtenAfter = batchWriter.write(log());
+        //Assert
+        assertFalse(stopping.isAlive());
+        assertFalse(this.jdbcTemplate.interrupted);
+        assertEquals(List.of(List.of(first), List.of(second)), new ArrayList<>(this.jdbcTemplate.batches));
+        assertFalse(submittedAfter);
+        assertFalse(writtenAfter);
+        assertEquals(2, batchWriter.getRejectedCount());
+    }
+
+    /**
+     * Test case to verify that a group of logs is written straight away as one batch.
+     */
+    @Test
+    void writeBatch_ShouldWriteTheLogsAsOneBatch() {
+        //Arrange
+        LogBatchWriter batchWriter = start(10, 60_000, false);
+        List<Log> logs = List.of(log(), log());
+        //Act
+        boolean written = batchWriter.writeBatch(logs);
+        //Assert
+        assertTrue(written);
+        assertEquals(List.of(logs), new ArrayList<>(this.jdbcTemplate.batches));
+    }
+
+    /**
+     * Test case to verify that an invalid configuration is rejected.
+     */
+    @Test
+    void constructor_WhenBatchSizeIsNotPositive_ShouldThrowException() {
+        //Arrange
+        NoOpTransactionManager transactionManager = new NoOpTransactionManager();
+        //Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> new LogBatchWriter(this.jdbcTemplate, transactionManager, 100, 0, 200, 1000, 30_000, false));
+    }
+}
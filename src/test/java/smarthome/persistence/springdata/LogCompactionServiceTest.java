@@ -0,0 +1,228 @@
+package smarthome.persistence.springdata;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import smarthome.domain.log.Log;
+import smarthome.domain.log.LogFactoryImpl;
+import smarthome.domain.log.ReadingSeries;
+import smarthome.domain.sensor.sensorvalues.SensorValueFactoryImpl;
+import smarthome.domain.sensor.sensorvalues.SensorValueObject;
+import smarthome.domain.sensor.sensorvalues.SwitchValue;
+import smarthome.domain.sensor.sensorvalues.TemperatureValue;
+import smarthome.domain.vo.devicevo.DeviceIDVO;
+import smarthome.domain.vo.logvo.LogIDVO;
+import smarthome.domain.vo.logvo.TimeStampVO;
+import smarthome.domain.vo.sensortype.SensorTypeIDVO;
+import smarthome.domain.vo.sensorvo.SensorIDVO;
+import smarthome.persistence.jpa.datamodel.LogDataModel;
+import smarthome.persistence.jpa.datamodel.LogHourDataModel;
+import smarthome.persistence.jpa.datamodel.LogMinuteDataModel;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests for the compaction of sensor logs into per-minute and per-hour aggregates, and for which reads return the
+ * compacted logs: range queries read the raw logs still kept and downsampled reads the aggregates.
+ */
+@DataJpaTest
+class LogCompactionServiceTest {
+
+    @Autowired
+    private ILogRepositorySpringData iLogRepositorySpringData;
+
+    @Autowired
+    private ILogMinuteRepositorySpringData iLogMinuteRepositorySpringData;
+
+    @Autowired
+    private ILogHourRepositorySpringData iLogHourRepositorySpringData;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private static final long SECOND = 1_000_000_000L;
+
+    private final DeviceIDVO deviceID = new DeviceIDVO(UUID.randomUUID());
+    private final SensorIDVO temperatureSensor = new SensorIDVO(UUID.randomUUID());
+    private final SensorIDVO switchSensor = new SensorIDVO(UUID.randomUUID());
+
+    private LogRetentionPolicy policy;
+    private LogCompactionService compactionService;
+    private long hour;
+
+    /**
+     * Raw logs are kept for one hour and per-minute aggregates for two days. The test readings are one day old,
+     * so they are compacted into aggregates that are not purged yet.
+     */
+    @BeforeEach
+    void setUp() {
+        this.policy = new LogRetentionPolicy(1, 2, 1, 1);
+        this.compactionService = new LogCompactionService(iLogRepositorySpringData, iLogMinuteRepositorySpringData,
+                iLogHourRepositorySpringData, transactionManager, policy, false, 1000);
+        this.hour = LogResolution.HOUR.bucketOf(policy.now() - 86400 * SECOND);
+    }
+
+    /**
+     * Test case to verify that compaction rolls old numeric logs into per-minute and per-hour aggregates and deletes
+     * them, while non-numeric and recent logs are kept.
+     */
+    @Test
+    void compact_ShouldRollOldNumericLogsIntoAggregatesAndDeleteThem() {
+        //Arrange
+        save(temperature(hour + 60 * SECOND, "20"));
+        save(temperature(hour + 90 * SECOND, "22"));
+        save(temperature(hour + 200 * SECOND, "30"));
+        save(switchLog(hour + 100 * SECOND));
+        save(temperature(policy.now() - 60 * SECOND, "18"));
+        //Act
+        long compacted = compactionService.compact();
+        //Assert
+        assertEquals(3, compacted);
+        assertEquals(2, iLogRepositorySpringData.count());
+
+        LogMinuteDataModel firstMinute = iLogMinuteRepositorySpringData.findById(
+                LogMinuteDataModel.aggregateID(temperatureSensor.getID(), 60, hour + 60 * SECOND)).orElseThrow();
+        assertEquals(2, firstMinute.getCount());
+        assertEquals(21, firstMinute.getAverage());
+        assertEquals(20, firstMinute.getFirstValue());
+        assertEquals(22, firstMinute.getLastValue());
+        assertEquals(2, iLogMinuteRepositorySpringData.count());
+
+        LogHourDataModel hourAggregate = iLogHourRepositorySpringData.findById(
+                LogHourDataModel.aggregateID(temperatureSensor.getID(), 3600, hour)).orElseThrow();
+        assertEquals(3, hourAggregate.getCount());
+        assertEquals(20, hourAggregate.getMinValue());
+        assertEquals(30, hourAggregate.getMaxValue());
+        assertEquals(24, hourAggregate.getAverage());
+    }
+
+    /**
+     * Test case to verify that logs arriving after their hour was compacted are merged into the existing aggregates.
+     */
+    @Test
+    void compact_WhenLateLogArrives_ShouldMergeItIntoExistingAggregates() {
+        //Arrange
+        save(temperature(hour + 60 * SECOND, "20"));
+        save(temperature(hour + 90 * SECOND, "22"));
+        compactionService.compact();
+        save(temperature(hour + 70 * SECOND, "27"));
+        //Act
+        long compacted = compactionService.compact();
+        //Assert
+        assertEquals(1, compacted);
+        LogMinuteDataModel minute = iLogMinuteRepositorySpringData.findById(
+                LogMinuteDataModel.aggregateID(temperatureSensor.getID(), 60, hour + 60 * SECOND)).orElseThrow();
+        assertEquals(3, minute.getCount());
+        assertEquals(27, minute.getMaxValue());
+        assertEquals(22, minute.getLastValue());
+        assertEquals(1, iLogHourRepositorySpringData.count());
+    }
+
+    /**
+     * Test case to verify that a range query over a compacted window returns the raw logs still kept and no
+     * aggregates, and that the paged read of the window returns the same logs.
+     */
+    @Test
+    void findReadingsByDeviceID_WhenWindowWasCompacted_ShouldReadOnlyRawLogs() {
+        //Arrange
+        save(temperature(hour + 60 * SECOND, "20"));
+        save(temperature(hour + 90 * SECOND, "22"));
+        save(switchLog(hour + 100 * SECOND));
+        compactionService.compact();
+        save(temperature(hour + 200 * SECOND, "30"));
+        LogRepositorySpringData repository = repository();
+        TimeStampVO from = time(hour);
+        TimeStampVO to = time(hour + 2 * 3600 * SECOND);
+        //Act
+        List<Log> logs = new ArrayList<>();
+        repository.findReadingsByDeviceID(deviceID, from, to).forEach(logs::add);
+        List<Log> page = new ArrayList<>();
+        repository.findReadingsPageByDeviceID(deviceID, from, to, null, 10).forEach(page::add);
+        logs.sort(Comparator.comparing(log -> log.getTime().getValue()));
+        //Assert
+        assertEquals(2, logs.size());
+        assertEquals("On", logs.get(0).getReading().getValue());
+        assertEquals(30.0, logs.get(1).getReading().getValue());
+        assertEquals(time(hour + 200 * SECOND), logs.get(1).getTime());
+        assertEquals(ids(logs), ids(page));
+    }
+
+    /**
+     * Test case to verify that a downsampled read over a compacted window reads the per-minute aggregates and merges
+     * the raw readings not compacted yet into the buckets they fall in.
+     */
+    @Test
+    void findDownsampledSeries_WhenWindowWasCompacted_ShouldMergeAggregatesWithRawReadings() {
+        //Arrange
+        save(temperature(hour + 60 * SECOND, "20"));
+        save(temperature(hour + 90 * SECOND, "22"));
+        save(switchLog(hour + 100 * SECOND));
+        compactionService.compact();
+        save(temperature(hour + 70 * SECOND, "27"));
+        save(temperature(hour + 200 * SECOND, "30"));
+        //Act
+        ReadingSeries series = repository().findDownsampledSeries(deviceID.getID(), "TemperatureSensor", time(hour),
+                time(hour + 2 * 3600 * SECOND));
+        //Assert
+        assertEquals(2, series.size());
+        assertEquals(hour + 60 * SECOND, series.getTime(0));
+        assertEquals(23.0, series.getValue(0));
+        assertEquals(hour + 180 * SECOND, series.getTime(1));
+        assertEquals(30.0, series.getValue(1));
+    }
+
+    /**
+     * Test case to verify that a downsampled read over a window shorter than the minute span returns the raw readings.
+     */
+    @Test
+    void findDownsampledSeries_WhenWindowIsShort_ShouldReadRawReadings() {
+        //Arrange
+        save(temperature(hour + 60 * SECOND, "20"));
+        save(temperature(hour + 90 * SECOND, "22"));
+        //Act
+        ReadingSeries series = repository().findDownsampledSeries(deviceID.getID(), "TemperatureSensor", time(hour),
+                time(hour + 1800 * SECOND));
+        //Assert
+        assertEquals(2, series.size());
+        assertEquals(hour + 90 * SECOND, series.getTime(1));
+        assertEquals(22.0, series.getValue(1));
+    }
+
+    private LogRepositorySpringData repository() {
+        return new LogRepositorySpringData(iLogRepositorySpringData, new LogFactoryImpl(),
+                new SensorValueFactoryImpl("value.properties"), null, iLogMinuteRepositorySpringData,
+                iLogHourRepositorySpringData, policy);
+    }
+
+    private static List<String> ids(List<Log> logs) {
+        return logs.stream().map(log -> log.getId().getID()).sorted().toList();
+    }
+
+    private void save(Log log) {
+        iLogRepositorySpringData.save(new LogDataModel(log));
+    }
+
+    private Log temperature(long epochNanos, String reading) {
+        return log(temperatureSensor, new TemperatureValue(reading), "TemperatureSensor", epochNanos);
+    }
+
+    private Log switchLog(long epochNanos) {
+        return log(switchSensor, new SwitchValue("On"), "SwitchSensor", epochNanos);
+    }
+
+    private Log log(SensorIDVO sensorID, SensorValueObject<?> reading, String sensorType, long epochNanos) {
+        return new Log(new LogIDVO(UUID.randomUUID()), time(epochNanos), reading, sensorID, deviceID,
+                new SensorTypeIDVO(sensorType));
+    }
+
+    private static TimeStampVO time(long epochNanos) {
+        return new TimeStampVO(LogDataModel.fromEpochNanos(epochNanos));
+    }
+}
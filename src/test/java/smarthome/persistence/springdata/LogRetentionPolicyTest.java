@@ -0,0 +1,62 @@
+package smarthome.persistence.springdata;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests for the retention settings of sensor logs.
+ */
+class LogRetentionPolicyTest {
+
+    private static final long HOUR = 3_600_000_000_000L;
+    private static final long DAY = 24 * HOUR;
+
+    private final LogRetentionPolicy policy = new LogRetentionPolicy(168, 90, 48, 30);
+
+    /**
+     * Test case to verify that the resolution follows the length of the window.
+     */
+    @Test
+    void resolutionFor_ShouldSelectCoarsestResolutionForWindow() {
+        //Act & Assert
+        assertEquals(LogResolution.RAW, policy.resolutionFor(0, HOUR));
+        assertEquals(LogResolution.MINUTE, policy.resolutionFor(0, 48 * HOUR));
+        assertEquals(LogResolution.MINUTE, policy.resolutionFor(0, 29 * DAY));
+        assertEquals(LogResolution.HOUR, policy.resolutionFor(0, 90 * DAY));
+    }
+
+    /**
+     * Test case to verify that unbounded windows are read at raw resolution.
+     */
+    @Test
+    void resolutionFor_WhenWindowIsUnbounded_ShouldSelectRaw() {
+        //Act & Assert
+        assertEquals(LogResolution.RAW, policy.resolutionFor(Long.MIN_VALUE, Long.MAX_VALUE));
+    }
+
+    /**
+     * Test case to verify that the cut-offs are aligned to the hour.
+     */
+    @Test
+    void cutoffs_ShouldBeAlignedToTheHour() {
+        //Arrange
+        long now = 1_700_000_123_456_789_000L;
+        //Act & Assert
+        assertEquals(0, policy.rawCutoff(now) % HOUR);
+        assertEquals(0, policy.minuteCutoff(now) % HOUR);
+        assertEquals(LogResolution.HOUR.bucketOf(now - 168 * HOUR), policy.rawCutoff(now));
+    }
+
+    /**
+     * Test case to verify that inconsistent settings are rejected.
+     */
+    @Test
+    void constructor_WhenSettingsAreInconsistent_ShouldThrowIllegalArgumentException() {
+        //Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new LogRetentionPolicy(0, 90, 48, 30));
+        assertThrows(IllegalArgumentException.class, () -> new LogRetentionPolicy(24 * 100, 90, 48, 30));
+        assertThrows(IllegalArgumentException.class, () -> new LogRetentionPolicy(168, 90, 24 * 40, 30));
+    }
+}
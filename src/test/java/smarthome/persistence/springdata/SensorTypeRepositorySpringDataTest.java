@@ -0,0 +1,96 @@
+package smarthome.persistence.springdata;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import smarthome.domain.sensortype.SensorType;
+import smarthome.domain.sensortype.SensorTypeFactoryImpl;
+import smarthome.domain.vo.sensortype.SensorTypeIDVO;
+import smarthome.domain.vo.sensortype.UnitVO;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the caching of the sensor types saved, which only happens once the transaction they were saved in
+ * commits. Each test runs its own transactions.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SensorTypeRepositorySpringDataTest {
+
+    @Autowired
+    private ISensorTypeRepositorySpringData iSensorTypeRepositorySpringData;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private SensorTypeRepositorySpringData repository;
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        this.repository = new SensorTypeRepositorySpringData(iSensorTypeRepositorySpringData,
+                new SensorTypeFactoryImpl());
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    private static SensorType sensorType() {
+        return new SensorType(new SensorTypeIDVO("Sensor" + UUID.randomUUID()), new UnitVO("Celsius"));
+    }
+
+    /**
+     * Test case to verify that a sensor type saved in a transaction is only cached once the transaction commits.
+     */
+    @Test
+    void save_WhenTransactionCommits_ShouldCacheTheSensorTypeAfterCommit() {
+        //Arrange
+        SensorType sensorType = sensorType();
+        //Act
+        int cachedBeforeCommit = transactionTemplate.execute(status -> {
+            repository.save(sensorType);
+            return repository.getCache().size();
+        });
+        //Assert
+        assertEquals(0, cachedBeforeCommit);
+        assertEquals(1, repository.getCache().size());
+        assertSame(sensorType, repository.findById((SensorTypeIDVO) sensorType.getId()));
+    }
+
+    /**
+     * Test case to verify that a sensor type whose save was rolled back is not cached, and is not found.
+     */
+    @Test
+    void save_WhenTransactionRollsBack_ShouldNotCacheTheSensorType() {
+        //Arrange
+        SensorType sensorType = sensorType();
+        //Act
+        transactionTemplate.executeWithoutResult(status -> {
+            repository.save(sensorType);
+            status.setRollbackOnly();
+        });
+        //Assert
+        assertEquals(0, repository.getCache().size());
+        assertNull(repository.findById((SensorTypeIDVO) sensorType.getId()));
+    }
+
+    /**
+     * Test case to verify that a sensor type saved without a surrounding transaction is cached straight away.
+     */
+    @Test
+    void save_WithoutTransaction_ShouldCacheTheSensorType() {
+        //Arrange
+        SensorType sensorType = sensorType();
+        //Act
+        boolean saved = repository.save(sensorType);
+        //Assert
+        assertTrue(saved);
+        assertSame(sensorType, repository.findById((SensorTypeIDVO) sensorType.getId()));
+    }
+}
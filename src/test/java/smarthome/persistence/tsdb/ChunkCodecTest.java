@@ -0,0 +1,158 @@
+package smarthome.persistence.tsdb;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChunkCodecTest {
+
+    /**
+     * Test case to verify that integral readings taken at irregular intervals are decoded exactly as written,
+     * sorted by time.
+     */
+    @Test
+    void encodeAndDecodeIntegralReadings_ShouldReturnSamePointsSortedByTime() {
+        //Arrange
+        DataPoint first = new DataPoint(UUID.randomUUID(), 1_700_000_060L, "250");
+        DataPoint second = new DataPoint(UUID.randomUUID(), 1_700_000_000L, "-3");
+        DataPoint third = new DataPoint(UUID.randomUUID(), 1_700_090_000L, "0");
+        List<DataPoint> expected = List.of(second, first, third);
+
+        //Act
+        ByteBuffer block = ChunkCodec.encode(List.of(first, second, third), ValueKind.INTEGRAL);
+        List<DataPoint> result = ChunkCodec.decode(block, 0);
+
+        //Assert
+        assertEquals(expected, result);
+    }
+
+    /**
+     * Test case to verify that decimal readings keep their exact textual form after a round trip.
+     */
+    @Test
+    void encodeAndDecodeDecimalReadings_ShouldReturnSameReadings() {
+        //Arrange
+        List<DataPoint> points = new ArrayList<>();
+        String[] readings = {"23.5", "23.5", "23.6", "-0.1", "1.0E10", "19.0"};
+        for (int i = 0; i < readings.length; i++) {
+            points.add(new DataPoint(UUID.randomUUID(), 1_700_000_000L + i * 60L, readings[i]));
+        }
+
+        //Act
+        List<DataPoint> result = ChunkCodec.decode(ChunkCodec.encode(points, ValueKind.DECIMAL), 0);
+
+        //Assert
+        assertEquals(points, result);
+    }
+
+    /**
+     * Test case to verify that text readings are decoded exactly as written.
+     */
+    @Test
+    void encodeAndDecodeTextReadings_ShouldReturnSameReadings() {
+        //Arrange
+        List<DataPoint> points = List.of(
+                new DataPoint(UUID.randomUUID(), 1_700_000_000L, "44:W"),
+                new DataPoint(UUID.randomUUID(), 1_700_000_001L, "On"));
+
+        //Act
+        List<DataPoint> result = ChunkCodec.decode(ChunkCodec.encode(points, ValueKind.TEXT), 0);
+
+        //Assert
+        assertEquals(points, result);
+    }
+
+    /**
+     * Test case to verify that timestamps keep every nanosecond, whatever the size of the change between intervals.
+     */
+    @Test
+    void encodeAndDecodeSubSecondTimestamps_ShouldKeepEveryNanosecond() {
+        //Arrange
+        long start = 1_700_000_000_123_456_789L;
+        long[] offsets = {0, 60_000_000_000L, 120_000_000_000L, 180_000_000_050L, 240_000_000_000L,
+                300_000_001_000L, 360_000_000_000L, 420_750_000_000L, 86_400_000_000_000L};
+        List<DataPoint> points = new ArrayList<>();
+        for (long offset : offsets) {
+            points.add(new DataPoint(UUID.randomUUID(), start + offset, "1"));
+        }
+
+        //Act
+        List<DataPoint> result = ChunkCodec.decode(ChunkCodec.encode(points, ValueKind.INTEGRAL), 0);
+
+        //Assert
+        assertEquals(points, result);
+    }
+
+    /**
+     * Test case to verify that the identifiers of a block are read in the order of its points.
+     */
+    @Test
+    void ids_ShouldReturnIdentifiersInOrderOfTime() {
+        //Arrange
+        DataPoint later = new DataPoint(UUID.randomUUID(), 1_700_000_060L, "2");
+        DataPoint earlier = new DataPoint(UUID.randomUUID(), 1_700_000_000L, "1");
+
+        //Act
+        ByteBuffer block = ChunkCodec.encode(List.of(later, earlier), ValueKind.INTEGRAL);
+
+        //Assert
+        assertEquals(List.of(earlier.id(), later.id()), ChunkCodec.ids(block, 0));
+    }
+
+    /**
+     * Test case to verify that the block header exposes the time range and length of the block.
+     */
+    @Test
+    void encodedBlockHeader_ShouldExposeTimeRangeAndLength() {
+        //Arrange
+        List<DataPoint> points = List.of(
+                new DataPoint(UUID.randomUUID(), 1_700_000_120L, "1"),
+                new DataPoint(UUID.randomUUID(), 1_700_000_000L, "2"));
+
+        //Act
+        ByteBuffer block = ChunkCodec.encode(points, ValueKind.INTEGRAL);
+
+        //Assert
+        assertEquals(1_700_000_000L, ChunkCodec.minTime(block, 0));
+        assertEquals(1_700_000_120L, ChunkCodec.maxTime(block, 0));
+        assertEquals(block.limit(), ChunkCodec.blockLength(block, 0));
+        assertTrue(ChunkCodec.hasBlock(block, 0, block.limit()));
+        assertFalse(ChunkCodec.hasBlock(block, 0, block.limit() - 1));
+    }
+
+    /**
+     * Test case to verify that regularly spaced, repeated readings compress to far less than their raw size.
+     */
+    @Test
+    void encodeRegularReadings_ShouldUseFewBitsPerPoint() {
+        //Arrange
+        List<DataPoint> points = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            points.add(new DataPoint(UUID.randomUUID(), 1_700_000_000L + i * 60L, "21.5"));
+        }
+
+        //Act
+        ByteBuffer block = ChunkCodec.encode(points, ValueKind.DECIMAL);
+
+        //Assert
+        int identifiers = points.size() * 16;
+        assertTrue(block.limit() - identifiers < 400);
+    }
+
+    /**
+     * Test case to verify the value kind chosen for each style of reading.
+     */
+    @Test
+    void valueKindOf_ShouldPickMostCompactLosslessKind() {
+        //Assert
+        assertEquals(ValueKind.INTEGRAL, ValueKind.of("250"));
+        assertEquals(ValueKind.DECIMAL, ValueKind.of("23.5"));
+        assertEquals(ValueKind.TEXT, ValueKind.of("44:W"));
+        assertEquals(ValueKind.TEXT, ValueKind.of("007"));
+    }
+}
@@ -0,0 +1,174 @@
+package smarthome.persistence.tsdb;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import smarthome.domain.log.Log;
+import smarthome.domain.log.LogFactoryImpl;
+import smarthome.domain.sensor.sensorvalues.SensorValueFactoryImpl;
+import smarthome.domain.sensor.sensorvalues.TemperatureValue;
+import smarthome.domain.vo.devicevo.DeviceIDVO;
+import smarthome.domain.vo.logvo.LogIDVO;
+import smarthome.domain.vo.logvo.TimeStampVO;
+import smarthome.domain.vo.sensortype.SensorTypeIDVO;
+import smarthome.domain.vo.sensorvo.SensorIDVO;
+import smarthome.mapper.LogMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogRepositoryTSDBTest {
+
+    @TempDir
+    Path root;
+
+    private final List<LogRepositoryTSDB> opened = new ArrayList<>();
+    private final DeviceIDVO deviceID = new DeviceIDVO(UUID.randomUUID());
+    private final SensorIDVO sensorID = new SensorIDVO(UUID.randomUUID());
+
+    private LogRepositoryTSDB open(int blockSize) throws IOException {
+        LogRepositoryTSDB repository = new LogRepositoryTSDB(new LogFactoryImpl(),
+                new SensorValueFactoryImpl("value.properties"), this.root.toString(), blockSize, 60_000);
+        repository.open();
+        this.opened.add(repository);
+        return repository;
+    }
+
+    private Log log(LocalDateTime time, String reading) {
+        return new Log(new LogIDVO(UUID.randomUUID()), new TimeStampVO(time), new TemperatureValue(reading),
+                this.sensorID, this.deviceID, new SensorTypeIDVO("TemperatureSensor"));
+    }
+
+    private static List<LocalDateTime> times(Iterable<Log> logs) {
+        List<LocalDateTime> times = new ArrayList<>();
+        logs.forEach(log -> times.add(log.getTime().getValue()));
+        return times;
+    }
+
+    @AfterEach
+    void close() {
+        this.opened.forEach(LogRepositoryTSDB::close);
+    }
+
+    /**
+     * Test case to verify that a saved log is found by its identifier, with the time it was taken and its reading.
+     */
+    @Test
+    void save_ThenFindById_ShouldReturnTheSavedLog() throws IOException {
+        //Arrange
+        LogRepositoryTSDB repository = open(16);
+        Log log = log(LocalDateTime.of(2024, 3, 10, 12, 30, 15), "21.5");
+
+        //Act
+        boolean saved = repository.save(log);
+        Log found = repository.findById((LogIDVO) log.getId());
+
+        //Assert
+        assertTrue(saved);
+        assertEquals(log.getTime(), found.getTime());
+        assertEquals(21.5, found.getReading().getValue());
+        assertTrue(repository.isPresent((LogIDVO) log.getId()));
+        assertFalse(repository.isPresent(new LogIDVO(UUID.randomUUID())));
+    }
+
+    /**
+     * Test case to verify that logs saved before the store was closed are read back, and found by their identifier,
+     * once it is opened again.
+     */
+    @Test
+    void open_AfterClose_ShouldRecoverSavedLogs() throws IOException {
+        //Arrange
+        LogRepositoryTSDB repository = open(2);
+        LocalDateTime start = LocalDateTime.of(2024, 3, 10, 8, 0);
+        List<Log> logs = List.of(log(start, "20"), log(start.plusMinutes(1), "21"), log(start.plusMinutes(2), "22"));
+        repository.saveAll(logs);
+        repository.close();
+
+        //Act
+        LogRepositoryTSDB reopened = open(2);
+        Iterable<Log> found = reopened.findReadingsByDeviceID(this.deviceID, null, null);
+
+        //Assert
+        assertEquals(1, reopened.getSeriesCount());
+        assertEquals(List.of(start, start.plusMinutes(1), start.plusMinutes(2)), times(found));
+        assertEquals(logs.get(1).getTime(), reopened.findById((LogIDVO) logs.get(1).getId()).getTime());
+    }
+
+    /**
+     * Test case to verify that a range spanning midnight reads the logs of both day partitions and no others.
+     */
+    @Test
+    void findReadingsByDeviceID_AcrossMidnight_ShouldReadEveryPartitionInRange() throws IOException {
+        //Arrange
+        LogRepositoryTSDB repository = open(16);
+        LocalDateTime midnight = LocalDateTime.of(2024, 3, 11, 0, 0);
+        repository.save(log(midnight.minusDays(1), "18"));
+        repository.save(log(midnight.minusSeconds(1), "19"));
+        repository.save(log(midnight, "20"));
+        repository.save(log(midnight.plusDays(1), "21"));
+        repository.flush();
+
+        //Act
+        Iterable<Log> found = repository.findReadingsByDeviceID(this.deviceID,
+                new TimeStampVO(midnight.minusHours(1)), new TimeStampVO(midnight.plusHours(1)));
+
+        //Assert
+        assertEquals(List.of(midnight.minusSeconds(1), midnight), times(found));
+    }
+
+    /**
+     * Test case to verify that pages follow each other forwards and backwards across day partitions, in ascending
+     * order of time.
+     */
+    @Test
+    void findReadingsPageByDeviceID_WithCursors_ShouldPageAcrossPartitions() throws IOException {
+        //Arrange
+        LogRepositoryTSDB repository = open(1);
+        LocalDateTime start = LocalDateTime.of(2024, 3, 10, 22, 0);
+        List<LocalDateTime> times = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            times.add(start.plusHours(i));
+            repository.save(log(start.plusHours(i), Integer.toString(20 + i)));
+        }
+
+        //Act
+        List<Log> first = new ArrayList<>();
+        repository.findReadingsPageByDeviceID(this.deviceID, null, null, null, 2).forEach(first::add);
+        Iterable<Log> second = repository.findReadingsPageByDeviceID(this.deviceID, null, null,
+                LogMapper.createNextCursor(first.get(1)), 2);
+        Iterable<Log> previous = repository.findReadingsPageByDeviceID(this.deviceID, null, null,
+                LogMapper.createPreviousCursor(first.get(1)), 2);
+
+        //Assert
+        assertEquals(times.subList(0, 2), times(first));
+        assertEquals(times.subList(2, 4), times(second));
+        assertEquals(times.subList(0, 1), times(previous));
+    }
+
+    /**
+     * Test case to verify that a page stops reading partitions once it is full, so the days past it are not decoded.
+     */
+    @Test
+    void findReadingsPageByDeviceID_WhenPageIsFull_ShouldNotReadLaterPartitions() throws IOException {
+        //Arrange
+        LogRepositoryTSDB repository = open(1);
+        LocalDateTime start = LocalDateTime.of(2024, 3, 10, 12, 0);
+        repository.save(log(start, "20"));
+        repository.save(log(start.plusHours(1), "21"));
+        repository.save(log(start.plusDays(1), "22"));
+        Files.delete(this.root.resolve(this.sensorID.getID()).resolve(start.toLocalDate().plusDays(1) + ".chunk"));
+
+        //Act
+        Iterable<Log> page = repository.findReadingsPageByDeviceID(this.deviceID, null, null, null, 2);
+
+        //Assert
+        assertEquals(List.of(start, start.plusHours(1)), times(page));
+    }
+}
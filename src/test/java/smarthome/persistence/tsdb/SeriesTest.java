@@ -0,0 +1,176 @@
+package smarthome.persistence.tsdb;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SeriesTest {
+
+    private static final long NANOS_PER_DAY = 86_400_000_000_000L;
+    private static final long DAY = LocalDate.of(2024, 3, 10).toEpochDay();
+
+    @TempDir
+    Path root;
+
+    private Series create(int blockSize) throws IOException {
+        return Series.create(this.root, "sensor", "device", "TemperatureSensor", blockSize);
+    }
+
+    private static DataPoint point(long epochNanos, String reading) {
+        return new DataPoint(UUID.randomUUID(), epochNanos, reading);
+    }
+
+    private Path chunk(long day) {
+        return this.root.resolve("sensor").resolve(LocalDate.ofEpochDay(day) + ".chunk");
+    }
+
+    /**
+     * Test case to verify that readings written to disk and readings still buffered are read together, sorted by
+     * time and with their sub-second part.
+     */
+    @Test
+    void read_ShouldMergeWrittenAndBufferedReadings() throws IOException {
+        //Arrange
+        Series series = create(2);
+        long start = DAY * NANOS_PER_DAY;
+        DataPoint first = point(start + 1_000_000_123L, "20");
+        DataPoint second = point(start + 500_000_001L, "21");
+        DataPoint buffered = point(start + 2_250_000_000L, "22");
+        series.append(first);
+        series.append(second);
+        series.append(buffered);
+
+        //Act
+        List<DataPoint> result = series.read(Long.MIN_VALUE, Long.MAX_VALUE);
+
+        //Assert
+        assertEquals(List.of(second, first, buffered), result);
+        assertTrue(Files.size(chunk(DAY)) > 0);
+    }
+
+    /**
+     * Test case to verify that a reading whose block could not be written is neither buffered nor indexed, so
+     * appending it again once the chunk file is writable stores it only once.
+     */
+    @Test
+    void append_WhenBlockCannotBeWritten_ShouldNotKeepTheReading() throws IOException {
+        //Arrange
+        Series series = create(2);
+        long start = DAY * NANOS_PER_DAY;
+        DataPoint first = point(start + 1_000, "20");
+        DataPoint second = point(start + 2_000, "21");
+        series.append(first);
+        Files.createDirectories(chunk(DAY));
+
+        //Act
+        assertThrows(IOException.class, () -> series.append(second));
+        boolean containsAfterFailure = series.contains(second.id());
+        Files.delete(chunk(DAY));
+        series.append(second);
+        series.flush();
+        List<DataPoint> result = series.read(Long.MIN_VALUE, Long.MAX_VALUE);
+
+        //Assert
+        assertFalse(containsAfterFailure);
+        assertEquals(List.of(first, second), result);
+    }
+
+    /**
+     * Test case to verify that readings on each side of midnight go to the chunk file of their own day, and that a
+     * range only reads the partitions it overlaps.
+     */
+    @Test
+    void append_AcrossMidnight_ShouldRollOverToANewPartition() throws IOException {
+        //Arrange
+        Series series = create(10);
+        long midnight = (DAY + 1) * NANOS_PER_DAY;
+        DataPoint beforeMidnight = point(midnight - 1, "20");
+        DataPoint afterMidnight = point(midnight, "21");
+        series.append(beforeMidnight);
+        series.append(afterMidnight);
+
+        //Act
+        series.flush();
+        List<DataPoint> nextDay = series.read(midnight, Long.MAX_VALUE);
+
+        //Assert
+        assertTrue(Files.exists(chunk(DAY)));
+        assertTrue(Files.exists(chunk(DAY + 1)));
+        assertEquals(List.of(DAY, DAY + 1), series.partitions(midnight - 1, midnight));
+        assertEquals(List.of(DAY + 1), series.partitions(midnight, midnight + 1));
+        assertEquals(List.of(afterMidnight), nextDay);
+    }
+
+    /**
+     * Test case to verify that opening a series truncates a block torn by a crash and keeps the complete blocks
+     * before it.
+     */
+    @Test
+    void open_WhenLastBlockIsTorn_ShouldTruncateItAndKeepCompleteBlocks() throws IOException {
+        //Arrange
+        Series series = create(2);
+        long start = DAY * NANOS_PER_DAY;
+        List<DataPoint> written = List.of(point(start, "1"), point(start + 60, "2"));
+        for (DataPoint point : written) {
+            series.append(point);
+        }
+        long committed = Files.size(chunk(DAY));
+        ByteBuffer torn = ChunkCodec.encode(List.of(point(start + 120, "3"), point(start + 180, "4")),
+                ValueKind.INTEGRAL);
+        byte[] partial = new byte[torn.limit() / 2];
+        torn.get(partial);
+        Files.write(chunk(DAY), partial, StandardOpenOption.APPEND);
+
+        //Act
+        Series reopened = Series.open(this.root.resolve("sensor"), 2);
+
+        //Assert
+        assertEquals(committed, Files.size(chunk(DAY)));
+        assertEquals(written, reopened.read(Long.MIN_VALUE, Long.MAX_VALUE));
+        assertEquals("device", reopened.getDeviceID());
+        assertEquals("TemperatureSensor", reopened.getSensorTypeID());
+    }
+
+    /**
+     * Test case to verify that readings are found by their identifier while buffered, once written, and after the
+     * series is reopened.
+     */
+    @Test
+    void find_ShouldLocateReadingsWhereverTheyAreKept() throws IOException {
+        //Arrange
+        Series series = create(3);
+        long start = DAY * NANOS_PER_DAY;
+        List<DataPoint> points = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            DataPoint point = point(start + i * 1_000L, Integer.toString(i));
+            points.add(point);
+            series.append(point);
+        }
+
+        //Act
+        DataPoint buffered = series.find(points.get(6).id());
+        DataPoint written = series.find(points.get(4).id());
+        series.flush();
+        Series reopened = Series.open(this.root.resolve("sensor"), 3);
+
+        //Assert
+        assertEquals(points.get(6), buffered);
+        assertEquals(points.get(4), written);
+        for (DataPoint point : points) {
+            assertEquals(point, reopened.find(point.id()));
+        }
+        assertNull(reopened.find(UUID.randomUUID()));
+        assertFalse(reopened.contains(UUID.randomUUID()));
+    }
+}
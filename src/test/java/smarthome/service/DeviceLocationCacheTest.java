@@ -0,0 +1,137 @@
+package smarthome.service;
+
+import org.junit.jupiter.api.Test;
+import smarthome.domain.device.Device;
+import smarthome.domain.room.Room;
+import smarthome.domain.vo.devicevo.DeviceIDVO;
+import smarthome.domain.vo.devicevo.DeviceModelVO;
+import smarthome.domain.vo.devicevo.DeviceNameVO;
+import smarthome.domain.vo.housevo.HouseIDVO;
+import smarthome.domain.vo.roomvo.*;
+import smarthome.persistence.DeviceRepository;
+import smarthome.persistence.RoomRepository;
+import smarthome.persistence.mem.DeviceRepositoryMem;
+import smarthome.persistence.mem.RoomRepositoryMem;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeviceLocationCacheTest {
+
+    private static Room room(RoomIDVO roomID, int floor, double height) {
+        return new Room(roomID, new RoomNameVO("Room"), new RoomFloorVO(floor),
+                new RoomDimensionsVO(new RoomLengthVO(4), new RoomWidthVO(3), new RoomHeightVO(height)),
+                new HouseIDVO(UUID.randomUUID()));
+    }
+
+    private static Device device(Room room) {
+        return new Device(new DeviceNameVO("Thermometer"), new DeviceModelVO("TH-1"), room.getId());
+    }
+
+    /**
+     * Tests that, once warmed, the cache gives the placement of every device.
+     */
+    @Test
+    void whenWarmed_thenLocationsAreKnown() {
+        // Arrange
+        DeviceRepository deviceRepository = new DeviceRepositoryMem();
+        RoomRepository roomRepository = new RoomRepositoryMem();
+        Room garden = room(new RoomIDVO(UUID.randomUUID()), 0, 0);
+        Room bedroom = room(new RoomIDVO(UUID.randomUUID()), 1, 2.5);
+        roomRepository.save(garden);
+        roomRepository.save(bedroom);
+        Device outdoor = device(garden);
+        Device indoor = device(bedroom);
+        deviceRepository.save(outdoor);
+        deviceRepository.save(indoor);
+        DeviceLocationCache cache = new DeviceLocationCache(deviceRepository, roomRepository);
+
+        // Act
+        boolean warmed = cache.warm();
+        DeviceLocationCache.Location outdoorLocation = cache.getLocation(outdoor.getId());
+        DeviceLocationCache.Location indoorLocation = cache.getLocation(indoor.getId());
+
+        // Assert
+        assertTrue(warmed);
+        assertTrue(outdoorLocation.isOutdoor());
+        assertEquals(garden.getId(), outdoorLocation.getRoomID());
+        assertFalse(indoorLocation.isOutdoor());
+        assertEquals(1, indoorLocation.getFloor());
+        assertEquals(2.5, indoorLocation.getHeight());
+    }
+
+    /**
+     * Tests that a device not known yet is loaded, with its room, on first use.
+     */
+    @Test
+    void whenDeviceIsNotKnown_thenItIsLoadedOnFirstUse() {
+        // Arrange
+        DeviceRepository deviceRepository = new DeviceRepositoryMem();
+        RoomRepository roomRepository = new RoomRepositoryMem();
+        DeviceLocationCache cache = new DeviceLocationCache(deviceRepository, roomRepository);
+        cache.warm();
+        Room kitchen = room(new RoomIDVO(UUID.randomUUID()), 0, 2.8);
+        roomRepository.save(kitchen);
+        Device device = device(kitchen);
+        deviceRepository.save(device);
+
+        // Act
+        DeviceLocationCache.Location location = cache.getLocation(device.getId());
+
+        // Assert
+        assertEquals(kitchen.getId(), location.getRoomID());
+        assertEquals(2.8, location.getHeight());
+    }
+
+    /**
+     * Tests that devices in a room recorded again with another placement are given the new placement.
+     */
+    @Test
+    void whenRoomIsRecordedWithAnotherPlacement_thenItsDevicesAreLookedUpAnew() {
+        // Arrange
+        DeviceRepository deviceRepository = new DeviceRepositoryMem();
+        RoomRepository roomRepository = new RoomRepositoryMem();
+        RoomIDVO roomID = new RoomIDVO(UUID.randomUUID());
+        Room garage = room(roomID, 0, 0);
+        roomRepository.save(garage);
+        Device device = device(garage);
+        deviceRepository.save(device);
+        DeviceLocationCache cache = new DeviceLocationCache(deviceRepository, roomRepository);
+        cache.record(garage);
+        cache.record(device);
+
+        // Act
+        cache.record(room(roomID, 0, 2.2));
+
+        // Assert
+        assertEquals(2.2, cache.getLocation(device.getId()).getHeight());
+    }
+
+    /**
+     * Tests that there is no placement for a device that does not exist, or whose room does not exist.
+     */
+    @Test
+    void whenDeviceOrRoomDoesNotExist_thenLocationIsNull() {
+        // Arrange
+        DeviceRepository deviceRepository = new DeviceRepositoryMem();
+        DeviceLocationCache cache = new DeviceLocationCache(deviceRepository, new RoomRepositoryMem());
+        Device homeless = device(room(new RoomIDVO(UUID.randomUUID()), 0, 2));
+        deviceRepository.save(homeless);
+
+        // Act & Assert
+        assertNull(cache.getLocation(new DeviceIDVO(UUID.randomUUID())));
+        assertNull(cache.getLocation(homeless.getId()));
+        assertNull(cache.getLocation(null));
+    }
+
+    /**
+     * Tests that null repositories are rejected.
+     */
+    @Test
+    void whenRepositoryIsNull_thenThrowsIllegalArgumentException() {
+        RoomRepository roomRepository = new RoomRepositoryMem();
+
+        assertThrows(IllegalArgumentException.class, () -> new DeviceLocationCache(null, roomRepository));
+    }
+}
@@ -21,7 +21,9 @@ import smarthome.persistence.SensorRepository;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 class DeviceServiceImplTest {
@@ -627,6 +629,32 @@ class DeviceServiceImplTest {
 
     //GETLISTOFDEVICEBYFUNCTIONALITY METHOD TESTS
 
+    /**
+     * This test verifies that, when a FunctionalityIndex is set, getListOfDevicesByFunctionality answers from the
+     * index without reading every sensor and actuator.
+     */
+    @Test
+    void whenFunctionalityIndexIsSet_thenDevicesAreListedFromIt() {
+        // Arrange
+        RoomRepository roomRepository = mock(RoomRepository.class);
+        DeviceFactoryImpl deviceFactory = mock(DeviceFactoryImpl.class);
+        DeviceRepository deviceRepository = mock(DeviceRepository.class);
+        SensorRepository sensorRepository = mock(SensorRepository.class);
+        ActuatorRepository actuatorRepository = mock(ActuatorRepository.class);
+        DeviceServiceImpl deviceService = new DeviceServiceImpl(roomRepository, deviceFactory, deviceRepository, sensorRepository, actuatorRepository);
+        FunctionalityIndex functionalityIndex = mock(FunctionalityIndex.class);
+        Map<String, List<Device>> indexed = Map.of("TemperatureSensor", List.of(mock(Device.class)));
+        when(functionalityIndex.getDevicesByFunctionality()).thenReturn(indexed);
+        deviceService.setFunctionalityIndex(functionalityIndex);
+
+        // Act
+        Map<String, List<Device>> result = deviceService.getListOfDeviceByFunctionality();
+
+        // Assert
+        assertEquals(indexed, result);
+        verifyNoInteractions(sensorRepository, actuatorRepository);
+    }
+
     /**
      * This test verifies the functionality of the getListOfDevicesByFunctionality method in the DeviceService class.
      * It ensures that the method correctly associates devices with their respective functionalities and returns a map
@@ -740,12 +768,10 @@ class DeviceServiceImplTest {
         List<Device> listFour = new ArrayList<>();
         listFour.add(deviceFourDouble);
 
-        //Conditioning device repository to return a device, when invoked to find a device by id
+        //Conditioning device repository to return every device, when invoked to find the devices by their ids
 
-        when(deviceRepositoryDouble.findById(deviceIDOneDouble)).thenReturn(deviceOneDouble);
-        when(deviceRepositoryDouble.findById(deviceIDTwoDouble)).thenReturn(deviceTwoDouble);
-        when(deviceRepositoryDouble.findById(deviceIDThreeDouble)).thenReturn(deviceThreeDouble);
-        when(deviceRepositoryDouble.findById(deviceIDFourDouble)).thenReturn(deviceFourDouble);
+        when(deviceRepositoryDouble.findAllByIds(any())).thenReturn(List.of(deviceOneDouble, deviceTwoDouble,
+                deviceThreeDouble, deviceFourDouble));
 
         /*
         Doubling sensors and adding them to a list (this list will be returned by sensor repository double
@@ -0,0 +1,193 @@
+package smarthome.service;
+
+import org.junit.jupiter.api.Test;
+import smarthome.domain.actuator.Actuator;
+import smarthome.domain.device.Device;
+import smarthome.domain.sensor.Sensor;
+import smarthome.domain.vo.actuatortype.ActuatorTypeIDVO;
+import smarthome.domain.vo.devicevo.DeviceIDVO;
+import smarthome.domain.vo.sensortype.SensorTypeIDVO;
+import smarthome.persistence.ActuatorRepository;
+import smarthome.persistence.DeviceRepository;
+import smarthome.persistence.SensorRepository;
+import smarthome.persistence.mem.DeviceRepositoryMem;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class FunctionalityIndexTest {
+
+    private static Device device(DeviceRepository deviceRepository) {
+        Device device = mock(Device.class);
+        DeviceIDVO deviceID = mock(DeviceIDVO.class);
+        when(device.getId()).thenReturn(deviceID);
+        deviceRepository.save(device);
+        return device;
+    }
+
+    private static Sensor sensor(String type, Device device) {
+        Sensor sensor = mock(Sensor.class);
+        SensorTypeIDVO typeID = mock(SensorTypeIDVO.class);
+        when(typeID.getID()).thenReturn(type);
+        when(sensor.getSensorTypeID()).thenReturn(typeID);
+        when(sensor.getDeviceID()).thenReturn(device.getId());
+        return sensor;
+    }
+
+    private static Actuator actuator(String type, Device device) {
+        Actuator actuator = mock(Actuator.class);
+        ActuatorTypeIDVO typeID = mock(ActuatorTypeIDVO.class);
+        when(typeID.getID()).thenReturn(type);
+        when(actuator.getActuatorTypeID()).thenReturn(typeID);
+        when(actuator.getDeviceID()).thenReturn(device.getId());
+        return actuator;
+    }
+
+    /**
+     * Tests that the index groups the devices by the types of their sensors and actuators, listing each device once
+     * per type.
+     */
+    @Test
+    void whenBuilt_thenDevicesAreGroupedByFunctionality() {
+        // Arrange
+        DeviceRepository deviceRepository = new DeviceRepositoryMem();
+        SensorRepository sensorRepository = mock(SensorRepository.class);
+        ActuatorRepository actuatorRepository = mock(ActuatorRepository.class);
+        Device lamp = device(deviceRepository);
+        Device blind = device(deviceRepository);
+        when(sensorRepository.findAll()).thenReturn(List.of(sensor("TemperatureSensor", lamp),
+                sensor("TemperatureSensor", lamp), sensor("TemperatureSensor", blind)));
+        when(actuatorRepository.findAll()).thenReturn(List.of(actuator("RollerBlindActuator", blind)));
+        FunctionalityIndex index = new FunctionalityIndex(deviceRepository, sensorRepository, actuatorRepository);
+
+        // Act
+        boolean built = index.rebuild();
+        Map<String, List<Device>> result = index.getDevicesByFunctionality();
+
+        // Assert
+        assertTrue(built);
+        assertEquals(Map.of("TemperatureSensor", List.of(lamp, blind), "RollerBlindActuator", List.of(blind)), result);
+    }
+
+    /**
+     * Tests that sensors and actuators added after the index was built are listed without reading the sensors and
+     * actuators again, and that the devices are fetched in one lookup per listing.
+     */
+    @Test
+    void whenFunctionalityIsAdded_thenItIsListedWithoutRescanning() {
+        // Arrange
+        DeviceRepository deviceRepository = spy(new DeviceRepositoryMem());
+        SensorRepository sensorRepository = mock(SensorRepository.class);
+        ActuatorRepository actuatorRepository = mock(ActuatorRepository.class);
+        Device lamp = device(deviceRepository);
+        when(sensorRepository.findAll()).thenReturn(Collections.emptyList());
+        when(actuatorRepository.findAll()).thenReturn(Collections.emptyList());
+        FunctionalityIndex index = new FunctionalityIndex(deviceRepository, sensorRepository, actuatorRepository);
+        index.rebuild();
+
+        // Act
+        index.add("SwitchActuator", lamp.getId());
+        index.add("SwitchActuator", lamp.getId());
+        Map<String, List<Device>> first = index.getDevicesByFunctionality();
+        Map<String, List<Device>> second = index.getDevicesByFunctionality();
+
+        // Assert
+        assertEquals(Map.of("SwitchActuator", List.of(lamp)), first);
+        assertEquals(first, second);
+        verify(sensorRepository, times(1)).findAll();
+        verify(actuatorRepository, times(1)).findAll();
+        verify(deviceRepository, times(2)).findAllByIds(any());
+    }
+
+    /**
+     * Tests that a device changed in the repository after a listing, even without going through the services, is
+     * listed as it was last saved, and that each listing gets its own devices.
+     */
+    @Test
+    void whenDeviceIsUpdatedInRepository_thenItIsListedAsUpdated() {
+        // Arrange
+        DeviceRepository deviceRepository = new DeviceRepositoryMem();
+        SensorRepository sensorRepository = mock(SensorRepository.class);
+        ActuatorRepository actuatorRepository = mock(ActuatorRepository.class);
+        Device lamp = device(deviceRepository);
+        when(sensorRepository.findAll()).thenReturn(List.of(sensor("TemperatureSensor", lamp)));
+        when(actuatorRepository.findAll()).thenReturn(Collections.emptyList());
+        FunctionalityIndex index = new FunctionalityIndex(deviceRepository, sensorRepository, actuatorRepository);
+        index.rebuild();
+        index.getDevicesByFunctionality();
+        Device deactivatedLamp = mock(Device.class);
+        when(deactivatedLamp.getId()).thenReturn(lamp.getId());
+
+        // Act
+        deviceRepository.update(deactivatedLamp);
+        Map<String, List<Device>> result = index.getDevicesByFunctionality();
+
+        // Assert
+        assertEquals(List.of(deactivatedLamp), result.get("TemperatureSensor"));
+        assertNotSame(result, index.getDevicesByFunctionality());
+    }
+
+    /**
+     * Tests that an indexed device that is no longer in the repository is left out of the listing.
+     */
+    @Test
+    void whenIndexedDeviceIsNotFound_thenItIsLeftOut() {
+        // Arrange
+        DeviceRepository deviceRepository = new DeviceRepositoryMem();
+        SensorRepository sensorRepository = mock(SensorRepository.class);
+        ActuatorRepository actuatorRepository = mock(ActuatorRepository.class);
+        Device lamp = device(deviceRepository);
+        Device removed = mock(Device.class);
+        when(removed.getId()).thenReturn(mock(DeviceIDVO.class));
+        when(sensorRepository.findAll()).thenReturn(List.of(sensor("TemperatureSensor", lamp),
+                sensor("TemperatureSensor", removed)));
+        when(actuatorRepository.findAll()).thenReturn(Collections.emptyList());
+        FunctionalityIndex index = new FunctionalityIndex(deviceRepository, sensorRepository, actuatorRepository);
+        index.rebuild();
+
+        // Act
+        Map<String, List<Device>> result = index.getDevicesByFunctionality();
+
+        // Assert
+        assertEquals(Map.of("TemperatureSensor", List.of(lamp)), result);
+    }
+
+    /**
+     * Tests that the index is left unbuilt, and answers nothing, when the sensors cannot be read.
+     */
+    @Test
+    void whenSensorsCannotBeRead_thenIndexIsNotBuilt() {
+        // Arrange
+        SensorRepository sensorRepository = mock(SensorRepository.class);
+        ActuatorRepository actuatorRepository = mock(ActuatorRepository.class);
+        when(sensorRepository.findAll()).thenReturn(null);
+        when(actuatorRepository.findAll()).thenReturn(Collections.emptyList());
+        FunctionalityIndex index = new FunctionalityIndex(new DeviceRepositoryMem(), sensorRepository,
+                actuatorRepository);
+
+        // Act
+        boolean built = index.rebuild();
+        index.add("TemperatureSensor", mock(DeviceIDVO.class));
+
+        // Assert
+        assertFalse(built);
+        assertNull(index.getDevicesByFunctionality());
+    }
+
+    /**
+     * Tests that null repositories are rejected.
+     */
+    @Test
+    void whenRepositoryIsNull_thenThrowsIllegalArgumentException() {
+        SensorRepository sensorRepository = mock(SensorRepository.class);
+        ActuatorRepository actuatorRepository = mock(ActuatorRepository.class);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new FunctionalityIndex(null, sensorRepository, actuatorRepository));
+    }
+}
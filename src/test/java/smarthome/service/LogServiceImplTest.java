@@ -6,6 +6,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import smarthome.domain.device.Device;
 import smarthome.domain.log.Log;
+import smarthome.domain.log.ReadingSeries;
 import smarthome.domain.log.LogFactory;
 import smarthome.domain.log.LogFactoryImpl;
 import smarthome.domain.room.Room;
@@ -16,9 +17,18 @@ import smarthome.domain.sensor.SwitchSensor;
 import smarthome.domain.sensor.externalservices.SunTimeCalculator;
 import smarthome.domain.sensor.sensorvalues.*;
 import smarthome.domain.vo.devicevo.DeviceIDVO;
+import smarthome.domain.vo.devicevo.DeviceModelVO;
+import smarthome.domain.vo.devicevo.DeviceNameVO;
+import smarthome.domain.vo.housevo.HouseIDVO;
+import smarthome.domain.vo.logvo.LogCursorVO;
 import smarthome.domain.vo.logvo.LogIDVO;
 import smarthome.domain.vo.roomvo.RoomDimensionsVO;
+import smarthome.domain.vo.roomvo.RoomFloorVO;
+import smarthome.domain.vo.roomvo.RoomHeightVO;
 import smarthome.domain.vo.roomvo.RoomIDVO;
+import smarthome.domain.vo.roomvo.RoomLengthVO;
+import smarthome.domain.vo.roomvo.RoomNameVO;
+import smarthome.domain.vo.roomvo.RoomWidthVO;
 import smarthome.domain.vo.sensortype.SensorTypeIDVO;
 import smarthome.domain.vo.sensorvo.SensorIDVO;
 import smarthome.persistence.DeviceRepository;
@@ -27,6 +37,8 @@ import smarthome.persistence.RoomRepository;
 import smarthome.domain.vo.DeltaVO;
 import smarthome.domain.vo.logvo.TimeStampVO;
 import smarthome.persistence.SensorRepository;
+import smarthome.persistence.mem.DeviceRepositoryMem;
+import smarthome.persistence.mem.RoomRepositoryMem;
 
 import java.time.LocalDateTime;
 import java.time.ZonedDateTime;
@@ -34,8 +46,8 @@ import java.time.temporal.ChronoUnit;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.when;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
 
 @SpringBootTest
 class LogServiceImplTest {
@@ -237,6 +249,129 @@ class LogServiceImplTest {
         assertEquals(expected, result);
     }
 
+    /**
+     * Test to verify that createLog rejects null mandatory parameters.
+     */
+    @Test
+    void whenGivenNullParameters_createLogThrowsIllegalArgumentException() {
+        // Arrange
+        LogServiceImpl service = new LogServiceImpl(mock(LogRepository.class), mock(DeviceRepository.class),
+                mock(RoomRepository.class), mock(LogFactory.class));
+        SensorIDVO sensor = mock(SensorIDVO.class);
+        DeviceIDVO device = mock(DeviceIDVO.class);
+        SensorTypeIDVO sensorType = mock(SensorTypeIDVO.class);
+
+        // Act + Assert
+        assertThrows(IllegalArgumentException.class, () -> service.createLog(null, sensor, device, sensorType, null));
+        assertThrows(IllegalArgumentException.class, () -> service.createLog("20", null, device, sensorType, null));
+        assertThrows(IllegalArgumentException.class, () -> service.createLog("20", sensor, null, sensorType, null));
+        assertThrows(IllegalArgumentException.class, () -> service.createLog("20", sensor, device, null, null));
+    }
+
+    /**
+     * Test to verify that createLog returns an empty Optional when the reading is not valid for the sensor type.
+     */
+    @Test
+    void whenReadingIsInvalid_createLogReturnsOptionalEmpty() {
+        // Arrange
+        LogFactory logFactory = mock(LogFactory.class);
+        SensorValueFactory valueFactory = mock(SensorValueFactory.class);
+        LogServiceImpl service = new LogServiceImpl(mock(LogRepository.class), mock(DeviceRepository.class),
+                mock(RoomRepository.class), logFactory);
+        service.setSensorValueFactory(valueFactory);
+        SensorIDVO sensor = mock(SensorIDVO.class);
+        DeviceIDVO device = mock(DeviceIDVO.class);
+        SensorTypeIDVO sensorType = mock(SensorTypeIDVO.class);
+        when(valueFactory.createSensorValue("hot", sensorType)).thenReturn(null);
+
+        // Act
+        Optional<Log> result = service.createLog("hot", sensor, device, sensorType, null);
+
+        // Assert
+        assertTrue(result.isEmpty());
+    }
+
+    /**
+     * Test to verify that createLog keeps the provided time stamp when building the log.
+     */
+    @Test
+    void whenTimeStampIsProvided_createLogBuildsLogWithThatTimeStamp() {
+        // Arrange
+        LogFactory logFactory = new LogFactoryImpl();
+        SensorValueFactory valueFactory = mock(SensorValueFactory.class);
+        LogServiceImpl service = new LogServiceImpl(mock(LogRepository.class), mock(DeviceRepository.class),
+                mock(RoomRepository.class), logFactory);
+        service.setSensorValueFactory(valueFactory);
+        SensorIDVO sensor = new SensorIDVO(UUID.randomUUID());
+        DeviceIDVO device = new DeviceIDVO(UUID.randomUUID());
+        SensorTypeIDVO sensorType = new SensorTypeIDVO("TemperatureSensor");
+        TimeStampVO time = new TimeStampVO(LocalDateTime.parse("2024-04-04T12:00:00"));
+        SensorValueObject<Double> value = new TemperatureValue("20");
+        doReturn(value).when(valueFactory).createSensorValue("20", sensorType);
+
+        // Act
+        Optional<Log> result = service.createLog("20", sensor, device, sensorType, time);
+
+        // Assert
+        assertTrue(result.isPresent());
+        assertEquals(time, result.get().getTime());
+        assertEquals(value, result.get().getReading());
+    }
+
+    /**
+     * Test to verify that addLogs rejects a null list or a list containing null logs.
+     */
+    @Test
+    void whenGivenNullLogs_addLogsThrowsIllegalArgumentException() {
+        // Arrange
+        LogServiceImpl service = new LogServiceImpl(mock(LogRepository.class), mock(DeviceRepository.class),
+                mock(RoomRepository.class), mock(LogFactory.class));
+        List<Log> withNull = new ArrayList<>();
+        withNull.add(null);
+
+        // Act + Assert
+        assertThrows(IllegalArgumentException.class, () -> service.addLogs(null));
+        assertThrows(IllegalArgumentException.class, () -> service.addLogs(withNull));
+    }
+
+    /**
+     * Test to verify that addLogs delegates to the repository bulk save and returns its outcome.
+     */
+    @Test
+    void whenRepositorySavesAll_addLogsReturnsTrue() {
+        // Arrange
+        LogRepository logRepository = mock(LogRepository.class);
+        LogServiceImpl service = new LogServiceImpl(logRepository, mock(DeviceRepository.class),
+                mock(RoomRepository.class), mock(LogFactory.class));
+        List<Log> logs = List.of(mock(Log.class), mock(Log.class));
+        when(logRepository.saveAll(logs)).thenReturn(true);
+
+        // Act
+        boolean result = service.addLogs(logs);
+
+        // Assert
+        assertTrue(result);
+        verify(logRepository).saveAll(logs);
+    }
+
+    /**
+     * Test to verify that addLogs does not touch the repository for an empty list.
+     */
+    @Test
+    void whenGivenEmptyList_addLogsReturnsTrueWithoutSaving() {
+        // Arrange
+        LogRepository logRepository = mock(LogRepository.class);
+        LogServiceImpl service = new LogServiceImpl(logRepository, mock(DeviceRepository.class),
+                mock(RoomRepository.class), mock(LogFactory.class));
+
+        // Act
+        boolean result = service.addLogs(Collections.emptyList());
+
+        // Assert
+        assertTrue(result);
+        verify(logRepository, never()).saveAll(any());
+    }
+
         /**
          * Test to verify that IllegalArgumentException is thrown when given null parameters.
          */
@@ -691,6 +826,46 @@ class LogServiceImplTest {
     }
 
 
+    /**
+     * Test to verify that, when a DeviceLocationCache is set, the placement of the devices is read from it, without
+     * loading the devices or their rooms through the service's repositories.
+     */
+    @Test
+    void whenGetMaxInstantaneousTempDifferenceIsCalled_IfDeviceLocationCacheIsSet_ThenDevicesAndRoomsAreNotLoaded() {
+        // Arrange
+        RoomRepositoryMem cachedRooms = new RoomRepositoryMem();
+        DeviceRepositoryMem cachedDevices = new DeviceRepositoryMem();
+        Room livingRoom = new Room(new RoomNameVO("Living Room"), new RoomFloorVO(0),
+                new RoomDimensionsVO(new RoomLengthVO(5), new RoomWidthVO(4), new RoomHeightVO(2.5)),
+                new HouseIDVO(UUID.randomUUID()));
+        cachedRooms.save(livingRoom);
+        Device thermometer = new Device(new DeviceNameVO("Thermometer"), new DeviceModelVO("TH-1"), livingRoom.getId());
+        cachedDevices.save(thermometer);
+        DeviceLocationCache deviceLocationCache = new DeviceLocationCache(cachedDevices, cachedRooms);
+        deviceLocationCache.warm();
+
+        LogRepository logRepository = mock(LogRepository.class);
+        DeviceRepository deviceRepository = mock(DeviceRepository.class);
+        RoomRepository roomRepository = mock(RoomRepository.class);
+        LogFactory logFactory = mock(LogFactory.class);
+
+        LogServiceImpl logService = new LogServiceImpl(logRepository, deviceRepository, roomRepository, logFactory);
+        logService.setDeviceLocationCache(deviceLocationCache);
+
+        TimeStampVO initialTime = mock(TimeStampVO.class);
+        TimeStampVO finalTime = mock(TimeStampVO.class);
+        DeltaVO delta = mock(DeltaVO.class);
+
+        // Act
+        Exception exception = assertThrows(IllegalArgumentException.class, () ->
+            logService.getMaxInstantaneousTempDifference(thermometer.getId(), thermometer.getId(), initialTime,
+                    finalTime, delta));
+
+        // Assert
+        assertEquals("Invalid Device Location", exception.getMessage());
+        verifyNoInteractions(deviceRepository, roomRepository);
+    }
+
     /**
      * Test to verify that returns an error message when there are no records available for the given period in
      * the outdoor device's log.
@@ -748,8 +923,8 @@ class LogServiceImplTest {
 
         String sensorType = "TemperatureSensor";
 
-        when(logRepository.getDeviceTemperatureLogs(deviceIdOut, sensorType, initialTime, finalTime))
-                .thenReturn(Collections.emptyList());
+        when(logRepository.getDeviceTemperatureSeries(deviceIdOut, sensorType, initialTime, finalTime))
+                .thenReturn(ReadingSeries.empty());
 
         String expectedMessage = "There are no records available for the given period";
 
@@ -819,18 +994,22 @@ class LogServiceImplTest {
         String sensorType = "TemperatureSensor";
 
         Log log1 = mock(Log.class);
+        when(log1.getTime()).thenReturn(new TimeStampVO(LocalDateTime.parse("2024-02-25T21:50:00")));
+        when(log1.getReading()).thenReturn(mock(TemperatureValue.class));
         Log log2 = mock(Log.class);
+        when(log2.getTime()).thenReturn(new TimeStampVO(LocalDateTime.parse("2024-02-25T22:50:00")));
+        when(log2.getReading()).thenReturn(mock(TemperatureValue.class));
 
         logRepository.save(log1);
         logRepository.save(log2);
 
         List<Log> outdoorLogs = Arrays.asList(log1, log2);
 
-        when(logRepository.getDeviceTemperatureLogs(deviceIdOut, sensorType, initialTime, finalTime))
-                .thenReturn(outdoorLogs);
+        when(logRepository.getDeviceTemperatureSeries(deviceIdOut, sensorType, initialTime, finalTime))
+                .thenReturn(ReadingSeries.fromLogs(outdoorLogs));
 
-        when(logRepository.getDeviceTemperatureLogs(deviceIdInt, sensorType, initialTime, finalTime))
-                .thenReturn(Collections.emptyList());
+        when(logRepository.getDeviceTemperatureSeries(deviceIdInt, sensorType, initialTime, finalTime))
+                .thenReturn(ReadingSeries.empty());
 
         String expectedMessage = "There are no records available for the given period";
 
@@ -901,8 +1080,10 @@ class LogServiceImplTest {
 
         Log log1 = mock(Log.class);
         when(log1.getTime()).thenReturn(time1);
+        when(log1.getReading()).thenReturn(mock(TemperatureValue.class));
         Log log2 = mock(Log.class);
         when(log2.getTime()).thenReturn(time2);
+        when(log2.getReading()).thenReturn(mock(TemperatureValue.class));
 
         logRepository.save(log1);
         logRepository.save(log2);
@@ -919,8 +1100,10 @@ class LogServiceImplTest {
 
         Log log3 = mock(Log.class);
         when(log3.getTime()).thenReturn(time3);
+        when(log3.getReading()).thenReturn(mock(TemperatureValue.class));
         Log log4 = mock(Log.class);
         when(log4.getTime()).thenReturn(time4);
+        when(log4.getReading()).thenReturn(mock(TemperatureValue.class));
 
         logRepository.save(log3);
         logRepository.save(log4);
@@ -935,11 +1118,11 @@ class LogServiceImplTest {
         TimeStampVO userFinalTime = mock(TimeStampVO.class);
         when(userFinalTime.getValue()).thenReturn(userFinTime);
 
-        when(logRepository.getDeviceTemperatureLogs(deviceIdOut, sensorType, userInitialTime, userFinalTime))
-                .thenReturn(outdoorLogs);
+        when(logRepository.getDeviceTemperatureSeries(deviceIdOut, sensorType, userInitialTime, userFinalTime))
+                .thenReturn(ReadingSeries.fromLogs(outdoorLogs));
 
-        when(logRepository.getDeviceTemperatureLogs(deviceIdInt, sensorType, userInitialTime, userFinalTime))
-                .thenReturn(indoorLogs);
+        when(logRepository.getDeviceTemperatureSeries(deviceIdInt, sensorType, userInitialTime, userFinalTime))
+                .thenReturn(ReadingSeries.fromLogs(indoorLogs));
 
 
         String expectedMessage = "Readings were found within the provided time span, but with no matches within the " +
@@ -1023,6 +1206,7 @@ class LogServiceImplTest {
         when(log1.getTime().getValue()).thenReturn(LocalDateTime.parse("2024-02-25T23:50:00"));
         SensorValueObject s3Value = mock(TemperatureValue.class);
         when(s3Value.getValue()).thenReturn(5.0);
+        when(((NumericReading) s3Value).asDouble()).thenReturn(5.0);
         when(log1.getReading()).thenReturn(s3Value);
 
         Log log2 = mock(Log.class);
@@ -1031,6 +1215,7 @@ class LogServiceImplTest {
         when(log2.getTime().getValue()).thenReturn(LocalDateTime.parse("2024-02-25T23:50:00"));
         SensorValueObject s4Value = mock(TemperatureValue.class);
         when(s4Value.getValue()).thenReturn(20.0);
+        when(((NumericReading) s4Value).asDouble()).thenReturn(20.0);
         when(log2.getReading()).thenReturn(s4Value);
 
         logRepository.save(log1);
@@ -1045,6 +1230,7 @@ class LogServiceImplTest {
         when(log3.getTime()).thenReturn(time3);
         when(log3.getTime().getValue()).thenReturn(LocalDateTime.parse("2024-02-25T23:55:00"));
         when(s4Value.getValue()).thenReturn(0.0);
+        when(((NumericReading) s4Value).asDouble()).thenReturn(0.0);
         when(log3.getReading()).thenReturn(sValue);
 
         Log log4 = mock(Log.class);
@@ -1053,6 +1239,7 @@ class LogServiceImplTest {
         when(log4.getTime().getValue()).thenReturn(LocalDateTime.parse("2024-02-25T23:45:00"));
         SensorValueObject s2Value = mock(TemperatureValue.class);
         when(s4Value.getValue()).thenReturn(10.0);
+        when(((NumericReading) s4Value).asDouble()).thenReturn(10.0);
         when(log4.getReading()).thenReturn(s2Value);
 
         logRepository.save(log3);
@@ -1060,11 +1247,11 @@ class LogServiceImplTest {
 
         List<Log> indoorLogs = Arrays.asList(log3, log4);
 
-        when(logRepository.getDeviceTemperatureLogs(deviceIdOut, sensorType, initialDateTime, finalDateTime))
-                .thenReturn(outdoorLogs);
+        when(logRepository.getDeviceTemperatureSeries(deviceIdOut, sensorType, initialDateTime, finalDateTime))
+                .thenReturn(ReadingSeries.fromLogs(outdoorLogs));
 
-        when(logRepository.getDeviceTemperatureLogs(deviceIdInt, sensorType, initialDateTime, finalDateTime))
-                .thenReturn(indoorLogs);
+        when(logRepository.getDeviceTemperatureSeries(deviceIdInt, sensorType, initialDateTime, finalDateTime))
+                .thenReturn(ReadingSeries.fromLogs(indoorLogs));
 
         String expectedMessage = "The Maximum Temperature Difference within the selected Period was of 10.0 Cº which "
                 + "happened at 2024-02-25T23:55";
@@ -1077,6 +1264,45 @@ class LogServiceImplTest {
         assertEquals(expectedMessage, result);
     }
 
+    /**
+     * Test case to verify that the maximum instantaneous temperature difference matches a comparison of every indoor
+     * log against every outdoor log, including the instant reported on ties, for unordered logs with readings on and
+     * near the edges of the delta.
+     */
+    @Test
+    void whenGetMaxInstantaneousTempDifferenceIsCalled_ThenMatchesPairwiseComparison() {
+        // Arrange
+        DeviceIDVO deviceIdOut = new DeviceIDVO(UUID.randomUUID());
+        DeviceIDVO deviceIdInt = new DeviceIDVO(UUID.randomUUID());
+        TimeStampVO initialTime = new TimeStampVO(LocalDateTime.of(2024, 1, 1, 0, 0));
+        TimeStampVO finalTime = new TimeStampVO(LocalDateTime.of(2024, 1, 2, 0, 0));
+        DeltaVO delta = new DeltaVO("3");
+
+        LogRepository logRepository = mock(LogRepository.class);
+        DeviceRepository deviceRepository = mock(DeviceRepository.class);
+        RoomRepository roomRepository = mock(RoomRepository.class);
+        LogServiceImpl logService = new LogServiceImpl(logRepository, deviceRepository, roomRepository, mock(LogFactory.class));
+        mockDeviceHeight(deviceRepository, roomRepository, deviceIdOut, 0.0);
+        mockDeviceHeight(deviceRepository, roomRepository, deviceIdInt, 1.0);
+
+        Random random = new Random(42);
+        for (int run = 0; run < 50; run++) {
+            List<Log> outdoorLogs = randomTemperatureLogs(random, deviceIdOut, initialTime.getValue());
+            List<Log> indoorLogs = randomTemperatureLogs(random, deviceIdInt, initialTime.getValue());
+            when(logRepository.getDeviceTemperatureSeries(deviceIdOut, "TemperatureSensor", initialTime, finalTime))
+                    .thenReturn(ReadingSeries.fromLogs(outdoorLogs));
+            when(logRepository.getDeviceTemperatureSeries(deviceIdInt, "TemperatureSensor", initialTime, finalTime))
+                    .thenReturn(ReadingSeries.fromLogs(indoorLogs));
+
+            // Act
+            String result = logService.getMaxInstantaneousTempDifference(deviceIdOut, deviceIdInt, initialTime,
+                    finalTime, delta);
+
+            // Assert
+            assertEquals(pairwiseMaxTempDifference(outdoorLogs, indoorLogs, 3), result);
+        }
+    }
+
     /**
      * Test case to verify that when given invalid timestamps, attempting to get the maximum instantaneous temperature
      * difference between an outdoor and indoor device throws an IllegalArgumentException.
@@ -1151,6 +1377,43 @@ class LogServiceImplTest {
         assertEquals(expected,result2);
     }
 
+    /**
+     * Test case to verify that the peak power consumption matches a comparison of every grid log against every power
+     * source log, including the instant reported on ties, for unordered logs with readings on and near the edges of
+     * the delta.
+     */
+    @Test
+    void whenGetPeakPowerConsumptionIsCalled_ThenMatchesPairwiseComparison() {
+        // Arrange
+        TimeStampVO initialTime = new TimeStampVO(LocalDateTime.of(2024, 1, 1, 0, 0));
+        TimeStampVO finalTime = new TimeStampVO(LocalDateTime.of(2024, 1, 2, 0, 0));
+        DeltaVO delta = new DeltaVO("3");
+        String powerGridDeviceID = UUID.randomUUID().toString();
+        String sensorTypeID = "EnergyConsumptionSensor";
+        System.setProperty("Grid Power Meter device", powerGridDeviceID);
+        System.setProperty("Grid Power Meter sensor type", sensorTypeID);
+
+        LogRepository logRepository = mock(LogRepository.class);
+        LogServiceImpl logService = new LogServiceImpl(logRepository, mock(DeviceRepository.class),
+                mock(RoomRepository.class), mock(LogFactory.class));
+
+        Random random = new Random(42);
+        for (int run = 0; run < 50; run++) {
+            List<Log> powerGridLogs = randomEnergyLogs(random, -2, 8, initialTime.getValue());
+            List<Log> powerSourceLogs = randomEnergyLogs(random, -4, 0, initialTime.getValue());
+            when(logRepository.findSeriesByDeviceIDAndSensorTypeAndTimeBetween(powerGridDeviceID, sensorTypeID, initialTime, finalTime))
+                    .thenReturn(ReadingSeries.fromLogs(powerGridLogs));
+            when(logRepository.findSeriesByNegativeReadingAndNotDeviceIDAndSensorTypeAndTimeBetween(powerGridDeviceID, sensorTypeID, initialTime, finalTime))
+                    .thenReturn(ReadingSeries.fromLogs(powerSourceLogs));
+
+            // Act
+            String result = logService.getPeakPowerConsumption(initialTime, finalTime, delta);
+
+            // Assert
+            assertEquals(pairwisePeakPowerConsumption(powerGridLogs, powerSourceLogs, 3), result);
+        }
+    }
+
     @Test
     void whenGivenNullParameters_getPeakPowerConsumptionThrowsIllegalArgumentException(){
         // Arrange
@@ -1254,8 +1517,8 @@ class LogServiceImplTest {
         String sensorTypeID = "EnergyConsumptionSensor";
 
 
-        when(logRepository.findByDeviceIDAndSensorTypeAndTimeBetween(deviceID, sensorTypeID, initialTime, finalTime))
-                .thenReturn(Collections.emptyList());
+        when(logRepository.findSeriesByDeviceIDAndSensorTypeAndTimeBetween(deviceID, sensorTypeID, initialTime, finalTime))
+                .thenReturn(ReadingSeries.empty());
 
         String expectedMessage = "There are no records available from the Grid Power Meter for the given period";
 
@@ -1298,6 +1561,7 @@ class LogServiceImplTest {
         when(powerGridTime1.getValue()).thenReturn(LocalDateTime.now().minusHours(2).truncatedTo(ChronoUnit.SECONDS));
         SensorValueObject powerGridReading1 = mock(EnergyConsumptionValue.class);
         when(powerGridReading1.getValue()).thenReturn(20);
+        when(((NumericReading) powerGridReading1).asDouble()).thenReturn(20.0);
         DeviceIDVO powerGridDeviceID1 = mock(DeviceIDVO.class);
         when(powerGridDeviceID1.getID()).thenReturn(powerGridDeviceID);
         SensorIDVO powerGridSensorID1 = mock(SensorIDVO.class);
@@ -1318,6 +1582,7 @@ class LogServiceImplTest {
         when(powerGridTime2.getValue()).thenReturn(LocalDateTime.now().minusHours(3).truncatedTo(ChronoUnit.SECONDS));
         SensorValueObject powerGridReading2 = mock(EnergyConsumptionValue.class);
         when(powerGridReading2.getValue()).thenReturn(30);
+        when(((NumericReading) powerGridReading2).asDouble()).thenReturn(30.0);
         DeviceIDVO powerGridDeviceID2 = mock(DeviceIDVO.class);
         when(powerGridDeviceID2.getID()).thenReturn(powerGridDeviceID);
         SensorIDVO powerGridSensorID2 = mock(SensorIDVO.class);
@@ -1338,6 +1603,7 @@ class LogServiceImplTest {
         when(powerGridTime3.getValue()).thenReturn(LocalDateTime.now().minusHours(3).truncatedTo(ChronoUnit.SECONDS));
         SensorValueObject powerGridReading3 = mock(EnergyConsumptionValue.class);
         when(powerGridReading3.getValue()).thenReturn(10);
+        when(((NumericReading) powerGridReading3).asDouble()).thenReturn(10.0);
         DeviceIDVO powerGridDeviceID3 = mock(DeviceIDVO.class);
         when(powerGridDeviceID3.getID()).thenReturn(powerGridDeviceID);
         SensorIDVO powerGridSensorID3 = mock(SensorIDVO.class);
@@ -1358,6 +1624,7 @@ class LogServiceImplTest {
         when(powerGridTime4.getValue()).thenReturn(LocalDateTime.now().minusHours(3).truncatedTo(ChronoUnit.SECONDS));
         SensorValueObject powerGridReading4 = mock(EnergyConsumptionValue.class);
         when(powerGridReading4.getValue()).thenReturn(-3);
+        when(((NumericReading) powerGridReading4).asDouble()).thenReturn(-3.0);
         DeviceIDVO powerGridDeviceID4 = mock(DeviceIDVO.class);
         when(powerGridDeviceID4.getID()).thenReturn(powerGridDeviceID);
         SensorIDVO powerGridSensorID4 = mock(SensorIDVO.class);
@@ -1377,11 +1644,11 @@ class LogServiceImplTest {
         System.setProperty("Grid Power Meter device", powerGridDeviceID);
         System.setProperty("Grid Power Meter sensor type", sensorTypeID);
 
-        when(logRepository.findByNegativeReadingAndNotDeviceIDAndSensorTypeAndTimeBetween(powerGridDeviceID, sensorTypeID, initialTime, finalTime))
-                .thenReturn(Collections.emptyList());
+        when(logRepository.findSeriesByNegativeReadingAndNotDeviceIDAndSensorTypeAndTimeBetween(powerGridDeviceID, sensorTypeID, initialTime, finalTime))
+                .thenReturn(ReadingSeries.empty());
 
-        when(logRepository.findByDeviceIDAndSensorTypeAndTimeBetween(powerGridDeviceID, sensorTypeID, initialTime, finalTime))
-                .thenReturn(powerGridLogs);
+        when(logRepository.findSeriesByDeviceIDAndSensorTypeAndTimeBetween(powerGridDeviceID, sensorTypeID, initialTime, finalTime))
+                .thenReturn(ReadingSeries.fromLogs(powerGridLogs));
 
         String expectedMessage = "The Peak Power Consumption from the Grid within the selected Period was " + powerGridReading2.getValue() + " Wh which happened at " + powerGridTime2.getValue() + " (No Power Source Device Logs were found within the selected period)";
 
@@ -1429,6 +1696,7 @@ class LogServiceImplTest {
         when(powerGridTime1.getValue()).thenReturn(LocalDateTime.now().minusMinutes(40).truncatedTo(ChronoUnit.SECONDS));
         SensorValueObject powerGridReading1 = mock(EnergyConsumptionValue.class);
         when(powerGridReading1.getValue()).thenReturn(20);
+        when(((NumericReading) powerGridReading1).asDouble()).thenReturn(20.0);
         DeviceIDVO powerGridDeviceID1 = mock(DeviceIDVO.class);
         when(powerGridDeviceID1.getID()).thenReturn(powerGridDeviceID);
         SensorIDVO powerGridSensorID1 = mock(SensorIDVO.class);
@@ -1449,6 +1717,7 @@ class LogServiceImplTest {
         when(powerGridTime2.getValue()).thenReturn(LocalDateTime.now().minusMinutes(5).truncatedTo(ChronoUnit.SECONDS));
         SensorValueObject powerGridReading2 = mock(EnergyConsumptionValue.class);
         when(powerGridReading2.getValue()).thenReturn(30);
+        when(((NumericReading) powerGridReading2).asDouble()).thenReturn(30.0);
         DeviceIDVO powerGridDeviceID2 = mock(DeviceIDVO.class);
         when(powerGridDeviceID2.getID()).thenReturn(powerGridDeviceID);
         SensorIDVO powerGridSensorID2 = mock(SensorIDVO.class);
@@ -1465,8 +1734,8 @@ class LogServiceImplTest {
 
         List<Log> powerGridLogs = List.of(powerGridLog1, powerGridLog2);
 
-        when(logRepository.findByDeviceIDAndSensorTypeAndTimeBetween(powerGridDeviceID, sensorTypeID, initialTime, finalTime))
-                .thenReturn(powerGridLogs);
+        when(logRepository.findSeriesByDeviceIDAndSensorTypeAndTimeBetween(powerGridDeviceID, sensorTypeID, initialTime, finalTime))
+                .thenReturn(ReadingSeries.fromLogs(powerGridLogs));
 
         LogIDVO powerSourceLogID1 = mock(LogIDVO.class);
         when(powerSourceLogID1.getID()).thenReturn("123456");
@@ -1474,6 +1743,7 @@ class LogServiceImplTest {
         when(powerSourceTime1.getValue()).thenReturn(LocalDateTime.now().minusMinutes(20).truncatedTo(ChronoUnit.SECONDS));
         SensorValueObject powerSourceReading1 = mock(EnergyConsumptionValue.class);
         when(powerSourceReading1.getValue()).thenReturn(-10);
+        when(((NumericReading) powerSourceReading1).asDouble()).thenReturn(-10.0);
         DeviceIDVO powerSourceDeviceID1 = mock(DeviceIDVO.class);
         when(powerSourceDeviceID1.getID()).thenReturn("123456789");
         SensorIDVO powerSourceSensorID1 = mock(SensorIDVO.class);
@@ -1490,7 +1760,7 @@ class LogServiceImplTest {
 
         List<Log> powerSourceLogs = List.of(powerSourceLog1);
 
-        when(logRepository.findByNegativeReadingAndNotDeviceIDAndSensorTypeAndTimeBetween(powerGridDeviceID, sensorTypeID, initialTime, finalTime)).thenReturn(powerSourceLogs);
+        when(logRepository.findSeriesByNegativeReadingAndNotDeviceIDAndSensorTypeAndTimeBetween(powerGridDeviceID, sensorTypeID, initialTime, finalTime)).thenReturn(ReadingSeries.fromLogs(powerSourceLogs));
 
         String expectedMessage = "Readings were found within the provided time span, but with no instant matches within the delta provided";
 
@@ -1537,6 +1807,7 @@ class LogServiceImplTest {
         when(powerGridTime1.getValue()).thenReturn(LocalDateTime.now().minusMinutes(2).truncatedTo(ChronoUnit.SECONDS));
         SensorValueObject powerGridReading1 = mock(EnergyConsumptionValue.class);
         when(powerGridReading1.getValue()).thenReturn(20);
+        when(((NumericReading) powerGridReading1).asDouble()).thenReturn(20.0);
         DeviceIDVO powerGridDeviceID1 = mock(DeviceIDVO.class);
         when(powerGridDeviceID1.getID()).thenReturn(powerGridDeviceID);
         SensorIDVO powerGridSensorID1 = mock(SensorIDVO.class);
@@ -1557,6 +1828,7 @@ class LogServiceImplTest {
         when(powerGridTime2.getValue()).thenReturn(LocalDateTime.now().minusMinutes(8).truncatedTo(ChronoUnit.SECONDS));
         SensorValueObject powerGridReading2 = mock(EnergyConsumptionValue.class);
         when(powerGridReading2.getValue()).thenReturn(30);
+        when(((NumericReading) powerGridReading2).asDouble()).thenReturn(30.0);
         DeviceIDVO powerGridDeviceID2 = mock(DeviceIDVO.class);
         when(powerGridDeviceID2.getID()).thenReturn(powerGridDeviceID);
         SensorIDVO powerGridSensorID2 = mock(SensorIDVO.class);
@@ -1577,6 +1849,7 @@ class LogServiceImplTest {
         when(powerGridTime3.getValue()).thenReturn(LocalDateTime.now().minusHours(3).truncatedTo(ChronoUnit.SECONDS));
         SensorValueObject powerGridReading3 = mock(EnergyConsumptionValue.class);
         when(powerGridReading3.getValue()).thenReturn(30);
+        when(((NumericReading) powerGridReading3).asDouble()).thenReturn(30.0);
         DeviceIDVO powerGridDeviceID3 = mock(DeviceIDVO.class);
         when(powerGridDeviceID3.getID()).thenReturn(powerGridDeviceID);
         SensorIDVO powerGridSensorID3 = mock(SensorIDVO.class);
@@ -1597,6 +1870,7 @@ class LogServiceImplTest {
         when(powerGridTime4.getValue()).thenReturn(LocalDateTime.now().minusHours(3).truncatedTo(ChronoUnit.SECONDS));
         SensorValueObject powerGridReading4 = mock(EnergyConsumptionValue.class);
         when(powerGridReading4.getValue()).thenReturn(20);
+        when(((NumericReading) powerGridReading4).asDouble()).thenReturn(20.0);
         DeviceIDVO powerGridDeviceID4 = mock(DeviceIDVO.class);
         when(powerGridDeviceID4.getID()).thenReturn(powerGridDeviceID);
         SensorIDVO powerGridSensorID4 = mock(SensorIDVO.class);
@@ -1614,8 +1888,8 @@ class LogServiceImplTest {
         List<Log> powerGridLogs = List.of(powerGridLog1, powerGridLog2, powerGridLog3, powerGridLog4);
 
 
-        when(logRepository.findByDeviceIDAndSensorTypeAndTimeBetween(powerGridDeviceID, sensorTypeID, initialTime, finalTime))
-                .thenReturn(powerGridLogs);
+        when(logRepository.findSeriesByDeviceIDAndSensorTypeAndTimeBetween(powerGridDeviceID, sensorTypeID, initialTime, finalTime))
+                .thenReturn(ReadingSeries.fromLogs(powerGridLogs));
 
         LogIDVO powerSourceLogID1 = mock(LogIDVO.class);
         when(powerSourceLogID1.getID()).thenReturn("123456");
@@ -1623,6 +1897,7 @@ class LogServiceImplTest {
         when(powerSourceTime1.getValue()).thenReturn(LocalDateTime.now().minusMinutes(4).truncatedTo(ChronoUnit.SECONDS));
         SensorValueObject powerSourceReading1 = mock(EnergyConsumptionValue.class);
         when(powerSourceReading1.getValue()).thenReturn(-5);
+        when(((NumericReading) powerSourceReading1).asDouble()).thenReturn(-5.0);
         DeviceIDVO powerSourceDeviceID1 = mock(DeviceIDVO.class);
         when(powerSourceDeviceID1.getID()).thenReturn("8229651651");
         SensorIDVO powerSourceSensorID1 = mock(SensorIDVO.class);
@@ -1639,7 +1914,7 @@ class LogServiceImplTest {
 
         List<Log> powerSourceLogs = List.of(powerSourceLog1);
 
-        when(logRepository.findByNegativeReadingAndNotDeviceIDAndSensorTypeAndTimeBetween(powerGridDeviceID, powerSourceSensorTypeID1.getID(), initialTime, finalTime)).thenReturn(powerSourceLogs);
+        when(logRepository.findSeriesByNegativeReadingAndNotDeviceIDAndSensorTypeAndTimeBetween(powerGridDeviceID, powerSourceSensorTypeID1.getID(), initialTime, finalTime)).thenReturn(ReadingSeries.fromLogs(powerSourceLogs));
 
         String expectedMessage = "The Peak Power Consumption of the House within the selected Period was of " + Math.subtractExact((int) powerGridReading2.getValue(), (int) powerSourceReading1.getValue()) + " Wh which happened at " +powerGridTime2.getValue();
 
@@ -1924,4 +2199,181 @@ class LogServiceImplTest {
         assertEquals(expected, result);
     }
 
+
+    /**
+     * Test to verify that streamReadingsFromDevice returns the stream provided by the repository without
+     * collecting it.
+     */
+    @Test
+    void whenGivenValidDevice_streamReadingsFromDeviceReturnsRepositoryStream() {
+        // Arrange
+        DeviceIDVO deviceID = new DeviceIDVO(UUID.randomUUID());
+        Log log1 = mock(Log.class);
+        Log log2 = mock(Log.class);
+        when(logRepository.streamReadingsByDeviceID(deviceID, null, null)).thenReturn(java.util.stream.Stream.of(log1, log2));
+
+        // Act
+        List<Log> result = logService.streamReadingsFromDevice(deviceID, null, null).toList();
+
+        // Assert
+        assertEquals(List.of(log1, log2), result);
+    }
+
+    /**
+     * Test to verify that streamReadingsFromDevice applies the same validations as findReadingsFromDevice before
+     * opening the stream.
+     */
+    @Test
+    void whenGivenInvalidParameters_streamReadingsFromDeviceThrowsIllegalArgumentException() {
+        // Arrange
+        DeviceIDVO deviceID = new DeviceIDVO(UUID.randomUUID());
+        TimeStampVO initialTime = new TimeStampVO(LocalDateTime.of(2024, 4, 5, 0, 0));
+        TimeStampVO finalTime = new TimeStampVO(LocalDateTime.of(2024, 4, 4, 0, 0));
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> logService.streamReadingsFromDevice(null, null, null));
+        assertThrows(IllegalArgumentException.class, () -> logService.streamReadingsFromDevice(deviceID, initialTime, null));
+        assertThrows(IllegalArgumentException.class, () -> logService.streamReadingsFromDevice(deviceID, initialTime, finalTime));
+        verify(logRepository, never()).streamReadingsByDeviceID(any(), any(), any());
+    }
+
+    /**
+     * Test to verify that findReadingsPageFromDevice passes the cursor and limit to the repository and returns the
+     * page as a list.
+     */
+    @Test
+    void whenGivenValidCursorAndLimit_findReadingsPageFromDeviceReturnsRepositoryPage() {
+        // Arrange
+        DeviceIDVO deviceID = new DeviceIDVO(UUID.randomUUID());
+        LogCursorVO cursor = new LogCursorVO(new TimeStampVO(LocalDateTime.of(2024, 4, 4, 12, 0)),
+                new LogIDVO(UUID.randomUUID()), true);
+        Log log1 = mock(Log.class);
+        Log log2 = mock(Log.class);
+        when(logRepository.findReadingsPageByDeviceID(deviceID, null, null, cursor, 2)).thenReturn(List.of(log1, log2));
+
+        // Act
+        List<Log> result = logService.findReadingsPageFromDevice(deviceID, null, null, cursor, 2);
+
+        // Assert
+        assertEquals(List.of(log1, log2), result);
+    }
+
+    /**
+     * Test to verify that findReadingsPageFromDevice rejects a limit out of range without querying the repository.
+     */
+    @Test
+    void whenGivenLimitOutOfRange_findReadingsPageFromDeviceThrowsIllegalArgumentException() {
+        // Arrange
+        DeviceIDVO deviceID = new DeviceIDVO(UUID.randomUUID());
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> logService.findReadingsPageFromDevice(deviceID, null, null, null, 0));
+        assertThrows(IllegalArgumentException.class, () -> logService.findReadingsPageFromDevice(deviceID, null, null, null, 1001));
+        verify(logRepository, never()).findReadingsPageByDeviceID(any(), any(), any(), any(), anyInt());
+    }
+
+    /**
+     * Creates up to 40 energy consumption logs in random order, on whole minutes and in between, with readings in the
+     * given range so that ties occur.
+     */
+    private static List<Log> randomEnergyLogs(Random random, int min, int max, LocalDateTime start) {
+        List<Log> logs = new ArrayList<>();
+        int size = 1 + random.nextInt(40);
+        for (int i = 0; i < size; i++) {
+            LocalDateTime time = start.plusMinutes(random.nextInt(120)).plusSeconds(random.nextBoolean() ? 0 : random.nextInt(60));
+            logs.add(new Log(new LogIDVO(UUID.randomUUID()), new TimeStampVO(time),
+                    new EnergyConsumptionValue(String.valueOf(min + random.nextInt(max - min + 1))),
+                    new SensorIDVO(UUID.randomUUID()), new DeviceIDVO(UUID.randomUUID()),
+                    new SensorTypeIDVO("EnergyConsumptionSensor")));
+        }
+        return logs;
+    }
+
+    /**
+     * Reference computation comparing every grid log against every power source log.
+     */
+    private static String pairwisePeakPowerConsumption(List<Log> powerGridLogs, List<Log> powerSourceLogs, int deltaMin) {
+        int peakConsumption = 0;
+        String instantTime = null;
+        boolean foundInstantLogMatch = false;
+        for (Log powerGridLog : powerGridLogs) {
+            LocalDateTime gridTime = powerGridLog.getTime().getValue();
+            int totalValue = (int) powerGridLog.getReading().getValue();
+            for (Log powerSourceLog : powerSourceLogs) {
+                LocalDateTime sourceTime = powerSourceLog.getTime().getValue();
+                if (gridTime.plusMinutes(deltaMin).isAfter(sourceTime) && gridTime.minusMinutes(deltaMin).isBefore(sourceTime)) {
+                    totalValue += Math.abs((int) powerSourceLog.getReading().getValue());
+                    foundInstantLogMatch = true;
+                }
+            }
+            if (totalValue > peakConsumption) {
+                peakConsumption = totalValue;
+                instantTime = gridTime.toString();
+            }
+        }
+        if (!foundInstantLogMatch) {
+            return "Readings were found within the provided time span, but with no instant matches within the delta provided";
+        }
+        return "The Peak Power Consumption of the House within the selected Period was of " + peakConsumption
+                + " Wh which happened at " + instantTime;
+    }
+
+    /**
+     * Stubs the location of a device in a room with the given height.
+     */
+    private static void mockDeviceHeight(DeviceRepository deviceRepository, RoomRepository roomRepository,
+                                         DeviceIDVO deviceID, double height) {
+        Device device = mock(Device.class);
+        RoomIDVO roomID = mock(RoomIDVO.class);
+        Room room = mock(Room.class);
+        RoomDimensionsVO dimensions = mock(RoomDimensionsVO.class);
+        when(deviceRepository.findById(deviceID)).thenReturn(device);
+        when(device.getRoomID()).thenReturn(roomID);
+        when(roomRepository.findById(roomID)).thenReturn(room);
+        when(room.getRoomDimensions()).thenReturn(dimensions);
+        when(dimensions.getRoomHeight()).thenReturn(height);
+    }
+
+    /**
+     * Creates up to 40 temperature logs in random order, on whole minutes and in between, with repeated readings so
+     * that ties occur.
+     */
+    private static List<Log> randomTemperatureLogs(Random random, DeviceIDVO deviceID, LocalDateTime start) {
+        List<Log> logs = new ArrayList<>();
+        int size = 1 + random.nextInt(40);
+        for (int i = 0; i < size; i++) {
+            LocalDateTime time = start.plusMinutes(random.nextInt(120)).plusSeconds(random.nextBoolean() ? 0 : random.nextInt(60));
+            logs.add(new Log(new LogIDVO(UUID.randomUUID()), new TimeStampVO(time),
+                    new TemperatureValue(String.valueOf(random.nextInt(10) - 5 + random.nextInt(2) * 0.5)),
+                    new SensorIDVO(UUID.randomUUID()), deviceID, new SensorTypeIDVO("TemperatureSensor")));
+        }
+        return logs;
+    }
+
+    /**
+     * Reference computation comparing every indoor log against every outdoor log.
+     */
+    private static String pairwiseMaxTempDifference(List<Log> outdoorLogs, List<Log> indoorLogs, int deltaMin) {
+        double maxTempDiff = 0;
+        String instantTime = null;
+        for (Log interiorLog : indoorLogs) {
+            LocalDateTime intTime = interiorLog.getTime().getValue();
+            for (Log exteriorLog : outdoorLogs) {
+                LocalDateTime extTime = exteriorLog.getTime().getValue();
+                if (intTime.plusMinutes(deltaMin).isAfter(extTime) && intTime.minusMinutes(deltaMin).isBefore(extTime)) {
+                    double temp = Math.abs((Double) interiorLog.getReading().getValue()
+                            - (Double) exteriorLog.getReading().getValue());
+                    if (temp > maxTempDiff) {
+                        maxTempDiff = temp;
+                        instantTime = intTime.toString();
+                    }
+                }
+            }
+        }
+        if (instantTime == null) {
+            return "Readings were found within the provided time span, but with no matches within the delta provided";
+        }
+        return "The Maximum Temperature Difference within the selected Period was of " + maxTempDiff
+                + " Cº which happened at " + instantTime;
+    }
 }
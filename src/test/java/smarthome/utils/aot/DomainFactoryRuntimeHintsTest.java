@@ -0,0 +1,83 @@
+package smarthome.utils.aot;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.generate.ClassNameGenerator;
+import org.springframework.aot.generate.DefaultGenerationContext;
+import org.springframework.aot.generate.InMemoryGeneratedFiles;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotContribution;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.javapoet.ClassName;
+import smarthome.domain.actuator.IntegerValueActuator;
+import smarthome.domain.sensor.TemperatureSensor;
+import smarthome.domain.sensor.sensorvalues.SunTimeValue;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DomainFactoryRuntimeHintsTest {
+
+    private static RuntimeHints process(Map<String, Object> properties) {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new MapPropertySource("test", properties));
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.addEmbeddedValueResolver(environment::resolveRequiredPlaceholders);
+        RuntimeHints hints = new RuntimeHints();
+        DefaultGenerationContext generationContext = new DefaultGenerationContext(
+                new ClassNameGenerator(ClassName.get(DomainFactoryRuntimeHintsTest.class)), new InMemoryGeneratedFiles(),
+                hints);
+
+        BeanFactoryInitializationAotContribution contribution =
+                new DomainFactoryRuntimeHints().processAheadOfTime(beanFactory);
+        contribution.applyTo(generationContext, null);
+        return hints;
+    }
+
+    private static boolean isRegistered(RuntimeHints hints, Class<?> type) {
+        return RuntimeHintsPredicates.reflection().onType(type)
+                .withMemberCategory(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS).test(hints);
+    }
+
+    /**
+     * Test to verify that the sensor, actuator and sensor value classes named in the configuration files the
+     * filepath and filePathValue properties point to are registered with their public constructors, and that names
+     * that are not classes are skipped.
+     */
+    @Test
+    void processAheadOfTime_ShouldRegisterConfiguredClassesWithPublicConstructors() {
+        // Arrange
+        Map<String, Object> properties = Map.of("filepath", "config.properties", "filePathValue", "value.properties");
+
+        // Act
+        RuntimeHints hints = process(properties);
+
+        // Assert
+        assertTrue(isRegistered(hints, TemperatureSensor.class));
+        assertTrue(isRegistered(hints, IntegerValueActuator.class));
+        assertTrue(isRegistered(hints, SunTimeValue.class));
+        assertEquals(0, hints.reflection().typeHints()
+                .filter(hint -> hint.getType().getName().contains("Nuclear")).count());
+    }
+
+    /**
+     * Test to verify that only the files the properties point to are read, and that a property that is not set is
+     * skipped.
+     */
+    @Test
+    void processAheadOfTime_WhenOnlyValueFileIsConfigured_ShouldRegisterOnlyItsClasses() {
+        // Arrange
+        Map<String, Object> properties = Map.of("filePathValue", "value.properties");
+
+        // Act
+        RuntimeHints hints = process(properties);
+
+        // Assert
+        assertTrue(isRegistered(hints, SunTimeValue.class));
+        assertFalse(isRegistered(hints, TemperatureSensor.class));
+    }
+}
@@ -0,0 +1,422 @@
+package smarthome.utils.dataset;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.apache.commons.configuration2.Configuration;
+import org.apache.commons.configuration2.builder.fluent.Configurations;
+import org.apache.commons.configuration2.ex.ConfigurationException;
+import smarthome.domain.actuator.Actuator;
+import smarthome.domain.actuator.ActuatorFactory;
+import smarthome.domain.actuator.ActuatorFactoryImpl;
+import smarthome.domain.device.Device;
+import smarthome.domain.house.House;
+import smarthome.domain.log.Log;
+import smarthome.domain.room.Room;
+import smarthome.domain.sensor.Sensor;
+import smarthome.domain.sensor.SensorFactory;
+import smarthome.domain.sensor.SensorFactoryImpl;
+import smarthome.domain.sensor.externalservices.SunTimeServices;
+import smarthome.domain.sensor.sensorvalues.SensorValueFactory;
+import smarthome.domain.sensor.sensorvalues.SensorValueFactoryImpl;
+import smarthome.domain.vo.actuatortype.ActuatorTypeIDVO;
+import smarthome.domain.vo.actuatorvo.*;
+import smarthome.domain.vo.devicevo.DeviceIDVO;
+import smarthome.domain.vo.devicevo.DeviceModelVO;
+import smarthome.domain.vo.devicevo.DeviceNameVO;
+import smarthome.domain.vo.devicevo.DeviceStatusVO;
+import smarthome.domain.vo.housevo.*;
+import smarthome.domain.vo.roomvo.*;
+import smarthome.domain.vo.sensortype.SensorTypeIDVO;
+import smarthome.domain.vo.sensorvo.SensorIDVO;
+import smarthome.domain.vo.sensorvo.SensorNameVO;
+import smarthome.mapper.LogMapper;
+import smarthome.mapper.dto.LogDTO;
+import smarthome.persistence.*;
+import smarthome.utils.dataset.SyntheticHouse.DeviceRole;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Generates a synthetic house and its telemetry from a DatasetSpec, so benchmarks and load tests can run against
+ * realistic volumes of data.
+ * <p>
+ * Everything is derived from the seed of the spec, including the IDs: two generators with equal specs and equal
+ * configuration files produce the same house and the same readings, whether the readings are saved to a repository or
+ * written to a file. The house has a sensor of every sensor type in the configuration and an actuator of every
+ * actuator type, spread over the devices of the indoor rooms.
+ * </p>
+ * <p>
+ * The readings are generated lazily, in time order, one every interval of the spec for most sensors: temperatures and
+ * humidity follow a daily and a seasonal cycle, appliances and the grid power meter consume more in the morning and in
+ * the evening, and the solar power sources report their production as negative energy consumption while the sun is
+ * up. Switches only log when they change, and sunrise and sunset sensors log once a day.
+ * </p>
+ */
+public class DatasetGenerator {
+
+    /**
+     * The coordinates of the synthetic house, in the format of the sun time services.
+     */
+    static final String COORDINATES = "41.1579 : -8.6291";
+
+    private static final List<String> WEATHER_STATION_TYPES = List.of("TemperatureSensor", "HumiditySensor",
+            "DewPointSensor", "WindSensor", "SolarIrradianceSensor", "SunriseSensor", "SunsetSensor");
+    private static final String ENERGY_TYPE = "EnergyConsumptionSensor";
+    private static final String POWER_TYPE = "PowerConsumptionSensor";
+
+    private final DatasetSpec spec;
+    private final List<String> sensorTypes;
+    private final List<String> actuatorTypes;
+    private final SensorFactory sensorFactory;
+    private final ActuatorFactory actuatorFactory;
+    private final ReadingModel readingModel;
+
+    /**
+     * Creates a generator for a spec, with the sensor and actuator types of a configuration file.
+     *
+     * @param spec       The spec of the dataset.
+     * @param configPath The path to the configuration file of the sensor and actuator types.
+     * @param valuePath  The path to the configuration file of the sensor values.
+     * @param sunTimes   The service that computes sunrise and sunset times.
+     * @throws IllegalArgumentException if a parameter is null or a configuration file cannot be read.
+     */
+    public DatasetGenerator(DatasetSpec spec, String configPath, String valuePath, SunTimeServices sunTimes) {
+        if (spec == null || configPath == null || valuePath == null || sunTimes == null) {
+            throw new IllegalArgumentException("Invalid parameters.");
+        }
+        this.spec = spec;
+        try {
+            Configuration configuration = new Configurations().properties(new File(configPath));
+            this.sensorTypes = sensorTypes(configuration.getStringArray("unit"));
+            this.actuatorTypes = List.of(configuration.getStringArray("actuatorRepo"));
+            this.actuatorFactory = new ActuatorFactoryImpl(configPath);
+        } catch (ConfigurationException e) {
+            throw new IllegalArgumentException("Error reading file");
+        }
+        this.sensorFactory = new SensorFactoryImpl(configPath);
+        SensorValueFactory valueFactory = new SensorValueFactoryImpl(valuePath);
+        this.readingModel = new ReadingModel(spec.getSeed(), spec.getIntervalSeconds(), COORDINATES, sunTimes,
+                valueFactory);
+    }
+
+    public DatasetSpec getSpec() {
+        return spec;
+    }
+
+    /**
+     * Builds the house of the spec. Nothing is persisted.
+     *
+     * @return The house.
+     */
+    public SyntheticHouse generateHouse() {
+        return new HouseBuilder(new Random(this.spec.getSeed())).build();
+    }
+
+    /**
+     * Persists a house, and points the grid power meter system properties at its grid power meter, as the application
+     * bootstrap does for the default house.
+     *
+     * @param house              The house.
+     * @param houseRepository    Where to save the house.
+     * @param roomRepository     Where to save the rooms.
+     * @param deviceRepository   Where to save the devices.
+     * @param sensorRepository   Where to save the sensors.
+     * @param actuatorRepository Where to save the actuators.
+     * @return True if every aggregate was saved, false otherwise.
+     */
+    public boolean saveHouse(SyntheticHouse house, HouseRepository houseRepository, RoomRepository roomRepository,
+                             DeviceRepository deviceRepository, SensorRepository sensorRepository,
+                             ActuatorRepository actuatorRepository) {
+        if (house == null || houseRepository == null || roomRepository == null || deviceRepository == null
+                || sensorRepository == null || actuatorRepository == null) {
+            throw new IllegalArgumentException("Invalid parameters.");
+        }
+        boolean saved = houseRepository.save(house.getHouse());
+        for (Room room : house.getRooms()) {
+            saved &= roomRepository.save(room);
+        }
+        for (Device device : house.getDevices()) {
+            saved &= deviceRepository.save(device);
+        }
+        for (Sensor sensor : house.getSensors()) {
+            saved &= sensorRepository.save(sensor);
+        }
+        for (Actuator actuator : house.getActuators()) {
+            saved &= actuatorRepository.save(actuator);
+        }
+        if (house.getGridMeterSensor() != null) {
+            System.setProperty("Grid Power Meter device", house.getGridMeterDevice().getID());
+            System.setProperty("Grid Power Meter sensor", house.getGridMeterSensor().getID());
+            System.setProperty("Grid Power Meter sensor type", ENERGY_TYPE);
+        }
+        return saved;
+    }
+
+    /**
+     * Generates the readings of a house over the period of the spec. The readings are ordered by time, and by the
+     * position of their sensor in the house within the same time. They are generated as the stream is consumed, so a
+     * long period does not have to fit in memory.
+     *
+     * @param house The house, as generated by this generator.
+     * @return The readings.
+     */
+    public Stream<Log> readings(SyntheticHouse house) {
+        if (house == null) {
+            throw new IllegalArgumentException("Invalid parameters.");
+        }
+        List<ReadingModel.Channel> channels = new ArrayList<>();
+        List<Sensor> sensors = house.getSensors();
+        for (int i = 0; i < sensors.size(); i++) {
+            Sensor sensor = sensors.get(i);
+            ReadingModel.Channel channel = this.readingModel.channel(i, (SensorIDVO) sensor.getId(),
+                    sensor.getDeviceID(), sensor.getSensorTypeID(), house.getRole(sensor.getDeviceID()));
+            if (channel != null) {
+                channels.add(channel);
+            }
+        }
+        Iterator<Log> iterator = new ReadingIterator(channels, this.spec);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator,
+                Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * Saves the readings of a house through the bulk path of a log repository, one batch at a time.
+     *
+     * @param house         The house, as generated by this generator.
+     * @param logRepository Where to save the readings.
+     * @param batchSize     The number of readings per call to saveAll.
+     * @return The number of readings saved. Saving stops at the first batch that cannot be saved.
+     */
+    public long saveReadings(SyntheticHouse house, LogRepository logRepository, int batchSize) {
+        if (house == null || logRepository == null || batchSize <= 0) {
+            throw new IllegalArgumentException("Invalid parameters.");
+        }
+        long saved = 0;
+        List<Log> batch = new ArrayList<>(batchSize);
+        Iterator<Log> readings = readings(house).iterator();
+        while (readings.hasNext()) {
+            batch.add(readings.next());
+            if (batch.size() == batchSize || !readings.hasNext()) {
+                if (!logRepository.saveAll(batch)) {
+                    return saved;
+                }
+                saved += batch.size();
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        return saved;
+    }
+
+    /**
+     * Writes the readings of a house as newline-delimited JSON, one reading per line in the shape of a LogDTO, which
+     * is the format of the bulk upload of readings. The stream is flushed but not closed.
+     *
+     * @param house        The house, as generated by this generator.
+     * @param outputStream Where to write the readings.
+     * @return The number of readings written.
+     * @throws IOException if the readings cannot be written.
+     */
+    public long writeReadings(SyntheticHouse house, OutputStream outputStream) throws IOException {
+        if (house == null || outputStream == null) {
+            throw new IllegalArgumentException("Invalid parameters.");
+        }
+        long written = 0;
+        JsonGenerator generator = new JsonFactory().createGenerator(outputStream);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(null);
+        try (generator) {
+            Iterator<Log> readings = readings(house).iterator();
+            while (readings.hasNext()) {
+                LogDTO logDTO = LogMapper.domainToDTO(readings.next());
+                generator.writeStartObject();
+                generator.writeStringField("logID", logDTO.getLogID());
+                generator.writeStringField("time", logDTO.getTime());
+                generator.writeStringField("reading", logDTO.getReading());
+                generator.writeStringField("sensorID", logDTO.getSensorID());
+                generator.writeStringField("deviceID", logDTO.getDeviceID());
+                generator.writeStringField("sensorTypeID", logDTO.getSensorTypeID());
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+                written++;
+            }
+        }
+        return written;
+    }
+
+    /**
+     * Generates a random (version 4) UUID from a seeded generator.
+     *
+     * @param random The generator.
+     * @return The UUID.
+     */
+    static UUID uuid(Random random) {
+        long most = (random.nextLong() & ~0xF000L) | 0x4000L;
+        long least = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(most, least);
+    }
+
+    /**
+     * Extracts the sensor type IDs from the "unit" entries of the configuration, which have the format Type|Unit.
+     */
+    private static List<String> sensorTypes(String[] units) {
+        List<String> types = new ArrayList<>(units.length);
+        for (String unit : units) {
+            types.add(unit.split("\\|")[0].trim());
+        }
+        return List.copyOf(types);
+    }
+
+    /**
+     * Builds the aggregates of a house, drawing every ID from one generator in a fixed order.
+     */
+    private final class HouseBuilder {
+
+        private final Random random;
+        private final List<Room> rooms = new ArrayList<>();
+        private final List<Device> devices = new ArrayList<>();
+        private final List<Sensor> sensors = new ArrayList<>();
+        private final List<Actuator> actuators = new ArrayList<>();
+        private final Map<DeviceIDVO, DeviceRole> roles = new HashMap<>();
+
+        private HouseBuilder(Random random) {
+            this.random = random;
+        }
+
+        private SyntheticHouse build() {
+            LocationVO location = new LocationVO(
+                    new AddressVO(new DoorVO("1"), new StreetVO("Synthetic street"), new CityVO("Porto"),
+                            new CountryVO("Portugal"), new PostalCodeVO("PT-4000-001")),
+                    new GpsVO(new LatitudeVO(41.1579), new LongitudeVO(-8.6291)));
+            House house = new House(new HouseIDVO(uuid(this.random)), location);
+            HouseIDVO houseID = house.getId();
+
+            Room garden = room("Garden", 0, 40, 70, 0, houseID);
+            DeviceIDVO weatherStation = device("Weather Station", "WS-5050", garden, DeviceRole.WEATHER_STATION);
+            for (String type : WEATHER_STATION_TYPES) {
+                if (sensorTypes.contains(type)) {
+                    sensor(type, weatherStation);
+                }
+            }
+
+            Room electricalRoom = room("Electrical Circuit Room", 0, 2, 2, 2, houseID);
+            DeviceIDVO gridMeter = device("Grid Power Meter", "e-Redes", electricalRoom, DeviceRole.GRID_METER);
+            SensorIDVO gridMeterSensor = sensorTypes.contains(ENERGY_TYPE) ? sensor(ENERGY_TYPE, gridMeter) : null;
+            if (sensorTypes.contains(POWER_TYPE)) {
+                sensor(POWER_TYPE, gridMeter);
+            }
+            for (int i = 1; i <= spec.getPowerSources(); i++) {
+                DeviceIDVO source = device("Solar Panel " + i, "PV-400", electricalRoom, DeviceRole.POWER_SOURCE);
+                if (sensorTypes.contains(ENERGY_TYPE)) {
+                    sensor(ENERGY_TYPE, source);
+                }
+            }
+
+            int nextSensorType = 0;
+            int nextActuatorType = 0;
+            for (int r = 1; r <= spec.getRooms(); r++) {
+                Room room = room("Room " + r, (r - 1) / 5, 5, 4, 2.5, houseID);
+                for (int d = 1; d <= spec.getDevicesPerRoom(); d++) {
+                    DeviceIDVO device = device("Device " + r + "." + d, "Model " + d, room, DeviceRole.APPLIANCE);
+                    for (int s = 0; s < spec.getSensorsPerDevice() && !sensorTypes.isEmpty(); s++) {
+                        sensor(sensorTypes.get(nextSensorType++ % sensorTypes.size()), device);
+                    }
+                    for (int a = 0; a < spec.getActuatorsPerDevice() && !actuatorTypes.isEmpty(); a++) {
+                        actuator(actuatorTypes.get(nextActuatorType++ % actuatorTypes.size()), device);
+                    }
+                }
+            }
+            return new SyntheticHouse(house, this.rooms, this.devices, this.sensors, this.actuators, this.roles,
+                    gridMeter, gridMeterSensor);
+        }
+
+        private Room room(String name, int floor, double length, double width, double height, HouseIDVO houseID) {
+            Room room = new Room(new RoomIDVO(uuid(this.random)), new RoomNameVO(name), new RoomFloorVO(floor),
+                    new RoomDimensionsVO(new RoomLengthVO(length), new RoomWidthVO(width), new RoomHeightVO(height)),
+                    houseID);
+            this.rooms.add(room);
+            return room;
+        }
+
+        private DeviceIDVO device(String name, String model, Room room, DeviceRole role) {
+            DeviceIDVO deviceID = new DeviceIDVO(uuid(this.random));
+            this.devices.add(new Device(deviceID, new DeviceNameVO(name), new DeviceModelVO(model),
+                    new DeviceStatusVO(true), room.getId()));
+            this.roles.put(deviceID, role);
+            return deviceID;
+        }
+
+        private SensorIDVO sensor(String type, DeviceIDVO deviceID) {
+            SensorIDVO sensorID = new SensorIDVO(uuid(this.random));
+            Sensor sensor = sensorFactory.createSensor(sensorID, new SensorNameVO(type + " " + (this.sensors.size() + 1)),
+                    deviceID, new SensorTypeIDVO(type));
+            if (sensor == null) {
+                return null;
+            }
+            this.sensors.add(sensor);
+            return sensorID;
+        }
+
+        private void actuator(String type, DeviceIDVO deviceID) {
+            ActuatorIDVO actuatorID = new ActuatorIDVO(uuid(this.random));
+            Settings settings = null;
+            if (type.equals("DecimalValueActuator")) {
+                settings = new DecimalSettingsVO("0", "100", "0.1");
+            } else if (type.equals("IntegerValueActuator")) {
+                settings = new IntegerSettingsVO("0", "100");
+            }
+            Actuator actuator = actuatorFactory.createActuator(actuatorID,
+                    new ActuatorNameVO(type + " " + (this.actuators.size() + 1)), new ActuatorTypeIDVO(type), deviceID,
+                    settings, new ActuatorStatusVO("0"));
+            if (actuator != null) {
+                this.actuators.add(actuator);
+            }
+        }
+    }
+
+    /**
+     * Walks the period of the spec one interval at a time and reads every channel at each time.
+     */
+    private static final class ReadingIterator implements Iterator<Log> {
+
+        private final List<ReadingModel.Channel> channels;
+        private final LocalDateTime end;
+        private final int intervalSeconds;
+        private final Deque<Log> pending = new ArrayDeque<>();
+        private LocalDateTime time;
+
+        private ReadingIterator(List<ReadingModel.Channel> channels, DatasetSpec spec) {
+            this.channels = channels;
+            this.end = spec.getEnd();
+            this.intervalSeconds = spec.getIntervalSeconds();
+            this.time = spec.getStart();
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (this.pending.isEmpty() && this.time.isBefore(this.end) && !this.channels.isEmpty()) {
+                for (ReadingModel.Channel channel : this.channels) {
+                    Log log = channel.read(this.time);
+                    if (log != null) {
+                        this.pending.add(log);
+                    }
+                }
+                this.time = this.time.plusSeconds(this.intervalSeconds);
+            }
+            return !this.pending.isEmpty();
+        }
+
+        @Override
+        public Log next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return this.pending.poll();
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package smarthome.utils.dataset;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import smarthome.domain.log.Log;
+import smarthome.domain.sensor.Sensor;
+import smarthome.domain.sensor.externalservices.SunTimeServices;
+import smarthome.domain.vo.devicevo.DeviceIDVO;
+import smarthome.persistence.LogRepository;
+
+import java.io.ByteArrayOutputStream;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class DatasetGeneratorTest {
+
+    private static final String CONFIG = "config.properties";
+    private static final String VALUES = "value.properties";
+
+    private SunTimeServices sunTimes;
+    private DatasetSpec spec;
+
+    @BeforeEach
+    void setUp() {
+        sunTimes = mock(SunTimeServices.class);
+        when(sunTimes.computeSunrise(anyString(), anyString())).thenReturn(ZonedDateTime.parse("2024-01-01T07:55:00Z"));
+        when(sunTimes.computeSunset(anyString(), anyString())).thenReturn(ZonedDateTime.parse("2024-01-01T17:25:00Z"));
+        spec = DatasetSpec.builder().seed(7).rooms(2).devicesPerRoom(2).sensorsPerDevice(3).days(2)
+                .intervalSeconds(900).build();
+    }
+
+    /**
+     * Tests that two generators with the same spec produce the same house and the same readings.
+     */
+    @Test
+    void whenSpecIsTheSame_thenHouseAndReadingsAreTheSame() {
+        // Arrange
+        DatasetGenerator generator1 = new DatasetGenerator(spec, CONFIG, VALUES, sunTimes);
+        DatasetGenerator generator2 = new DatasetGenerator(spec, CONFIG, VALUES, sunTimes);
+
+        // Act
+        SyntheticHouse house1 = generator1.generateHouse();
+        SyntheticHouse house2 = generator2.generateHouse();
+        List<Log> readings1 = generator1.readings(house1).collect(Collectors.toList());
+        List<Log> readings2 = generator2.readings(house2).collect(Collectors.toList());
+
+        // Assert
+        assertEquals(house1.getHouse().getId(), house2.getHouse().getId());
+        assertEquals(house1.getSensors().size(), house2.getSensors().size());
+        for (int i = 0; i < house1.getSensors().size(); i++) {
+            assertEquals(house1.getSensors().get(i).getId(), house2.getSensors().get(i).getId());
+        }
+        assertFalse(readings1.isEmpty());
+        assertEquals(readings1.size(), readings2.size());
+        for (int i = 0; i < readings1.size(); i++) {
+            assertEquals(readings1.get(i).getId(), readings2.get(i).getId());
+            assertEquals(readings1.get(i).getReading().getValue(), readings2.get(i).getReading().getValue());
+        }
+    }
+
+    /**
+     * Tests that a different seed produces a different house.
+     */
+    @Test
+    void whenSeedIsDifferent_thenHouseIsDifferent() {
+        // Arrange
+        DatasetSpec otherSpec = DatasetSpec.builder().seed(8).rooms(2).devicesPerRoom(2).build();
+
+        // Act
+        SyntheticHouse house1 = new DatasetGenerator(spec, CONFIG, VALUES, sunTimes).generateHouse();
+        SyntheticHouse house2 = new DatasetGenerator(otherSpec, CONFIG, VALUES, sunTimes).generateHouse();
+
+        // Assert
+        assertNotEquals(house1.getHouse().getId(), house2.getHouse().getId());
+    }
+
+    /**
+     * Tests that the house has a sensor of every sensor type in the configuration and an actuator per device.
+     */
+    @Test
+    void whenHouseIsGenerated_thenEverySensorTypeIsPresent() {
+        // Arrange
+        DatasetGenerator generator = new DatasetGenerator(spec, CONFIG, VALUES, sunTimes);
+        Set<String> expected = Set.of("HumiditySensor", "TemperatureSensor", "PositionSensor", "WindSensor",
+                "DewPointSensor", "SunsetSensor", "SunriseSensor", "AveragePowerConsumptionSensor",
+                "PowerConsumptionSensor", "EnergyConsumptionSensor", "SwitchSensor", "SolarIrradianceSensor");
+
+        // Act
+        SyntheticHouse house = generator.generateHouse();
+
+        // Assert
+        Set<String> types = house.getSensors().stream().map(sensor -> sensor.getSensorTypeID().getID())
+                .collect(Collectors.toSet());
+        assertEquals(expected, types);
+        assertEquals(4, house.getRooms().size());
+        assertEquals(4, house.getActuators().size());
+        assertNotNull(house.getGridMeterSensor());
+    }
+
+    /**
+     * Tests that the readings are ordered by time and only solar power sources report negative energy consumption.
+     */
+    @Test
+    void whenReadingsAreGenerated_thenTheyAreInTimeOrderAndSolarProductionIsNegative() {
+        // Arrange
+        DatasetGenerator generator = new DatasetGenerator(spec, CONFIG, VALUES, sunTimes);
+        SyntheticHouse house = generator.generateHouse();
+        Set<DeviceIDVO> sources = house.getDevicesWithRole(SyntheticHouse.DeviceRole.POWER_SOURCE);
+
+        // Act
+        List<Log> readings = generator.readings(house).collect(Collectors.toList());
+
+        // Assert
+        for (int i = 1; i < readings.size(); i++) {
+            assertFalse(readings.get(i).getTime().getValue().isBefore(readings.get(i - 1).getTime().getValue()));
+        }
+        List<Log> negatives = readings.stream()
+                .filter(log -> isEnergy(log) && ((Number) log.getReading().getValue()).doubleValue() < 0)
+                .collect(Collectors.toList());
+        assertFalse(negatives.isEmpty());
+        assertTrue(negatives.stream().allMatch(log -> sources.contains(log.getDeviceID())));
+    }
+
+    /**
+     * Tests that sunrise and sunset sensors log once a day.
+     */
+    @Test
+    void whenReadingsAreGenerated_thenSunSensorsLogOncePerDay() {
+        // Arrange
+        DatasetGenerator generator = new DatasetGenerator(spec, CONFIG, VALUES, sunTimes);
+        SyntheticHouse house = generator.generateHouse();
+
+        // Act
+        long sunrises = generator.readings(house)
+                .filter(log -> log.getSensorTypeID().getID().equals("SunriseSensor")
+                        && house.getRole(log.getDeviceID()) == SyntheticHouse.DeviceRole.WEATHER_STATION)
+                .count();
+
+        // Assert
+        assertEquals(2, sunrises);
+    }
+
+    /**
+     * Tests that the readings are saved in batches through saveAll.
+     */
+    @Test
+    void whenReadingsAreSaved_thenTheyAreSavedInBatches() {
+        // Arrange
+        DatasetGenerator generator = new DatasetGenerator(spec, CONFIG, VALUES, sunTimes);
+        SyntheticHouse house = generator.generateHouse();
+        long expected = generator.readings(house).count();
+        LogRepository logRepository = mock(LogRepository.class);
+        when(logRepository.saveAll(any())).thenReturn(true);
+
+        // Act
+        long saved = generator.saveReadings(house, logRepository, 100);
+
+        // Assert
+        assertEquals(expected, saved);
+        verify(logRepository, times((int) ((expected + 99) / 100))).saveAll(any());
+    }
+
+    /**
+     * Tests that saving stops at the first batch that cannot be saved.
+     */
+    @Test
+    void whenBatchCannotBeSaved_thenSavingStops() {
+        // Arrange
+        DatasetGenerator generator = new DatasetGenerator(spec, CONFIG, VALUES, sunTimes);
+        SyntheticHouse house = generator.generateHouse();
+        LogRepository logRepository = mock(LogRepository.class);
+        when(logRepository.saveAll(any())).thenReturn(true, false);
+
+        // Act
+        long saved = generator.saveReadings(house, logRepository, 100);
+
+        // Assert
+        assertEquals(100, saved);
+        verify(logRepository, times(2)).saveAll(any());
+    }
+
+    /**
+     * Tests that the readings are written as one line of JSON each.
+     */
+    @Test
+    void whenReadingsAreWritten_thenThereIsOneLinePerReading() throws Exception {
+        // Arrange
+        DatasetGenerator generator = new DatasetGenerator(spec, CONFIG, VALUES, sunTimes);
+        SyntheticHouse house = generator.generateHouse();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        Sensor firstSensor = house.getSensors().get(0);
+
+        // Act
+        long written = generator.writeReadings(house, outputStream);
+
+        // Assert
+        String[] lines = outputStream.toString().split("\n");
+        assertEquals(generator.readings(house).count(), written);
+        assertEquals(written, lines.length);
+        assertTrue(lines[0].startsWith("{\"logID\":"));
+        assertTrue(lines[0].contains("\"time\":\"2024-01-01T00:00:00\""));
+        assertTrue(lines[0].contains("\"sensorID\":\"" + firstSensor.getId().getID() + "\""));
+    }
+
+    /**
+     * Tests that a generator cannot be created without a spec or with a missing configuration file.
+     */
+    @Test
+    void whenParametersAreInvalid_thenThrowsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new DatasetGenerator(null, CONFIG, VALUES, sunTimes));
+        assertThrows(IllegalArgumentException.class,
+                () -> new DatasetGenerator(spec, "missing.properties", VALUES, sunTimes));
+    }
+
+    private static boolean isEnergy(Log log) {
+        return log.getSensorTypeID().getID().equals("EnergyConsumptionSensor");
+    }
+}
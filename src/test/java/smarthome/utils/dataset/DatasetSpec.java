@@ -0,0 +1,188 @@
+package smarthome.utils.dataset;
+
+import java.time.LocalDateTime;
+
+/**
+ * The shape of a synthetic dataset: how large the house is and which period of readings is generated.
+ * <p>
+ * Two generators built from equal specs produce the same house, with the same IDs, and the same readings. The seed is
+ * the only source of randomness, so a dataset can be shared between benchmarks and load tests by sharing its spec.
+ * </p>
+ */
+public final class DatasetSpec {
+
+    private final long seed;
+    private final int rooms;
+    private final int devicesPerRoom;
+    private final int sensorsPerDevice;
+    private final int actuatorsPerDevice;
+    private final int powerSources;
+    private final LocalDateTime start;
+    private final int days;
+    private final int intervalSeconds;
+
+    private DatasetSpec(Builder builder) {
+        this.seed = builder.seed;
+        this.rooms = builder.rooms;
+        this.devicesPerRoom = builder.devicesPerRoom;
+        this.sensorsPerDevice = builder.sensorsPerDevice;
+        this.actuatorsPerDevice = builder.actuatorsPerDevice;
+        this.powerSources = builder.powerSources;
+        this.start = builder.start;
+        this.days = builder.days;
+        this.intervalSeconds = builder.intervalSeconds;
+    }
+
+    /**
+     * @return A builder with the defaults: seed 1, 10 rooms of 5 devices with 3 sensors and 1 actuator each, 2 solar
+     * power sources and 30 days of readings every 5 minutes, from 2024-01-01.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * @return The number of indoor rooms. The garden and the electrical circuit room are always added on top.
+     */
+    public int getRooms() {
+        return rooms;
+    }
+
+    public int getDevicesPerRoom() {
+        return devicesPerRoom;
+    }
+
+    public int getSensorsPerDevice() {
+        return sensorsPerDevice;
+    }
+
+    public int getActuatorsPerDevice() {
+        return actuatorsPerDevice;
+    }
+
+    public int getPowerSources() {
+        return powerSources;
+    }
+
+    public LocalDateTime getStart() {
+        return start;
+    }
+
+    public int getDays() {
+        return days;
+    }
+
+    public int getIntervalSeconds() {
+        return intervalSeconds;
+    }
+
+    /**
+     * @return The end of the period of readings (exclusive).
+     */
+    public LocalDateTime getEnd() {
+        return start.plusDays(days);
+    }
+
+    @Override
+    public String toString() {
+        return "seed=" + seed + ", rooms=" + rooms + ", devicesPerRoom=" + devicesPerRoom + ", sensorsPerDevice="
+                + sensorsPerDevice + ", actuatorsPerDevice=" + actuatorsPerDevice + ", powerSources=" + powerSources
+                + ", start=" + start + ", days=" + days + ", intervalSeconds=" + intervalSeconds;
+    }
+
+    /**
+     * Builds a DatasetSpec. Every setter validates its value and throws an IllegalArgumentException when it is out of
+     * range.
+     */
+    public static final class Builder {
+
+        private long seed = 1;
+        private int rooms = 10;
+        private int devicesPerRoom = 5;
+        private int sensorsPerDevice = 3;
+        private int actuatorsPerDevice = 1;
+        private int powerSources = 2;
+        private LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        private int days = 30;
+        private int intervalSeconds = 300;
+
+        private Builder() {
+        }
+
+        public Builder seed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        public Builder rooms(int rooms) {
+            this.rooms = positive(rooms);
+            return this;
+        }
+
+        public Builder devicesPerRoom(int devicesPerRoom) {
+            this.devicesPerRoom = positive(devicesPerRoom);
+            return this;
+        }
+
+        public Builder sensorsPerDevice(int sensorsPerDevice) {
+            this.sensorsPerDevice = positive(sensorsPerDevice);
+            return this;
+        }
+
+        public Builder actuatorsPerDevice(int actuatorsPerDevice) {
+            this.actuatorsPerDevice = notNegative(actuatorsPerDevice);
+            return this;
+        }
+
+        public Builder powerSources(int powerSources) {
+            this.powerSources = notNegative(powerSources);
+            return this;
+        }
+
+        public Builder start(LocalDateTime start) {
+            if (start == null) {
+                throw new IllegalArgumentException("Invalid parameters.");
+            }
+            this.start = start;
+            return this;
+        }
+
+        public Builder days(int days) {
+            this.days = positive(days);
+            return this;
+        }
+
+        /**
+         * @param intervalSeconds The seconds between two readings of a sensor. Must divide a day.
+         */
+        public Builder intervalSeconds(int intervalSeconds) {
+            if (intervalSeconds <= 0 || 86_400 % intervalSeconds != 0) {
+                throw new IllegalArgumentException("Invalid parameters.");
+            }
+            this.intervalSeconds = intervalSeconds;
+            return this;
+        }
+
+        public DatasetSpec build() {
+            return new DatasetSpec(this);
+        }
+
+        private static int positive(int value) {
+            if (value <= 0) {
+                throw new IllegalArgumentException("Invalid parameters.");
+            }
+            return value;
+        }
+
+        private static int notNegative(int value) {
+            if (value < 0) {
+                throw new IllegalArgumentException("Invalid parameters.");
+            }
+            return value;
+        }
+    }
+}
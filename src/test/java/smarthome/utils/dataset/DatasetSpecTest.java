@@ -0,0 +1,48 @@
+package smarthome.utils.dataset;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DatasetSpecTest {
+
+    /**
+     * Tests that the builder keeps the values it was given and computes the end of the period.
+     */
+    @Test
+    void whenBuilt_thenValuesAreKept() {
+        // Act
+        DatasetSpec spec = DatasetSpec.builder().seed(42).rooms(3).devicesPerRoom(4).sensorsPerDevice(2)
+                .actuatorsPerDevice(0).powerSources(1).start(LocalDateTime.of(2024, 6, 1, 0, 0)).days(90)
+                .intervalSeconds(60).build();
+
+        // Assert
+        assertEquals(42, spec.getSeed());
+        assertEquals(3, spec.getRooms());
+        assertEquals(4, spec.getDevicesPerRoom());
+        assertEquals(2, spec.getSensorsPerDevice());
+        assertEquals(0, spec.getActuatorsPerDevice());
+        assertEquals(1, spec.getPowerSources());
+        assertEquals(90, spec.getDays());
+        assertEquals(60, spec.getIntervalSeconds());
+        assertEquals(LocalDateTime.of(2024, 8, 30, 0, 0), spec.getEnd());
+    }
+
+    /**
+     * Tests that values out of range are rejected.
+     */
+    @Test
+    void whenValueIsOutOfRange_thenThrowsIllegalArgumentException() {
+        DatasetSpec.Builder builder = DatasetSpec.builder();
+
+        assertThrows(IllegalArgumentException.class, () -> builder.rooms(0));
+        assertThrows(IllegalArgumentException.class, () -> builder.devicesPerRoom(-1));
+        assertThrows(IllegalArgumentException.class, () -> builder.actuatorsPerDevice(-1));
+        assertThrows(IllegalArgumentException.class, () -> builder.days(0));
+        assertThrows(IllegalArgumentException.class, () -> builder.start(null));
+        assertThrows(IllegalArgumentException.class, () -> builder.intervalSeconds(0));
+        assertThrows(IllegalArgumentException.class, () -> builder.intervalSeconds(7));
+    }
+}
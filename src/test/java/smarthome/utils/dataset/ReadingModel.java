@@ -0,0 +1,339 @@
+package smarthome.utils.dataset;
+
+import smarthome.domain.log.Log;
+import smarthome.domain.sensor.externalservices.SunTimeServices;
+import smarthome.domain.sensor.sensorvalues.SensorValueFactory;
+import smarthome.domain.sensor.sensorvalues.SensorValueObject;
+import smarthome.domain.vo.devicevo.DeviceIDVO;
+import smarthome.domain.vo.logvo.LogIDVO;
+import smarthome.domain.vo.logvo.TimeStampVO;
+import smarthome.domain.vo.sensortype.SensorTypeIDVO;
+import smarthome.domain.vo.sensorvo.SensorIDVO;
+import smarthome.utils.dataset.SyntheticHouse.DeviceRole;
+
+import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
+import java.util.Random;
+
+/**
+ * The profiles of the synthetic readings.
+ * <p>
+ * The weather of a day (cloud cover, temperature offset and prevailing wind) is derived from the seed and the day
+ * only, so every sensor sees the same weather: the solar power sources produce less on the days the solar irradiance
+ * is low. Each sensor reads through its own channel, with its own random generator, so the readings of a sensor do not
+ * depend on the other sensors of the house.
+ * </p>
+ */
+final class ReadingModel {
+
+    private static final String[] DIRECTIONS = {"N", "NE", "E", "SE", "S", "SW", "W", "NW"};
+    private static final double SOLAR_PEAK_WATTS = 3000;
+
+    private final long seed;
+    private final int intervalSeconds;
+    private final String coordinates;
+    private final SunTimeServices sunTimes;
+    private final SensorValueFactory valueFactory;
+
+    ReadingModel(long seed, int intervalSeconds, String coordinates, SunTimeServices sunTimes,
+                 SensorValueFactory valueFactory) {
+        this.seed = seed;
+        this.intervalSeconds = intervalSeconds;
+        this.coordinates = coordinates;
+        this.sunTimes = sunTimes;
+        this.valueFactory = valueFactory;
+    }
+
+    /**
+     * Opens the channel of a sensor.
+     *
+     * @param index        The position of the sensor in the house, which seeds its random generator.
+     * @param sensorID     The sensor ID.
+     * @param deviceID     The device ID of the sensor.
+     * @param sensorTypeID The sensor type ID.
+     * @param role         The role of the device.
+     * @return The channel, or null if there is no profile for the sensor type.
+     */
+    Channel channel(int index, SensorIDVO sensorID, DeviceIDVO deviceID, SensorTypeIDVO sensorTypeID, DeviceRole role) {
+        Profile profile = Profile.of(sensorTypeID.getID(), role);
+        if (profile == null) {
+            return null;
+        }
+        Random random = new Random(mix(this.seed, index + 1L));
+        return new Channel(profile, random, sensorID, deviceID, sensorTypeID);
+    }
+
+    /**
+     * The kinds of readings.
+     */
+    private enum Profile {
+        OUTDOOR_TEMPERATURE, INDOOR_TEMPERATURE, OUTDOOR_HUMIDITY, INDOOR_HUMIDITY, OUTDOOR_DEW_POINT,
+        INDOOR_DEW_POINT, POSITION, WIND, SUNRISE, SUNSET, SOLAR_IRRADIANCE, SWITCH, APPLIANCE_POWER,
+        APPLIANCE_AVERAGE_POWER, APPLIANCE_ENERGY, GRID_POWER, GRID_ENERGY, SOLAR_ENERGY;
+
+        static Profile of(String sensorType, DeviceRole role) {
+            boolean outdoor = role == DeviceRole.WEATHER_STATION;
+            switch (sensorType) {
+                case "TemperatureSensor":
+                    return outdoor ? OUTDOOR_TEMPERATURE : INDOOR_TEMPERATURE;
+                case "HumiditySensor":
+                    return outdoor ? OUTDOOR_HUMIDITY : INDOOR_HUMIDITY;
+                case "DewPointSensor":
+                    return outdoor ? OUTDOOR_DEW_POINT : INDOOR_DEW_POINT;
+                case "PositionSensor":
+                    return POSITION;
+                case "WindSensor":
+                    return WIND;
+                case "SunriseSensor":
+                    return SUNRISE;
+                case "SunsetSensor":
+                    return SUNSET;
+                case "SolarIrradianceSensor":
+                    return SOLAR_IRRADIANCE;
+                case "SwitchSensor":
+                    return SWITCH;
+                case "PowerConsumptionSensor":
+                    return role == DeviceRole.GRID_METER ? GRID_POWER : APPLIANCE_POWER;
+                case "AveragePowerConsumptionSensor":
+                    return role == DeviceRole.GRID_METER ? GRID_POWER : APPLIANCE_AVERAGE_POWER;
+                case "EnergyConsumptionSensor":
+                    if (role == DeviceRole.GRID_METER) {
+                        return GRID_ENERGY;
+                    }
+                    return role == DeviceRole.POWER_SOURCE ? SOLAR_ENERGY : APPLIANCE_ENERGY;
+                default:
+                    return null;
+            }
+        }
+    }
+
+    /**
+     * The readings of one sensor, in time order. A channel keeps the state of its sensor (the position of a switch,
+     * the rating of an appliance) between readings, so it must be read with increasing times.
+     */
+    final class Channel {
+
+        private final Profile profile;
+        private final Random random;
+        private final SensorIDVO sensorID;
+        private final DeviceIDVO deviceID;
+        private final SensorTypeIDVO sensorTypeID;
+        private final double ratingWatts;
+        private boolean switchedOn;
+
+        private Channel(Profile profile, Random random, SensorIDVO sensorID, DeviceIDVO deviceID,
+                        SensorTypeIDVO sensorTypeID) {
+            this.profile = profile;
+            this.random = random;
+            this.sensorID = sensorID;
+            this.deviceID = deviceID;
+            this.sensorTypeID = sensorTypeID;
+            this.ratingWatts = 50 + random.nextInt(1950);
+        }
+
+        /**
+         * Reads the sensor at a time.
+         *
+         * @param time The time of the reading, aligned to the interval of the spec.
+         * @return The log of the reading, or null if the sensor does not log at that time.
+         */
+        Log read(LocalDateTime time) {
+            SensorValueObject<?> value = value(time);
+            if (value == null) {
+                return null;
+            }
+            return new Log(new LogIDVO(DatasetGenerator.uuid(this.random)), new TimeStampVO(time), value,
+                    this.sensorID, this.deviceID, this.sensorTypeID);
+        }
+
+        private SensorValueObject<?> value(LocalDateTime time) {
+            Weather weather = weather(time);
+            double hour = time.getHour() + time.getMinute() / 60.0 + time.getSecond() / 3600.0;
+            double daylight = daylight(hour, time.getDayOfYear());
+            switch (this.profile) {
+                case OUTDOOR_TEMPERATURE:
+                    return create(decimal(outdoorTemperature(hour, time.getDayOfYear(), weather) + noise(0.4)));
+                case INDOOR_TEMPERATURE:
+                    return create(decimal(indoorTemperature(hour) + noise(0.2)));
+                case OUTDOOR_HUMIDITY:
+                    return create(Long.toString(percentage(outdoorHumidity(hour, weather) + noise(3))));
+                case INDOOR_HUMIDITY:
+                    return create(Long.toString(percentage(50 - 5 * cycle(hour, 15) + 10 * weather.cover() + noise(2))));
+                case OUTDOOR_DEW_POINT:
+                    return create(decimal(dewPoint(outdoorTemperature(hour, time.getDayOfYear(), weather),
+                            outdoorHumidity(hour, weather)) + noise(0.3)));
+                case INDOOR_DEW_POINT:
+                    return create(decimal(dewPoint(indoorTemperature(hour), 50) + noise(0.3)));
+                case POSITION:
+                    return create(Long.toString(daylight > 0.05 ? 80 + this.random.nextInt(21) : this.random.nextInt(6)));
+                case WIND:
+                    return create(wind(hour, weather));
+                case SUNRISE:
+                    return isFirstOfDay(time) ? sunTime(time, true) : null;
+                case SUNSET:
+                    return isFirstOfDay(time) ? sunTime(time, false) : null;
+                case SOLAR_IRRADIANCE:
+                    return create(Long.toString(Math.round(1000 * daylight * (1 - 0.75 * weather.cover()))));
+                case SWITCH:
+                    return switchEvent(hour);
+                case APPLIANCE_POWER:
+                    return create(Long.toString(Math.max(0, Math.round(appliancePower(hour) + noise(0.05 * this.ratingWatts)))));
+                case APPLIANCE_AVERAGE_POWER:
+                    return create(Long.toString(Math.round(appliancePower(hour))));
+                case APPLIANCE_ENERGY:
+                    return create(Long.toString(energy(appliancePower(hour))));
+                case GRID_POWER:
+                    return create(Long.toString(Math.max(0, Math.round(householdLoad(hour) + noise(60)))));
+                case GRID_ENERGY:
+                    return create(Long.toString(energy(Math.max(0, householdLoad(hour) + noise(60)))));
+                case SOLAR_ENERGY:
+                    return create(Long.toString(-energy(SOLAR_PEAK_WATTS * daylight * (1 - 0.75 * weather.cover()))));
+                default:
+                    return null;
+            }
+        }
+
+        private SensorValueObject<?> create(String reading) {
+            return valueFactory.createSensorValue(reading, this.sensorTypeID);
+        }
+
+        private SensorValueObject<?> sunTime(LocalDateTime time, boolean sunrise) {
+            String date = time.toLocalDate().toString();
+            try {
+                ZonedDateTime sunTime = sunrise ? sunTimes.computeSunrise(date, coordinates)
+                        : sunTimes.computeSunset(date, coordinates);
+                return sunTime == null ? null : valueFactory.createSensorValue(sunTime, this.sensorTypeID);
+            } catch (RuntimeException e) {
+                return null;
+            }
+        }
+
+        /**
+         * A switch only logs when it changes: it is switched often during the day and seldom at night.
+         */
+        private SensorValueObject<?> switchEvent(double hour) {
+            double probability = hour >= 7 && hour < 23 ? 0.04 : 0.005;
+            if (this.random.nextDouble() >= probability) {
+                return null;
+            }
+            this.switchedOn = !this.switchedOn;
+            return create(this.switchedOn ? "On" : "Off");
+        }
+
+        private String wind(double hour, Weather weather) {
+            long speed = Math.max(1, Math.round(8 + 6 * cycle(hour, 15) + 10 * weather.cover()
+                    + 4 * Math.abs(this.random.nextGaussian())));
+            int direction = weather.prevailingWind();
+            if (this.random.nextDouble() < 0.2) {
+                direction = (direction + (this.random.nextBoolean() ? 1 : DIRECTIONS.length - 1)) % DIRECTIONS.length;
+            }
+            return speed + ":" + DIRECTIONS[direction];
+        }
+
+        /**
+         * An appliance runs at a fraction of its rating, higher in the morning and in the evening.
+         */
+        private double appliancePower(double hour) {
+            return this.ratingWatts * (0.1 + 0.4 * peak(hour, 7.5, 1) + 0.5 * peak(hour, 20, 2));
+        }
+
+        private double noise(double deviation) {
+            return this.random.nextGaussian() * deviation;
+        }
+    }
+
+    /**
+     * The weather of a day, the same for every sensor.
+     *
+     * @param cover             Cloud cover, from 0 (clear) to 0.8.
+     * @param temperatureOffset Degrees above or below the seasonal mean.
+     * @param prevailingWind    Index of the prevailing wind direction.
+     */
+    private record Weather(double cover, double temperatureOffset, int prevailingWind) {
+    }
+
+    private Weather weather(LocalDateTime time) {
+        Random random = new Random(mix(this.seed, -time.toLocalDate().toEpochDay()));
+        return new Weather(random.nextDouble() * 0.8, random.nextGaussian() * 1.5, random.nextInt(DIRECTIONS.length));
+    }
+
+    private boolean isFirstOfDay(LocalDateTime time) {
+        return time.toLocalTime().toSecondOfDay() < this.intervalSeconds;
+    }
+
+    private long energy(double watts) {
+        return Math.round(watts * this.intervalSeconds / 3600);
+    }
+
+    private static double outdoorTemperature(double hour, int dayOfYear, Weather weather) {
+        double seasonal = 12 + 7 * Math.sin(2 * Math.PI * (dayOfYear - 110) / 365);
+        return seasonal + weather.temperatureOffset() + 5 * cycle(hour, 15) - 2 * weather.cover();
+    }
+
+    private static double indoorTemperature(double hour) {
+        return 20.5 + cycle(hour, 16);
+    }
+
+    private static double outdoorHumidity(double hour, Weather weather) {
+        return 70 - 15 * cycle(hour, 15) + 15 * weather.cover();
+    }
+
+    /**
+     * Approximates the dew point from the temperature and the relative humidity.
+     */
+    private static double dewPoint(double temperature, double humidity) {
+        return temperature - (100 - humidity) / 5;
+    }
+
+    /**
+     * The consumption of the whole house: a base load with a morning and a larger evening peak.
+     */
+    private static double householdLoad(double hour) {
+        return 300 + 1200 * peak(hour, 7.5, 1) + 1800 * peak(hour, 20, 2);
+    }
+
+    /**
+     * A daily cycle between -1 and 1 that peaks at the given hour.
+     */
+    private static double cycle(double hour, double peakHour) {
+        return Math.cos(2 * Math.PI * (hour - peakHour) / 24);
+    }
+
+    /**
+     * A bell around the given hour, 1 at the hour.
+     */
+    private static double peak(double hour, double peakHour, double width) {
+        double distance = (hour - peakHour) / width;
+        return Math.exp(-distance * distance / 2);
+    }
+
+    /**
+     * The fraction of the full sun, 0 at night. Days are longer in summer.
+     */
+    private static double daylight(double hour, int dayOfYear) {
+        double length = 12 + 3.5 * Math.sin(2 * Math.PI * (dayOfYear - 80) / 365);
+        double sunrise = 13 - length / 2;
+        if (hour <= sunrise || hour >= sunrise + length) {
+            return 0;
+        }
+        return Math.sin(Math.PI * (hour - sunrise) / length);
+    }
+
+    private static long percentage(double value) {
+        return Math.max(0, Math.min(100, Math.round(value)));
+    }
+
+    private static String decimal(double value) {
+        return Double.toString(Math.round(value * 10) / 10.0);
+    }
+
+    /**
+     * Mixes two numbers into the seed of a random generator, so that close numbers give unrelated generators.
+     */
+    static long mix(long seed, long value) {
+        long z = seed + value * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,100 @@
+package smarthome.utils.dataset;
+
+import smarthome.domain.actuator.Actuator;
+import smarthome.domain.device.Device;
+import smarthome.domain.house.House;
+import smarthome.domain.room.Room;
+import smarthome.domain.sensor.Sensor;
+import smarthome.domain.vo.devicevo.DeviceIDVO;
+import smarthome.domain.vo.sensorvo.SensorIDVO;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * A house built by the DatasetGenerator: the aggregates to persist and the role each device plays when its readings
+ * are generated.
+ * <p>
+ * The house always has a garden with a weather station, an electrical circuit room with the grid power meter and the
+ * solar power sources, and the indoor rooms of the spec.
+ * </p>
+ */
+public final class SyntheticHouse {
+
+    private final House house;
+    private final List<Room> rooms;
+    private final List<Device> devices;
+    private final List<Sensor> sensors;
+    private final List<Actuator> actuators;
+    private final Map<DeviceIDVO, DeviceRole> roles;
+    private final DeviceIDVO gridMeterDevice;
+    private final SensorIDVO gridMeterSensor;
+
+    /**
+     * The part a device plays in the house, which decides the profile of its readings.
+     */
+    public enum DeviceRole {
+        WEATHER_STATION, GRID_METER, POWER_SOURCE, APPLIANCE
+    }
+
+    SyntheticHouse(House house, List<Room> rooms, List<Device> devices, List<Sensor> sensors, List<Actuator> actuators,
+                   Map<DeviceIDVO, DeviceRole> roles, DeviceIDVO gridMeterDevice, SensorIDVO gridMeterSensor) {
+        this.house = house;
+        this.rooms = List.copyOf(rooms);
+        this.devices = List.copyOf(devices);
+        this.sensors = List.copyOf(sensors);
+        this.actuators = List.copyOf(actuators);
+        this.roles = Map.copyOf(roles);
+        this.gridMeterDevice = gridMeterDevice;
+        this.gridMeterSensor = gridMeterSensor;
+    }
+
+    public House getHouse() {
+        return house;
+    }
+
+    public List<Room> getRooms() {
+        return rooms;
+    }
+
+    public List<Device> getDevices() {
+        return devices;
+    }
+
+    public List<Sensor> getSensors() {
+        return sensors;
+    }
+
+    public List<Actuator> getActuators() {
+        return actuators;
+    }
+
+    /**
+     * @param deviceID The device ID.
+     * @return The role of the device, APPLIANCE for devices that are not part of the house.
+     */
+    public DeviceRole getRole(DeviceIDVO deviceID) {
+        return roles.getOrDefault(deviceID, DeviceRole.APPLIANCE);
+    }
+
+    /**
+     * @param role The role.
+     * @return The devices that play the role.
+     */
+    public Set<DeviceIDVO> getDevicesWithRole(DeviceRole role) {
+        return roles.entrySet().stream()
+                .filter(entry -> entry.getValue() == role)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    public DeviceIDVO getGridMeterDevice() {
+        return gridMeterDevice;
+    }
+
+    public SensorIDVO getGridMeterSensor() {
+        return gridMeterSensor;
+    }
+}
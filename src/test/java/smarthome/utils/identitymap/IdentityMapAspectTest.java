@@ -0,0 +1,207 @@
+package smarthome.utils.identitymap;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import smarthome.domain.device.Device;
+import smarthome.domain.device.DeviceFactoryImpl;
+import smarthome.domain.vo.devicevo.DeviceIDVO;
+import smarthome.domain.vo.devicevo.DeviceModelVO;
+import smarthome.domain.vo.devicevo.DeviceNameVO;
+import smarthome.domain.vo.roomvo.RoomIDVO;
+import smarthome.persistence.DeviceRepository;
+import smarthome.persistence.mem.ActuatorRepositoryMem;
+import smarthome.persistence.mem.DeviceRepositoryMem;
+import smarthome.persistence.mem.RoomRepositoryMem;
+import smarthome.persistence.mem.SensorRepositoryMem;
+import smarthome.service.DeviceService;
+import smarthome.service.DeviceServiceImpl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdentityMapAspectTest {
+
+    /**
+     * Repository recording the lookups that reach it.
+     */
+    private static class CountingDeviceRepository extends DeviceRepositoryMem {
+
+        private int findByIdCalls;
+        private int isPresentCalls;
+        private final List<Collection<DeviceIDVO>> findAllByIdsCalls = new ArrayList<>();
+
+        @Override
+        public Device findById(DeviceIDVO id) {
+            this.findByIdCalls++;
+            return super.findById(id);
+        }
+
+        @Override
+        public boolean isPresent(DeviceIDVO id) {
+            this.isPresentCalls++;
+            return super.isPresent(id);
+        }
+
+        @Override
+        public Iterable<Device> findAllByIds(Collection<DeviceIDVO> ids) {
+            this.findAllByIdsCalls.add(new ArrayList<>(ids));
+            return super.findAllByIds(ids);
+        }
+    }
+
+    private final CountingDeviceRepository target = new CountingDeviceRepository();
+    private final DeviceRepository repository = proxy(this.target);
+
+    private static DeviceRepository proxy(DeviceRepository target) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.addAspect(new IdentityMapAspect());
+        return factory.getProxy();
+    }
+
+    private DeviceService deviceService() {
+        AspectJProxyFactory factory = new AspectJProxyFactory(new DeviceServiceImpl(new RoomRepositoryMem(),
+                new DeviceFactoryImpl(), this.repository, new SensorRepositoryMem(), new ActuatorRepositoryMem()));
+        factory.addAspect(new IdentityMapAspect());
+        return factory.getProxy();
+    }
+
+    private static Device device() {
+        return new Device(new DeviceNameVO("Lamp"), new DeviceModelVO("Philips Hue"), new RoomIDVO(UUID.randomUUID()));
+    }
+
+    @AfterEach
+    void endUnitOfWork() {
+        UnitOfWork.end();
+    }
+
+    /**
+     * Tests that, outside a unit of work, every lookup reaches the repository.
+     */
+    @Test
+    void whenNoUnitOfWorkIsActive_thenEveryLookupReachesTheRepository() {
+        Device device = device();
+        this.target.save(device);
+
+        this.repository.findById(device.getId());
+        this.repository.findById(device.getId());
+
+        assertEquals(2, this.target.findByIdCalls);
+    }
+
+    /**
+     * Tests that, within a unit of work, an aggregate is fetched once and then answered from the identity map, for
+     * lookups and existence checks alike.
+     */
+    @Test
+    void whenAggregateWasLoaded_thenLookupsAreAnsweredFromTheIdentityMap() {
+        Device device = device();
+        this.target.save(device);
+        UnitOfWork.begin();
+
+        Device first = this.repository.findById(device.getId());
+        Device second = this.repository.findById(device.getId());
+        int checks = this.target.isPresentCalls;
+        boolean present = this.repository.isPresent(device.getId());
+
+        assertSame(first, second);
+        assertTrue(present);
+        assertEquals(1, this.target.findByIdCalls);
+        assertEquals(checks, this.target.isPresentCalls);
+    }
+
+    /**
+     * Tests that a batched lookup only fetches the aggregates that were not loaded before.
+     */
+    @Test
+    void whenSomeAggregatesWereLoaded_thenBatchedLookupFetchesTheOthers() {
+        Device loaded = device();
+        Device other = device();
+        this.target.save(loaded);
+        this.target.save(other);
+        UnitOfWork.begin();
+        this.repository.findById(loaded.getId());
+
+        Iterable<Device> found = this.repository.findAllByIds(List.of(loaded.getId(), other.getId()));
+        Iterable<Device> again = this.repository.findAllByIds(List.of(other.getId(), loaded.getId()));
+
+        assertEquals(List.of(loaded, other), found);
+        assertEquals(List.of(other, loaded), again);
+        assertEquals(List.of(List.of(other.getId())), this.target.findAllByIdsCalls);
+    }
+
+    /**
+     * Tests that an aggregate updated replaces the one kept, so later lookups see it without fetching it.
+     */
+    @Test
+    void whenAggregateIsUpdated_thenLookupsReturnIt() {
+        Device device = device();
+        this.target.save(device);
+        UnitOfWork.begin();
+        this.repository.findById(device.getId());
+        Device updated = new Device(device.getId(), device.getDeviceName(), device.getDeviceModel(),
+                device.getDeviceStatus(), device.getRoomID());
+
+        this.repository.update(updated);
+
+        assertSame(updated, this.repository.findById(device.getId()));
+        assertEquals(1, this.target.findByIdCalls);
+    }
+
+    /**
+     * Tests that an aggregate whose save failed is forgotten, so it is fetched again.
+     */
+    @Test
+    void whenSaveFails_thenAggregateIsFetchedAgain() {
+        Device device = device();
+        this.target.save(device);
+        UnitOfWork.begin();
+        this.repository.findById(device.getId());
+
+        boolean saved = this.repository.save(device);
+        this.repository.findById(device.getId());
+
+        assertFalse(saved);
+        assertEquals(2, this.target.findByIdCalls);
+    }
+
+    /**
+     * Tests that an aggregate handed out to a service call and not saved is forgotten when the call ends, so changes
+     * the call made to it without saving them are not seen by the next one.
+     */
+    @Test
+    void whenServiceCallDoesNotSaveAggregate_thenItIsFetchedAgainByTheNextCall() {
+        Device device = device();
+        this.target.save(device);
+        DeviceService deviceService = deviceService();
+        UnitOfWork.begin();
+
+        deviceService.getDeviceById(device.getId());
+        deviceService.getDeviceById(device.getId());
+
+        assertEquals(2, this.target.findByIdCalls);
+        assertEquals(0, UnitOfWork.current().size());
+    }
+
+    /**
+     * Tests that an aggregate saved by a service call is kept past its end, so the next call is answered from the
+     * identity map.
+     */
+    @Test
+    void whenServiceCallSavesAggregate_thenTheNextCallIsAnsweredFromTheIdentityMap() {
+        Device device = device();
+        this.target.save(device);
+        DeviceService deviceService = deviceService();
+        UnitOfWork.begin();
+
+        Device deactivated = deviceService.deactivateDevice(device.getId()).orElseThrow();
+        Device found = deviceService.getDeviceById(device.getId()).orElseThrow();
+
+        assertSame(deactivated, found);
+        assertEquals(1, this.target.findByIdCalls);
+    }
+}
@@ -0,0 +1,106 @@
+package smarthome.utils.identitymap;
+
+import org.junit.jupiter.api.Test;
+import smarthome.domain.device.Device;
+import smarthome.domain.vo.devicevo.DeviceModelVO;
+import smarthome.domain.vo.devicevo.DeviceNameVO;
+import smarthome.domain.vo.roomvo.RoomIDVO;
+import smarthome.persistence.mem.DeviceRepositoryMem;
+import smarthome.persistence.mem.RoomRepositoryMem;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdentityMapTest {
+
+    private static Device device() {
+        return new Device(new DeviceNameVO("Lamp"), new DeviceModelVO("Philips Hue"), new RoomIDVO(UUID.randomUUID()));
+    }
+
+    /**
+     * Tests that an aggregate is found under the repository it was recorded for, and counted as a hit.
+     */
+    @Test
+    void whenAggregateIsPut_thenItIsFoundUnderItsRepository() {
+        IdentityMap identityMap = new IdentityMap();
+        Device device = device();
+
+        identityMap.put(DeviceRepositoryMem.class, device);
+
+        assertSame(device, identityMap.get(DeviceRepositoryMem.class, device.getId()));
+        assertNull(identityMap.get(RoomRepositoryMem.class, device.getId()));
+        assertEquals(1, identityMap.size());
+        assertEquals(1, identityMap.getHits());
+        assertEquals(1, identityMap.getMisses());
+    }
+
+    /**
+     * Tests that an aggregate evicted is no longer found.
+     */
+    @Test
+    void whenAggregateIsEvicted_thenItIsNotFound() {
+        IdentityMap identityMap = new IdentityMap();
+        Device device = device();
+        identityMap.put(DeviceRepositoryMem.class, device);
+
+        identityMap.evict(DeviceRepositoryMem.class, device.getId());
+
+        assertNull(identityMap.get(DeviceRepositoryMem.class, device.getId()));
+        assertEquals(0, identityMap.size());
+    }
+
+    /**
+     * Tests that aggregates handed out while operations run are forgotten when the outermost one ends, unless they
+     * were saved since.
+     */
+    @Test
+    void whenOutermostOperationEnds_thenUnsavedAggregatesHandedOutAreForgotten() {
+        IdentityMap identityMap = new IdentityMap();
+        Device unsaved = device();
+        Device saved = device();
+        identityMap.put(DeviceRepositoryMem.class, unsaved);
+        identityMap.put(DeviceRepositoryMem.class, saved);
+
+        identityMap.beginOperation();
+        identityMap.beginOperation();
+        identityMap.handOut(DeviceRepositoryMem.class, unsaved);
+        identityMap.handOut(DeviceRepositoryMem.class, saved);
+        identityMap.saved(DeviceRepositoryMem.class, saved);
+        identityMap.endOperation();
+        int keptInOperation = identityMap.size();
+        identityMap.endOperation();
+
+        assertEquals(2, keptInOperation);
+        assertNull(identityMap.get(DeviceRepositoryMem.class, unsaved.getId()));
+        assertSame(saved, identityMap.get(DeviceRepositoryMem.class, saved.getId()));
+    }
+
+    /**
+     * Tests that aggregates handed out outside an operation are kept.
+     */
+    @Test
+    void whenAggregateIsHandedOutOutsideAnOperation_thenItIsKept() {
+        IdentityMap identityMap = new IdentityMap();
+        Device device = device();
+        identityMap.put(DeviceRepositoryMem.class, device);
+
+        identityMap.handOut(DeviceRepositoryMem.class, device);
+        identityMap.endOperation();
+
+        assertSame(device, identityMap.get(DeviceRepositoryMem.class, device.getId()));
+    }
+
+    /**
+     * Tests that a unit of work is only active on its thread between its beginning and its end.
+     */
+    @Test
+    void whenUnitOfWorkEnds_thenItsIdentityMapIsNoLongerCurrent() {
+        IdentityMap identityMap = UnitOfWork.begin();
+
+        assertSame(identityMap, UnitOfWork.current());
+        assertSame(identityMap, UnitOfWork.end());
+        assertNull(UnitOfWork.current());
+        assertNull(UnitOfWork.end());
+    }
+}
@@ -0,0 +1,43 @@
+package smarthome.utils.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MethodTimersTest {
+
+    private interface Finder {
+        default String find() {
+            return "found";
+        }
+    }
+
+    private static final class FirstFinder implements Finder {
+    }
+
+    private static final class SecondFinder implements Finder {
+    }
+
+    /**
+     * Tests that an inherited method is timed under each class it is called on, and not only under the first one.
+     */
+    @Test
+    void whenInheritedMethodIsCalledOnTwoClasses_thenEachClassHasItsOwnTimer() throws NoSuchMethodException {
+        // Arrange
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        MethodTimers timers = new MethodTimers(registry, "calls", "Calls", "owner");
+        Method find = Finder.class.getMethod("find");
+
+        // Act
+        timers.record(FirstFinder.class, find, Outcome.SUCCESS, 1_000);
+        timers.record(SecondFinder.class, find, Outcome.SUCCESS, 2_000);
+        timers.record(SecondFinder.class, find, Outcome.SUCCESS, 3_000);
+
+        // Assert
+        assertEquals(1, registry.get("calls").tag("owner", "FirstFinder").tag("method", "find").timer().count());
+        assertEquals(2, registry.get("calls").tag("owner", "SecondFinder").tag("method", "find").timer().count());
+    }
+}
@@ -0,0 +1,51 @@
+package smarthome.utils.metrics;
+
+import org.junit.jupiter.api.Test;
+import smarthome.domain.log.ReadingSeries;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OutcomeTest {
+
+    /**
+     * Tests that a void method always succeeds.
+     */
+    @Test
+    void whenMethodIsVoid_thenOutcomeIsSuccess() {
+        assertEquals(Outcome.SUCCESS, Outcome.of(void.class, null));
+    }
+
+    /**
+     * Tests that the failures the repositories report through their results are told apart.
+     */
+    @Test
+    void whenResultReportsFailure_thenOutcomeNamesIt() {
+        assertEquals(Outcome.NULL, Outcome.of(Object.class, null));
+        assertEquals(Outcome.FALSE, Outcome.of(boolean.class, false));
+    }
+
+    /**
+     * Tests that empty collections, maps, optionals and reading series are told empty.
+     */
+    @Test
+    void whenResultIsEmpty_thenOutcomeIsEmpty() {
+        assertEquals(Outcome.EMPTY, Outcome.of(Iterable.class, List.of()));
+        assertEquals(Outcome.EMPTY, Outcome.of(Map.class, Map.of()));
+        assertEquals(Outcome.EMPTY, Outcome.of(Optional.class, Optional.empty()));
+        assertEquals(Outcome.EMPTY, Outcome.of(ReadingSeries.class, ReadingSeries.empty()));
+    }
+
+    /**
+     * Tests that any other result is a success.
+     */
+    @Test
+    void whenResultIsPresent_thenOutcomeIsSuccess() {
+        assertEquals(Outcome.SUCCESS, Outcome.of(boolean.class, true));
+        assertEquals(Outcome.SUCCESS, Outcome.of(Iterable.class, List.of("a")));
+        assertEquals(Outcome.SUCCESS, Outcome.of(Object.class, "a"));
+    }
+}
@@ -0,0 +1,158 @@
+package smarthome.utils.tracing;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * A query budget for regression tests: runs an action under a trace and fails if it issued more repository calls,
+ * SQL statements or repeated queries than allowed.
+ * <pre>{@code
+ * List<Device> devices = QueryBudget.statements(2).repeated(1).call(() -> deviceService.getDevices(ids));
+ * }</pre>
+ * <p>
+ * SQL statements are only traced when the hooks of {@link SqlTracing} are registered with Hibernate; without them, a
+ * budget of statements always holds.
+ * </p>
+ */
+public final class QueryBudget {
+
+    private final int maxStatements;
+    private final int maxRepositoryCalls;
+    private final int maxRepeated;
+
+    private QueryBudget(int maxStatements, int maxRepositoryCalls, int maxRepeated) {
+        this.maxStatements = maxStatements;
+        this.maxRepositoryCalls = maxRepositoryCalls;
+        this.maxRepeated = maxRepeated;
+    }
+
+    /**
+     * Starts a budget that limits the number of SQL statements.
+     *
+     * @param max number of statements allowed
+     * @return the budget
+     * @throws IllegalArgumentException if the number is negative
+     */
+    public static QueryBudget statements(int max) {
+        return unlimited().withStatements(max);
+    }
+
+    /**
+     * Starts a budget that limits the number of repository calls.
+     *
+     * @param max number of repository calls allowed
+     * @return the budget
+     * @throws IllegalArgumentException if the number is negative
+     */
+    public static QueryBudget repositoryCalls(int max) {
+        return unlimited().withRepositoryCalls(max);
+    }
+
+    private static QueryBudget unlimited() {
+        return new QueryBudget(Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Also limits the number of SQL statements.
+     *
+     * @param max number of statements allowed
+     * @return the budget
+     * @throws IllegalArgumentException if the number is negative
+     */
+    public QueryBudget withStatements(int max) {
+        return new QueryBudget(requireNotNegative(max), this.maxRepositoryCalls, this.maxRepeated);
+    }
+
+    /**
+     * Also limits the number of repository calls.
+     *
+     * @param max number of repository calls allowed
+     * @return the budget
+     * @throws IllegalArgumentException if the number is negative
+     */
+    public QueryBudget withRepositoryCalls(int max) {
+        return new QueryBudget(this.maxStatements, requireNotNegative(max), this.maxRepeated);
+    }
+
+    /**
+     * Also limits how many times the same query, or the same repository method, may be issued.
+     *
+     * @param max number of times the same query may be issued
+     * @return the budget
+     * @throws IllegalArgumentException if the number is not positive
+     */
+    public QueryBudget repeated(int max) {
+        if (max <= 0) {
+            throw new IllegalArgumentException("Invalid parameters.");
+        }
+        return new QueryBudget(this.maxStatements, this.maxRepositoryCalls, max);
+    }
+
+    private static int requireNotNegative(int max) {
+        if (max < 0) {
+            throw new IllegalArgumentException("Invalid parameters.");
+        }
+        return max;
+    }
+
+    /**
+     * Runs an action and checks it kept within the budget.
+     *
+     * @param action the action
+     * @return the trace of the action
+     * @throws AssertionError if the action went over the budget
+     */
+    public QueryTrace run(Runnable action) {
+        QueryTracer.start("query budget");
+        QueryTrace trace;
+        try {
+            action.run();
+        } finally {
+            trace = QueryTracer.stop();
+        }
+        verify(trace);
+        return trace;
+    }
+
+    /**
+     * Runs an action and checks it kept within the budget.
+     *
+     * @param action the action
+     * @param <T>    the type of the result of the action
+     * @return the result of the action
+     * @throws AssertionError if the action went over the budget
+     */
+    public <T> T call(Supplier<T> action) {
+        List<T> result = new ArrayList<>(1);
+        run(() -> result.add(action.get()));
+        return result.get(0);
+    }
+
+    /**
+     * Checks a trace kept within the budget.
+     *
+     * @param trace the trace
+     * @throws AssertionError if the trace went over the budget
+     */
+    public void verify(QueryTrace trace) {
+        StringBuilder violations = new StringBuilder();
+        if (trace.getStatementCount() > this.maxStatements) {
+            violations.append(String.format("expected at most %d statements but %d were executed%n",
+                    this.maxStatements, trace.getStatementCount()));
+        }
+        if (trace.getRepositoryCallCount() > this.maxRepositoryCalls) {
+            violations.append(String.format("expected at most %d repository calls but %d were made%n",
+                    this.maxRepositoryCalls, trace.getRepositoryCallCount()));
+        }
+        Map<String, Integer> repeated = trace.getRepeated(this.maxRepeated);
+        if (!repeated.isEmpty()) {
+            violations.append(String.format("expected no query issued more than %d times but %s%n",
+                    this.maxRepeated, repeated));
+        }
+        if (!violations.isEmpty()) {
+            throw new AssertionError("Query budget exceeded: " + violations + trace);
+        }
+    }
+}
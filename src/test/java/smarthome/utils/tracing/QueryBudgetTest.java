@@ -0,0 +1,65 @@
+package smarthome.utils.tracing;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryBudgetTest {
+
+    private static void findDevices(int count) {
+        QueryTrace trace = QueryTracer.current();
+        for (int i = 0; i < count; i++) {
+            trace.repositoryCall("DeviceRepositoryJPA.findById", 0);
+            trace.statementPrepared("select * from device where id=?");
+            trace.statementExecuted(0);
+        }
+    }
+
+    /**
+     * Tests that an action within its budget returns its result and leaves the thread untraced.
+     */
+    @Test
+    void whenActionKeepsWithinBudget_thenResultIsReturned() {
+        String result = QueryBudget.statements(2).withRepositoryCalls(2).repeated(2).call(() -> {
+            findDevices(2);
+            return "devices";
+        });
+
+        assertEquals("devices", result);
+        assertNull(QueryTracer.current());
+    }
+
+    /**
+     * Tests that an action issuing more statements than allowed fails.
+     */
+    @Test
+    void whenActionExceedsStatements_thenThrowsAssertionError() {
+        QueryBudget budget = QueryBudget.statements(1);
+
+        AssertionError error = assertThrows(AssertionError.class, () -> budget.run(() -> findDevices(2)));
+
+        assertTrue(error.getMessage().contains("expected at most 1 statements but 2 were executed"));
+    }
+
+    /**
+     * Tests that an action issuing the same query more times than allowed fails, whatever its total.
+     */
+    @Test
+    void whenActionRepeatsQuery_thenThrowsAssertionError() {
+        QueryBudget budget = QueryBudget.repositoryCalls(10).repeated(1);
+
+        AssertionError error = assertThrows(AssertionError.class, () -> budget.run(() -> findDevices(3)));
+
+        assertTrue(error.getMessage().contains("DeviceRepositoryJPA.findById=3"));
+    }
+
+    /**
+     * Tests that negative limits are rejected.
+     */
+    @Test
+    void whenLimitIsInvalid_thenThrowsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> QueryBudget.statements(-1));
+        assertThrows(IllegalArgumentException.class, () -> QueryBudget.repositoryCalls(-1));
+        assertThrows(IllegalArgumentException.class, () -> QueryBudget.statements(0).repeated(0));
+    }
+}
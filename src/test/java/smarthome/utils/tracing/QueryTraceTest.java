@@ -0,0 +1,78 @@
+package smarthome.utils.tracing;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryTraceTest {
+
+    /**
+     * Tests that statements differing only by their values or by the length of their IN lists share a signature.
+     */
+    @Test
+    void whenStatementsDifferOnlyByValues_thenTheyAreNormalizedAlike() {
+        String first = QueryTrace.normalize("select d1_0.id from device d1_0 where d1_0.id in (?, ?, ?)");
+        String second = QueryTrace.normalize("select d1_0.id  from device d1_0\n where d1_0.id in (?)");
+        String literal = QueryTrace.normalize("select d1_0.id from device d1_0 where d1_0.name='Lamp' and d1_0.n=42");
+
+        assertEquals(first, second);
+        assertEquals("select d1_0.id from device d1_0 where d1_0.id in (?...)", first);
+        assertEquals("select d1_0.id from device d1_0 where d1_0.name=? and d1_0.n=?", literal);
+    }
+
+    /**
+     * Tests that statements are counted once executed, under the SQL they were prepared with.
+     */
+    @Test
+    void whenStatementsExecute_thenTheyAreCountedBySignature() {
+        QueryTrace trace = new QueryTrace("GET /devices");
+
+        for (int i = 0; i < 3; i++) {
+            trace.repositoryCall("DeviceRepositoryJPA.findById", 1_000);
+            trace.statementPrepared("select * from device where id=?");
+            trace.statementExecuted(2_000);
+        }
+        trace.statementPrepared("select * from room where id=?");
+
+        assertEquals(3, trace.getRepositoryCallCount());
+        assertEquals(3, trace.getStatementCount());
+        assertEquals(6, trace.getCalls().size());
+        assertEquals(new QueryTrace.Call(QueryTrace.Kind.SQL, "select * from device where id=?", 2),
+                trace.getCalls().get(1));
+        assertEquals(Map.of("DeviceRepositoryJPA.findById", 3, "select * from device where id=?", 3),
+                trace.getCounts());
+    }
+
+    /**
+     * Tests that only the signatures issued more often than the threshold are reported as repeated.
+     */
+    @Test
+    void whenSignatureIsIssuedMoreThanThreshold_thenItIsRepeated() {
+        QueryTrace trace = new QueryTrace("GET /devices");
+        for (int i = 0; i < 3; i++) {
+            trace.repositoryCall("DeviceRepositoryJPA.findById", 0);
+        }
+        trace.repositoryCall("RoomRepositoryJPA.findById", 0);
+
+        assertEquals(Map.of("DeviceRepositoryJPA.findById", 3), trace.getRepeated(2));
+        assertTrue(trace.getRepeated(3).isEmpty());
+    }
+
+    /**
+     * Tests that only the first calls are kept in full while every call is counted.
+     */
+    @Test
+    void whenMoreCallsThanKept_thenCountsCoverEveryCall() {
+        QueryTrace trace = new QueryTrace("GET /devices");
+        int calls = QueryTrace.MAX_CALLS + 5;
+
+        for (int i = 0; i < calls; i++) {
+            trace.repositoryCall("DeviceRepositoryJPA.findById", 0);
+        }
+
+        assertEquals(QueryTrace.MAX_CALLS, trace.getCalls().size());
+        assertEquals(calls, (int) trace.getCounts().get("DeviceRepositoryJPA.findById"));
+    }
+}